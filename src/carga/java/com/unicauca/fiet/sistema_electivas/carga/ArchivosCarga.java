@@ -0,0 +1,161 @@
+package com.unicauca.fiet.sistema_electivas.carga;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Escribe un {@link PeriodoGenerado} como los archivos que se suben al sistema: la exportación
+ * del formulario de Google y la de SIMCA.
+ *
+ * <p>Los libros de Excel se escriben en modo streaming para no mantener decenas de miles de filas
+ * en memoria. Los CSV usan punto y coma y coma decimal, como los exporta SIMCA.</p>
+ */
+public final class ArchivosCarga {
+
+    /** Formato de la columna "Marca temporal" en la exportación del formulario. */
+    private static final DateTimeFormatter MARCA_TEMPORAL =
+            DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'XXX", Locale.US).withZone(ZoneOffset.ofHours(-5));
+
+    private static final String[] COLUMNAS_SIMCA = {
+            "CODIGO", "APELLIDOS", "NOMBRES", "USUARIO", "PROGRAMA",
+            "CREDITOS_APROBADOS", "PERIODOS_MATRICULADOS", "PROMEDIO_CARRERA", "APROBADAS"
+    };
+
+    private static final int FILAS_EN_MEMORIA = 500;
+
+    /** Formato de los archivos generados. */
+    public enum Formato {
+        XLSX, CSV;
+
+        String extension() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private ArchivosCarga() {
+    }
+
+    /**
+     * Escribe las respuestas del formulario, con tantas columnas de opción como el máximo de opciones del período.
+     *
+     * @return ruta del archivo escrito
+     */
+    public static Path escribirRespuestas(PeriodoGenerado periodo, Path directorio, Formato formato) throws IOException {
+        int opciones = periodo.programas().stream().mapToInt(PeriodoGenerado.Programa::opciones).max().orElse(1);
+        List<String> encabezados = new ArrayList<>(List.of(
+                "Marca temporal", "Correo institucional", "Código del estudiante", "Nombres", "Apellidos", "Programa académico"));
+        for (int n = 1; n <= opciones; n++) {
+            encabezados.add("Electiva opción " + n);
+        }
+
+        List<List<Object>> filas = new ArrayList<>(periodo.respuestas().size());
+        for (PeriodoGenerado.Respuesta r : periodo.respuestas()) {
+            List<Object> fila = new ArrayList<>(encabezados.size());
+            fila.add(MARCA_TEMPORAL.format(r.marcaTemporal()));
+            fila.add(r.correo());
+            fila.add(r.codigo());
+            fila.add(r.nombres());
+            fila.add(r.apellidos());
+            fila.add(r.programa());
+            for (int n = 0; n < opciones; n++) {
+                fila.add(n < r.opciones().size() ? r.opciones().get(n) : "");
+            }
+            filas.add(fila);
+        }
+
+        Path archivo = directorio.resolve("respuestas_" + periodo.semestre() + "." + formato.extension());
+        escribir(archivo, formato, encabezados, filas);
+        return archivo;
+    }
+
+    /**
+     * Escribe la exportación de SIMCA repartida en archivos de a lo sumo {@code filasPorArchivo} filas,
+     * como llega cuando se consulta por lotes.
+     *
+     * @return rutas de los archivos escritos, en orden
+     */
+    public static List<Path> escribirSimca(PeriodoGenerado periodo, Path directorio, Formato formato,
+                                           int filasPorArchivo) throws IOException {
+        List<Path> archivos = new ArrayList<>();
+        List<PeriodoGenerado.FilaSimca> simca = periodo.simca();
+        for (int desde = 0; desde < simca.size(); desde += filasPorArchivo) {
+            List<List<Object>> filas = new ArrayList<>();
+            for (PeriodoGenerado.FilaSimca f : simca.subList(desde, Math.min(simca.size(), desde + filasPorArchivo))) {
+                filas.add(List.of(f.codigo(), f.apellidos(), f.nombres(), f.usuario(), f.programa(),
+                        f.creditosAprobados(), f.periodosMatriculados(),
+                        formato == Formato.CSV ? f.promedioCarrera().toPlainString().replace('.', ',') : f.promedioCarrera().doubleValue(),
+                        f.aprobadas()));
+            }
+            Path archivo = directorio.resolve(String.format("simca_%s_%03d.%s",
+                    periodo.semestre(), archivos.size() + 1, formato.extension()));
+            escribir(archivo, formato, List.of(COLUMNAS_SIMCA), filas);
+            archivos.add(archivo);
+        }
+        return archivos;
+    }
+
+    private static void escribir(Path archivo, Formato formato, List<String> encabezados,
+                                 List<List<Object>> filas) throws IOException {
+        Files.createDirectories(archivo.getParent());
+        if (formato == Formato.CSV) {
+            escribirCsv(archivo, encabezados, filas);
+        } else {
+            escribirXlsx(archivo, encabezados, filas);
+        }
+    }
+
+    private static void escribirXlsx(Path archivo, List<String> encabezados, List<List<Object>> filas) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(FILAS_EN_MEMORIA);
+             OutputStream salida = Files.newOutputStream(archivo)) {
+            Sheet sheet = workbook.createSheet("Hoja1");
+            Row encabezado = sheet.createRow(0);
+            for (int c = 0; c < encabezados.size(); c++) {
+                encabezado.createCell(c).setCellValue(encabezados.get(c));
+            }
+            int numero = 1;
+            for (List<Object> fila : filas) {
+                Row row = sheet.createRow(numero++);
+                for (int c = 0; c < fila.size(); c++) {
+                    Object valor = fila.get(c);
+                    if (valor instanceof Number n) {
+                        row.createCell(c).setCellValue(n.doubleValue());
+                    } else if (valor != null && !valor.toString().isEmpty()) {
+                        row.createCell(c).setCellValue(valor.toString());
+                    }
+                }
+            }
+            workbook.write(salida);
+        }
+    }
+
+    private static void escribirCsv(Path archivo, List<String> encabezados, List<List<Object>> filas) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8)) {
+            writer.write(String.join(";", encabezados.stream().map(ArchivosCarga::campoCsv).toList()));
+            writer.newLine();
+            for (List<Object> fila : filas) {
+                writer.write(String.join(";", fila.stream().map(v -> campoCsv(String.valueOf(v))).toList()));
+                writer.newLine();
+            }
+        }
+    }
+
+    private static String campoCsv(String valor) {
+        if (valor.indexOf(';') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,262 @@
+package com.unicauca.fiet.sistema_electivas.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.unicauca.fiet.sistema_electivas.SistemaElectivasApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientResponseException;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Prueba de carga de punta a punta: genera un período sintético, levanta la aplicación contra
+ * PostgreSQL local y recorre por REST todas las transiciones de {@code EstadoPeriodoAcademico},
+ * midiendo la duración y el pico de heap de cada una.
+ *
+ * <p>Corre sin servicios externos: Google Forms con el perfil {@code google-stub} y el motor de
+ * estadísticas con {@code python-stub}. El catálogo se carga como fixture; el período, las ofertas,
+ * las respuestas y SIMCA entran por la API, igual que en producción. Las decisiones manuales
+ * (códigos mal digitados, inactivos en SIMCA y posibles nivelados) se toman con lo que sabe el
+ * generador.</p>
+ *
+ * <p>Argumentos, todos opcionales ({@code --clave=valor}): {@code estudiantes}, {@code semilla},
+ * {@code programas}, {@code electivas}, {@code opciones}, {@code semestre}, {@code formato}
+ * ({@code xlsx} o {@code csv}), {@code filas-simca} (filas por archivo de SIMCA),
+ * {@code directorio} (donde se escriben los archivos), {@code salida} (JSON de resultados) y
+ * {@code solo-archivos} (solo escribe los archivos, sin levantar la aplicación).</p>
+ *
+ * <pre>
+ * mvn -Pcarga -DskipTests verify -Dcarga.estudiantes=30000
+ * </pre>
+ */
+public final class ConductorCarga {
+
+    private final Map<String, String> argumentos;
+    private final MedidorEtapas medidor = new MedidorEtapas();
+
+    private PeriodoGenerado periodo;
+    private RestClient cliente;
+
+    private ConductorCarga(Map<String, String> argumentos) {
+        this.argumentos = argumentos;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> argumentos = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int igual = arg.indexOf('=');
+                argumentos.put(igual < 0 ? arg.substring(2) : arg.substring(2, igual),
+                        igual < 0 ? "true" : arg.substring(igual + 1));
+            }
+        }
+        new ConductorCarga(argumentos).ejecutar();
+    }
+
+    private void ejecutar() throws Exception {
+        ArchivosCarga.Formato formato = ArchivosCarga.Formato.valueOf(texto("formato", "xlsx").toUpperCase(Locale.ROOT));
+        Path directorio = Path.of(texto("directorio", "target/carga"));
+
+        periodo = medidor.medir("generacion", entero("estudiantes", 10_000), () ->
+                GeneradorPeriodo.conSemilla(Long.parseLong(texto("semilla", "42")))
+                        .estudiantes(entero("estudiantes", 10_000))
+                        .programas(entero("programas", 5))
+                        .electivas(entero("electivas", 40))
+                        .opciones(entero("opciones", 7))
+                        .semestre(texto("semestre", "2025-1"))
+                        .generar());
+
+        Path respuestas = medidor.medir("escritura-archivos", periodo.respuestas().size(), () ->
+                ArchivosCarga.escribirRespuestas(periodo, directorio, formato));
+        List<Path> simca = ArchivosCarga.escribirSimca(periodo, directorio, formato, entero("filas-simca", 5_000));
+        System.out.printf("Respuestas: %d en %s; SIMCA: %d filas en %d archivos%n",
+                periodo.respuestas().size(), respuestas, periodo.simca().size(), simca.size());
+
+        if (argumentos.containsKey("solo-archivos")) {
+            return;
+        }
+
+        try (ConfigurableApplicationContext contexto = medidor.medir("arranque", 0, () ->
+                new SpringApplicationBuilder(SistemaElectivasApplication.class)
+                        .profiles("carga", "google-stub", "python-stub")
+                        .properties("server.port=0")
+                        .run())) {
+            int puerto = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            cliente = RestClient.builder().baseUrl("http://localhost:" + puerto).build();
+
+            FixturesCatalogo.Catalogo catalogo = medidor.medir("fixtures-catalogo", periodo.electivas().size(), () ->
+                    FixturesCatalogo.persistir(periodo,
+                            SharedEntityManagerCreator.createSharedEntityManager(contexto.getBean(EntityManagerFactory.class)),
+                            contexto.getBean(PlatformTransactionManager.class)));
+
+            recorrer(catalogo, respuestas, simca);
+        } finally {
+            Path salida = Path.of(texto("salida", "target/carga-resultados.json"));
+            medidor.escribir(salida, new LinkedHashMap<>(argumentos));
+            System.out.println("Resultados en " + salida.toAbsolutePath());
+        }
+    }
+
+    /**
+     * Lleva el período desde su creación hasta {@code CERRADO}.
+     */
+    private void recorrer(FixturesCatalogo.Catalogo catalogo, Path respuestas, List<Path> simca) throws Exception {
+        int estudiantes = periodo.respuestas().size();
+        int anio = Integer.parseInt(periodo.semestre().substring(0, 4));
+        LocalDate apertura = periodo.semestre().endsWith("-1") ? LocalDate.of(anio, 1, 10) : LocalDate.of(anio, 7, 1);
+
+        // CONFIGURACION
+        Long periodoId = medidor.medir("CONFIGURACION", 0, () -> post("/api/periodos-academicos", Map.of(
+                "semestre", periodo.semestre(),
+                "fechaApertura", apertura.atStartOfDay(ZoneId.systemDefault()).toInstant().toString(),
+                "fechaCierre", apertura.plusDays(14).atStartOfDay(ZoneId.systemDefault()).toInstant().toString()
+        )).path("id").asLong());
+
+        medidor.medir("CONFIGURACION/ofertas", periodo.electivas().size(), () -> {
+            for (int i = 0; i < periodo.electivas().size(); i++) {
+                post("/api/periodos/" + periodoId + "/ofertas", Map.of(
+                        "electivaId", catalogo.electivas().get(i),
+                        "cuposPorPrograma", catalogo.cuposPorPrograma(periodo.electivas().get(i))));
+            }
+            return null;
+        });
+
+        // ABIERTO_FORMULARIO
+        Map<Long, Integer> opcionesPorPrograma = new LinkedHashMap<>();
+        for (int i = 0; i < periodo.programas().size(); i++) {
+            opcionesPorPrograma.put(catalogo.programas().get(i), periodo.programas().get(i).opciones());
+        }
+        medidor.medir("ABIERTO_FORMULARIO", 0, () -> post("/api/periodos-academicos/" + periodoId + "/abrir",
+                Map.of("opcionesPorPrograma", opcionesPorPrograma, "forzarApertura", true)));
+
+        // CERRADO_FORMULARIO: carga manual del archivo exportado
+        medidor.medir("CERRADO_FORMULARIO", estudiantes, () -> multipart(
+                "/api/periodos-academicos/" + periodoId + "/cargar-respuestas", "file", List.of(respuestas)));
+
+        String procesamiento = "/api/procesamiento/periodos/" + periodoId;
+        medidor.medir("PROCESO_FILTRADO_DUPLICADOS", estudiantes, () -> post(procesamiento + "/filtro-duplicados", null));
+        medidor.medir("PROCESO_CLASIFICACION_ANTIGUEDAD", estudiantes, () -> post(procesamiento + "/filtro-antiguedad", null));
+
+        // Revisión manual de códigos con formato inválido
+        medidor.medir("PROCESO_CLASIFICACION_ANTIGUEDAD/revision-manual", periodo.correcciones().size(), () -> {
+            for (JsonNode respuesta : get(procesamiento + "/respuestas")) {
+                if ("FORMATO_INVALIDO".equals(respuesta.path("estado").asText())) {
+                    String codigo = respuesta.path("codigoEstudiante").asText();
+                    String correccion = periodo.correcciones().get(codigo);
+                    post("/api/procesamiento/respuestas/" + respuesta.path("id").asLong()
+                                    + "/revision-manual?incluir=" + (correccion != null),
+                            Map.of("nuevoCodigo", correccion != null ? correccion : codigo));
+                }
+            }
+            return null;
+        });
+
+        medidor.medir("PROCESO_CONFIRMACION_SIMCA", estudiantes, () -> post(procesamiento + "/confirmar-simca", null));
+
+        String validacion = "/api/validacion-academica/periodos/" + periodoId;
+        medidor.medir("PROCESO_CARGA_SIMCA", periodo.simca().size(), () -> multipart(validacion + "/cargar-simca", "archivos", simca));
+
+        // Los inactivos en SIMCA se descartan; al resolver el último el período avanza
+        medidor.medir("PROCESO_CARGA_SIMCA/inconsistencias", 0, () -> {
+            for (JsonNode respuesta : get(validacion + "/inconsistencias")) {
+                post("/api/validacion-academica/respuestas/" + respuesta.path("id").asLong() + "/decision-inconsistencia?incluir=false",
+                        Map.of("nuevoCodigo", respuesta.path("codigoEstudiante").asText()));
+            }
+            return null;
+        });
+
+        JsonNode candidatos = medidor.medir("PROCESO_REVISION_POTENCIALES_NIVELADOS", periodo.simca().size(), () ->
+                post("/api/validacion-nivelados/periodos/" + periodoId + "/preseleccionar-nivelados", null));
+        medidor.medir("PROCESO_REVISION_POTENCIALES_NIVELADOS/decisiones", candidatos.size(), () -> {
+            for (JsonNode candidato : candidatos) {
+                boolean nivelado = periodo.nivelados().getOrDefault(candidato.path("codigoEstudiante").asText(), false);
+                post("/api/validacion-nivelados/decision-final/" + candidato.path("id").asLong() + "?nivelado=" + nivelado, null);
+            }
+            return null;
+        });
+
+        medidor.medir("PROCESO_CALCULO_APTITUD", periodo.simca().size(), () -> post(validacion + "/calcular-porcentaje-avance", null));
+        medidor.medir("PROCESO_FILTRADO_NO_ELEGIBLES", periodo.simca().size(), () -> post(validacion + "/validar-requisitos-generales", null));
+
+        String asignacion = "/api/asignacion/periodos/" + periodoId;
+        medidor.medir("EN_PROCESO_ASIGNACION", periodo.simca().size(), () -> post(asignacion + "/filtrar-no-elegibles", null));
+        medidor.medir("GENERACION_REPORTE_DETALLADO", periodo.simca().size(), () -> post(asignacion + "/procesar-asignacion", null));
+
+        String reportes = "/api/reportes/periodos/" + periodoId;
+        medidor.medir("GENERACION_LISTAS_PUBLICAS", periodo.simca().size(), () -> descargar(reportes + "/reporte-tecnico"));
+        medidor.medir("ASIGNACION_PROCESADA", periodo.simca().size(), () -> descargar(reportes + "/reporte-publico"));
+
+        String estadisticas = "/api/reportes/estadisticas/periodos/" + periodoId;
+        for (String consulta : List.of("distribucion-asignaciones", "distribucion-asignaciones-programa", "resumen-procesamiento",
+                "popularidad-electivas", "popularidad-electivas-incluyendo-descartados")) {
+            medidor.medir("ASIGNACION_PROCESADA/" + consulta, 0, () -> get(estadisticas + "/" + consulta));
+        }
+        for (String reporte : List.of("reporte-distribucion", "reporte-popularidad")) {
+            medidor.medir("ASIGNACION_PROCESADA/" + reporte, 0, () -> descargar(estadisticas + "/" + reporte));
+        }
+
+        medidor.medir("CERRADO", 0, () -> post("/api/periodos-academicos/" + periodoId + "/cerrar-periodo", null));
+    }
+
+    private JsonNode post(String ruta, Object cuerpo) {
+        RestClient.RequestBodySpec solicitud = cliente.post().uri(ruta);
+        if (cuerpo != null) {
+            solicitud.contentType(MediaType.APPLICATION_JSON).body(cuerpo);
+        }
+        return llamar(ruta, () -> solicitud.retrieve().body(JsonNode.class));
+    }
+
+    private JsonNode get(String ruta) {
+        return llamar(ruta, () -> cliente.get().uri(ruta).retrieve().body(JsonNode.class));
+    }
+
+    private Integer descargar(String ruta) {
+        byte[] contenido = llamar(ruta, () -> cliente.get().uri(ruta).retrieve().body(byte[].class));
+        return contenido == null ? 0 : contenido.length;
+    }
+
+    private JsonNode multipart(String ruta, String parte, List<Path> archivos) {
+        MultiValueMap<String, Object> partes = new LinkedMultiValueMap<>();
+        archivos.forEach(archivo -> partes.add(parte, new FileSystemResource(archivo)));
+        return llamar(ruta, () -> cliente.post().uri(ruta)
+                .contentType(MediaType.MULTIPART_FORM_DATA)
+                .body(partes)
+                .retrieve()
+                .body(JsonNode.class));
+    }
+
+    /**
+     * Ejecuta una llamada y, si el servidor responde con error, incluye su mensaje en la excepción.
+     */
+    private static <T> T llamar(String ruta, Supplier<T> llamada) {
+        try {
+            return llamada.get();
+        } catch (RestClientResponseException e) {
+            throw new IllegalStateException(ruta + " → " + e.getStatusCode().value() + " " + e.getResponseBodyAsString(), e);
+        }
+    }
+
+    private String texto(String clave, String porDefecto) {
+        return argumentos.getOrDefault(clave, porDefecto);
+    }
+
+    private int entero(String clave, int porDefecto) {
+        return Integer.parseInt(texto(clave, String.valueOf(porDefecto)));
+    }
+}
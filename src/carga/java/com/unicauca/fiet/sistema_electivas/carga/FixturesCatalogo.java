@@ -0,0 +1,119 @@
+package com.unicauca.fiet.sistema_electivas.carga;
+
+import com.unicauca.fiet.sistema_electivas.departamento.enums.EstadoDepartamento;
+import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
+import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
+import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
+import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectiva;
+import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectivaId;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.EstadoPlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
+import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Persiste el catálogo de un {@link PeriodoGenerado} (departamentos, programas, planes activos,
+ * electivas aprobadas y sus programas) directamente con JPA.
+ *
+ * <p>El catálogo no es parte de lo que se mide: se carga como fixture para que la prueba empiece
+ * en la creación del período. Los planes quedan activos sin malla, porque el proceso solo usa su
+ * configuración (créditos, electivas por semestre y reglas de nivelación).</p>
+ */
+public final class FixturesCatalogo {
+
+    private FixturesCatalogo() {
+    }
+
+    /**
+     * Persiste el catálogo en una sola transacción.
+     *
+     * @return identificadores de programas y electivas, en el mismo orden que en el período generado
+     */
+    public static Catalogo persistir(PeriodoGenerado periodo, EntityManager em, PlatformTransactionManager transacciones) {
+        return new TransactionTemplate(transacciones).execute(estado -> {
+            List<Departamento> deptos = new ArrayList<>();
+            for (int i = 0; i < periodo.departamentos().size(); i++) {
+                Departamento d = new Departamento();
+                d.setCodigo(String.format("DC-%02d", i + 1));
+                d.setNombre(periodo.departamentos().get(i));
+                d.setEstado(EstadoDepartamento.ACTIVO);
+                em.persist(d);
+                deptos.add(d);
+            }
+
+            List<Programa> progs = new ArrayList<>();
+            for (PeriodoGenerado.Programa generado : periodo.programas()) {
+                Programa p = new Programa();
+                p.setCodigo(generado.codigo());
+                p.setNombre(generado.nombre());
+                p.setEstado(EstadoPrograma.APROBADO);
+                em.persist(p);
+                progs.add(p);
+
+                for (PeriodoGenerado.Plan plan : generado.planes()) {
+                    PlanEstudio entidad = new PlanEstudio();
+                    entidad.setNombre(plan.nombre());
+                    entidad.setVersion(plan.version());
+                    entidad.setEstado(EstadoPlanEstudio.ACTIVO);
+                    entidad.setAnioInicio(plan.anioInicio());
+                    entidad.setPrograma(p);
+                    entidad.setElectivasRequeridas(plan.electivasRequeridas());
+                    entidad.setCreditosTotalesPlan(plan.creditosTotales());
+                    entidad.setCreditosTrabajoGrado(plan.creditosTrabajoGrado());
+                    entidad.setElectivasPorSemestre(plan.electivasPorSemestre());
+                    entidad.setReglasNivelacion(plan.reglasNivelacion());
+                    em.persist(entidad);
+                }
+            }
+
+            List<Long> electivas = new ArrayList<>();
+            for (PeriodoGenerado.Electiva generada : periodo.electivas()) {
+                Electiva e = new Electiva();
+                e.setCodigo(generada.codigo());
+                e.setNombre(generada.nombre());
+                e.setEstado(EstadoElectiva.APROBADA);
+                e.setDepartamento(deptos.get(generada.departamento()));
+                em.persist(e);
+                electivas.add(e.getId());
+
+                for (Integer indicePrograma : generada.cuposPorPrograma().keySet()) {
+                    Programa p = progs.get(indicePrograma);
+                    ProgramaElectiva pe = new ProgramaElectiva();
+                    pe.setId(new ProgramaElectivaId(p.getId(), e.getId()));
+                    pe.setPrograma(p);
+                    pe.setElectiva(e);
+                    em.persist(pe);
+                }
+            }
+            em.flush();
+
+            return new Catalogo(progs.stream().map(Programa::getId).toList(), List.copyOf(electivas));
+        });
+    }
+
+    /**
+     * Identificadores del catálogo persistido.
+     *
+     * @param programas ID de cada programa, por índice del período generado
+     * @param electivas ID de cada electiva, por índice del período generado
+     */
+    public record Catalogo(List<Long> programas, List<Long> electivas) {
+
+        /**
+         * Cupos de una electiva con los ID de programa que espera {@code OfertaRequestDTO}.
+         */
+        public Map<Long, Integer> cuposPorPrograma(PeriodoGenerado.Electiva electiva) {
+            Map<Long, Integer> cupos = new LinkedHashMap<>();
+            electiva.cuposPorPrograma().forEach((indice, valor) -> cupos.put(programas.get(indice), valor));
+            return cupos;
+        }
+    }
+}
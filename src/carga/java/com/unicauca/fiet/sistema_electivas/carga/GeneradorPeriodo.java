@@ -0,0 +1,446 @@
+package com.unicauca.fiet.sistema_electivas.carga;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.Normalizer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generador reproducible de un período completo para pruebas de carga.
+ *
+ * <p>Con la misma semilla produce el mismo catálogo, las mismas respuestas y la misma exportación
+ * de SIMCA. Las respuestas imitan lo que llega en un período real:</p>
+ * <ul>
+ *   <li>la popularidad de las electivas sigue una distribución de Zipf, de modo que unas pocas
+ *   concentran la demanda y producen listas de espera largas;</li>
+ *   <li>cada estudiante elige entre 1 y las opciones de su programa, solo electivas ofrecidas a él;</li>
+ *   <li>un porcentaje reenvía el formulario (duplicados), digita mal su código (revisión manual)
+ *   o no cumple la antigüedad mínima;</li>
+ *   <li>en SIMCA algunos estudiantes aparecen inactivos y unos pocos avanzan más rápido que su
+ *   cohorte, por lo que cumplen las reglas de nivelación.</li>
+ * </ul>
+ *
+ * <pre>
+ * PeriodoGenerado periodo = GeneradorPeriodo.conSemilla(7)
+ *         .estudiantes(20_000)
+ *         .generar();
+ * </pre>
+ */
+public final class GeneradorPeriodo {
+
+    private static final String[] NOMBRES_PROGRAMAS = {
+            "Ingeniería de Sistemas", "Ingeniería Electrónica y Telecomunicaciones",
+            "Ingeniería en Automática Industrial", "Tecnología en Telemática",
+            "Ingeniería Física", "Ingeniería Civil", "Ingeniería Ambiental", "Ingeniería Agroindustrial"
+    };
+
+    private static final String[] TEMAS_ELECTIVAS = {
+            "Aprendizaje Automático", "Computación en la Nube", "Seguridad Informática", "Internet de las Cosas",
+            "Procesamiento de Imágenes", "Sistemas Embebidos", "Robótica Móvil", "Energías Renovables",
+            "Gestión de Proyectos", "Minería de Datos", "Redes Definidas por Software", "Visión por Computador",
+            "Control Predictivo", "Bioinformática", "Computación Cuántica", "Arquitectura de Software",
+            "Interacción Humano Computador", "Comunicaciones Ópticas", "Emprendimiento Tecnológico",
+            "Hidrología Aplicada", "Geotecnia Avanzada", "Bioprocesos", "Antenas y Propagación", "Blockchain"
+    };
+
+    private static final String[] NOMBRES = {
+            "Ana", "Juan", "María", "Carlos", "Laura", "Andrés", "Valentina", "Santiago", "Camila", "Sebastián",
+            "Daniela", "Julián", "Sofía", "Mateo", "Isabella", "Nicolás", "Mariana", "Felipe", "Paula", "Tomás"
+    };
+
+    private static final String[] APELLIDOS = {
+            "Muñoz", "Gómez", "Rodríguez", "López", "Martínez", "Díaz", "Hernández", "Pérez", "Ordóñez", "Castillo",
+            "Zúñiga", "Bolaños", "Vargas", "Rojas", "Chicangana", "Guzmán", "Ramírez", "Velasco", "Sánchez", "Torres"
+    };
+
+    private static final String[] ROMANOS = {"", " II", " III", " IV", " V", " VI", " VII", " VIII", " IX", " X"};
+
+    private static final int CUPOS_POR_OFERTA = 18;
+    private static final int SEMESTRES_MINIMOS = 6;
+
+    private final long semilla;
+    private int estudiantes = 10_000;
+    private int programas = 5;
+    private int departamentos = 3;
+    private int electivas = 40;
+    private int opciones = 7;
+    private String semestre = "2025-1";
+    private double duplicados = 0.03;
+    private double codigosInvalidos = 0.01;
+    private double sinAntiguedad = 0.04;
+    private double inactivos = 0.01;
+    private double adelantados = 0.04;
+    private double exponenteZipf = 1.1;
+
+    private GeneradorPeriodo(long semilla) {
+        this.semilla = semilla;
+    }
+
+    /**
+     * Inicia la descripción de un período con valores por defecto de tamaño medio.
+     */
+    public static GeneradorPeriodo conSemilla(long semilla) {
+        return new GeneradorPeriodo(semilla);
+    }
+
+    public GeneradorPeriodo estudiantes(int estudiantes) {
+        this.estudiantes = estudiantes;
+        return this;
+    }
+
+    public GeneradorPeriodo programas(int programas) {
+        this.programas = programas;
+        return this;
+    }
+
+    public GeneradorPeriodo departamentos(int departamentos) {
+        this.departamentos = departamentos;
+        return this;
+    }
+
+    public GeneradorPeriodo electivas(int electivas) {
+        this.electivas = electivas;
+        return this;
+    }
+
+    /**
+     * Máximo de opciones del formulario; cada programa recibe entre 1 y este valor.
+     */
+    public GeneradorPeriodo opciones(int opciones) {
+        this.opciones = opciones;
+        return this;
+    }
+
+    /**
+     * Semestre del período, en el formato {@code AAAA-1} o {@code AAAA-2}.
+     */
+    public GeneradorPeriodo semestre(String semestre) {
+        this.semestre = semestre;
+        return this;
+    }
+
+    public GeneradorPeriodo duplicados(double proporcion) {
+        this.duplicados = proporcion;
+        return this;
+    }
+
+    public GeneradorPeriodo codigosInvalidos(double proporcion) {
+        this.codigosInvalidos = proporcion;
+        return this;
+    }
+
+    public GeneradorPeriodo sinAntiguedad(double proporcion) {
+        this.sinAntiguedad = proporcion;
+        return this;
+    }
+
+    public GeneradorPeriodo inactivos(double proporcion) {
+        this.inactivos = proporcion;
+        return this;
+    }
+
+    public GeneradorPeriodo adelantados(double proporcion) {
+        this.adelantados = proporcion;
+        return this;
+    }
+
+    public GeneradorPeriodo exponenteZipf(double exponente) {
+        this.exponenteZipf = exponente;
+        return this;
+    }
+
+    /**
+     * Genera el período.
+     *
+     * @return período con catálogo, respuestas y exportación de SIMCA
+     * @throws IllegalArgumentException si la configuración no permite un período válido
+     */
+    public PeriodoGenerado generar() {
+        if (!semestre.matches("\\d{4}-[12]")) {
+            throw new IllegalArgumentException("Semestre inválido: " + semestre);
+        }
+        if (programas < 1 || departamentos < 1 || estudiantes < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un programa, un departamento y un estudiante.");
+        }
+        if (opciones < 1 || opciones > electivas) {
+            throw new IllegalArgumentException("Las opciones deben estar entre 1 y el número de electivas.");
+        }
+        if (electivas > TEMAS_ELECTIVAS.length * ROMANOS.length) {
+            throw new IllegalArgumentException("Máximo " + TEMAS_ELECTIVAS.length * ROMANOS.length + " electivas.");
+        }
+
+        Random aleatorio = new Random(semilla);
+        int anio = Integer.parseInt(semestre.substring(0, 4));
+        int periodo = semestre.charAt(5) - '0';
+
+        List<String> deptos = new ArrayList<>();
+        for (int i = 1; i <= departamentos; i++) {
+            deptos.add("Departamento de Carga " + i);
+        }
+
+        List<PeriodoGenerado.Programa> progs = new ArrayList<>();
+        for (int i = 0; i < programas; i++) {
+            progs.add(programa(i, anio, aleatorio));
+        }
+
+        List<PeriodoGenerado.Electiva> elects = new ArrayList<>();
+        List<List<Integer>> ofertasPorPrograma = new ArrayList<>();
+        for (int p = 0; p < programas; p++) {
+            ofertasPorPrograma.add(new ArrayList<>());
+        }
+        for (int i = 0; i < electivas; i++) {
+            Map<Integer, Integer> cupos = cupos(i, aleatorio);
+            cupos.keySet().forEach(p -> ofertasPorPrograma.get(p).add(elects.size()));
+            elects.add(new PeriodoGenerado.Electiva(
+                    String.format("EC-%03d", i + 1),
+                    TEMAS_ELECTIVAS[i % TEMAS_ELECTIVAS.length] + ROMANOS[i / TEMAS_ELECTIVAS.length],
+                    i % departamentos,
+                    cupos));
+        }
+
+        // Un programa no puede tener más opciones que electivas ofrecidas a él
+        for (int p = 0; p < programas; p++) {
+            PeriodoGenerado.Programa prog = progs.get(p);
+            int opcionesPrograma = Math.min(prog.opciones(), ofertasPorPrograma.get(p).size());
+            progs.set(p, new PeriodoGenerado.Programa(prog.codigo(), prog.nombre(), prog.nombreSimca(),
+                    Math.max(1, opcionesPrograma), prog.planes()));
+        }
+
+        double[] pesos = pesosZipf(electivas, aleatorio);
+        Instant apertura = inicioFormulario(anio, periodo);
+
+        List<PeriodoGenerado.Respuesta> respuestas = new ArrayList<>(estudiantes + (int) (estudiantes * duplicados) + 1);
+        List<PeriodoGenerado.FilaSimca> simca = new ArrayList<>(estudiantes);
+        Map<String, String> correcciones = new LinkedHashMap<>();
+        Map<String, Boolean> nivelados = new LinkedHashMap<>();
+        Map<String, Integer> consecutivos = new HashMap<>();
+
+        for (int i = 0; i < estudiantes; i++) {
+            int indicePrograma = aleatorio.nextInt(programas);
+            PeriodoGenerado.Programa prog = progs.get(indicePrograma);
+
+            boolean cumpleAntiguedad = aleatorio.nextDouble() >= sinAntiguedad;
+            int semestresCursados = cumpleAntiguedad
+                    ? SEMESTRES_MINIMOS + aleatorio.nextInt(7)
+                    : 2 + aleatorio.nextInt(SEMESTRES_MINIMOS - 2);
+            int cohorte = anio * 2 + (periodo - 1) - semestresCursados;
+            int anioIngreso = cohorte / 2;
+            int periodoIngreso = cohorte % 2 + 1;
+
+            String grupo = indicePrograma + "-" + cohorte;
+            int consecutivo = consecutivos.merge(grupo, 1, Integer::sum);
+            String codigo = String.format("10%02d%02d0%d%04d", indicePrograma + 1, anioIngreso % 100, periodoIngreso, consecutivo);
+
+            String nombres = NOMBRES[aleatorio.nextInt(NOMBRES.length)];
+            String apellidos = APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] + " " + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+            String usuario = sinTildes(nombres.toLowerCase(Locale.ROOT)) + codigo.substring(8);
+            String correo = usuario + "@unicauca.edu.co";
+
+            List<String> elegidas = elegir(ofertasPorPrograma.get(indicePrograma), elects, pesos,
+                    1 + aleatorio.nextInt(prog.opciones()), aleatorio);
+            Instant marca = apertura.plusSeconds(aleatorio.nextInt(14 * 24 * 3600));
+
+            boolean reenvia = aleatorio.nextDouble() < duplicados;
+
+            // Código mal digitado: se pierde un dígito y queda pendiente de revisión manual.
+            // Solo entre quienes cumplen antigüedad y no reenvían, porque la corrección no vuelve a filtrar.
+            String codigoFormulario = codigo;
+            if (cumpleAntiguedad && !reenvia && aleatorio.nextDouble() < codigosInvalidos) {
+                codigoFormulario = codigo.substring(0, 11);
+                if (correcciones.containsKey(codigoFormulario)) {
+                    codigoFormulario = codigo;
+                } else {
+                    correcciones.put(codigoFormulario, codigo);
+                }
+            }
+            respuestas.add(new PeriodoGenerado.Respuesta(marca, correo, codigoFormulario, nombres, apellidos, prog.nombre(), elegidas));
+
+            // Reenvío del formulario, a veces cambiando de opinión
+            if (reenvia) {
+                List<String> reenvio = aleatorio.nextBoolean() ? elegidas
+                        : elegir(ofertasPorPrograma.get(indicePrograma), elects, pesos, elegidas.size(), aleatorio);
+                respuestas.add(new PeriodoGenerado.Respuesta(marca.plusSeconds(60 + aleatorio.nextInt(3600)),
+                        correo, codigo, nombres, apellidos, prog.nombre(), reenvio));
+            }
+
+            if (!cumpleAntiguedad) {
+                continue;
+            }
+
+            PeriodoGenerado.Plan plan = anioIngreso >= prog.planes().get(1).anioInicio()
+                    ? prog.planes().get(1) : prog.planes().get(0);
+            boolean inactivo = aleatorio.nextDouble() < inactivos;
+            boolean adelantado = aleatorio.nextDouble() < adelantados;
+            simca.add(filaSimca(codigo, nombres, apellidos, inactivo ? "" : usuario, prog, plan,
+                    semestresCursados, adelantado, aleatorio));
+            if (adelantado && !inactivo) {
+                nivelados.put(codigo, aleatorio.nextDouble() < 0.8);
+            }
+        }
+
+        // Las respuestas llegan ordenadas por marca temporal, como las exporta el formulario
+        respuestas.sort((a, b) -> a.marcaTemporal().compareTo(b.marcaTemporal()));
+
+        return new PeriodoGenerado(semestre, List.copyOf(deptos), List.copyOf(progs), List.copyOf(elects),
+                respuestas, simca, correcciones, nivelados);
+    }
+
+    private PeriodoGenerado.Programa programa(int indice, int anio, Random aleatorio) {
+        String base = NOMBRES_PROGRAMAS[indice % NOMBRES_PROGRAMAS.length];
+        // Con más programas que nombres se distinguen todos por sede, para que ningún nombre contenga a otro
+        String nombre = programas <= NOMBRES_PROGRAMAS.length ? base
+                : base + " Sede " + (char) ('A' + indice / NOMBRES_PROGRAMAS.length);
+        String codigo = String.format("PC-%02d", indice + 1);
+
+        List<PeriodoGenerado.Plan> planes = new ArrayList<>(2);
+        int[] inicios = {anio - 9, anio - 4};
+        for (int v = 0; v < inicios.length; v++) {
+            int requeridas = 4 + aleatorio.nextInt(3);
+            int totales = 160 + aleatorio.nextInt(16);
+            int trabajoGrado = 6;
+            int obligatorios = totales - requeridas * 3 - trabajoGrado;
+
+            Map<String, Object> electivasPorSemestre = new LinkedHashMap<>();
+            electivasPorSemestre.put("7", 1);
+            electivasPorSemestre.put("8", Math.max(2, requeridas / 2));
+            electivasPorSemestre.put("9", requeridas - 1);
+            electivasPorSemestre.put("10", requeridas);
+
+            Map<String, Object> reglasNivelacion = new LinkedHashMap<>();
+            reglasNivelacion.put("Septimo", regla((int) Math.round(obligatorios * 0.62), 6));
+            reglasNivelacion.put("Octavo", regla((int) Math.round(obligatorios * 0.72), 7));
+
+            planes.add(new PeriodoGenerado.Plan("Plan " + codigo + " " + inicios[v], String.valueOf(v + 1),
+                    inicios[v], requeridas, totales, trabajoGrado, electivasPorSemestre, reglasNivelacion));
+        }
+        return new PeriodoGenerado.Programa(codigo, nombre, sinTildes(nombre).toUpperCase(Locale.ROOT),
+                1 + aleatorio.nextInt(opciones), List.copyOf(planes));
+    }
+
+    private static Map<String, Object> regla(int minCreditosAprobados, int maxPeriodosMatriculados) {
+        Map<String, Object> regla = new LinkedHashMap<>();
+        regla.put("minCreditosAprobados", minCreditosAprobados);
+        regla.put("maxPeriodosMatriculados", maxPeriodosMatriculados);
+        return regla;
+    }
+
+    /**
+     * Reparte los 18 cupos de una oferta entre uno a tres programas, al menos uno por programa.
+     */
+    private Map<Integer, Integer> cupos(int indiceElectiva, Random aleatorio) {
+        int cantidad = Math.min(programas, 1 + aleatorio.nextInt(3));
+        List<Integer> elegidos = new ArrayList<>(cantidad);
+        // El primer programa rota para que todos reciban ofertas
+        elegidos.add(indiceElectiva % programas);
+        while (elegidos.size() < cantidad) {
+            int candidato = aleatorio.nextInt(programas);
+            if (!elegidos.contains(candidato)) {
+                elegidos.add(candidato);
+            }
+        }
+
+        int[] repartidos = new int[cantidad];
+        int restantes = CUPOS_POR_OFERTA - cantidad;
+        for (int k = 0; k < cantidad; k++) {
+            repartidos[k] = 1;
+        }
+        while (restantes-- > 0) {
+            repartidos[aleatorio.nextInt(cantidad)]++;
+        }
+
+        Map<Integer, Integer> cupos = new LinkedHashMap<>();
+        for (int k = 0; k < cantidad; k++) {
+            cupos.put(elegidos.get(k), repartidos[k]);
+        }
+        return cupos;
+    }
+
+    /**
+     * Pesos de Zipf asignados a las electivas en un orden aleatorio, para que la más popular no
+     * sea siempre la primera del catálogo.
+     */
+    private double[] pesosZipf(int cantidad, Random aleatorio) {
+        List<Integer> rangos = new ArrayList<>(cantidad);
+        for (int i = 1; i <= cantidad; i++) {
+            rangos.add(i);
+        }
+        Collections.shuffle(rangos, aleatorio);
+        double[] pesos = new double[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            pesos[i] = 1.0 / Math.pow(rangos.get(i), exponenteZipf);
+        }
+        return pesos;
+    }
+
+    /**
+     * Elige electivas distintas entre las ofrecidas al programa, con probabilidad proporcional a su peso.
+     */
+    private static List<String> elegir(List<Integer> ofrecidas, List<PeriodoGenerado.Electiva> elects,
+                                       double[] pesos, int cantidad, Random aleatorio) {
+        List<Integer> disponibles = new ArrayList<>(ofrecidas);
+        List<String> elegidas = new ArrayList<>(cantidad);
+        while (elegidas.size() < cantidad && !disponibles.isEmpty()) {
+            double total = 0;
+            for (int indice : disponibles) {
+                total += pesos[indice];
+            }
+            double punto = aleatorio.nextDouble() * total;
+            int k = 0;
+            while (k < disponibles.size() - 1 && (punto -= pesos[disponibles.get(k)]) > 0) {
+                k++;
+            }
+            elegidas.add(elects.get(disponibles.remove(k)).nombre());
+        }
+        return elegidas;
+    }
+
+    /**
+     * Datos académicos coherentes con los semestres cursados. Un estudiante adelantado lleva más
+     * créditos de los que corresponden a sus períodos y cumple alguna regla de nivelación.
+     */
+    private static PeriodoGenerado.FilaSimca filaSimca(String codigo, String nombres, String apellidos, String usuario,
+                                                       PeriodoGenerado.Programa prog, PeriodoGenerado.Plan plan,
+                                                       int semestresCursados, boolean adelantado, Random aleatorio) {
+        int obligatorios = plan.creditosObligatorios();
+        int periodosMatriculados;
+        int creditosObligatorios;
+        if (adelantado) {
+            periodosMatriculados = 6 + aleatorio.nextInt(2);
+            double proporcion = periodosMatriculados == 6 ? 0.62 : 0.72;
+            creditosObligatorios = (int) Math.round(obligatorios * proporcion) + aleatorio.nextInt(8);
+        } else {
+            // Algunos estudiantes dejaron de matricularse algún período
+            periodosMatriculados = Math.max(1, semestresCursados - (aleatorio.nextDouble() < 0.15 ? 1 : 0));
+            double ritmo = 0.78 + aleatorio.nextDouble() * 0.2;
+            creditosObligatorios = (int) Math.round(Math.min(10, periodosMatriculados) * obligatorios / 10.0 * ritmo);
+        }
+        creditosObligatorios = Math.min(creditosObligatorios, obligatorios);
+        int aprobadas = Math.min(plan.electivasRequeridas() - 1, Math.max(0, periodosMatriculados - 7 + aleatorio.nextInt(2)));
+        BigDecimal promedio = BigDecimal.valueOf(3.0 + aleatorio.nextDouble() * 1.8).setScale(2, RoundingMode.HALF_UP);
+
+        return new PeriodoGenerado.FilaSimca(codigo, apellidos, nombres, usuario, prog.nombreSimca(),
+                creditosObligatorios + aprobadas * 3, periodosMatriculados, promedio, aprobadas);
+    }
+
+    /**
+     * El formulario se abre unas semanas antes de iniciar el semestre.
+     */
+    private static Instant inicioFormulario(int anio, int periodo) {
+        LocalDate inicio = periodo == 1 ? LocalDate.of(anio, 1, 10) : LocalDate.of(anio, 7, 1);
+        return inicio.atStartOfDay().toInstant(ZoneOffset.ofHours(-5));
+    }
+
+    static String sinTildes(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+}
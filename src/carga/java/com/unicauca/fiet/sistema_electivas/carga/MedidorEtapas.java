@@ -0,0 +1,89 @@
+package com.unicauca.fiet.sistema_electivas.carga;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Mide cada etapa de la prueba de carga: duración y pico de heap.
+ *
+ * <p>La aplicación corre en la misma JVM que el conductor, por lo que el pico de los pools de heap
+ * (reiniciado al empezar cada etapa) refleja la memoria que usó el servidor al atender la etapa.
+ * Es una cota superior: incluye la basura que el recolector aún no había liberado.</p>
+ */
+public final class MedidorEtapas {
+
+    private static final long MB = 1024L * 1024L;
+
+    private final List<MemoryPoolMXBean> poolsHeap = ManagementFactory.getMemoryPoolMXBeans().stream()
+            .filter(pool -> pool.getType() == MemoryType.HEAP && pool.isValid())
+            .toList();
+
+    private final List<Etapa> etapas = new ArrayList<>();
+
+    /**
+     * Ejecuta y mide una etapa. Si la etapa falla se registra el error y se relanza la excepción.
+     *
+     * @param nombre nombre de la etapa (por ejemplo, el estado al que lleva el período)
+     * @param filas  filas que procesa la etapa, o 0 si no aplica
+     * @param accion trabajo de la etapa
+     * @return resultado de la acción
+     */
+    public <T> T medir(String nombre, long filas, Callable<T> accion) throws Exception {
+        poolsHeap.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long inicio = System.nanoTime();
+        String error = null;
+        try {
+            return accion.call();
+        } catch (Exception e) {
+            error = e.getMessage();
+            throw e;
+        } finally {
+            long nanos = System.nanoTime() - inicio;
+            long picoHeap = poolsHeap.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            Etapa etapa = new Etapa(nombre, filas, nanos / 1_000_000, picoHeap / MB, error);
+            etapas.add(etapa);
+            System.out.printf("%-45s %8d ms %6d MB%s%n", nombre, etapa.milisegundos(), etapa.picoHeapMb(),
+                    error == null ? "" : "  ERROR: " + error);
+        }
+    }
+
+    public List<Etapa> getEtapas() {
+        return List.copyOf(etapas);
+    }
+
+    /**
+     * Escribe los resultados como JSON junto con los parámetros de la corrida.
+     */
+    public void escribir(Path archivo, Map<String, Object> parametros) throws IOException {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("fecha", Instant.now().toString());
+        resultado.put("parametros", parametros);
+        resultado.put("totalMilisegundos", etapas.stream().mapToLong(Etapa::milisegundos).sum());
+        resultado.put("picoHeapMb", etapas.stream().mapToLong(Etapa::picoHeapMb).max().orElse(0));
+        resultado.put("etapas", etapas);
+
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(archivo.toFile(), resultado);
+    }
+
+    /**
+     * Medición de una etapa.
+     *
+     * @param error mensaje de error si la etapa falló, o {@code null}
+     */
+    public record Etapa(String nombre, long filas, long milisegundos, long picoHeapMb, String error) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.unicauca.fiet.sistema_electivas.carga;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Período sintético producido por {@link GeneradorPeriodo}: catálogo, respuestas del formulario
+ * y exportación de SIMCA, sin identificadores de base de datos.
+ *
+ * <p>Las entidades se relacionan por posición en las listas (por ejemplo, el programa de una
+ * electiva es un índice de {@link #programas()}), de modo que el mismo período puede cargarse
+ * como fixtures o escribirse como archivos.</p>
+ *
+ * @param semestre      semestre del período (por ejemplo, {@code 2025-1})
+ * @param departamentos nombres de los departamentos
+ * @param programas     programas con sus planes de estudio
+ * @param electivas     electivas con los programas a los que se ofrecen y sus cupos
+ * @param respuestas    respuestas del formulario en orden de envío, incluidos duplicados y códigos mal digitados
+ * @param simca         filas de la exportación de SIMCA, una por estudiante confirmado
+ * @param correcciones  código con formato inválido → código real del estudiante
+ * @param nivelados     decisión final esperada para los estudiantes que cumplen una regla de nivelación
+ */
+public record PeriodoGenerado(
+        String semestre,
+        List<String> departamentos,
+        List<Programa> programas,
+        List<Electiva> electivas,
+        List<Respuesta> respuestas,
+        List<FilaSimca> simca,
+        Map<String, String> correcciones,
+        Map<String, Boolean> nivelados
+) {
+
+    /**
+     * @param codigo      código del programa
+     * @param nombre      nombre con tildes, como aparece en el formulario
+     * @param nombreSimca nombre como lo exporta SIMCA (mayúsculas, sin tildes)
+     * @param opciones    opciones del formulario para el programa
+     * @param planes      planes activos, del más antiguo al más reciente
+     */
+    public record Programa(String codigo, String nombre, String nombreSimca, int opciones, List<Plan> planes) {
+    }
+
+    /**
+     * @param electivasPorSemestre electivas que debe ver el estudiante por semestre (clave = número)
+     * @param reglasNivelacion     reglas de nivelación por nombre de semestre
+     */
+    public record Plan(
+            String nombre,
+            String version,
+            int anioInicio,
+            int electivasRequeridas,
+            int creditosTotales,
+            int creditosTrabajoGrado,
+            Map<String, Object> electivasPorSemestre,
+            Map<String, Object> reglasNivelacion
+    ) {
+        /** Créditos obligatorios: los del plan sin electivas ni trabajo de grado. */
+        public int creditosObligatorios() {
+            return creditosTotales - electivasRequeridas * 3 - creditosTrabajoGrado;
+        }
+    }
+
+    /**
+     * @param departamento     índice en {@link PeriodoGenerado#departamentos()}
+     * @param cuposPorPrograma índice de programa → cupos; suman 18
+     */
+    public record Electiva(String codigo, String nombre, int departamento, Map<Integer, Integer> cuposPorPrograma) {
+    }
+
+    /**
+     * @param opciones nombres de las electivas elegidas, en orden de preferencia
+     */
+    public record Respuesta(
+            Instant marcaTemporal,
+            String correo,
+            String codigo,
+            String nombres,
+            String apellidos,
+            String programa,
+            List<String> opciones
+    ) {
+    }
+
+    /**
+     * Fila de SIMCA. Un {@code usuario} vacío corresponde a un estudiante inactivo.
+     */
+    public record FilaSimca(
+            String codigo,
+            String apellidos,
+            String nombres,
+            String usuario,
+            String programa,
+            int creditosAprobados,
+            int periodosMatriculados,
+            BigDecimal promedioCarrera,
+            int aprobadas
+    ) {
+    }
+}
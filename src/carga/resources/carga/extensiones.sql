@@ -0,0 +1,2 @@
+-- Extensiones que usan las consultas nativas (busqueda de programas sin tildes).
+CREATE EXTENSION IF NOT EXISTS unaccent;
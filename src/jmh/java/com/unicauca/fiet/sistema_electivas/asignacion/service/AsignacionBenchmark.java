@@ -0,0 +1,108 @@
+package com.unicauca.fiet.sistema_electivas.asignacion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicauca.fiet.sistema_electivas.asignacion.repository.AsignacionElectivaRepository;
+import com.unicauca.fiet.sistema_electivas.benchmark.DatosBenchmark;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.OfertaRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestaOpcionRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestasFormularioRepository;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.service.ReglasPlanCache;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.CambioEstadoValidacionResponse;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.DatosAcademicoRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Bucle de asignación de {@link AsignacionServiceImpl#procesarAsignacionMasiva(Long)} sobre un
+ * período sintético en memoria.
+ *
+ * <p>Los repositorios se reemplazan por mocks que devuelven los datos ya cargados, así que se mide
+ * solo el trabajo en memoria: mapas de respuestas y opciones, cupos y listas de espera. Las reglas
+ * de cantidad de electivas usan la implementación real.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AsignacionBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int estudiantes;
+
+    private DatosBenchmark.Periodo datos;
+    private AsignacionServiceImpl servicio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        datos = DatosBenchmark.periodo(estudiantes);
+        Long periodoId = datos.periodo().getId();
+
+        PeriodoAcademicoRepository periodoRepository = soloRespuestas(PeriodoAcademicoRepository.class);
+        when(periodoRepository.findById(periodoId)).thenReturn(Optional.of(datos.periodo()));
+        when(periodoRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        ConsultaAsignacionService consultaAsignacionService = soloRespuestas(ConsultaAsignacionService.class);
+        when(consultaAsignacionService.obtenerAptosOrdenadosInterno(periodoId)).thenAnswer(i -> datos.datos());
+
+        RespuestasFormularioRepository respuestasRepository = soloRespuestas(RespuestasFormularioRepository.class);
+        when(respuestasRepository.findByPeriodoIdAndEstado(periodoId, EstadoRespuestaFormulario.DATOS_CARGADOS))
+                .thenReturn(datos.respuestas());
+
+        RespuestaOpcionRepository opcionRepository = soloRespuestas(RespuestaOpcionRepository.class);
+        when(opcionRepository.findAllOpcionesByPeriodoAndEstadoDatosCargados(periodoId)).thenReturn(datos.opciones());
+
+        OfertaRepository ofertaRepository = soloRespuestas(OfertaRepository.class);
+        when(ofertaRepository.findByPeriodoId(periodoId)).thenReturn(datos.ofertas());
+
+        servicio = new AsignacionServiceImpl();
+        ReflectionTestUtils.setField(servicio, "periodoRepository", periodoRepository);
+        ReflectionTestUtils.setField(servicio, "consultaAsignacionService", consultaAsignacionService);
+        ReflectionTestUtils.setField(servicio, "respuestasFormularioRepository", respuestasRepository);
+        ReflectionTestUtils.setField(servicio, "respuestaOpcionRepository", opcionRepository);
+        ReflectionTestUtils.setField(servicio, "ofertaRepository", ofertaRepository);
+        ReflectionTestUtils.setField(servicio, "datosAcademicoRepository", soloRespuestas(DatosAcademicoRepository.class));
+        ReflectionTestUtils.setField(servicio, "asignacionElectivaRepository", soloRespuestas(AsignacionElectivaRepository.class));
+        ReflectionTestUtils.setField(servicio, "metricasEtapas", soloRespuestas(MetricasEtapas.class));
+        ReflectionTestUtils.setField(servicio, "reglasElectivasServiceImpl",
+                new ReglasElectivasServiceImpl(new ReglasPlanCache(new ObjectMapper())));
+    }
+
+    @Benchmark
+    public CambioEstadoValidacionResponse procesarAsignacionMasiva() {
+        // El proceso deja el período en GENERACION_REPORTE_DETALLADO; se restaura en cada llamada
+        datos.periodo().setEstado(EstadoPeriodoAcademico.EN_PROCESO_ASIGNACION);
+        return servicio.procesarAsignacionMasiva(datos.periodo().getId());
+    }
+
+    /**
+     * Mock que no registra invocaciones, para no acumular memoria entre iteraciones.
+     */
+    private static <T> T soloRespuestas(Class<T> tipo) {
+        return mock(tipo, withSettings().stubOnly());
+    }
+}
@@ -0,0 +1,108 @@
+package com.unicauca.fiet.sistema_electivas.asignacion.service;
+
+import com.unicauca.fiet.sistema_electivas.benchmark.DatosBenchmark;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ordenamiento oficial de estudiantes ({@link ConsultaAsignacionServiceImpl#ORDEN_OFICIAL})
+ * frente a dos alternativas que producen el mismo orden:
+ * <ul>
+ *   <li>un comparador escrito a mano, sin extractores ni cajas de {@code Integer};</li>
+ *   <li>claves precalculadas una vez por estudiante y ordenadas como arreglo de índices.</li>
+ * </ul>
+ *
+ * <p>Cada llamada ordena una copia barajada de la lista, igual que llega desde la base de datos.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrdenamientoBenchmark {
+
+    private static final Comparator<DatosAcademico> ORDEN_MANUAL = (a, b) -> {
+        int c = b.getPorcentajeAvance().compareTo(a.getPorcentajeAvance());
+        if (c != 0) return c;
+        c = b.getPromedioCarrera().compareTo(a.getPromedioCarrera());
+        if (c != 0) return c;
+        return Integer.compare(faltantes(a), faltantes(b));
+    };
+
+    @Param({"1000", "10000", "50000"})
+    public int estudiantes;
+
+    private List<DatosAcademico> barajados;
+
+    @Setup
+    public void preparar() {
+        barajados = new ArrayList<>(DatosBenchmark.periodo(estudiantes).datos());
+        Collections.shuffle(barajados, new Random(DatosBenchmark.SEMILLA));
+    }
+
+    @Benchmark
+    public List<DatosAcademico> comparadorOficial() {
+        List<DatosAcademico> lista = new ArrayList<>(barajados);
+        lista.sort(ConsultaAsignacionServiceImpl.ORDEN_OFICIAL);
+        return lista;
+    }
+
+    @Benchmark
+    public List<DatosAcademico> comparadorManual() {
+        List<DatosAcademico> lista = new ArrayList<>(barajados);
+        lista.sort(ORDEN_MANUAL);
+        return lista;
+    }
+
+    @Benchmark
+    public List<DatosAcademico> clavesPrecalculadas() {
+        int n = barajados.size();
+        long[] avance = new long[n];
+        long[] promedio = new long[n];
+        int[] faltan = new int[n];
+        Integer[] indices = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            DatosAcademico d = barajados.get(i);
+            // Avance con 2 decimales y promedio con 3: exactos como enteros escalados
+            avance[i] = d.getPorcentajeAvance().movePointRight(2).longValueExact();
+            promedio[i] = d.getPromedioCarrera().movePointRight(3).longValueExact();
+            faltan[i] = faltantes(d);
+            indices[i] = i;
+        }
+        Arrays.sort(indices, (a, b) -> {
+            int c = Long.compare(avance[b], avance[a]);
+            if (c != 0) return c;
+            c = Long.compare(promedio[b], promedio[a]);
+            if (c != 0) return c;
+            return Integer.compare(faltan[a], faltan[b]);
+        });
+        List<DatosAcademico> lista = new ArrayList<>(n);
+        for (Integer i : indices) {
+            lista.add(barajados.get(i));
+        }
+        return lista;
+    }
+
+    private static int faltantes(DatosAcademico d) {
+        return d.getPlanEstudios().getElectivasRequeridas() - d.getAprobadas();
+    }
+}
@@ -0,0 +1,55 @@
+package com.unicauca.fiet.sistema_electivas.asignacion.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicauca.fiet.sistema_electivas.benchmark.DatosBenchmark;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.service.ReglasPlanCache;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ReglasElectivasServiceImpl#calcularCantidadElectivasAAsignar(DatosAcademico)} aplicado a
+ * todos los estudiantes de un período, con la mezcla de nivelados y no nivelados de
+ * {@link DatosBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReglasElectivasBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int estudiantes;
+
+    private List<DatosAcademico> datos;
+    private ReglasElectivasServiceImpl reglas;
+
+    @Setup
+    public void preparar() {
+        datos = DatosBenchmark.periodo(estudiantes).datos();
+        reglas = new ReglasElectivasServiceImpl(new ReglasPlanCache(new ObjectMapper()));
+    }
+
+    @Benchmark
+    public long calcularCantidadElectivasAAsignar() {
+        long total = 0;
+        for (DatosAcademico dato : datos) {
+            total += reglas.calcularCantidadElectivasAAsignar(dato);
+        }
+        return total;
+    }
+}
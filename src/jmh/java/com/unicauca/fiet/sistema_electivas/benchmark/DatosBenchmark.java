@@ -0,0 +1,252 @@
+package com.unicauca.fiet.sistema_electivas.benchmark;
+
+import com.unicauca.fiet.sistema_electivas.asignacion.enums.EstadoAsignacion;
+import com.unicauca.fiet.sistema_electivas.asignacion.model.AsignacionElectiva;
+import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
+import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoOferta;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.Oferta;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaOpcion;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Genera en memoria (sin base de datos) un período con catálogo, respuestas y datos académicos
+ * para los benchmarks.
+ *
+ * <p>Todas las entidades tienen ID asignado y las relaciones ya resueltas, como si vinieran de
+ * las consultas con {@code JOIN FETCH}. Con la misma semilla el contenido es el mismo, de modo
+ * que los resultados de distintos commits son comparables.</p>
+ */
+public final class DatosBenchmark {
+
+    public static final long SEMILLA = 42L;
+    public static final int PROGRAMAS = 5;
+    public static final int ELECTIVAS = 60;
+    public static final int OPCIONES = 7;
+
+    private static final String[] APELLIDOS = {
+            "Gómez", "Muñoz", "Rodríguez", "López", "Martínez", "Díaz", "Pérez", "Sánchez", "Ramírez", "Ortiz"
+    };
+    private static final String[] NOMBRES = {
+            "Andrés", "María", "Julián", "Sofía", "Camilo", "Valentina", "Sebastián", "Lucía", "Tomás", "Ana"
+    };
+    private static final String[] DEPARTAMENTOS_NOMBRES = {
+            "Sistemas", "Telemática", "Electrónica, Instrumentación y Control", "Matemáticas"
+    };
+    private static final String[] TEMAS = {
+            "Inteligencia Artificial", "Redes Móviles", "Bases de Datos", "Computación Gráfica",
+            "Sistemas Embebidos", "Procesamiento de Señales", "Seguridad Informática", "Robótica",
+            "Telemática Avanzada", "Gestión de Proyectos", "Computación en la Nube", "Internet de las Cosas"
+    };
+
+    private DatosBenchmark() {
+    }
+
+    /**
+     * Período generado.
+     *
+     * @param periodo período en estado {@code EN_PROCESO_ASIGNACION}
+     * @param programas programas con cupos en todas las ofertas
+     * @param ofertas ofertas del período, con electiva y departamento
+     * @param datos datos académicos aptos, en el orden en que se generaron
+     * @param respuestas respuestas en estado {@code DATOS_CARGADOS}, una por estudiante
+     * @param opciones opciones de todas las respuestas, ordenadas por respuesta y número de opción
+     */
+    public record Periodo(
+            PeriodoAcademico periodo,
+            List<Programa> programas,
+            List<Oferta> ofertas,
+            List<DatosAcademico> datos,
+            List<RespuestasFormulario> respuestas,
+            List<RespuestaOpcion> opciones
+    ) {}
+
+    /**
+     * Genera un período con {@code estudiantes} estudiantes aptos.
+     *
+     * @param estudiantes número de estudiantes
+     * @return período generado con {@link #SEMILLA}
+     */
+    public static Periodo periodo(int estudiantes) {
+        Random random = new Random(SEMILLA);
+
+        PeriodoAcademico periodo = new PeriodoAcademico();
+        periodo.setId(1L);
+        periodo.setSemestre("2025-1");
+        periodo.setEstado(EstadoPeriodoAcademico.EN_PROCESO_ASIGNACION);
+
+        List<Programa> programas = new ArrayList<>();
+        List<PlanEstudio> planes = new ArrayList<>();
+        for (int p = 1; p <= PROGRAMAS; p++) {
+            Programa programa = new Programa();
+            programa.setId((long) p);
+            programa.setCodigo("P" + p);
+            programa.setNombre("Ingeniería de Programa " + p);
+            programas.add(programa);
+            periodo.getOpcionesPorPrograma().put(programa.getId(), OPCIONES);
+            planes.add(plan(programa, p));
+        }
+
+        List<Departamento> departamentos = new ArrayList<>();
+        for (int d = 1; d <= DEPARTAMENTOS_NOMBRES.length; d++) {
+            Departamento departamento = new Departamento();
+            departamento.setId((long) d);
+            departamento.setCodigo("D" + d);
+            departamento.setNombre(DEPARTAMENTOS_NOMBRES[d - 1]);
+            departamentos.add(departamento);
+        }
+
+        // Cupos proporcionales al número de estudiantes: cerca de la mitad de las opciones quedan sin cupo
+        int cupos = Math.max(1, estudiantes * 2 / (ELECTIVAS * PROGRAMAS));
+        List<Oferta> ofertas = new ArrayList<>();
+        for (int e = 1; e <= ELECTIVAS; e++) {
+            Electiva electiva = new Electiva();
+            electiva.setId((long) e);
+            electiva.setCodigo(String.format("EL%03d", e));
+            electiva.setNombre(TEMAS[e % TEMAS.length] + " " + e);
+            electiva.setDepartamento(departamentos.get(e % departamentos.size()));
+
+            Oferta oferta = new Oferta();
+            oferta.setId((long) e);
+            oferta.setElectiva(electiva);
+            oferta.setPeriodo(periodo);
+            oferta.setEstado(EstadoOferta.OFERTADA);
+            Map<Long, Integer> cuposPorPrograma = new HashMap<>();
+            for (Programa programa : programas) {
+                // Una de cada cinco electivas no admite a uno de los programas
+                if ((e + programa.getId()) % 5 != 0) {
+                    cuposPorPrograma.put(programa.getId(), cupos);
+                }
+            }
+            oferta.setCuposPorPrograma(cuposPorPrograma);
+            ofertas.add(oferta);
+        }
+
+        List<DatosAcademico> datos = new ArrayList<>(estudiantes);
+        List<RespuestasFormulario> respuestas = new ArrayList<>(estudiantes);
+        List<RespuestaOpcion> opciones = new ArrayList<>(estudiantes * OPCIONES);
+        long idOpcion = 1;
+
+        for (int i = 0; i < estudiantes; i++) {
+            int indicePrograma = random.nextInt(PROGRAMAS);
+            Programa programa = programas.get(indicePrograma);
+            PlanEstudio plan = planes.get(indicePrograma);
+            String codigo = String.format("1%02d%06d", indicePrograma + 1, i);
+
+            RespuestasFormulario respuesta = new RespuestasFormulario();
+            respuesta.setId((long) i + 1);
+            respuesta.setPeriodo(periodo);
+            respuesta.setPrograma(programa);
+            respuesta.setCodigoEstudiante(codigo);
+            respuesta.setCorreoEstudiante("estudiante" + i + "@unicauca.edu.co");
+            respuesta.setNombreEstudiante(NOMBRES[random.nextInt(NOMBRES.length)]);
+            respuesta.setApellidosEstudiante(APELLIDOS[random.nextInt(APELLIDOS.length)]);
+            respuesta.setEstado(EstadoRespuestaFormulario.DATOS_CARGADOS);
+            respuesta.setTimestampRespuesta(Instant.EPOCH.plusSeconds(i));
+            respuestas.add(respuesta);
+
+            // Entre 1 y 7 opciones; algunas sin oferta (opción dejada en blanco)
+            int totalOpciones = 1 + random.nextInt(OPCIONES);
+            for (int o = 1; o <= totalOpciones; o++) {
+                RespuestaOpcion opcion = new RespuestaOpcion();
+                opcion.setId(idOpcion++);
+                opcion.setRespuesta(respuesta);
+                opcion.setOpcionNum(o);
+                opcion.setOferta(random.nextInt(20) == 0 ? null : ofertas.get(random.nextInt(ofertas.size())));
+                respuesta.getOpciones().add(opcion);
+                opciones.add(opcion);
+            }
+
+            int aprobadas = random.nextInt(plan.getElectivasRequeridas());
+            int obligatorios = plan.getCreditosTotalesPlan() - plan.getElectivasRequeridas() * 3 - plan.getCreditosTrabajoGrado();
+            int creditosObligatorios = obligatorios / 2 + random.nextInt(obligatorios / 2 + 1);
+
+            DatosAcademico dato = new DatosAcademico();
+            dato.setId((long) i + 1);
+            dato.setCodigoEstudiante(codigo);
+            dato.setApellidos(respuesta.getApellidosEstudiante());
+            dato.setNombres(respuesta.getNombreEstudiante());
+            dato.setUsuario("usuario" + i);
+            dato.setPrograma(programa.getNombre());
+            dato.setPlanEstudios(plan);
+            dato.setRespuesta(respuesta);
+            dato.setAprobadas(aprobadas);
+            dato.setCreditosAprobados(creditosObligatorios + aprobadas * 3);
+            dato.setPeriodosMatriculados(5 + random.nextInt(6));
+            dato.setEsNivelado(random.nextInt(10) == 0);
+            dato.setPromedioCarrera(BigDecimal.valueOf(3000 + random.nextInt(2001), 3));
+            dato.setPorcentajeAvance(BigDecimal.valueOf(creditosObligatorios * 100.0 / obligatorios)
+                    .setScale(2, RoundingMode.HALF_UP));
+            dato.setEstadoAptitud(EstadoAptitud.APTO);
+            datos.add(dato);
+        }
+
+        return new Periodo(periodo, programas, ofertas, datos, respuestas, opciones);
+    }
+
+    /**
+     * Crea asignaciones con una distribución de estados parecida a la de un período procesado:
+     * las dos primeras opciones asignadas, la siguiente en lista de espera y el resto sin evaluar.
+     *
+     * @param periodo período generado
+     * @return asignaciones agrupadas por código de estudiante
+     */
+    public static Map<String, List<AsignacionElectiva>> asignaciones(Periodo periodo) {
+        Map<String, List<AsignacionElectiva>> porEstudiante = new LinkedHashMap<>();
+        long id = 1;
+        for (RespuestasFormulario respuesta : periodo.respuestas()) {
+            List<AsignacionElectiva> asignaciones = new ArrayList<>();
+            for (RespuestaOpcion opcion : respuesta.getOpciones()) {
+                if (opcion.getOferta() == null) {
+                    continue;
+                }
+                AsignacionElectiva asignacion = new AsignacionElectiva();
+                asignacion.setId(id++);
+                asignacion.setEstudianteCodigo(respuesta.getCodigoEstudiante());
+                asignacion.setOferta(opcion.getOferta());
+                asignacion.setNumeroOpcion(opcion.getOpcionNum());
+                asignacion.setEstadoAsignacion(switch (opcion.getOpcionNum()) {
+                    case 1, 2 -> EstadoAsignacion.ASIGNADA;
+                    case 3 -> EstadoAsignacion.LISTA_ESPERA;
+                    case 4 -> EstadoAsignacion.SIN_CUPO;
+                    default -> EstadoAsignacion.NO_EVALUADA;
+                });
+                asignacion.setFechaAsignacion(Instant.EPOCH);
+                asignaciones.add(asignacion);
+            }
+            porEstudiante.put(respuesta.getCodigoEstudiante(), asignaciones);
+        }
+        return porEstudiante;
+    }
+
+    private static PlanEstudio plan(Programa programa, int indice) {
+        PlanEstudio plan = new PlanEstudio();
+        plan.setId((long) indice);
+        plan.setNombre("Plan " + programa.getNombre());
+        plan.setVersion("2020-" + indice);
+        plan.setAnioInicio(2020);
+        plan.setPrograma(programa);
+        plan.setElectivasRequeridas(6 + indice % 3);
+        plan.setCreditosTotalesPlan(170 + indice * 2);
+        plan.setCreditosTrabajoGrado(6);
+        plan.setElectivasPorSemestre(Map.of("7", 1, "8", 2, "9", 3, "10", 2));
+        return plan;
+    }
+}
@@ -0,0 +1,118 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
+
+import com.unicauca.fiet.sistema_electivas.benchmark.DatosBenchmark;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.MallaNormalizada;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanMateria;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.MateriaComparadaDTO;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.MateriaVistaExcel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comparación de la malla de un plan contra el historial académico de un estudiante
+ * ({@link ValidacionNiveladosServiceImpl#compararMaterias}).
+ *
+ * <p>La malla tiene diez semestres con materias obligatorias, Fish y electivas; el historial
+ * repite las materias del plan con variaciones de mayúsculas, tildes y sufijos, algunas
+ * reprobadas y otras que no pertenecen al plan.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompararMateriasBenchmark {
+
+    private static final String[] MATERIAS = {
+            "Cálculo Diferencial", "Álgebra Lineal", "Introducción a la Informática", "Física Mecánica",
+            "Cálculo Integral", "Programación Orientada a Objetos", "Electromagnetismo", "Estructuras de Datos",
+            "Ecuaciones Diferenciales", "Circuitos Eléctricos", "Bases de Datos", "Sistemas Operativos",
+            "Probabilidad y Estadística", "Redes de Computadores", "Ingeniería de Software",
+            "Arquitectura de Computadores", "Teoría de la Computación", "Compiladores", "Sistemas Distribuidos",
+            "Gestión de Proyectos", "Seguridad Informática", "Trabajo de Grado"
+    };
+
+    /** Materias de la malla por semestre. */
+    @Param({"6", "9"})
+    public int materiasPorSemestre;
+
+    private ValidacionNiveladosServiceImpl servicio;
+    private MallaNormalizada malla;
+    private int materiasEsperadas;
+    private List<MateriaVistaExcel> historial;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(DatosBenchmark.SEMILLA);
+
+        List<PlanMateria> materias = new ArrayList<>();
+        for (int semestre = 1; semestre <= 10; semestre++) {
+            for (int m = 0; m < materiasPorSemestre; m++) {
+                PlanMateria materia = new PlanMateria();
+                materia.setSemestre(semestre);
+                materia.setCreditos(3);
+                if (m == materiasPorSemestre - 1 && semestre % 3 == 0) {
+                    materia.setNombre("FISH " + semestre);
+                    materia.setTipo(TipoMateria.OBLIGATORIA);
+                } else if (m == materiasPorSemestre - 1 && semestre >= 7) {
+                    materia.setNombre("Electiva " + semestre);
+                    materia.setTipo(TipoMateria.ELECTIVA);
+                } else {
+                    materia.setNombre(MATERIAS[(semestre * materiasPorSemestre + m) % MATERIAS.length] + " " + semestre + m);
+                    materia.setTipo(TipoMateria.OBLIGATORIA);
+                }
+                materias.add(materia);
+            }
+        }
+        malla = MallaNormalizada.desde(1L, materias);
+        materiasEsperadas = malla.cantidadHastaSemestre(8);
+
+        historial = new ArrayList<>();
+        for (PlanMateria materia : materias.subList(0, materiasEsperadas)) {
+            String nombre = switch (random.nextInt(3)) {
+                case 0 -> materia.getNombre().toUpperCase();
+                case 1 -> materia.getNombre() + " (Grupo A)";
+                default -> materia.getNombre();
+            };
+            historial.add(vista(nombre, 2.0 + random.nextInt(31) / 10.0));
+        }
+        for (int i = 0; i < materiasPorSemestre * 2; i++) {
+            historial.add(vista("Deporte Formativo " + i, 4.0));
+            historial.add(vista("Electiva Libre " + i, 3.5));
+        }
+        Collections.shuffle(historial, random);
+
+        servicio = new ValidacionNiveladosServiceImpl();
+    }
+
+    @Benchmark
+    public List<MateriaComparadaDTO> compararMaterias() {
+        return servicio.compararMaterias(malla, materiasEsperadas, historial);
+    }
+
+    private static MateriaVistaExcel vista(String nombre, double definitiva) {
+        MateriaVistaExcel vista = new MateriaVistaExcel();
+        vista.setPeriodo("2024-1");
+        vista.setNombre(nombre);
+        vista.setCreditos(3);
+        vista.setDefinitiva(definitiva);
+        return vista;
+    }
+}
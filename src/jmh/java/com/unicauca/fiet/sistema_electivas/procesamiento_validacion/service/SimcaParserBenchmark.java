@@ -0,0 +1,127 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
+
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoAlmacenado;
+import com.unicauca.fiet.sistema_electivas.benchmark.DatosBenchmark;
+import com.unicauca.fiet.sistema_electivas.common.excel.LectorExcel;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura de una exportación de SIMCA con {@link SimcaCsvParserService#parsearArchivoSimca}
+ * en formato Excel (.xlsx) y CSV.
+ *
+ * <p>El servicio se crea de nuevo en cada llamada para que su caché por huella no evite la
+ * lectura del archivo.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimcaParserBenchmark {
+
+    private static final String[] ENCABEZADOS = {
+            "CODIGO", "APELLIDOS", "NOMBRES", "USUARIO", "PROGRAMA",
+            "CREDITOS_APROBADOS", "PERIODOS_MATRICULADOS", "PROMEDIO_CARRERA", "APROBADAS"
+    };
+
+    @Param({"1000", "10000", "50000"})
+    public int estudiantes;
+
+    @Param({"xlsx", "csv"})
+    public String formato;
+
+    private Path directorio;
+    private ArchivoAlmacenado archivo;
+    private LectorExcel lectorExcel;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        List<DatosAcademico> datos = DatosBenchmark.periodo(estudiantes).datos();
+        directorio = Files.createTempDirectory("simca-benchmark");
+        Path ruta = directorio.resolve("simca." + formato);
+        if ("csv".equals(formato)) {
+            escribirCsv(ruta, datos);
+        } else {
+            escribirXlsx(ruta, datos);
+        }
+        archivo = new ArchivoAlmacenado(ruta, "benchmark-" + formato + "-" + estudiantes, ruta.getFileName().toString());
+        lectorExcel = new LectorExcel();
+    }
+
+    @TearDown(Level.Trial)
+    public void limpiar() throws IOException {
+        Files.deleteIfExists(archivo.ruta());
+        Files.deleteIfExists(directorio);
+    }
+
+    @Benchmark
+    public List<DatosAcademico> parsearArchivoSimca() throws Exception {
+        return new SimcaCsvParserService(lectorExcel).parsearArchivoSimca(archivo);
+    }
+
+    private static void escribirCsv(Path ruta, List<DatosAcademico> datos) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(ruta, StandardCharsets.UTF_8)) {
+            writer.write(String.join(";", ENCABEZADOS));
+            writer.write("\r\n");
+            for (DatosAcademico d : datos) {
+                writer.write(String.join(";",
+                        d.getCodigoEstudiante(), d.getApellidos(), d.getNombres(), d.getUsuario(), d.getPrograma(),
+                        String.valueOf(d.getCreditosAprobados()), String.valueOf(d.getPeriodosMatriculados()),
+                        d.getPromedioCarrera().toPlainString().replace('.', ','), String.valueOf(d.getAprobadas())));
+                writer.write("\r\n");
+            }
+        }
+    }
+
+    private static void escribirXlsx(Path ruta, List<DatosAcademico> datos) throws IOException {
+        try (SXSSFWorkbook workbook = new SXSSFWorkbook(500);
+             OutputStream salida = Files.newOutputStream(ruta)) {
+            Sheet sheet = workbook.createSheet("SIMCA");
+            Row encabezado = sheet.createRow(0);
+            for (int c = 0; c < ENCABEZADOS.length; c++) {
+                encabezado.createCell(c).setCellValue(ENCABEZADOS[c]);
+            }
+            int fila = 1;
+            for (DatosAcademico d : datos) {
+                Row row = sheet.createRow(fila++);
+                row.createCell(0).setCellValue(d.getCodigoEstudiante());
+                row.createCell(1).setCellValue(d.getApellidos());
+                row.createCell(2).setCellValue(d.getNombres());
+                row.createCell(3).setCellValue(d.getUsuario());
+                row.createCell(4).setCellValue(d.getPrograma());
+                row.createCell(5).setCellValue(d.getCreditosAprobados());
+                row.createCell(6).setCellValue(d.getPeriodosMatriculados());
+                row.createCell(7).setCellValue(d.getPromedioCarrera().doubleValue());
+                row.createCell(8).setCellValue(d.getAprobadas());
+            }
+            workbook.write(salida);
+            workbook.dispose();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.unicauca.fiet.sistema_electivas.reporte.service;
+
+import com.unicauca.fiet.sistema_electivas.archivo.service.ArchivoService;
+import com.unicauca.fiet.sistema_electivas.asignacion.dto.DepartamentoReporteDTO;
+import com.unicauca.fiet.sistema_electivas.asignacion.dto.EstudianteAsignacionDTO;
+import com.unicauca.fiet.sistema_electivas.asignacion.dto.EstudianteAsignacionReporteResponse;
+import com.unicauca.fiet.sistema_electivas.asignacion.dto.OfertaReporteDTO;
+import com.unicauca.fiet.sistema_electivas.asignacion.enums.EstadoAsignacion;
+import com.unicauca.fiet.sistema_electivas.asignacion.mapper.AsignacionMapper;
+import com.unicauca.fiet.sistema_electivas.asignacion.mapper.ReporteAsignacionMapper;
+import com.unicauca.fiet.sistema_electivas.asignacion.model.AsignacionElectiva;
+import com.unicauca.fiet.sistema_electivas.asignacion.service.ConsultaAsignacionService;
+import com.unicauca.fiet.sistema_electivas.benchmark.DatosBenchmark;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
+import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.Oferta;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Construcción y escritura con POI de los reportes de asignación
+ * ({@link ReporteAsignacionServiceImpl#generarReporteTecnico(Long)} y
+ * {@link ReporteAsignacionServiceImpl#generarReportePublicacion(Long)}).
+ *
+ * <p>Las consultas se reemplazan por DTOs ya construidos con los mappers reales, de modo que se
+ * mide la creación de hojas, estilos y celdas y la serialización del libro (.xlsx).</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReporteAsignacionBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    public int estudiantes;
+
+    private PeriodoAcademico periodo;
+    private ReporteAsignacionServiceImpl servicio;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        DatosBenchmark.Periodo datos = DatosBenchmark.periodo(estudiantes);
+        Map<String, List<AsignacionElectiva>> asignaciones = DatosBenchmark.asignaciones(datos);
+        periodo = datos.periodo();
+        Long periodoId = periodo.getId();
+
+        List<String> nombresProgramas = datos.programas().stream().map(Programa::getNombre).toList();
+        Map<Long, List<String>> programasPorElectiva = datos.ofertas().stream()
+                .collect(Collectors.toMap(o -> o.getElectiva().getId(), o -> nombresProgramas));
+
+        AsignacionMapper asignacionMapper = new AsignacionMapper();
+        List<EstudianteAsignacionReporteResponse> ranking = datos.datos().stream()
+                .map(d -> asignacionMapper.toReporte(d, asignaciones.get(d.getCodigoEstudiante()), programasPorElectiva))
+                .toList();
+        List<DepartamentoReporteDTO> departamentos = departamentos(datos, asignaciones, nombresProgramas);
+
+        ConsultaAsignacionService consultaAsignacionService = soloRespuestas(ConsultaAsignacionService.class);
+        when(consultaAsignacionService.generarReporteRanking(periodoId)).thenReturn(ranking);
+        when(consultaAsignacionService.generarListasDeAsigancionPorDepartamentos(periodoId)).thenReturn(departamentos);
+
+        PeriodoAcademicoRepository periodoRepository = soloRespuestas(PeriodoAcademicoRepository.class);
+        when(periodoRepository.findById(periodoId)).thenReturn(Optional.of(periodo));
+        when(periodoRepository.save(any())).thenAnswer(i -> i.getArgument(0));
+
+        servicio = new ReporteAsignacionServiceImpl();
+        ReflectionTestUtils.setField(servicio, "consultaAsignacionService", consultaAsignacionService);
+        ReflectionTestUtils.setField(servicio, "periodoAcademicoRepository", periodoRepository);
+        ReflectionTestUtils.setField(servicio, "archivoService", soloRespuestas(ArchivoService.class));
+        ReflectionTestUtils.setField(servicio, "metricasEtapas", soloRespuestas(MetricasEtapas.class));
+    }
+
+    @Benchmark
+    public long reporteTecnico() throws IOException {
+        periodo.setEstado(EstadoPeriodoAcademico.GENERACION_REPORTE_DETALLADO);
+        try (Workbook workbook = servicio.generarReporteTecnico(periodo.getId())) {
+            return escribir(workbook);
+        }
+    }
+
+    @Benchmark
+    public long reportePublicacion() throws IOException {
+        periodo.setEstado(EstadoPeriodoAcademico.GENERACION_LISTAS_PUBLICAS);
+        try (Workbook workbook = servicio.generarReportePublicacion(periodo.getId())) {
+            return escribir(workbook);
+        }
+    }
+
+    /**
+     * Serializa el libro como lo haría {@code ArchivoService} y devuelve los bytes escritos.
+     */
+    private static long escribir(Workbook workbook) throws IOException {
+        ContadorBytes salida = new ContadorBytes();
+        workbook.write(salida);
+        return salida.total;
+    }
+
+    /**
+     * Listas por departamento con la misma forma que
+     * {@code ConsultaAsignacionServiceImpl.generarListasDeAsigancionPorDepartamentos}.
+     */
+    private static List<DepartamentoReporteDTO> departamentos(
+            DatosBenchmark.Periodo datos,
+            Map<String, List<AsignacionElectiva>> asignaciones,
+            List<String> nombresProgramas
+    ) {
+        Map<String, DatosAcademico> datosPorCodigo = datos.datos().stream()
+                .collect(Collectors.toMap(DatosAcademico::getCodigoEstudiante, d -> d));
+        Map<Long, List<AsignacionElectiva>> porOferta = asignaciones.values().stream()
+                .flatMap(List::stream)
+                .filter(a -> a.getEstadoAsignacion() == EstadoAsignacion.ASIGNADA
+                        || a.getEstadoAsignacion() == EstadoAsignacion.LISTA_ESPERA)
+                .collect(Collectors.groupingBy(a -> a.getOferta().getId()));
+
+        Map<Departamento, List<Oferta>> ofertasPorDepartamento = datos.ofertas().stream()
+                .sorted(Comparator.comparing(o -> o.getElectiva().getNombre()))
+                .collect(Collectors.groupingBy(o -> o.getElectiva().getDepartamento(), LinkedHashMap::new, Collectors.toList()));
+
+        List<DepartamentoReporteDTO> departamentos = new ArrayList<>();
+        ofertasPorDepartamento.forEach((departamento, ofertas) -> {
+            DepartamentoReporteDTO dto = ReporteAsignacionMapper.toDepartamentoDTO(departamento);
+            List<OfertaReporteDTO> ofertasDTO = new ArrayList<>();
+            for (Oferta oferta : ofertas) {
+                List<EstudianteAsignacionDTO> estudiantes = new ArrayList<>();
+                int numero = 1;
+                for (AsignacionElectiva a : porOferta.getOrDefault(oferta.getId(), List.of())) {
+                    estudiantes.add(ReporteAsignacionMapper.toEstudianteDTO(
+                            datosPorCodigo.get(a.getEstudianteCodigo()), a.getEstadoAsignacion(), numero++));
+                }
+                ofertasDTO.add(ReporteAsignacionMapper.toOfertaDTO(oferta, nombresProgramas, estudiantes));
+            }
+            dto.setOfertas(ofertasDTO);
+            departamentos.add(dto);
+        });
+        return departamentos;
+    }
+
+    private static <T> T soloRespuestas(Class<T> tipo) {
+        return mock(tipo, withSettings().stubOnly());
+    }
+
+    /** Salida que descarta los bytes y solo los cuenta. */
+    private static final class ContadorBytes extends OutputStream {
+        private long total;
+
+        @Override
+        public void write(int b) {
+            total++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            total += len;
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package com.unicauca.fiet.sistema_electivas.archivo.controller;
 
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoDescarga;
 import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoResponse;
+import com.unicauca.fiet.sistema_electivas.archivo.dto.LotesZipDescarga;
 import com.unicauca.fiet.sistema_electivas.archivo.service.ArchivoConsultaService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.core.io.Resource;
 
 import java.nio.file.Paths;
@@ -40,36 +45,51 @@ public class ArchivoConsultaController {
     /**
      * Descarga un archivo individual a partir de su ID.
      *
+     * <p>Responde {@code 304 Not Modified} si el cliente ya tiene la versión actual
+     * ({@code ETag}/{@code Last-Modified}) y admite descargas parciales con {@code Range}.</p>
+     *
      * @param idArchivo identificador del archivo a descargar
      * @return archivo como recurso binario listo para descarga
      */
     @GetMapping("/descargar/{idArchivo}")
     public ResponseEntity<Resource> descargarArchivo(@PathVariable Long idArchivo) {
-        Resource recurso = archivoConsultaService.descargarArchivo(idArchivo);
+        ArchivoDescarga descarga = archivoConsultaService.descargarArchivo(idArchivo);
 
         // Determinar nombre original del archivo
-        String nombreArchivo = Paths.get(recurso.getFilename()).getFileName().toString();
+        String nombreArchivo = Paths.get(descarga.nombreArchivo()).getFileName().toString();
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nombreArchivo + "\"")
-                .body(recurso);
+                .eTag(descarga.etag())
+                .lastModified(descarga.ultimaModificacion())
+                .body(descarga.archivo());
     }
     /**
      * Descarga todos los archivos de tipo LOTES_CODIGOS asociados a un período en un solo ZIP.
      *
+     * <p>El ZIP se genera directamente sobre la respuesta mientras se leen los lotes. Si el
+     * cliente ya tiene la versión actual se responde {@code 304 Not Modified} sin generarlo.</p>
+     *
      * @param idPeriodo identificador del período académico
      * @return archivo ZIP conteniendo todos los lotes del período
      */
     @GetMapping("/descargar/lotes/{idPeriodo}")
-    public ResponseEntity<Resource> descargarLotesZip(@PathVariable Long idPeriodo) {
-        Resource recursoZip = archivoConsultaService.descargarLotesZip(idPeriodo);
+    public ResponseEntity<StreamingResponseBody> descargarLotesZip(@PathVariable Long idPeriodo, WebRequest request) {
+        LotesZipDescarga descarga = archivoConsultaService.descargarLotesZip(idPeriodo);
 
-        String nombreZip = "Lotes_SIMCA_Periodo_" + idPeriodo + ".zip";
+        if (request.checkNotModified(descarga.etag(), descarga.ultimaModificacion().toEpochMilli())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(descarga.etag())
+                    .lastModified(descarga.ultimaModificacion())
+                    .build();
+        }
 
         return ResponseEntity.ok()
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + nombreZip + "\"")
-                .body(recursoZip);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + descarga.nombreArchivo() + "\"")
+                .eTag(descarga.etag())
+                .lastModified(descarga.ultimaModificacion())
+                .body(salida -> archivoConsultaService.escribirLotesZip(descarga, salida));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,16 @@
+package com.unicauca.fiet.sistema_electivas.archivo.dto;
+
+import java.nio.file.Path;
+
+/**
+ * Archivo ya escrito en el almacenamiento, aún no registrado en {@code carga_archivos}.
+ *
+ * @param ruta ruta física, direccionada por contenido ({@code <hash>.<extensión>})
+ * @param hash huella SHA-256 del contenido en hexadecimal
+ * @param nombreOriginal nombre con el que el usuario subió el archivo
+ */
+public record ArchivoAlmacenado(
+        Path ruta,
+        String hash,
+        String nombreOriginal
+) {}
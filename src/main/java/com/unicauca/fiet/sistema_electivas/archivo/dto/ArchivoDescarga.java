@@ -0,0 +1,20 @@
+package com.unicauca.fiet.sistema_electivas.archivo.dto;
+
+import org.springframework.core.io.Resource;
+
+import java.time.Instant;
+
+/**
+ * Archivo almacenado listo para descargarse, con los metadatos para peticiones condicionales.
+ *
+ * @param archivo recurso del archivo físico; admite lectura por rangos
+ * @param nombreArchivo nombre registrado en {@code carga_archivos}
+ * @param etag etiqueta de versión del contenido (huella SHA-256 si está disponible)
+ * @param ultimaModificacion fecha de carga del archivo
+ */
+public record ArchivoDescarga(
+        Resource archivo,
+        String nombreArchivo,
+        String etag,
+        Instant ultimaModificacion
+) {}
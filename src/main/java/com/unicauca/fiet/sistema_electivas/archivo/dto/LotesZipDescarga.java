@@ -0,0 +1,32 @@
+package com.unicauca.fiet.sistema_electivas.archivo.dto;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * ZIP de lotes SIMCA de un período, descrito antes de generarse.
+ *
+ * <p>El contenido se escribe directamente en la respuesta a partir de {@code entradas}; la
+ * etiqueta y la fecha permiten responder {@code 304 Not Modified} sin generarlo.</p>
+ *
+ * @param nombreArchivo nombre del ZIP
+ * @param etag etiqueta derivada de las huellas de los lotes incluidos
+ * @param ultimaModificacion fecha de carga del lote más reciente
+ * @param entradas nombre de cada entrada del ZIP y lote que contiene, en orden
+ */
+public record LotesZipDescarga(
+        String nombreArchivo,
+        String etag,
+        Instant ultimaModificacion,
+        Map<String, Entrada> entradas
+) {
+
+    /**
+     * Lote incluido en el ZIP.
+     *
+     * @param ruta ruta del archivo físico
+     * @param fechaCarga fecha de carga del lote, usada como fecha de la entrada
+     */
+    public record Entrada(Path ruta, Instant fechaCarga) {}
+}
@@ -32,4 +32,20 @@ public class ArchivoMapper {
                 archivo.getFechaCarga()
         );
     }
+
+    /**
+     * Obtiene la etiqueta de versión (ETag) del contenido de un archivo.
+     *
+     * <p>Se usa la huella SHA-256 cuando está registrada; para archivos anteriores a la huella
+     * se combina el ID con la fecha de carga, que no cambia mientras el archivo exista.</p>
+     *
+     * @param archivo entidad {@link CargaArchivo}
+     * @return etiqueta sin comillas
+     */
+    public static String toEtag(CargaArchivo archivo) {
+        if (archivo.getHashContenido() != null) {
+            return archivo.getHashContenido();
+        }
+        return archivo.getId() + "-" + archivo.getFechaCarga().toEpochMilli();
+    }
 }
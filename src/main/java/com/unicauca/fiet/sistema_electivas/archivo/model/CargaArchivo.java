@@ -2,6 +2,7 @@ package com.unicauca.fiet.sistema_electivas.archivo.model;
 
 import com.unicauca.fiet.sistema_electivas.archivo.enums.EstadoArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.enums.TipoArchivo;
+import com.unicauca.fiet.sistema_electivas.common.replica.CambioPeriodoListener;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -14,6 +15,7 @@ import java.time.Instant;
 @Getter
 @Setter
 @Entity
+@EntityListeners(CambioPeriodoListener.class)
 @Table(name = "carga_archivos")
 public class CargaArchivo {
     @Id
@@ -48,4 +50,11 @@ public class CargaArchivo {
     @Enumerated(EnumType.STRING)
     @Column(name = "estado", nullable = false)
     private EstadoArchivo estado;
+
+    /**
+     * Huella SHA-256 (hexadecimal) del contenido almacenado.
+     * Dos cargas con la misma huella tienen exactamente el mismo contenido.
+     */
+    @Column(name = "hash_contenido", length = 64)
+    private String hashContenido;
 }
\ No newline at end of file
@@ -57,5 +57,22 @@ public interface CargaArchivoRepository extends JpaRepository<CargaArchivo, Long
             TipoArchivo tipoArchivo
     );
 
+    /**
+     * Busca una carga previa del mismo período y tipo con idéntico contenido.
+     *
+     * <p>Se usa para no duplicar registros ni reprocesar archivos que el usuario
+     * vuelve a subir sin cambios.</p>
+     *
+     * @param periodo       período académico
+     * @param tipoArchivo   tipo de archivo
+     * @param hashContenido huella SHA-256 del contenido
+     * @return la primera carga registrada con ese contenido (si existe)
+     */
+    Optional<CargaArchivo> findFirstByPeriodoAndTipoArchivoAndHashContenidoOrderByIdAsc(
+            PeriodoAcademico periodo,
+            TipoArchivo tipoArchivo,
+            String hashContenido
+    );
+
 
 }
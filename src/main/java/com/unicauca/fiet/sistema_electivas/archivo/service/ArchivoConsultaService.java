@@ -1,9 +1,12 @@
 package com.unicauca.fiet.sistema_electivas.archivo.service;
 
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoDescarga;
 import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoResponse;
+import com.unicauca.fiet.sistema_electivas.archivo.dto.LotesZipDescarga;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
-import org.springframework.core.io.Resource;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ArchivoConsultaService {
@@ -17,18 +20,33 @@ public interface ArchivoConsultaService {
     /**
      * Descarga un archivo individual desde su ruta de almacenamiento en disco.
      *
+     * <p>Incluye la etiqueta de versión y la fecha de carga para responder peticiones
+     * condicionales ({@code If-None-Match}, {@code If-Modified-Since}).</p>
+     *
      * @param idArchivo identificador del archivo
-     * @return archivo como {@link Resource} listo para ser descargado
+     * @return archivo como {@link ArchivoDescarga} listo para ser descargado
      * @throws ResourceNotFoundException si el archivo no existe o no puede accederse
      */
-    Resource descargarArchivo(Long idArchivo);
+    ArchivoDescarga descargarArchivo(Long idArchivo);
     /**
-     * Crea un archivo ZIP temporal con todos los archivos de tipo LOTES_CODIGOS
-     * asociados a un período académico y lo devuelve como recurso descargable.
+     * Prepara la descarga en un solo ZIP de todos los archivos de tipo LOTES_CODIGOS
+     * asociados a un período académico.
+     *
+     * <p>No genera el ZIP: solo resuelve los archivos incluidos y los metadatos de versión.
+     * El contenido se escribe después con {@link #escribirLotesZip(LotesZipDescarga, OutputStream)}.</p>
      *
      * @param idPeriodo identificador del período académico
-     * @return archivo ZIP como {@link Resource}
+     * @return descripción del ZIP como {@link LotesZipDescarga}
      * @throws ResourceNotFoundException si no existen archivos asociados
      */
-    Resource descargarLotesZip(Long idPeriodo);
+    LotesZipDescarga descargarLotesZip(Long idPeriodo);
+    /**
+     * Escribe el ZIP de lotes directamente en {@code salida}, entrada por entrada,
+     * sin archivos temporales ni copias completas en memoria.
+     *
+     * @param descarga ZIP preparado con {@link #descargarLotesZip(Long)}
+     * @param salida flujo de destino (por ejemplo, el cuerpo de la respuesta HTTP)
+     * @throws IOException si falla la lectura de un lote o la escritura en la salida
+     */
+    void escribirLotesZip(LotesZipDescarga descarga, OutputStream salida) throws IOException;
 }
@@ -1,6 +1,8 @@
 package com.unicauca.fiet.sistema_electivas.archivo.service;
 
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoDescarga;
 import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoResponse;
+import com.unicauca.fiet.sistema_electivas.archivo.dto.LotesZipDescarga;
 import com.unicauca.fiet.sistema_electivas.archivo.enums.TipoArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.mapper.ArchivoMapper;
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
@@ -9,15 +11,29 @@ import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundExce
 
 import org.springframework.transaction.annotation.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipOutputStream;
@@ -54,7 +70,7 @@ public class ArchivoConsultaServiceImpl implements ArchivoConsultaService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Resource descargarArchivo(Long idArchivo) {
+    public ArchivoDescarga descargarArchivo(Long idArchivo) {
         CargaArchivo archivo = cargaArchivoRepository.findById(idArchivo)
                 .orElseThrow(() -> new ResourceNotFoundException("Archivo no encontrado."));
 
@@ -63,19 +79,21 @@ public class ArchivoConsultaServiceImpl implements ArchivoConsultaService {
             throw new ResourceNotFoundException("El archivo no existe en el sistema de almacenamiento.");
         }
 
-        try {
-
-            return (Resource) new UrlResource(filePath.toUri());
-        } catch (MalformedURLException e) {
-            throw new RuntimeException("Error al acceder al archivo: " + e.getMessage(), e);
-        }
+        // El archivo físico puede estar nombrado por su huella; se expone con su nombre registrado
+        Resource recurso = new FileSystemResource(filePath) {
+            @Override
+            public String getFilename() {
+                return archivo.getNombreArchivo();
+            }
+        };
+        return new ArchivoDescarga(recurso, archivo.getNombreArchivo(), ArchivoMapper.toEtag(archivo), archivo.getFechaCarga());
     }
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional(readOnly = true)
-    public Resource descargarLotesZip(Long idPeriodo) {
+    public LotesZipDescarga descargarLotesZip(Long idPeriodo) {
         List<CargaArchivo> archivos = cargaArchivoRepository.findByPeriodoIdAndTipoArchivo(
                 idPeriodo, TipoArchivo.LOTES_CODIGOS
         );
@@ -84,25 +102,74 @@ public class ArchivoConsultaServiceImpl implements ArchivoConsultaService {
             throw new ResourceNotFoundException("No hay archivos de lotes generados para este período.");
         }
 
-        try {
-            // Crear archivo ZIP temporal
-            Path zipPath = Files.createTempFile("Lotes_SIMCA_" + idPeriodo + "_", ".zip");
-
-            try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipPath))) {
-                for (CargaArchivo archivo : archivos) {
-                    Path filePath = Paths.get(archivo.getRutaAlmacenamiento());
-                    if (Files.exists(filePath)) {
-                        zos.putNextEntry(new ZipEntry(filePath.getFileName().toString()));
-                        Files.copy(filePath, zos);
-                        zos.closeEntry();
-                    }
-                }
+        // Orden estable para que la misma colección de lotes produzca siempre el mismo ZIP y la misma etiqueta
+        archivos = archivos.stream()
+                .sorted(Comparator.comparing(CargaArchivo::getNombreArchivo).thenComparing(CargaArchivo::getId))
+                .toList();
+
+        Map<String, LotesZipDescarga.Entrada> entradas = new LinkedHashMap<>();
+        MessageDigest digest = nuevoDigestSha256();
+        Instant ultimaModificacion = Instant.EPOCH;
+        for (CargaArchivo archivo : archivos) {
+            Path filePath = Paths.get(archivo.getRutaAlmacenamiento());
+            if (!Files.exists(filePath)) continue;
+
+            // Los archivos físicos se nombran por su huella; dentro del ZIP se usa el nombre registrado
+            String nombre = archivo.getNombreArchivo();
+            for (int i = 2; entradas.containsKey(nombre); i++) {
+                nombre = i + "_" + archivo.getNombreArchivo();
             }
+            entradas.put(nombre, new LotesZipDescarga.Entrada(filePath, archivo.getFechaCarga()));
 
-            return new UrlResource(zipPath.toUri());
+            digest.update((nombre + "=" + ArchivoMapper.toEtag(archivo) + "\n").getBytes(StandardCharsets.UTF_8));
+            if (archivo.getFechaCarga().isAfter(ultimaModificacion)) {
+                ultimaModificacion = archivo.getFechaCarga();
+            }
+        }
+
+        return new LotesZipDescarga(
+                "Lotes_SIMCA_Periodo_" + idPeriodo + ".zip",
+                HexFormat.of().formatHex(digest.digest()),
+                ultimaModificacion,
+                entradas
+        );
+    }
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Cada lote se copia con {@link FileChannel#transferTo}, que mueve los bytes del archivo
+     * hacia el compresor sin leerlo completo en memoria.</p>
+     *
+     * <p>Cada entrada lleva la fecha de carga de su lote, en UTC, y no la hora de escritura: así
+     * el mismo conjunto de lotes produce siempre los mismos bytes, como supone la etiqueta.</p>
+     */
+    @Override
+    public void escribirLotesZip(LotesZipDescarga descarga, OutputStream salida) throws IOException {
+        ZipOutputStream zos = new ZipOutputStream(salida);
+        WritableByteChannel destino = Channels.newChannel(zos);
+
+        for (Map.Entry<String, LotesZipDescarga.Entrada> entrada : descarga.entradas().entrySet()) {
+            ZipEntry zipEntry = new ZipEntry(entrada.getKey());
+            zipEntry.setTimeLocal(LocalDateTime.ofInstant(entrada.getValue().fechaCarga(), ZoneOffset.UTC));
+            zos.putNextEntry(zipEntry);
+            try (FileChannel canal = FileChannel.open(entrada.getValue().ruta(), StandardOpenOption.READ)) {
+                long tamano = canal.size();
+                for (long posicion = 0; posicion < tamano; ) {
+                    posicion += canal.transferTo(posicion, tamano - posicion, destino);
+                }
+            }
+            zos.closeEntry();
+        }
+        // Cierra el ZIP (directorio central) sin cerrar la salida, que pertenece al contenedor
+        zos.finish();
+        zos.flush();
+    }
 
-        } catch (IOException e) {
-            throw new RuntimeException("Error al crear archivo ZIP: " + e.getMessage(), e);
+    private static MessageDigest nuevoDigestSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible en esta JVM", e);
         }
     }
-}
\ No newline at end of file
+}
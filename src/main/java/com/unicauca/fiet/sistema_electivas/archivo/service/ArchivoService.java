@@ -1,5 +1,6 @@
 package com.unicauca.fiet.sistema_electivas.archivo.service;
 
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoAlmacenado;
 import com.unicauca.fiet.sistema_electivas.archivo.enums.EstadoArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.enums.TipoArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
@@ -15,8 +16,13 @@ public interface ArchivoService {
 
     /**
      * Genera un archivo CSV con las respuestas del formulario y lo registra en la BD.
+     *
+     * <p>Si el período ya tiene un archivo de respuestas con idéntico contenido,
+     * se devuelve esa carga en lugar de registrar una nueva.</p>
+     *
+     * <p>Las respuestas se recorren una sola vez, a medida que se escriben.</p>
      */
-    CargaArchivo guardarArchivoRespuestas(List<Map<String, String>> respuestas, PeriodoAcademico periodo);
+    CargaArchivo guardarArchivoRespuestas(Iterable<Map<String, String>> respuestas, PeriodoAcademico periodo);
 
     /**
      * Genera archivos de lotes de códigos para SIMCA (máximo 50 por lote)
@@ -65,6 +71,30 @@ public interface ArchivoService {
      */
     CargaArchivo guardarArchivoDatosAcademicos(MultipartFile archivo, PeriodoAcademico periodo);
 
+    /**
+     * Escribe un archivo de datos académicos (SIMCA) en el almacenamiento, nombrado por la
+     * huella SHA-256 de su contenido, sin registrarlo en la BD.
+     *
+     * <p>No usa la transacción ni el contexto de persistencia, por lo que puede invocarse
+     * en paralelo para varios archivos de una misma carga.</p>
+     *
+     * @param archivo archivo cargado por el usuario
+     * @return ruta, huella y nombre original del archivo almacenado
+     */
+    ArchivoAlmacenado almacenarArchivoDatosAcademicos(MultipartFile archivo);
+
+    /**
+     * Registra en la tabla carga_archivo un archivo de datos académicos ya almacenado.
+     *
+     * <p>Si el período ya tiene una carga de datos académicos con el mismo contenido,
+     * se devuelve esa carga en lugar de crear un registro nuevo.</p>
+     *
+     * @param almacenado archivo devuelto por {@link #almacenarArchivoDatosAcademicos(MultipartFile)}
+     * @param periodo período académico asociado
+     * @return la entidad CargaArchivo registrada o reutilizada
+     */
+    CargaArchivo registrarArchivoDatosAcademicos(ArchivoAlmacenado almacenado, PeriodoAcademico periodo);
+
     /**
      * Genera y almacena en el sistema de archivos un reporte técnico detallado en formato Excel,
      * asociado a un período académico específico. Además, registra la información del archivo
@@ -86,6 +116,9 @@ public interface ArchivoService {
      *     </li>
      * </ul>
      *
+     * <p>El registro se confirma en una transacción propia: el reporte se genera en una de solo
+     * lectura.</p>
+     *
      * @param workbook el libro Excel previamente generado con el contenido del reporte técnico.
      * @param periodo el período académico al que pertenece el reporte.
      *
@@ -107,7 +140,7 @@ public interface ArchivoService {
      *
      * <p>El archivo se guarda en la ruta configurada para reportes y
      * se crea un registro {@link CargaArchivo} con su metadatos
-     * (nombre, ruta, fecha y tipo de archivo).</p>
+     * (nombre, ruta, fecha y tipo de archivo), en una transacción propia.</p>
      *
      * @param workbook Workbook ya construido con el contenido del reporte público.
      * @param periodo  Entidad {@link PeriodoAcademico} al cual pertenece el reporte.
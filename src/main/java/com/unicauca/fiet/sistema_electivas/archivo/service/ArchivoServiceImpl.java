@@ -1,5 +1,6 @@
 package com.unicauca.fiet.sistema_electivas.archivo.service;
 
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoAlmacenado;
 import com.unicauca.fiet.sistema_electivas.archivo.enums.EstadoArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.enums.TipoArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
@@ -7,6 +8,7 @@ import com.unicauca.fiet.sistema_electivas.archivo.repository.CargaArchivoReposi
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -19,12 +21,18 @@ import org.springframework.core.io.UrlResource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.net.MalformedURLException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
@@ -80,11 +88,10 @@ public class ArchivoServiceImpl implements ArchivoService {
      */
     @Override
     @Transactional
-    public CargaArchivo guardarArchivoRespuestas(List<Map<String, String>> respuestas, PeriodoAcademico periodo) {
+    public CargaArchivo guardarArchivoRespuestas(Iterable<Map<String, String>> respuestas, PeriodoAcademico periodo) {
         try {
             // Usa la variable Path inicializada en el constructor
             String fileName = "respuestas_" + periodo.getSemestre() + "_" + LocalDate.now() + ".csv";
-            Path filePath = this.respuestasPath.resolve(fileName);
             // Obtener mapa de opciones por programa
             Map<Long, Integer> opcionesPorPrograma = periodo.getOpcionesPorPrograma();
 
@@ -97,15 +104,17 @@ public class ArchivoServiceImpl implements ArchivoService {
                         .max()
                         .orElse(7);                         // fallback si todos eran nulls
             }
+            final int opciones = numeroOpciones;
 
-            try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
+            ArchivoAlmacenado almacenado = almacenarPorContenido(this.respuestasPath, "csv", fileName, os -> {
+                BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8));
                 writer.write('\uFEFF'); // BOM
 
                 // Cabecera
                 List<String> cabecera = new ArrayList<>(List.of(
                         "Hora de envío", "Correo", "Código", "Nombre", "Apellidos", "Programa"
                 ));
-                for (int i = 1; i <= numeroOpciones; i++) {
+                for (int i = 1; i <= opciones; i++) {
                     cabecera.add("Electiva opción " + i);
                 }
                 writer.write(String.join(";", cabecera));
@@ -121,25 +130,19 @@ public class ArchivoServiceImpl implements ArchivoService {
                             quote(fila.getOrDefault("Apellidos", "")),
                             quote(fila.getOrDefault("Programa académico", ""))
                     ));
-                    for (int i = 1; i <= numeroOpciones; i++) {
+                    for (int i = 1; i <= opciones; i++) {
                         valores.add(quote(fila.getOrDefault("Electiva opción " + i, "")));
                     }
                     writer.write(String.join(";", valores));
                     writer.newLine();
                 }
-            }
+                writer.flush();
+            });
 
-            // Registrar el archivo en la BD
-            CargaArchivo archivo = new CargaArchivo();
-            archivo.setPeriodo(periodo);
-            archivo.setTipoArchivo(TipoArchivo.RESPUESTAS_FORMULARIO);
-            archivo.setNombreArchivo(fileName);
-            archivo.setRutaAlmacenamiento(filePath.toString());
-            archivo.setFechaCarga(Instant.now());
-            archivo.setEstado(EstadoArchivo.CARGADO);
-
-            cargaArchivoRepository.save(archivo);
-            log.info("Archivo [{}] generado y registrado correctamente en {}", fileName, filePath);
+            // Registrar el archivo en la BD (o reutilizar la carga con idéntico contenido)
+            CargaArchivo archivo = registrarSiEsNuevo(
+                    almacenado, periodo, TipoArchivo.RESPUESTAS_FORMULARIO, fileName, EstadoArchivo.CARGADO);
+            log.info("Archivo [{}] generado y registrado correctamente en {}", fileName, almacenado.ruta());
 
             return archivo;
 
@@ -182,9 +185,7 @@ public class ArchivoServiceImpl implements ArchivoService {
                 String contenido = String.join(",", lote);
 
                 // Escribir archivo
-                try (BufferedWriter writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8)) {
-                    writer.write(contenido);
-                }
+                String hash = escribirConHash(filePath, os -> os.write(contenido.getBytes(StandardCharsets.UTF_8)));
 
                 // Registrar en BD
                 CargaArchivo archivo = new CargaArchivo();
@@ -194,6 +195,7 @@ public class ArchivoServiceImpl implements ArchivoService {
                 archivo.setRutaAlmacenamiento(filePath.toString());
                 archivo.setFechaCarga(Instant.now());
                 archivo.setEstado(EstadoArchivo.PROCESADO);
+                archivo.setHashContenido(hash);
 
                 cargaArchivoRepository.save(archivo);
                 archivosGenerados.add(archivo);
@@ -238,46 +240,30 @@ public class ArchivoServiceImpl implements ArchivoService {
     @Override
     @Transactional
     public CargaArchivo guardarArchivoDatosAcademicos(MultipartFile archivo, PeriodoAcademico periodo) {
-        try {
-            String originalFilename = StringUtils.cleanPath(archivo.getOriginalFilename());
-            String extension = StringUtils.getFilenameExtension(originalFilename);
-
-            if (originalFilename.contains("..")) {
-                throw new BusinessException("El nombre del archivo contiene una secuencia de ruta inválida: " + originalFilename);
-            }
+        return registrarArchivoDatosAcademicos(almacenarArchivoDatosAcademicos(archivo), periodo);
+    }
 
-            // Contar cuántos archivos de tipo DATOS_ACADEMICOS hay ya cargados para este período
-            int existentes = cargaArchivoRepository.countByPeriodoAndTipoArchivo(periodo, TipoArchivo.DATOS_ACADEMICOS);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ArchivoAlmacenado almacenarArchivoDatosAcademicos(MultipartFile archivo) {
+        String originalFilename = StringUtils.cleanPath(archivo.getOriginalFilename());
+        if (originalFilename.contains("..")) {
+            throw new BusinessException("El nombre del archivo contiene una secuencia de ruta inválida: " + originalFilename);
+        }
 
-            // Generar nombre legible y controlado
-            String nombreArchivo = String.format(
-                    "DatosAcademicos_Periodo_%s_Parte_%d_%s.%s",
-                    periodo.getSemestre(),
-                    existentes + 1,
-                    LocalDate.now(),
-                    extension
+        try {
+            return almacenarPorContenido(
+                    this.datos_academicos,
+                    StringUtils.getFilenameExtension(originalFilename),
+                    originalFilename,
+                    os -> {
+                        try (InputStream is = archivo.getInputStream()) {
+                            is.transferTo(os);
+                        }
+                    }
             );
-
-            // Ruta base (ya definida en el constructor)
-            Path targetLocation = this.datos_academicos.resolve(nombreArchivo);
-
-            // Guardar físicamente
-            Files.copy(archivo.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
-
-            // Registrar en BD
-            CargaArchivo carga = new CargaArchivo();
-            carga.setPeriodo(periodo);
-            carga.setTipoArchivo(TipoArchivo.DATOS_ACADEMICOS);
-            carga.setNombreArchivo(nombreArchivo);
-            carga.setRutaAlmacenamiento(targetLocation.toString());
-            carga.setFechaCarga(Instant.now());
-            carga.setEstado(EstadoArchivo.CARGADO);
-
-            cargaArchivoRepository.save(carga);
-            log.info("Archivo SIMCA [{}] guardado correctamente en {}", nombreArchivo, targetLocation);
-
-            return carga;
-
         } catch (IOException e) {
             log.error("Error al guardar archivo de datos académicos SIMCA: {}", e.getMessage());
             throw new RuntimeException("No se pudo guardar el archivo de datos académicos.", e);
@@ -289,6 +275,38 @@ public class ArchivoServiceImpl implements ArchivoService {
      */
     @Override
     @Transactional
+    public CargaArchivo registrarArchivoDatosAcademicos(ArchivoAlmacenado almacenado, PeriodoAcademico periodo) {
+        Optional<CargaArchivo> existente = cargaArchivoRepository.findFirstByPeriodoAndTipoArchivoAndHashContenidoOrderByIdAsc(
+                periodo, TipoArchivo.DATOS_ACADEMICOS, almacenado.hash());
+        if (existente.isPresent()) {
+            log.info("Archivo SIMCA [{}] idéntico a la carga [{}]; se reutiliza el registro existente",
+                    almacenado.nombreOriginal(), existente.get().getNombreArchivo());
+            return existente.get();
+        }
+
+        // Contar cuántos archivos de tipo DATOS_ACADEMICOS hay ya cargados para este período
+        int existentes = cargaArchivoRepository.countByPeriodoAndTipoArchivo(periodo, TipoArchivo.DATOS_ACADEMICOS);
+
+        // Generar nombre legible y controlado (el archivo físico se nombra por su contenido)
+        String nombreArchivo = String.format(
+                "DatosAcademicos_Periodo_%s_Parte_%d_%s.%s",
+                periodo.getSemestre(),
+                existentes + 1,
+                LocalDate.now(),
+                StringUtils.getFilenameExtension(almacenado.nombreOriginal())
+        );
+
+        CargaArchivo carga = registrarCarga(almacenado, periodo, TipoArchivo.DATOS_ACADEMICOS, nombreArchivo, EstadoArchivo.CARGADO);
+        log.info("Archivo SIMCA [{}] guardado correctamente en {}", nombreArchivo, almacenado.ruta());
+
+        return carga;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public CargaArchivo guardarReporteDetallado(Workbook workbook, PeriodoAcademico periodo) {
         try {
             String fileName = String.format(
@@ -300,9 +318,7 @@ public class ArchivoServiceImpl implements ArchivoService {
             Path filePath = this.reportesPath.resolve(fileName);
 
             // Guardar físicamente el archivo Excel
-            try (FileOutputStream fos = new FileOutputStream(filePath.toFile())) {
-                workbook.write(fos);
-            }
+            String hash = escribirConHash(filePath, workbook::write);
 
             // Registrar en BD
             CargaArchivo archivo = new CargaArchivo();
@@ -312,6 +328,7 @@ public class ArchivoServiceImpl implements ArchivoService {
             archivo.setRutaAlmacenamiento(filePath.toString());
             archivo.setFechaCarga(Instant.now());
             archivo.setEstado(EstadoArchivo.PROCESADO);
+            archivo.setHashContenido(hash);
 
             cargaArchivoRepository.save(archivo);
 
@@ -329,7 +346,7 @@ public class ArchivoServiceImpl implements ArchivoService {
      * {@inheritDoc}
      */
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public CargaArchivo guardarReportePublicacion(Workbook workbook, PeriodoAcademico periodo) {
         try {
             String fileName = String.format(
@@ -341,9 +358,7 @@ public class ArchivoServiceImpl implements ArchivoService {
             Path filePath = this.reportesPath.resolve(fileName);
 
             // Guardar físicamente el archivo Excel
-            try (FileOutputStream fos = new FileOutputStream(filePath.toFile())) {
-                workbook.write(fos);
-            }
+            String hash = escribirConHash(filePath, workbook::write);
 
             // Registrar en BD
             CargaArchivo archivo = new CargaArchivo();
@@ -353,6 +368,7 @@ public class ArchivoServiceImpl implements ArchivoService {
             archivo.setRutaAlmacenamiento(filePath.toString());
             archivo.setFechaCarga(Instant.now());
             archivo.setEstado(EstadoArchivo.PROCESADO);
+            archivo.setHashContenido(hash);
 
             cargaArchivoRepository.save(archivo);
 
@@ -413,6 +429,80 @@ public class ArchivoServiceImpl implements ArchivoService {
         return this.storagePath;
     }
 
+    /**
+     * Escribe un archivo calculando la huella SHA-256 de los bytes a medida que se escriben.
+     *
+     * @return huella del contenido en hexadecimal
+     */
+    private String escribirConHash(Path destino, EscrituraContenido escritura) throws IOException {
+        MessageDigest digest = nuevoDigestSha256();
+        try (OutputStream os = new DigestOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(destino)), digest)) {
+            escritura.escribir(os);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Escribe un archivo direccionado por su contenido: se vuelca a un temporal de la carpeta
+     * mientras se calcula su SHA-256 y luego se mueve a {@code <hash>.<extensión>}.
+     * Si ese archivo ya existe, el temporal se descarta y se reutiliza la copia existente.
+     */
+    private ArchivoAlmacenado almacenarPorContenido(
+            Path carpeta, String extension, String nombreOriginal, EscrituraContenido escritura) throws IOException {
+        Path temporal = Files.createTempFile(carpeta, "carga_", ".tmp");
+        try {
+            String hash = escribirConHash(temporal, escritura);
+            Path destino = carpeta.resolve(extension != null ? hash + "." + extension : hash);
+            if (!Files.exists(destino)) {
+                Files.move(temporal, destino, StandardCopyOption.ATOMIC_MOVE);
+            }
+            return new ArchivoAlmacenado(destino, hash, nombreOriginal);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Registra un archivo almacenado, salvo que el período ya tenga una carga del mismo
+     * tipo con idéntico contenido; en ese caso devuelve la carga existente.
+     */
+    private CargaArchivo registrarSiEsNuevo(
+            ArchivoAlmacenado almacenado, PeriodoAcademico periodo, TipoArchivo tipo,
+            String nombreArchivo, EstadoArchivo estado) {
+        return cargaArchivoRepository
+                .findFirstByPeriodoAndTipoArchivoAndHashContenidoOrderByIdAsc(periodo, tipo, almacenado.hash())
+                .orElseGet(() -> registrarCarga(almacenado, periodo, tipo, nombreArchivo, estado));
+    }
+
+    private CargaArchivo registrarCarga(
+            ArchivoAlmacenado almacenado, PeriodoAcademico periodo, TipoArchivo tipo,
+            String nombreArchivo, EstadoArchivo estado) {
+        CargaArchivo carga = new CargaArchivo();
+        carga.setPeriodo(periodo);
+        carga.setTipoArchivo(tipo);
+        carga.setNombreArchivo(nombreArchivo);
+        carga.setRutaAlmacenamiento(almacenado.ruta().toString());
+        carga.setFechaCarga(Instant.now());
+        carga.setEstado(estado);
+        carga.setHashContenido(almacenado.hash());
+        return cargaArchivoRepository.save(carga);
+    }
+
+    private static MessageDigest nuevoDigestSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible en esta JVM.", e);
+        }
+    }
+
+    /** Escritura del contenido de un archivo sobre el flujo que calcula su huella. */
+    @FunctionalInterface
+    private interface EscrituraContenido {
+        void escribir(OutputStream os) throws IOException;
+    }
+
     /**
      * Helper para escapar comillas en CSV.
      */
@@ -58,18 +58,41 @@ public interface AsignacionElectivaRepository extends JpaRepository<AsignacionEl
     """)
     List<AsignacionElectiva> findByPeriodoId(Long periodoId);
 
+    /**
+     * Obtiene todas las asignaciones de un período cargando la oferta y su electiva
+     * en la misma consulta, ordenadas por número de opción.
+     *
+     * <p>Pensada para los reportes que agrupan las asignaciones en memoria
+     * (por estudiante o por oferta) en lugar de consultar una a una.</p>
+     *
+     * @param periodoId ID del período.
+     * @return asignaciones del período con oferta y electiva inicializadas.
+     */
+    @Query("""
+        SELECT a
+        FROM AsignacionElectiva a
+        JOIN FETCH a.oferta o
+        JOIN FETCH o.electiva
+        WHERE o.periodo.id = :periodoId
+        ORDER BY a.numeroOpcion, a.id
+    """)
+    List<AsignacionElectiva> findByPeriodoIdConElectiva(@Param("periodoId") Long periodoId);
+
     /**
      * Recupera el historial completo de asignaciones de un estudiante,
      * ordenado desde el semestre más reciente al más antiguo.
      *
+     * <p>Carga junto con cada asignación su oferta, el período y la electiva.</p>
+     *
      * @param codigo código del estudiante.
      * @return lista ordenada de asignaciones históricas.
      */
     @Query("""
     SELECT ae
     FROM AsignacionElectiva ae
-    JOIN ae.oferta o
-    JOIN o.periodo p
+    JOIN FETCH ae.oferta o
+    JOIN FETCH o.periodo p
+    JOIN FETCH o.electiva
     WHERE ae.estudianteCodigo = :codigo
     ORDER BY p.semestre DESC
     """)
@@ -9,6 +9,8 @@ import com.unicauca.fiet.sistema_electivas.asignacion.repository.AsignacionElect
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
 
+import com.unicauca.fiet.sistema_electivas.common.metricas.EtapaProceso;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.Oferta;
@@ -59,10 +61,13 @@ public class AsignacionServiceImpl implements AsignacionService {
     private ConsultaAsignacionService consultaAsignacionService;
     @Autowired
     private ReglasElectivasService reglasElectivasServiceImpl;
+    @Autowired
+    private MetricasEtapas metricasEtapas;
 
     /**
      * {@inheritDoc}
      */
+    @EtapaProceso("filtro-no-elegibles")
     @Override
     @Transactional
     public CambioEstadoValidacionResponse filtrarEstudiantesNoElegibles(Long periodoId) {
@@ -88,6 +93,7 @@ public class AsignacionServiceImpl implements AsignacionService {
         if (aptos.isEmpty()) {
             throw new ResourceNotFoundException("No existen estudiantes aptos para filtrar.");
         }
+        metricasEtapas.registrarFilas(aptos.size());
 
         int totalExcluidos = 0;
         int errores = 0;
@@ -134,6 +140,7 @@ public class AsignacionServiceImpl implements AsignacionService {
     /**
      * {@inheritDoc}
      */
+    @EtapaProceso("asignacion-masiva")
     @Transactional
     public CambioEstadoValidacionResponse procesarAsignacionMasiva(Long periodoId) {
         // 1. Obtener y validar período
@@ -144,6 +151,7 @@ public class AsignacionServiceImpl implements AsignacionService {
         if (aptos.isEmpty()) {
             throw new InvalidStateException("No hay estudiantes aptos para asignar en este periodo.");
         }
+        metricasEtapas.registrarFilas(aptos.size());
         Map<String, RespuestasFormulario> respuestasPorEstudiante = mapearRespuestasPorEstudiante(periodoId);
         Map<Long, List<RespuestaOpcion>> opcionesPorRespuestaId = mapearOpcionesPorRespuesta(periodoId);
         List<Oferta> ofertas = ofertaRepository.findByPeriodoId(periodoId);
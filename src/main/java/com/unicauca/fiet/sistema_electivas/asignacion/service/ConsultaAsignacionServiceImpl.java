@@ -34,6 +34,20 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService {
+
+    /**
+     * Ordenamiento oficial de estudiantes para la asignación y los reportes:
+     * <ol>
+     *   <li>Porcentaje de avance (DESC)</li>
+     *   <li>Promedio de carrera (DESC)</li>
+     *   <li>Electivas faltantes (ASC): "faltan menos" → más prioridad</li>
+     * </ol>
+     */
+    static final Comparator<DatosAcademico> ORDEN_OFICIAL = Comparator
+            .comparing(DatosAcademico::getPorcentajeAvance, Comparator.reverseOrder())
+            .thenComparing(DatosAcademico::getPromedioCarrera, Comparator.reverseOrder())
+            .thenComparing(d -> d.getPlanEstudios().getElectivasRequeridas() - d.getAprobadas());
+
     @Autowired
     private PeriodoAcademicoRepository periodoAcademicoRepository;
     @Autowired
@@ -73,14 +87,7 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
                 );
 
         // Ordenamiento por criterios oficiales
-        aptos.sort(Comparator
-                // 1 porcentaje avance DESC
-                .comparing(DatosAcademico::getPorcentajeAvance, Comparator.reverseOrder())
-                // 2 promedio carrera DESC
-                .thenComparing(DatosAcademico::getPromedioCarrera, Comparator.reverseOrder())
-                // 3 electivas faltantes ASC ("faltan menos" → más prioridad)
-                .thenComparing(d -> d.getPlanEstudios().getElectivasRequeridas() - d.getAprobadas())
-        );
+        aptos.sort(ORDEN_OFICIAL);
 
         return ordenamientoMapper.toResponseList(aptos);
     }
@@ -108,14 +115,7 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
                 );
 
         // Aplicar el ordenamiento oficial
-        aptos.sort(Comparator
-                // 1. Porcentaje de avance (DESC)
-                .comparing(DatosAcademico::getPorcentajeAvance, Comparator.reverseOrder())
-                // 2. Promedio carrera (DESC)
-                .thenComparing(DatosAcademico::getPromedioCarrera, Comparator.reverseOrder())
-                // 3. Electivas faltantes (ASC)
-                .thenComparing(d -> d.getPlanEstudios().getElectivasRequeridas() - d.getAprobadas())
-        );
+        aptos.sort(ORDEN_OFICIAL);
 
         return aptos;
     }
@@ -143,7 +143,26 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
 
         // 2. Obtener ofertas agrupadas por departamento
         Map<Departamento, List<Oferta>> ofertasPorDepartamento = obtenerOfertasAgrupadas(periodoId);
-        // 3. Construir respuesta
+
+        // 3. Cargar de una vez los programas, las asignaciones y los datos académicos del período
+        Map<Long, List<String>> programasPorElectiva = obtenerNombresProgramasPorElectiva(
+                ofertasPorDepartamento.values().stream()
+                        .flatMap(List::stream)
+                        .map(o -> o.getElectiva().getId())
+                        .collect(Collectors.toSet())
+        );
+
+        Map<Long, List<AsignacionElectiva>> asignacionesPorOferta =
+                asignacionElectivaRepository.findByPeriodoIdConElectiva(periodoId).stream()
+                        .filter(a -> a.getEstadoAsignacion() == EstadoAsignacion.ASIGNADA
+                                || a.getEstadoAsignacion() == EstadoAsignacion.LISTA_ESPERA)
+                        .collect(Collectors.groupingBy(a -> a.getOferta().getId()));
+
+        Map<String, DatosAcademico> datosPorCodigo = datosAcademicoRepository
+                .findByPeriodoIdConPlan(periodoId).stream()
+                .collect(Collectors.toMap(DatosAcademico::getCodigoEstudiante, d -> d, (a, b) -> a));
+
+        // 4. Construir respuesta
         List<DepartamentoReporteDTO> respuesta = new ArrayList<>();
 
         for (Map.Entry<Departamento, List<Oferta>> entry : ofertasPorDepartamento.entrySet()) {
@@ -156,8 +175,12 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
             List<OfertaReporteDTO> ofertasDTO = ofertasDepto.stream()
                     .map(o -> {
 
-                        List<String> programas = obtenerNombresProgramas(o.getElectiva().getId());
-                        List<EstudianteAsignacionDTO> estudiantes = obtenerEstudiantesOrdenados(o);
+                        List<String> programas = programasPorElectiva
+                                .getOrDefault(o.getElectiva().getId(), List.of());
+                        List<EstudianteAsignacionDTO> estudiantes = obtenerEstudiantesOrdenados(
+                                asignacionesPorOferta.getOrDefault(o.getId(), List.of()),
+                                datosPorCodigo
+                        );
 
                         return ReporteAsignacionMapper.toOfertaDTO(o, programas, estudiantes);
                     })
@@ -189,38 +212,35 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
             );
         }
 
-        // 3. Obtener estudiantes aptos
-        List<DatosAcademico> aptos = datosAcademicoRepository.findByRespuesta_PeriodoIdAndEstadoAptitud(
+        // 3. Obtener estudiantes aptos (con su plan de estudios)
+        List<DatosAcademico> aptos = datosAcademicoRepository.findAptosConPlanByPeriodo(
                 periodoId,
                 EstadoAptitud.ASIGNACION_PROCESADA
         );
 
         // 4. Ordenamiento oficial
-        aptos.sort(Comparator
-                .comparing(DatosAcademico::getPorcentajeAvance, Comparator.reverseOrder())
-                .thenComparing(DatosAcademico::getPromedioCarrera, Comparator.reverseOrder())
-                .thenComparing(d -> d.getPlanEstudios().getElectivasRequeridas() - d.getAprobadas())
+        aptos.sort(ORDEN_OFICIAL);
+
+        // 5. Asignaciones del período agrupadas por estudiante y programas por electiva,
+        //    consultados una sola vez para todo el reporte
+        Map<String, List<AsignacionElectiva>> asignacionesPorEstudiante =
+                asignacionElectivaRepository.findByPeriodoIdConElectiva(periodoId).stream()
+                        .collect(Collectors.groupingBy(AsignacionElectiva::getEstudianteCodigo));
+
+        Map<Long, List<String>> programasPorElectiva = obtenerNombresProgramasPorElectiva(
+                asignacionesPorEstudiante.values().stream()
+                        .flatMap(List::stream)
+                        .map(a -> a.getOferta().getElectiva().getId())
+                        .collect(Collectors.toSet())
         );
 
-        // 5. Construir reporte completo
+        // 6. Construir reporte completo
         List<EstudianteAsignacionReporteResponse> reporte = new ArrayList<>();
 
         for (DatosAcademico d : aptos) {
 
-            // Obtener asignaciones de este estudiante
-            List<AsignacionElectiva> asignaciones = asignacionElectivaRepository.findByEstudianteAndPeriodo(
-                    d.getCodigoEstudiante(),
-                    periodoId
-            );
-
-            // Construir mapa de programas por electiva para este estudiante
-            Map<Long, List<String>> programasPorElectiva = asignaciones.stream()
-                    .map(a -> a.getOferta().getElectiva())
-                    .distinct()
-                    .collect(Collectors.toMap(
-                            e -> e.getId(),
-                            e -> obtenerNombresProgramas(e.getId()) // método que trae nombres de programas de la electiva
-                    ));
+            List<AsignacionElectiva> asignaciones =
+                    asignacionesPorEstudiante.getOrDefault(d.getCodigoEstudiante(), List.of());
 
             // Usar mapper para construir DTO
             EstudianteAsignacionReporteResponse dto = asignacionMapper.toReporte(d, asignaciones, programasPorElectiva);
@@ -243,7 +263,7 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
      */
     private Map<Departamento, List<Oferta>> obtenerOfertasAgrupadas(Long periodoId) {
 
-        List<Oferta> ofertas = ofertaRepository.findByPeriodoId(periodoId);
+        List<Oferta> ofertas = ofertaRepository.findByPeriodoIdConElectiva(periodoId);
 
         return ofertas.stream()
                 .sorted(Comparator.comparing(o -> o.getElectiva().getNombre()))
@@ -268,6 +288,25 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Obtiene, con una sola consulta, los nombres de los programas asociados
+     * a cada una de las electivas indicadas.
+     *
+     * @param electivaIds IDs de las electivas
+     * @return mapa ID de electiva → nombres de programas relacionados
+     */
+    private Map<Long, List<String>> obtenerNombresProgramasPorElectiva(Collection<Long> electivaIds) {
+        if (electivaIds.isEmpty()) {
+            return Map.of();
+        }
+        return programaElectivaRepository.findByElectivaIdInConPrograma(electivaIds)
+                .stream()
+                .collect(Collectors.groupingBy(
+                        pe -> pe.getId().getElectivaId(),
+                        Collectors.mapping(pe -> pe.getPrograma().getNombre(), Collectors.toList())
+                ));
+    }
+
     /**
      * Genera un string con las siglas de los programas asociados a una electiva.
      *
@@ -312,23 +351,23 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
      *
      * <p>Los estudiantes sin datos académicos válidos no se incluyen en el resultado.</p>
      *
-     * @param oferta oferta de la electiva
+     * @param asignaciones asignaciones de la oferta en estado ASIGNADA o LISTA_ESPERA
+     * @param datosPorCodigo datos académicos del período indexados por código de estudiante
      * @return lista ordenada de estudiantes en formato DTO
      */
-    private List<EstudianteAsignacionDTO> obtenerEstudiantesOrdenados(Oferta oferta) {
-
-        // 1. Obtener todas las asignaciones de la oferta
-        List<AsignacionElectiva> asignaciones =
-                asignacionElectivaRepository.findByOfertaIdAndEstadoAsignacionIn(
-                        oferta.getId(),
-                        List.of(EstadoAsignacion.ASIGNADA, EstadoAsignacion.LISTA_ESPERA)
-                );
-
-        // 2. Cargar datos académicos válidos
-        List<DatosAcademico> datos = asignaciones.stream()
-                .map(a -> datosAcademicoRepository
-                        .findByCodigoAndPeriodo(a.getEstudianteCodigo(), oferta.getPeriodo().getId())
-                        .orElse(null))
+    private List<EstudianteAsignacionDTO> obtenerEstudiantesOrdenados(
+            List<AsignacionElectiva> asignaciones,
+            Map<String, DatosAcademico> datosPorCodigo
+    ) {
+
+        // 1. Asignación de cada estudiante en la oferta
+        Map<String, AsignacionElectiva> asignacionPorCodigo = asignaciones.stream()
+                .collect(Collectors.toMap(
+                        AsignacionElectiva::getEstudianteCodigo, a -> a, (a, b) -> a, LinkedHashMap::new));
+
+        // 2. Datos académicos válidos
+        List<DatosAcademico> datos = asignacionPorCodigo.keySet().stream()
+                .map(datosPorCodigo::get)
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
 
@@ -337,10 +376,7 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
         List<DatosAcademico> listaEspera = new ArrayList<>();
 
         for (DatosAcademico d : datos) {
-            AsignacionElectiva a = asignaciones.stream()
-                    .filter(x -> x.getEstudianteCodigo().equals(d.getCodigoEstudiante()))
-                    .findFirst()
-                    .orElse(null);
+            AsignacionElectiva a = asignacionPorCodigo.get(d.getCodigoEstudiante());
 
             if (a != null && a.getEstadoAsignacion() == EstadoAsignacion.ASIGNADA) {
                 asignados.add(d);
@@ -363,10 +399,7 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
 
         return datosOrdenados.stream()
                 .map(d -> {
-                    AsignacionElectiva a = asignaciones.stream()
-                            .filter(x -> x.getEstudianteCodigo().equals(d.getCodigoEstudiante()))
-                            .findFirst()
-                            .orElse(null);
+                    AsignacionElectiva a = asignacionPorCodigo.get(d.getCodigoEstudiante());
 
                     return ReporteAsignacionMapper.toEstudianteDTO(
                             d,
@@ -394,10 +427,6 @@ public class ConsultaAsignacionServiceImpl implements ConsultaAsignacionService
      */
     private void ordenarDatosAcademicos(List<DatosAcademico> datos) {
 
-        datos.sort(Comparator
-                .comparing(DatosAcademico::getPorcentajeAvance, Comparator.reverseOrder())
-                .thenComparing(DatosAcademico::getPromedioCarrera, Comparator.reverseOrder())
-                .thenComparing(d -> d.getPlanEstudios().getElectivasRequeridas() - d.getAprobadas())
-        );
+        datos.sort(ORDEN_OFICIAL);
     }
 }
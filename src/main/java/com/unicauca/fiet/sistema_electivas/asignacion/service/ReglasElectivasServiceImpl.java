@@ -1,21 +1,22 @@
 package com.unicauca.fiet.sistema_electivas.asignacion.service;
 
 import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.ReglasPlanCompiladas;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.service.ReglasPlanCache;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.List;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class ReglasElectivasServiceImpl implements  ReglasElectivasService{
 
+    private final ReglasPlanCache reglasPlanCache;
+
     /**
      * {@inheritDoc}
      */
@@ -45,21 +46,16 @@ public class ReglasElectivasServiceImpl implements  ReglasElectivasService{
         // ------------------------------------------------------------
         // CASO 3: No nivelado, que le faltan menos de 18 creditos obligatorios
         // ------------------------------------------------------------
-        // Créditos totales del plan
-        int creditosTotales = dato.getPlanEstudios().getCreditosTotalesPlan();
-        int creditosElectivas = dato.getPlanEstudios().getElectivasRequeridas()*3;
-        int creditosTG = dato.getPlanEstudios().getCreditosTrabajoGrado();
-
-        // Ajuste: créditos obligatorios del plan
-        int creditosObligatorios = creditosTotales - creditosElectivas - creditosTG;
+        // Créditos obligatorios del plan (totales - electivas - trabajo de grado), ya calculados
+        ReglasPlanCompiladas.CreditosPlan creditosPlan = reglasPlanCache.obtener(dato.getPlanEstudios()).getCreditos();
 
         // Ajuste: créditos aprobados del estudiante sin electivas
         int creditosEstudianteObligatorios =
-                dato.getCreditosAprobados() - (dato.getAprobadas() * 3);
+                dato.getCreditosAprobados() - (dato.getAprobadas() * ReglasPlanCompiladas.CREDITOS_POR_ELECTIVA);
 
         // Créditos obligatorios faltantes
-        int obligatoriosFaltantes = creditosObligatorios - creditosEstudianteObligatorios;
-        if (18 > obligatoriosFaltantes) {
+        int obligatoriosFaltantes = creditosPlan.creditosObligatorios() - creditosEstudianteObligatorios;
+        if (creditosPlan.tieneCreditosTotales() && 18 > obligatoriosFaltantes) {
 
             // Cupo regular por semestre (18 créditos)
             int creditosLibres = 18 - obligatoriosFaltantes;
@@ -112,63 +108,23 @@ public class ReglasElectivasServiceImpl implements  ReglasElectivasService{
         PlanEstudio plan = dato.getPlanEstudios();
 
 
-        Map<String, Object> electivasMap = plan.getElectivasPorSemestre();
         Integer electivasRequeridas = plan.getElectivasRequeridas();
 
         // Semestre objetivo: si ha cursado N periodos, entra al semestre N+1
         int semestreObjetivo = (dato.getPeriodosMatriculados() != null ? dato.getPeriodosMatriculados() : 0) + 1;
-        String claveObjetivo = String.valueOf(semestreObjetivo);
 
-        Integer valorSeleccionado = null;
+        Integer valorSeleccionado;
+
+        // Tabla de electivas por semestre ya compilada para el plan
+        ReglasPlanCompiladas reglas = reglasPlanCache.obtener(plan);
 
-        // Si no existe el mapa o está vacío, fallback a electivasRequeridas
-        if (electivasMap == null || electivasMap.isEmpty()) {
+        if (!reglas.tieneElectivasPorSemestre()) {
+            // Sin mapa o sin claves numéricas válidas -> fallback a electivasRequeridas
             valorSeleccionado = electivasRequeridas;
         } else {
-            // Convertir claves a enteros ordenados para poder comparar rangos
-            List<Integer> semestres = electivasMap.keySet().stream()
-                    .map(key -> {
-                        try {
-                            return Integer.valueOf(key);
-                        } catch (NumberFormatException ex) {
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .sorted()
-                    .collect(Collectors.toList());
-
-            if (semestres.isEmpty()) {
-                // No hay claves numéricas válidas -> fallback
-                valorSeleccionado = electivasRequeridas;
-            } else {
-                // Si existe la clave exacta (por ejemplo "8")
-                if (electivasMap.containsKey(claveObjetivo)) {
-                    valorSeleccionado = parseIntegerSafe(electivasMap.get(claveObjetivo));
-                } else {
-                    // Si no existe, seleccionar el valor de la clave más cercana por rango:
-                    int menor = semestres.get(0);
-                    int mayor = semestres.get(semestres.size() - 1);
-
-                    if (semestreObjetivo <= menor) {
-                        valorSeleccionado = parseIntegerSafe(electivasMap.get(String.valueOf(menor)));
-                    } else if (semestreObjetivo >= mayor) {
-                        valorSeleccionado = parseIntegerSafe(electivasMap.get(String.valueOf(mayor)));
-                    } else {
-                        // Está entre claves (ej: semestres = [8,9,10] y objetivo = 8.5 no posible, pero manejamos)
-                        // Tomamos la clave menor inmediata (ej: si objetivo 8->8 existe, si 8 no -> ya manejado)
-                        // Como no hay decimal, llegamos aquí si hay claves no contiguas; tomamos la menor mayor que objetivo
-                        Optional<Integer> mayorInmediato = semestres.stream()
-                                .filter(s -> s >= semestreObjetivo)
-                                .findFirst();
-                        if (mayorInmediato.isPresent()) {
-                            valorSeleccionado = parseIntegerSafe(electivasMap.get(String.valueOf(mayorInmediato.get())));
-                        } else {
-                            valorSeleccionado = electivasRequeridas;
-                        }
-                    }
-                }
-            }
+            // Clave exacta o, si no existe, la más cercana por rango
+            int valor = reglas.electivasParaSemestre(semestreObjetivo);
+            valorSeleccionado = valor != ReglasPlanCompiladas.SIN_VALOR ? valor : null;
         }
 
         // Si no se pudo determinar valor seleccionado, fallback a electivasRequeridas o 0
@@ -194,23 +150,4 @@ public class ReglasElectivasServiceImpl implements  ReglasElectivasService{
         // Resultado final (>= 0)
         return Math.max(0, resultado);
     }
-
-    /**
-     * Parsea de forma segura un Object a Integer.
-     * Acepta Number, String que represente entero, y devuelve null si no puede parsear.
-     */
-    private Integer parseIntegerSafe(Object o) {
-        if (o == null) return null;
-        if (o instanceof Number) {
-            return ((Number) o).intValue();
-        }
-        if (o instanceof String) {
-            try {
-                return Integer.valueOf((String) o);
-            } catch (NumberFormatException ex) {
-                return null;
-            }
-        }
-        return null;
-    }
 }
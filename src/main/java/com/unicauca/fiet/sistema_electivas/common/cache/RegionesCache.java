@@ -0,0 +1,21 @@
+package com.unicauca.fiet.sistema_electivas.common.cache;
+
+/**
+ * Nombres de las regiones de la caché de segundo nivel de Hibernate.
+ *
+ * <p>Cada región se crea con su tamaño y vigencia en {@code CacheSegundoNivelConfig}. Una entidad
+ * o colección anotada con una región que no esté allí impide el arranque.</p>
+ */
+public final class RegionesCache {
+
+    public static final String PROGRAMA = "electivas.programa";
+    public static final String PLAN_ESTUDIO = "electivas.plan-estudio";
+    public static final String ELECTIVA = "electivas.electiva";
+    public static final String PROGRAMA_ELECTIVA = "electivas.programa-electiva";
+    public static final String DEPARTAMENTO = "electivas.departamento";
+    public static final String DEPARTAMENTO_ELECTIVAS = "electivas.departamento.electivas";
+    public static final String PERIODO_ACADEMICO = "electivas.periodo-academico";
+
+    private RegionesCache() {
+    }
+}
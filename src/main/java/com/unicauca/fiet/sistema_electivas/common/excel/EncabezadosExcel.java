@@ -0,0 +1,93 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.function.UnaryOperator;
+
+/**
+ * Describe cómo interpretar la fila de encabezado de una hoja de cálculo.
+ *
+ * <p>Agrupa las reglas que cada parser aplicaba por su cuenta al leer la fila 0:
+ * <ul>
+ *   <li>Normalización del texto del encabezado (por defecto {@code trim().toLowerCase()}).</li>
+ *   <li>Mapa de alias hacia el nombre canónico de la columna.</li>
+ *   <li>Si se conservan o no las columnas que no tienen alias.</li>
+ *   <li>Columnas obligatorias y el mensaje a mostrar si falta alguna.</li>
+ * </ul>
+ * </p>
+ */
+public class EncabezadosExcel {
+
+    private final Map<String, String> alias;
+    private UnaryOperator<String> normalizador = valor -> valor.trim().toLowerCase();
+    private boolean conservarDesconocidos = false;
+    private Set<String> requeridos = Set.of();
+    private String mensajeFaltantes;
+
+    private EncabezadosExcel(Map<String, String> alias) {
+        this.alias = alias;
+    }
+
+    /**
+     * Crea una definición de encabezados a partir de un mapa de alias.
+     *
+     * @param alias mapa encabezado normalizado → nombre canónico
+     * @return nueva definición
+     */
+    public static EncabezadosExcel conAlias(Map<String, String> alias) {
+        return new EncabezadosExcel(alias);
+    }
+
+    /**
+     * Reemplaza la normalización aplicada al texto de cada encabezado antes de buscar su alias.
+     */
+    public EncabezadosExcel normalizando(UnaryOperator<String> normalizador) {
+        this.normalizador = normalizador;
+        return this;
+    }
+
+    /**
+     * Indica que los encabezados sin alias se registran con su texto normalizado
+     * en lugar de descartarse.
+     */
+    public EncabezadosExcel conservandoDesconocidos() {
+        this.conservarDesconocidos = true;
+        return this;
+    }
+
+    /**
+     * Define las columnas canónicas obligatorias.
+     *
+     * @param requeridos columnas que deben existir en el encabezado
+     * @param mensajeFaltantes mensaje de la {@code BusinessException} si falta alguna
+     */
+    public EncabezadosExcel requiriendo(Set<String> requeridos, String mensajeFaltantes) {
+        this.requeridos = requeridos;
+        this.mensajeFaltantes = mensajeFaltantes;
+        return this;
+    }
+
+    /**
+     * Resuelve el nombre canónico de un encabezado leído del archivo.
+     *
+     * @param valorCrudo texto de la celda del encabezado
+     * @return nombre canónico, o {@code null} si la columna debe ignorarse
+     */
+    String resolver(String valorCrudo) {
+        if (valorCrudo == null) return null;
+        String normalizado = normalizador.apply(valorCrudo);
+        String canonico = alias.get(normalizado);
+        if (canonico == null && conservarDesconocidos) {
+            return normalizado;
+        }
+        return canonico;
+    }
+
+    Set<String> getRequeridos() {
+        return requeridos;
+    }
+
+    String getMensajeFaltantes() {
+        return mensajeFaltantes;
+    }
+}
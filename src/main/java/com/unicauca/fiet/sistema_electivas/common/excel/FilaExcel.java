@@ -0,0 +1,205 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Vista de una fila de datos leída por {@link LectorExcel}.
+ *
+ * <p>Guarda por cada celda su texto formateado (equivalente a
+ * {@code DataFormatter.formatCellValue}) y, si la celda es numérica, su valor crudo.
+ * Los accesores tipados replican las reglas de los antiguos helpers
+ * {@code getCellString}/{@code getCellInteger}/{@code getCellDouble} de cada parser.</p>
+ *
+ * <p>La misma instancia se reutiliza para todas las filas de la hoja, de modo que la
+ * memoria usada por la lectura no crece con el tamaño del archivo.</p>
+ */
+public class FilaExcel {
+
+    private final Map<String, Integer> columnas;
+
+    private int numeroFila;
+    private String[] textos = new String[16];
+    private double[] numeros = new double[16];
+    private boolean[] numericas = new boolean[16];
+    private int ultimaColumna = -1;
+
+    FilaExcel(Map<String, Integer> columnas) {
+        this.columnas = columnas;
+    }
+
+    // --------------------------------------------------------
+    // ACCESORES
+    // --------------------------------------------------------
+
+    /**
+     * @return índice de la fila dentro de la hoja (base 0, igual que {@code Row.getRowNum()})
+     */
+    public int getNumeroFila() {
+        return numeroFila;
+    }
+
+    /**
+     * @return mapa columna canónica → índice, construido a partir del encabezado
+     */
+    public Map<String, Integer> getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * Obtiene el texto formateado de una columna, sin espacios al inicio ni al final.
+     *
+     * @param columna nombre canónico de la columna
+     * @return texto de la celda, o {@code null} si la columna o la celda no existen
+     */
+    public String getTexto(String columna) {
+        return getTexto(columnas.get(columna));
+    }
+
+    /**
+     * Variante de {@link #getTexto(String)} por índice de columna.
+     */
+    public String getTexto(Integer indice) {
+        if (!existe(indice)) return null;
+        return textos[indice].trim();
+    }
+
+    /**
+     * Obtiene el valor de una columna como entero.
+     *
+     * <p>Las celdas numéricas se truncan; las de texto se interpretan con
+     * {@link Integer#parseInt(String)}. Si no es posible, devuelve {@code null}.</p>
+     */
+    public Integer getEntero(String columna) {
+        Integer indice = columnas.get(columna);
+        if (!existe(indice)) return null;
+        if (numericas[indice]) {
+            return (int) numeros[indice];
+        }
+        try {
+            return Integer.parseInt(textos[indice].trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Obtiene el valor de una columna como decimal.
+     *
+     * <p>Las celdas de texto aceptan coma o punto como separador decimal.
+     * Si el texto no es numérico, devuelve {@code null}.</p>
+     */
+    public Double getDecimal(String columna) {
+        Integer indice = columnas.get(columna);
+        if (!existe(indice)) return null;
+        if (numericas[indice]) {
+            return numeros[indice];
+        }
+        String s = textos[indice].trim().replace(",", ".");
+        if (!esNumeroSimple(s)) {
+            return null;
+        }
+        return Double.parseDouble(s);
+    }
+
+    /**
+     * @return {@code true} si la celda de la columna existe y es de tipo numérico
+     */
+    public boolean esNumerica(String columna) {
+        Integer indice = columnas.get(columna);
+        return existe(indice) && numericas[indice];
+    }
+
+    /**
+     * @return valor numérico crudo de la celda, o {@code null} si no es numérica
+     */
+    public Double getValorNumerico(String columna) {
+        return esNumerica(columna) ? numeros[columnas.get(columna)] : null;
+    }
+
+    /**
+     * @return {@code true} si la celda de la columna está presente en la fila (aunque esté en blanco)
+     */
+    public boolean tieneCelda(String columna) {
+        return existe(columnas.get(columna));
+    }
+
+    /**
+     * @return {@code true} si ninguna celda de la fila tiene texto
+     */
+    public boolean estaVacia() {
+        for (int i = 0; i <= ultimaColumna; i++) {
+            if (textos[i] != null && !textos[i].trim().isEmpty()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // --------------------------------------------------------
+    // CONSTRUCCIÓN (uso exclusivo del lector)
+    // --------------------------------------------------------
+
+    void iniciar(int numeroFila) {
+        for (int i = 0; i <= ultimaColumna; i++) {
+            textos[i] = null;
+            numericas[i] = false;
+        }
+        this.ultimaColumna = -1;
+        this.numeroFila = numeroFila;
+    }
+
+    void agregarTexto(int columna, String texto) {
+        asegurarCapacidad(columna);
+        textos[columna] = texto != null ? texto : "";
+        numericas[columna] = false;
+        ultimaColumna = Math.max(ultimaColumna, columna);
+    }
+
+    void agregarNumero(int columna, double valor, String textoFormateado) {
+        agregarTexto(columna, textoFormateado);
+        numeros[columna] = valor;
+        numericas[columna] = true;
+    }
+
+    int getUltimaColumna() {
+        return ultimaColumna;
+    }
+
+    String getTextoCrudo(int columna) {
+        return columna <= ultimaColumna ? textos[columna] : null;
+    }
+
+    private boolean existe(Integer indice) {
+        return indice != null && indice <= ultimaColumna && textos[indice] != null;
+    }
+
+    private void asegurarCapacidad(int columna) {
+        if (columna < textos.length) return;
+        int nuevo = Math.max(columna + 1, textos.length * 2);
+        textos = Arrays.copyOf(textos, nuevo);
+        numeros = Arrays.copyOf(numeros, nuevo);
+        numericas = Arrays.copyOf(numericas, nuevo);
+    }
+
+    /**
+     * Equivalente a {@code s.matches("^-?\\d+(\\.\\d+)?$")} sin compilar la expresión en cada celda.
+     */
+    private static boolean esNumeroSimple(String s) {
+        int i = 0;
+        int n = s.length();
+        if (i < n && s.charAt(i) == '-') i++;
+        int inicioEntero = i;
+        while (i < n && esDigito(s.charAt(i))) i++;
+        if (i == inicioEntero) return false;
+        if (i == n) return true;
+        if (s.charAt(i) != '.') return false;
+        int inicioDecimal = ++i;
+        while (i < n && esDigito(s.charAt(i))) i++;
+        return i == n && i > inicioDecimal;
+    }
+
+    private static boolean esDigito(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
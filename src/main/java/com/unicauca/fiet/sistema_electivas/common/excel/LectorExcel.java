@@ -0,0 +1,490 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.poifs.filesystem.FileMagic;
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.springframework.stereotype.Component;
+import org.springframework.web.multipart.MultipartFile;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lector de hojas de cálculo compartido por los parsers de archivos cargados
+ * (SIMCA, respuestas de formulario, mallas curriculares e historiales académicos).
+ *
+ * <p>Para archivos <b>.xlsx</b> recorre la primera hoja con la API de eventos (SAX) de
+ * Apache POI: las filas se entregan una a una a un {@link ProcesadorFilaExcel} sin construir
+ * el modelo completo del libro en memoria. Solo se mantienen la tabla de textos compartidos
+ * y los estilos, que son independientes del número de filas.</p>
+ *
+ * <p>Los archivos <b>.xls</b> (formato OLE2, como algunas exportaciones antiguas de SIMCA)
+ * se leen con el modelo de usuario de POI, ya que su tamaño está limitado por el formato,
+ * pero se exponen con la misma interfaz de filas.</p>
+ *
+ * <p>Solo {@link #leerAdmitiendoCsv} acepta además <b>texto delimitado</b> (CSV exportado por
+ * SIMCA o por Excel), que se recorre con {@link TokenizadorCsv}; los demás métodos rechazan lo que
+ * no sea un libro de Excel. El formato se decide por el contenido y no por la extensión del
+ * nombre.</p>
+ *
+ * <p>Acciones realizadas:
+ * <ul>
+ *   <li>Lee la fila 0 como encabezado y la resuelve con {@link EncabezadosExcel}.</li>
+ *   <li>Valida las columnas obligatorias antes de entregar cualquier fila de datos.</li>
+ *   <li>Entrega cada fila de datos al procesador hasta el final o hasta que este devuelva {@code false}.</li>
+ * </ul>
+ * </p>
+ */
+@Slf4j
+@Component
+public class LectorExcel {
+
+    /** Bytes inspeccionados para decidir el formato del archivo. */
+    private static final int TAMANO_MUESTRA = 4096;
+
+    /**
+     * Lee la primera hoja de un archivo subido.
+     *
+     * @param archivo archivo .xlsx o .xls
+     * @param encabezados reglas de interpretación del encabezado
+     * @param procesador callback invocado por cada fila de datos
+     * @throws BusinessException si el archivo no es un libro de Excel, o no tiene hojas, encabezado
+     *                           o columnas requeridas
+     * @throws IOException si el libro no se puede leer
+     */
+    public void leer(MultipartFile archivo, EncabezadosExcel encabezados, ProcesadorFilaExcel procesador) throws IOException {
+        try (InputStream is = archivo.getInputStream()) {
+            leer(is, encabezados, procesador);
+        }
+    }
+
+    /**
+     * Variante de {@link #leer(MultipartFile, EncabezadosExcel, ProcesadorFilaExcel)} para un flujo arbitrario.
+     *
+     * <p>El libro se vuelca a un archivo temporal para que POI pueda leer el paquete por acceso
+     * aleatorio en lugar de cargarlo completo en memoria.</p>
+     */
+    public void leer(InputStream is, EncabezadosExcel encabezados, ProcesadorFilaExcel procesador) throws IOException {
+        Path temporal = Files.createTempFile("lectura_excel_", ".tmp");
+        try {
+            Files.copy(is, temporal, StandardCopyOption.REPLACE_EXISTING);
+            leer(temporal, encabezados, procesador);
+        } finally {
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    /**
+     * Variante de {@link #leer(MultipartFile, EncabezadosExcel, ProcesadorFilaExcel)} para un archivo en disco.
+     */
+    public void leer(Path ruta, EncabezadosExcel encabezados, ProcesadorFilaExcel procesador) throws IOException {
+        leer(ruta, encabezados, procesador, false);
+    }
+
+    /**
+     * Lee un libro de Excel o, si el contenido es texto delimitado, un CSV con las mismas reglas
+     * de encabezado y la misma interfaz de filas. Solo lo usan los archivos de SIMCA, que se
+     * exportan en ambos formatos.
+     *
+     * @param ruta archivo .xlsx, .xls o CSV en disco
+     * @param encabezados reglas de interpretación del encabezado
+     * @param procesador callback invocado por cada fila de datos
+     * @throws BusinessException si el archivo no es un libro de Excel ni texto delimitado, o no
+     *                           tiene hojas, encabezado o columnas requeridas
+     * @throws IOException si el archivo no se puede leer
+     */
+    public void leerAdmitiendoCsv(Path ruta, EncabezadosExcel encabezados, ProcesadorFilaExcel procesador) throws IOException {
+        leer(ruta, encabezados, procesador, true);
+    }
+
+    private void leer(Path ruta, EncabezadosExcel encabezados, ProcesadorFilaExcel procesador, boolean admitirCsv)
+            throws IOException {
+        Recorrido recorrido = new Recorrido(encabezados, procesador);
+
+        FileMagic tipo = FileMagic.valueOf(ruta.toFile());
+        if (tipo == FileMagic.OOXML) {
+            leerXlsx(ruta, recorrido);
+        } else if (tipo == FileMagic.OLE2) {
+            leerXls(ruta, recorrido);
+        } else if (admitirCsv && esTextoDelimitado(leerMuestra(ruta))) {
+            try (FileChannel canal = FileChannel.open(ruta)) {
+                new TokenizadorCsv(canal).recorrer(recorrido.getFila(), recorrido::entregar);
+            }
+        } else {
+            throw new BusinessException(admitirCsv
+                    ? "Formato inválido. El archivo debe ser un libro de Excel (.xls o .xlsx) o un CSV."
+                    : "Formato inválido. El archivo debe ser un libro de Excel (.xls o .xlsx).");
+        }
+
+        recorrido.verificarEncabezadoLeido();
+    }
+
+    // --------------------------------------------------------
+    // FORMATOS
+    // --------------------------------------------------------
+
+    /**
+     * Decide si el inicio de un archivo corresponde a texto plano delimitado.
+     *
+     * <p>Se descartan los formatos binarios reconocidos por POI y cualquier contenido con
+     * bytes nulos, salvo que empiece con un BOM de UTF-16.</p>
+     */
+    private static boolean esTextoDelimitado(byte[] muestra) {
+        if (muestra.length == 0) return false;
+
+        FileMagic tipo = FileMagic.valueOf(muestra);
+        if (tipo != FileMagic.UNKNOWN) return false;
+
+        boolean utf16 = muestra.length > 1
+                && ((muestra[0] == (byte) 0xFF && muestra[1] == (byte) 0xFE)
+                || (muestra[0] == (byte) 0xFE && muestra[1] == (byte) 0xFF));
+        if (utf16) return true;
+
+        for (byte b : muestra) {
+            if (b == 0) return false;
+        }
+        return true;
+    }
+
+    private static byte[] leerMuestra(Path ruta) throws IOException {
+        try (InputStream is = Files.newInputStream(ruta)) {
+            return is.readNBytes(TAMANO_MUESTRA);
+        }
+    }
+
+    /**
+     * Recorre la primera hoja de un .xlsx con un parser SAX.
+     */
+    private void leerXlsx(Path ruta, Recorrido recorrido) throws IOException {
+        OPCPackage paquete;
+        try {
+            paquete = OPCPackage.open(ruta.toFile(), PackageAccess.READ);
+        } catch (OpenXML4JException e) {
+            throw new IOException("No se pudo abrir el archivo .xlsx: " + e.getMessage(), e);
+        }
+
+        try {
+            XSSFReader reader = new XSSFReader(paquete);
+            SharedStrings textosCompartidos = new ReadOnlySharedStringsTable(paquete, false);
+            StylesTable estilos = reader.getStylesTable();
+
+            Iterator<InputStream> hojas = reader.getSheetsData();
+            if (!hojas.hasNext()) {
+                throw new BusinessException("Archivo Excel sin hojas.");
+            }
+
+            try (InputStream hoja = hojas.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new ManejadorHojaXlsx(textosCompartidos, estilos, recorrido));
+                parser.parse(new InputSource(hoja));
+            } catch (LecturaDetenida detenida) {
+                // El procesador pidió detener la lectura
+            } catch (ErrorEnProcesador error) {
+                throw error.getCausa();
+            }
+        } catch (SAXException | OpenXML4JException e) {
+            throw new IOException("No se pudo leer el archivo .xlsx: " + e.getMessage(), e);
+        } catch (javax.xml.parsers.ParserConfigurationException e) {
+            throw new IOException("No se pudo crear el parser XML: " + e.getMessage(), e);
+        } finally {
+            // Paquete abierto en solo lectura: revert() libera el archivo sin intentar guardarlo
+            paquete.revert();
+        }
+    }
+
+    /**
+     * Recorre la primera hoja de un .xls (OLE2) usando el modelo de usuario.
+     */
+    private void leerXls(Path ruta, Recorrido recorrido) throws IOException {
+        try (Workbook workbook = WorkbookFactory.create(ruta.toFile(), null, true)) {
+            if (workbook.getNumberOfSheets() == 0) {
+                throw new BusinessException("Archivo Excel sin hojas.");
+            }
+            Sheet sheet = workbook.getSheetAt(0);
+            DataFormatter formatter = new DataFormatter();
+            FilaExcel fila = recorrido.getFila();
+
+            for (Row row : sheet) {
+                fila.iniciar(row.getRowNum());
+                for (Cell cell : row) {
+                    String texto = formatter.formatCellValue(cell);
+                    if (cell.getCellType() == CellType.NUMERIC) {
+                        fila.agregarNumero(cell.getColumnIndex(), cell.getNumericCellValue(), texto);
+                    } else {
+                        fila.agregarTexto(cell.getColumnIndex(), texto);
+                    }
+                }
+                if (!recorrido.entregar(fila)) {
+                    break;
+                }
+            }
+        }
+    }
+
+    // --------------------------------------------------------
+    // RECORRIDO DE FILAS
+    // --------------------------------------------------------
+
+    /**
+     * Estado de una lectura: resuelve el encabezado con la primera fila y entrega
+     * las siguientes al procesador.
+     */
+    private static final class Recorrido {
+        private final EncabezadosExcel encabezados;
+        private final ProcesadorFilaExcel procesador;
+        private final Map<String, Integer> columnas = new LinkedHashMap<>();
+        private final FilaExcel fila = new FilaExcel(columnas);
+        private boolean encabezadoLeido = false;
+
+        private Recorrido(EncabezadosExcel encabezados, ProcesadorFilaExcel procesador) {
+            this.encabezados = encabezados;
+            this.procesador = procesador;
+        }
+
+        FilaExcel getFila() {
+            return fila;
+        }
+
+        /**
+         * @return {@code false} si la lectura debe detenerse
+         */
+        boolean entregar(FilaExcel actual) {
+            if (encabezadoLeido) {
+                return procesador.procesar(actual);
+            }
+
+            if (actual.getNumeroFila() != 0) {
+                throw new BusinessException("El archivo debe tener una fila de encabezado.");
+            }
+
+            for (int i = 0; i <= actual.getUltimaColumna(); i++) {
+                String canonico = encabezados.resolver(actual.getTextoCrudo(i));
+                if (canonico != null) {
+                    columnas.put(canonico, i);
+                }
+            }
+
+            if (!columnas.keySet().containsAll(encabezados.getRequeridos())) {
+                throw new BusinessException(encabezados.getMensajeFaltantes());
+            }
+
+            encabezadoLeido = true;
+            return true;
+        }
+
+        void verificarEncabezadoLeido() {
+            if (!encabezadoLeido) {
+                throw new BusinessException("El archivo debe tener una fila de encabezado.");
+            }
+        }
+    }
+
+    // --------------------------------------------------------
+    // MANEJADOR SAX PARA .XLSX
+    // --------------------------------------------------------
+
+    /**
+     * Interpreta los elementos {@code <row>}, {@code <c>}, {@code <v>} e {@code <is>} del XML de
+     * una hoja y construye cada {@link FilaExcel} con los mismos textos que produciría
+     * {@link DataFormatter#formatCellValue(Cell)}.
+     */
+    private static final class ManejadorHojaXlsx extends DefaultHandler {
+
+        private final SharedStrings textosCompartidos;
+        private final StylesTable estilos;
+        private final Recorrido recorrido;
+        private final FilaExcel fila;
+        private final DataFormatter formatter = new DataFormatter();
+        private final Map<Integer, Short> indiceFormatoPorEstilo = new HashMap<>();
+        private final Map<Integer, String> formatoPorEstilo = new HashMap<>();
+        private final StringBuilder valor = new StringBuilder(64);
+
+        private int filaActual = -1;
+        private int columnaActual = -1;
+        private String tipoCelda;
+        private int estiloCelda;
+        private boolean celdaConValor;
+        private boolean dentroValor;
+        private boolean dentroTextoEnLinea;
+        private boolean dentroTexto;
+        private boolean dentroFonetica;
+
+        private ManejadorHojaXlsx(SharedStrings textosCompartidos, StylesTable estilos, Recorrido recorrido) {
+            this.textosCompartidos = textosCompartidos;
+            this.estilos = estilos;
+            this.recorrido = recorrido;
+            this.fila = recorrido.getFila();
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes atributos) {
+            switch (nombre(localName, qName)) {
+                case "row" -> {
+                    String r = atributos.getValue("r");
+                    filaActual = r != null ? Integer.parseInt(r) - 1 : filaActual + 1;
+                    columnaActual = -1;
+                    fila.iniciar(filaActual);
+                }
+                case "c" -> {
+                    String referencia = atributos.getValue("r");
+                    columnaActual = referencia != null ? columnaDeReferencia(referencia) : columnaActual + 1;
+                    tipoCelda = atributos.getValue("t");
+                    String s = atributos.getValue("s");
+                    estiloCelda = s != null ? Integer.parseInt(s) : 0;
+                    celdaConValor = false;
+                    valor.setLength(0);
+                }
+                case "v" -> {
+                    dentroValor = true;
+                    valor.setLength(0);
+                }
+                case "is" -> {
+                    dentroTextoEnLinea = true;
+                    valor.setLength(0);
+                }
+                case "t" -> dentroTexto = dentroTextoEnLinea;
+                case "rPh" -> dentroFonetica = true;
+                default -> {
+                    // <f>, <sheetData>, etc. no aportan valores
+                }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (dentroValor || (dentroTexto && !dentroFonetica)) {
+                valor.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (nombre(localName, qName)) {
+                case "v" -> {
+                    dentroValor = false;
+                    celdaConValor = true;
+                }
+                case "t" -> dentroTexto = false;
+                case "rPh" -> dentroFonetica = false;
+                case "is" -> {
+                    dentroTextoEnLinea = false;
+                    celdaConValor = true;
+                }
+                case "c" -> registrarCelda();
+                case "row" -> {
+                    boolean continuar;
+                    try {
+                        continuar = recorrido.entregar(fila);
+                    } catch (RuntimeException e) {
+                        throw new ErrorEnProcesador(e);
+                    }
+                    if (!continuar) {
+                        throw new LecturaDetenida();
+                    }
+                }
+                default -> {
+                    // sin acción
+                }
+            }
+        }
+
+        private void registrarCelda() {
+            if (!celdaConValor) {
+                // Celda en blanco con formato: existe, pero no tiene contenido
+                fila.agregarTexto(columnaActual, "");
+                return;
+            }
+
+            String crudo = valor.toString();
+            if (tipoCelda == null || "n".equals(tipoCelda)) {
+                double numero = Double.parseDouble(crudo);
+                fila.agregarNumero(columnaActual, numero, formatearNumero(numero));
+                return;
+            }
+
+            switch (tipoCelda) {
+                case "s" -> fila.agregarTexto(columnaActual,
+                        textosCompartidos.getItemAt(Integer.parseInt(crudo)).getString());
+                case "b" -> fila.agregarTexto(columnaActual, "1".equals(crudo) ? "TRUE" : "FALSE");
+                default -> fila.agregarTexto(columnaActual, crudo); // str, inlineStr, e, d
+            }
+        }
+
+        private String formatearNumero(double numero) {
+            Short indice = indiceFormatoPorEstilo.get(estiloCelda);
+            if (indice == null) {
+                short indiceFormato = 0;
+                String formato = null;
+                if (estilos != null && estiloCelda < estilos.getNumCellStyles()) {
+                    XSSFCellStyle estilo = estilos.getStyleAt(estiloCelda);
+                    indiceFormato = estilo.getDataFormat();
+                    formato = estilo.getDataFormatString();
+                }
+                if (formato == null) {
+                    formato = BuiltinFormats.getBuiltinFormat(indiceFormato);
+                }
+                indice = indiceFormato;
+                indiceFormatoPorEstilo.put(estiloCelda, indice);
+                formatoPorEstilo.put(estiloCelda, formato != null ? formato : "General");
+            }
+            return formatter.formatRawCellContents(numero, indice, formatoPorEstilo.get(estiloCelda));
+        }
+
+        /**
+         * Convierte la parte de letras de una referencia ("AB12") en índice de columna base 0.
+         */
+        private static int columnaDeReferencia(String referencia) {
+            int columna = 0;
+            for (int i = 0; i < referencia.length(); i++) {
+                char c = referencia.charAt(i);
+                if (c < 'A' || c > 'Z') break;
+                columna = columna * 26 + (c - 'A' + 1);
+            }
+            return columna - 1;
+        }
+
+        private static String nombre(String localName, String qName) {
+            return localName != null && !localName.isEmpty() ? localName : qName;
+        }
+    }
+
+    /** Señal interna para cortar el parseo SAX cuando el procesador devuelve {@code false}. */
+    private static final class LecturaDetenida extends SAXException {
+    }
+
+    /** Transporta fuera del parser SAX la excepción lanzada por el procesador de filas. */
+    private static final class ErrorEnProcesador extends SAXException {
+        private final RuntimeException causa;
+
+        private ErrorEnProcesador(RuntimeException causa) {
+            this.causa = causa;
+        }
+
+        RuntimeException getCausa() {
+            return causa;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+/**
+ * Callback invocado por {@link LectorExcel} por cada fila de datos de la hoja.
+ */
+@FunctionalInterface
+public interface ProcesadorFilaExcel {
+
+    /**
+     * Procesa una fila de datos.
+     *
+     * <p>La instancia de {@link FilaExcel} se reutiliza entre filas, por lo que sus
+     * valores solo son válidos durante esta llamada.</p>
+     *
+     * @param fila fila actual (la fila 0 de encabezado nunca se entrega)
+     * @return {@code true} para continuar con la siguiente fila, {@code false} para detener la lectura
+     */
+    boolean procesar(FilaExcel fila);
+}
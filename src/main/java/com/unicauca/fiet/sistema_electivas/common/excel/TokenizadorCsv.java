@@ -0,0 +1,229 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Tokenizador de texto delimitado (CSV) usado por {@link LectorExcel}.
+ *
+ * <p>Lee el canal en bloques sobre un único {@link ByteBuffer}, los decodifica sobre un único
+ * {@link CharBuffer} y escribe cada campo directamente en la {@link FilaExcel} compartida,
+ * sin construir líneas ni mapas intermedios.</p>
+ *
+ * <p>Reglas aplicadas:
+ * <ul>
+ *   <li>Codificación por BOM (UTF-8, UTF-16 LE/BE). Sin BOM se usa UTF-8 si el primer bloque
+ *   es UTF-8 válido y Windows-1252 en caso contrario (exportaciones de Excel en español).</li>
+ *   <li>Separador detectado en la línea de encabezado entre {@code ;}, {@code ,} y tabulador.</li>
+ *   <li>Campos entre comillas dobles con {@code ""} como comilla escapada y saltos de línea internos.</li>
+ *   <li>Las líneas vacías se omiten, pero cuentan para la numeración de filas.</li>
+ * </ul>
+ * </p>
+ */
+final class TokenizadorCsv {
+
+    private static final int TAMANO_BLOQUE = 64 * 1024;
+    private static final Charset WINDOWS_1252 = Charset.forName("windows-1252");
+    private static final char[] SEPARADORES = {';', ',', '\t'};
+
+    private final ReadableByteChannel canal;
+    private final ByteBuffer bytes = ByteBuffer.allocate(TAMANO_BLOQUE);
+    private final CharBuffer caracteres = CharBuffer.allocate(TAMANO_BLOQUE);
+    private final StringBuilder campo = new StringBuilder(64);
+
+    private CharsetDecoder decoder;
+    private boolean finCanal = false;
+    private boolean agotado = false;
+
+    TokenizadorCsv(ReadableByteChannel canal) {
+        this.canal = canal;
+        this.bytes.flip();
+        this.caracteres.flip();
+    }
+
+    /**
+     * Recorre el contenido del canal entregando cada registro en {@code fila}.
+     *
+     * @param fila instancia reutilizada para cada registro
+     * @param entregar recibe la fila completa y devuelve {@code false} para detener la lectura
+     */
+    void recorrer(FilaExcel fila, Predicate<FilaExcel> entregar) throws IOException {
+        leerBytes();
+        decoder = detectarCodificacion()
+                .newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        rellenar();
+        char separador = detectarSeparador();
+
+        int numeroFila = 0;
+        int columna = 0;
+        boolean entreComillas = false;
+        boolean hayDatos = false;
+        fila.iniciar(numeroFila);
+
+        while (caracteres.hasRemaining() || rellenar()) {
+            char c = caracteres.get();
+
+            if (entreComillas) {
+                if (c != '"') {
+                    campo.append(c);
+                } else if ((caracteres.hasRemaining() || rellenar()) && caracteres.get(caracteres.position()) == '"') {
+                    caracteres.get();
+                    campo.append('"');
+                } else {
+                    entreComillas = false;
+                }
+                continue;
+            }
+
+            if (c == separador) {
+                fila.agregarTexto(columna++, campo.toString());
+                campo.setLength(0);
+                hayDatos = true;
+            } else if (c == '\n') {
+                if (hayDatos || campo.length() > 0) {
+                    fila.agregarTexto(columna, campo.toString());
+                    campo.setLength(0);
+                    if (!entregar.test(fila)) {
+                        return;
+                    }
+                }
+                fila.iniciar(++numeroFila);
+                columna = 0;
+                hayDatos = false;
+            } else if (c == '"' && campo.length() == 0) {
+                entreComillas = true;
+                hayDatos = true;
+            } else if (c != '\r') {
+                campo.append(c);
+            }
+        }
+
+        // Último registro sin salto de línea final
+        if (hayDatos || campo.length() > 0) {
+            fila.agregarTexto(columna, campo.toString());
+            campo.setLength(0);
+            entregar.test(fila);
+        }
+    }
+
+    // --------------------------------------------------------
+    // DETECCIÓN
+    // --------------------------------------------------------
+
+    /**
+     * Determina la codificación a partir del primer bloque y descarta el BOM si existe.
+     */
+    private Charset detectarCodificacion() {
+        int n = bytes.remaining();
+        int b0 = n > 0 ? bytes.get(0) & 0xFF : -1;
+        int b1 = n > 1 ? bytes.get(1) & 0xFF : -1;
+        int b2 = n > 2 ? bytes.get(2) & 0xFF : -1;
+
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+            bytes.position(3);
+            return StandardCharsets.UTF_8;
+        }
+        if (b0 == 0xFF && b1 == 0xFE) {
+            bytes.position(2);
+            return StandardCharsets.UTF_16LE;
+        }
+        if (b0 == 0xFE && b1 == 0xFF) {
+            bytes.position(2);
+            return StandardCharsets.UTF_16BE;
+        }
+
+        CoderResult resultado = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)
+                .decode(bytes.duplicate(), CharBuffer.allocate(n), finCanal);
+        return resultado.isError() ? WINDOWS_1252 : StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Elige el separador más frecuente fuera de comillas en la primera línea decodificada.
+     */
+    private char detectarSeparador() {
+        int[] conteos = new int[SEPARADORES.length];
+        boolean entreComillas = false;
+
+        for (int i = caracteres.position(); i < caracteres.limit(); i++) {
+            char c = caracteres.get(i);
+            if (c == '"') {
+                entreComillas = !entreComillas;
+            } else if (!entreComillas) {
+                if (c == '\n') break;
+                for (int s = 0; s < SEPARADORES.length; s++) {
+                    if (c == SEPARADORES[s]) conteos[s]++;
+                }
+            }
+        }
+
+        int elegido = 0;
+        for (int s = 1; s < SEPARADORES.length; s++) {
+            if (conteos[s] > conteos[elegido]) elegido = s;
+        }
+        return SEPARADORES[elegido];
+    }
+
+    // --------------------------------------------------------
+    // BUFFERS
+    // --------------------------------------------------------
+
+    /**
+     * Decodifica más caracteres en {@link #caracteres}, leyendo del canal si hace falta.
+     *
+     * @return {@code true} si quedaron caracteres disponibles
+     */
+    private boolean rellenar() throws IOException {
+        if (agotado) return false;
+
+        caracteres.compact();
+        try {
+            while (caracteres.position() == 0) {
+                CoderResult resultado = decoder.decode(bytes, caracteres, finCanal);
+                if (resultado.isError()) {
+                    resultado.throwException();
+                }
+                if (caracteres.position() > 0) {
+                    break;
+                }
+                if (finCanal) {
+                    decoder.flush(caracteres);
+                    agotado = true;
+                    break;
+                }
+                leerBytes();
+            }
+        } finally {
+            caracteres.flip();
+        }
+        return caracteres.hasRemaining();
+    }
+
+    /**
+     * Completa {@link #bytes} con el siguiente bloque del canal.
+     */
+    private void leerBytes() throws IOException {
+        bytes.compact();
+        try {
+            while (bytes.hasRemaining()) {
+                if (canal.read(bytes) < 0) {
+                    finCanal = true;
+                    break;
+                }
+            }
+        } finally {
+            bytes.flip();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.unicauca.fiet.sistema_electivas.common.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias SQL emite cada petición HTTP en {@code electivas.http.consultas},
+ * etiquetado por método y patrón de URI del endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConsultasPorPeticionFilter extends OncePerRequestFilter {
+
+    private final ContadorConsultas contadorConsultas;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long iniciales = contadorConsultas.totalEnHilo();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (patron != null) {
+                DistributionSummary.builder("electivas.http.consultas")
+                        .description("Sentencias SQL emitidas por petición HTTP")
+                        .tag("method", request.getMethod())
+                        .tag("uri", patron.toString())
+                        .register(meterRegistry)
+                        .record(contadorConsultas.totalEnHilo() - iniciales);
+            }
+        }
+    }
+}
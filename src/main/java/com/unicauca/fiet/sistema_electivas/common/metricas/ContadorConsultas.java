@@ -0,0 +1,71 @@
+package com.unicauca.fiet.sistema_electivas.common.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link StatementInspector} de Hibernate que cuenta las sentencias SQL preparadas.
+ *
+ * <p>Mantiene un total acumulado por hilo, de modo que una etapa o una petición HTTP obtiene
+ * sus propias consultas como la diferencia entre dos lecturas de {@link #totalEnHilo()}.
+ * Además publica el contador global {@code electivas.db.consultas} por tipo de sentencia.</p>
+ *
+ * <p>Las sentencias ejecutadas desde hilos secundarios (por ejemplo, hilos virtuales de una
+ * carga en paralelo) se cuentan en el contador global, pero no en el total del hilo que
+ * las lanzó.</p>
+ */
+@Component
+public class ContadorConsultas implements StatementInspector {
+
+    private final ThreadLocal<long[]> totalPorHilo = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final Counter selects;
+    private final Counter inserts;
+    private final Counter updates;
+    private final Counter deletes;
+    private final Counter otras;
+
+    public ContadorConsultas(MeterRegistry registry) {
+        this.selects = contador(registry, "select");
+        this.inserts = contador(registry, "insert");
+        this.updates = contador(registry, "update");
+        this.deletes = contador(registry, "delete");
+        this.otras = contador(registry, "otra");
+    }
+
+    @Override
+    public String inspect(String sql) {
+        totalPorHilo.get()[0]++;
+        contadorPorTipo(sql).increment();
+        return sql;
+    }
+
+    /**
+     * Devuelve el número de sentencias preparadas por el hilo actual desde su creación.
+     */
+    public long totalEnHilo() {
+        return totalPorHilo.get()[0];
+    }
+
+    private Counter contadorPorTipo(String sql) {
+        String sentencia = sql.stripLeading();
+        if (empiezaCon(sentencia, "select") || empiezaCon(sentencia, "with")) return selects;
+        if (empiezaCon(sentencia, "insert")) return inserts;
+        if (empiezaCon(sentencia, "update")) return updates;
+        if (empiezaCon(sentencia, "delete")) return deletes;
+        return otras;
+    }
+
+    private static boolean empiezaCon(String sql, String palabra) {
+        return sql.regionMatches(true, 0, palabra, 0, palabra.length());
+    }
+
+    private static Counter contador(MeterRegistry registry, String tipo) {
+        return Counter.builder("electivas.db.consultas")
+                .description("Sentencias SQL preparadas por Hibernate")
+                .tag("tipo", tipo)
+                .register(registry);
+    }
+}
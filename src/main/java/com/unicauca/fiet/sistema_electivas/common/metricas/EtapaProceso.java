@@ -0,0 +1,25 @@
+package com.unicauca.fiet.sistema_electivas.common.metricas;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca un método de servicio como etapa del proceso semestral (transición de estado del período).
+ *
+ * <p>{@link MetricasEtapas} registra para cada ejecución su duración, las filas procesadas,
+ * las filas por segundo y las consultas SQL emitidas. La medición envuelve también la
+ * transacción del método, por lo que incluye el flush y el commit.</p>
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface EtapaProceso {
+
+    /**
+     * Nombre de la etapa, usado como etiqueta {@code etapa} de las métricas (ej. {@code "filtro-duplicados"}).
+     */
+    String value();
+}
@@ -0,0 +1,37 @@
+package com.unicauca.fiet.sistema_electivas.common.metricas;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mide las llamadas a servicios externos (Google Forms, motor Python) en {@code electivas.cliente},
+ * etiquetadas por cliente y operación, con histograma de duración y etiqueta de error.
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasClientes {
+
+    private static final String NOMBRE_OBSERVACION = "electivas.cliente";
+
+    private final ObservationRegistry observationRegistry;
+
+    /**
+     * Ejecuta una llamada externa dentro de una observación.
+     *
+     * @param cliente   servicio externo (ej. {@code "google-forms"})
+     * @param operacion operación invocada (ej. {@code "listar-respuestas"})
+     * @param llamada   llamada a ejecutar
+     * @return resultado de la llamada
+     * @throws E la misma excepción lanzada por la llamada
+     */
+    public <T, E extends Throwable> T medir(String cliente, String operacion,
+                                           Observation.CheckedCallable<T, E> llamada) throws E {
+        return Observation.createNotStarted(NOMBRE_OBSERVACION, observationRegistry)
+                .contextualName(cliente + " " + operacion)
+                .lowCardinalityKeyValue("cliente", cliente)
+                .lowCardinalityKeyValue("operacion", operacion)
+                .observeChecked(llamada);
+    }
+}
@@ -0,0 +1,151 @@
+package com.unicauca.fiet.sistema_electivas.common.metricas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de las etapas del proceso semestral marcadas con {@link EtapaProceso}.
+ *
+ * <p>Por cada etapa se publican:
+ * <ul>
+ *   <li>{@code electivas.etapa}: duración (observación, con histograma y etiqueta de error).</li>
+ *   <li>{@code electivas.etapa.filas}: filas procesadas, informadas por el servicio con
+ *   {@link #registrarFilas(long)}.</li>
+ *   <li>{@code electivas.etapa.filas.por.segundo}: rendimiento de la última ejecución.</li>
+ *   <li>{@code electivas.etapa.consultas}: sentencias SQL emitidas por ejecución.</li>
+ * </ul>
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class MetricasEtapas {
+
+    private static final String NOMBRE_OBSERVACION = "electivas.etapa";
+
+    private final ObservationRegistry observationRegistry;
+    private final MeterRegistry meterRegistry;
+    private final ContadorConsultas contadorConsultas;
+
+    private final ThreadLocal<Medicion> enCurso = new ThreadLocal<>();
+
+    // Filas por segundo de la última ejecución de cada etapa, guardadas como bits de double
+    private final Map<String, AtomicLong> filasPorSegundo = new ConcurrentHashMap<>();
+
+    /**
+     * Suma filas procesadas a la etapa en curso en el hilo actual.
+     *
+     * <p>Fuera de una etapa la llamada no tiene efecto.</p>
+     *
+     * @param filas número de filas procesadas
+     */
+    public void registrarFilas(long filas) {
+        Medicion medicion = enCurso.get();
+        if (medicion != null) {
+            medicion.filas += filas;
+        }
+    }
+
+    /**
+     * Inicia la medición de una etapa en el hilo actual.
+     *
+     * @param etapa nombre de la etapa
+     * @return medición a cerrar con {@link #finalizar(Medicion, Throwable)}
+     */
+    Medicion iniciar(String etapa) {
+        Observation observacion = Observation.createNotStarted(NOMBRE_OBSERVACION, observationRegistry)
+                .contextualName("etapa " + etapa)
+                .lowCardinalityKeyValue("etapa", etapa)
+                .start();
+        Medicion medicion = new Medicion(etapa, observacion, observacion.openScope(),
+                contadorConsultas.totalEnHilo(), System.nanoTime(), enCurso.get());
+        enCurso.set(medicion);
+        return medicion;
+    }
+
+    /**
+     * Cierra la medición y publica sus métricas.
+     *
+     * @param medicion medición devuelta por {@link #iniciar(String)}
+     * @param error excepción con la que terminó la etapa, o {@code null} si terminó bien
+     */
+    void finalizar(Medicion medicion, Throwable error) {
+        long nanos = System.nanoTime() - medicion.inicioNanos;
+        long consultas = contadorConsultas.totalEnHilo() - medicion.consultasIniciales;
+
+        if (medicion.anterior == null) {
+            enCurso.remove();
+        } else {
+            enCurso.set(medicion.anterior);
+        }
+
+        Observation observacion = medicion.observacion;
+        observacion.highCardinalityKeyValue("filas", String.valueOf(medicion.filas));
+        observacion.highCardinalityKeyValue("consultas", String.valueOf(consultas));
+        if (error != null) {
+            observacion.error(error);
+        }
+        medicion.alcance.close();
+        observacion.stop();
+
+        Counter.builder("electivas.etapa.filas")
+                .description("Filas procesadas por las etapas del proceso")
+                .tag("etapa", medicion.etapa)
+                .register(meterRegistry)
+                .increment(medicion.filas);
+
+        DistributionSummary.builder("electivas.etapa.consultas")
+                .description("Sentencias SQL emitidas por ejecución de la etapa")
+                .tag("etapa", medicion.etapa)
+                .register(meterRegistry)
+                .record(consultas);
+
+        if (error == null && medicion.filas > 0 && nanos > 0) {
+            double porSegundo = medicion.filas * 1_000_000_000d / nanos;
+            gaugeFilasPorSegundo(medicion.etapa).set(Double.doubleToLongBits(porSegundo));
+        }
+    }
+
+    private AtomicLong gaugeFilasPorSegundo(String etapa) {
+        return filasPorSegundo.computeIfAbsent(etapa, nombre -> {
+            AtomicLong valor = new AtomicLong(Double.doubleToLongBits(0d));
+            Gauge.builder("electivas.etapa.filas.por.segundo", valor, v -> Double.longBitsToDouble(v.get()))
+                    .description("Filas por segundo de la última ejecución de la etapa")
+                    .tag("etapa", nombre)
+                    .register(meterRegistry);
+            return valor;
+        });
+    }
+
+    /**
+     * Estado de una etapa en curso. Las etapas anidadas conservan la medición exterior.
+     */
+    static final class Medicion {
+        private final String etapa;
+        private final Observation observacion;
+        private final Observation.Scope alcance;
+        private final long consultasIniciales;
+        private final long inicioNanos;
+        private final Medicion anterior;
+        private long filas;
+
+        private Medicion(String etapa, Observation observacion, Observation.Scope alcance,
+                         long consultasIniciales, long inicioNanos, Medicion anterior) {
+            this.etapa = etapa;
+            this.observacion = observacion;
+            this.alcance = alcance;
+            this.consultasIniciales = consultasIniciales;
+            this.inicioNanos = inicioNanos;
+            this.anterior = anterior;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.unicauca.fiet.sistema_electivas.common.metricas;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aplica {@link MetricasEtapas} a los métodos anotados con {@link EtapaProceso}.
+ *
+ * <p>Se ejecuta antes que el interceptor transaccional para que la duración incluya el commit.</p>
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class MetricasEtapasAspect {
+
+    private final MetricasEtapas metricasEtapas;
+
+    @Around("@annotation(etapaProceso)")
+    public Object medir(ProceedingJoinPoint joinPoint, EtapaProceso etapaProceso) throws Throwable {
+        MetricasEtapas.Medicion medicion = metricasEtapas.iniciar(etapaProceso.value());
+        Throwable error = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            metricasEtapas.finalizar(medicion, error);
+        }
+    }
+}
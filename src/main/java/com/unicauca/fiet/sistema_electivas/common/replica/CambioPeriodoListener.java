@@ -0,0 +1,25 @@
+package com.unicauca.fiet.sistema_electivas.common.replica;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Avisa a {@link GuardiaReplica} cuando cambia algo que los usuarios consultan justo después:
+ * el estado de un período académico y los archivos que se generan en cada transición
+ * (reportes, lotes para SIMCA).
+ *
+ * <p>Hibernate lo instancia a través del contenedor de beans de Spring, por lo que recibe la
+ * guardia por constructor.</p>
+ */
+@RequiredArgsConstructor
+public class CambioPeriodoListener {
+
+    private final GuardiaReplica guardiaReplica;
+
+    @PostPersist
+    @PostUpdate
+    void alCambiar(Object entidad) {
+        guardiaReplica.registrarTransicion();
+    }
+}
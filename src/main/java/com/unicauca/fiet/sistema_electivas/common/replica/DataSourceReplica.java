@@ -0,0 +1,94 @@
+package com.unicauca.fiet.sistema_electivas.common.replica;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Enruta cada conexión entre el primario y la réplica según la transacción en curso: las de solo
+ * lectura van a la réplica y todo lo demás al primario.
+ *
+ * <p>Decide con {@link TransactionSynchronizationManager#isCurrentTransactionReadOnly()} y no con
+ * {@link Connection#isReadOnly()}: como Hibernate libera la conexión al terminar cada transacción,
+ * Spring nunca llama a {@code setReadOnly(true)}. Debe ir detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}, que pide la conexión
+ * física en la primera sentencia, cuando la transacción ya registró si es de solo lectura.</p>
+ *
+ * <p>Una lectura recurre al primario cuando la réplica no debe o no puede usarse:</p>
+ * <ul>
+ *     <li>Si {@link GuardiaReplica} indica una transición de período reciente, o la transacción
+ *     pidió el primario, usa el primario.</li>
+ *     <li>Si la réplica no entrega conexión, usa el primario y no la vuelve a intentar durante
+ *     {@code reintento}, para no pagar el tiempo de espera del pool en cada petición.</li>
+ * </ul>
+ *
+ * <p>Cada lectura desviada al primario se cuenta en {@code electivas.db.replica.respaldo},
+ * etiquetada por motivo ({@code transicion} o {@code error}).</p>
+ */
+@Slf4j
+public class DataSourceReplica extends DelegatingDataSource {
+
+    private final DataSource replica;
+    private final DataSource primario;
+    private final GuardiaReplica guardiaReplica;
+    private final long reintentoNanos;
+    private final Counter respaldoTransicion;
+    private final Counter respaldoError;
+
+    private volatile long reintentarDesde;
+
+    public DataSourceReplica(DataSource replica, DataSource primario, GuardiaReplica guardiaReplica,
+                             Duration reintento, MeterRegistry registry) {
+        super(primario);
+        this.replica = replica;
+        this.primario = primario;
+        this.guardiaReplica = guardiaReplica;
+        this.reintentoNanos = reintento.toNanos();
+        this.reintentarDesde = System.nanoTime();
+        this.respaldoTransicion = contador(registry, "transicion");
+        this.respaldoError = contador(registry, "error");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primario.getConnection();
+        }
+        if (!guardiaReplica.replicaVigente()) {
+            respaldoTransicion.increment();
+            return primario.getConnection();
+        }
+        if (System.nanoTime() - reintentarDesde < 0) {
+            respaldoError.increment();
+            return primario.getConnection();
+        }
+        try {
+            return replica.getConnection();
+        } catch (SQLException e) {
+            reintentarDesde = System.nanoTime() + reintentoNanos;
+            respaldoError.increment();
+            log.warn("La réplica no está disponible; las lecturas irán al primario durante {} s: {}",
+                    reintentoNanos / 1_000_000_000L, e.getMessage());
+            return primario.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return getConnection();
+    }
+
+    private static Counter contador(MeterRegistry registry, String motivo) {
+        return Counter.builder("electivas.db.replica.respaldo")
+                .description("Lecturas de solo lectura atendidas por el primario en lugar de la réplica")
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+}
@@ -0,0 +1,84 @@
+package com.unicauca.fiet.sistema_electivas.common.replica;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Decide si una lectura puede ir a la réplica o debe ir al primario porque un período acaba de
+ * cambiar de estado.
+ *
+ * <p>La réplica se actualiza con retraso: justo después de una transición (por ejemplo, al
+ * terminar la asignación) un reporte leído de ella podría ver el estado anterior. Durante
+ * {@code electivas.datasource.replica.ventana-transicion} tras cada cambio confirmado de un
+ * período, todas las lecturas van al primario.</p>
+ *
+ * <p>Además, una transacción puede pedir el primario para sí misma con {@link #forzarPrimario()},
+ * por ejemplo los reportes que se generan mientras el período avanza por la asignación.</p>
+ *
+ * <p>Existe aunque no haya réplica configurada; en ese caso nadie lo consulta.</p>
+ */
+@Component
+public class GuardiaReplica {
+
+    /** Marca las transacciones del hilo que deben leer del primario. */
+    private static final ThreadLocal<Boolean> PRIMARIO_FORZADO = new ThreadLocal<>();
+
+    private final long ventanaNanos;
+    private volatile long finVentana;
+
+    public GuardiaReplica(@Value("${electivas.datasource.replica.ventana-transicion:PT30S}") Duration ventana) {
+        this.ventanaNanos = ventana.toNanos();
+        this.finVentana = System.nanoTime();
+    }
+
+    /**
+     * Registra una transición de período. Si hay una transacción en curso, la ventana empieza
+     * cuando se confirma, que es cuando la réplica empieza a quedar desactualizada.
+     */
+    public void registrarTransicion() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    abrirVentana();
+                }
+            });
+        } else {
+            abrirVentana();
+        }
+    }
+
+    /**
+     * Envía al primario las lecturas de la transacción en curso, hasta que termine. Debe llamarse
+     * antes de su primera consulta, que es cuando se obtiene la conexión. Sin transacción no tiene
+     * efecto.
+     */
+    public void forzarPrimario() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive() || Boolean.TRUE.equals(PRIMARIO_FORZADO.get())) {
+            return;
+        }
+        PRIMARIO_FORZADO.set(Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                PRIMARIO_FORZADO.remove();
+            }
+        });
+    }
+
+    /**
+     * Indica si las lecturas pueden ir a la réplica: no hay una transición reciente ni la
+     * transacción en curso pidió el primario.
+     */
+    public boolean replicaVigente() {
+        return !Boolean.TRUE.equals(PRIMARIO_FORZADO.get()) && System.nanoTime() - finVentana >= 0;
+    }
+
+    private void abrirVentana() {
+        finVentana = System.nanoTime() + ventanaNanos;
+    }
+}
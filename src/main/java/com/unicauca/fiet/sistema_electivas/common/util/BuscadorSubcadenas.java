@@ -0,0 +1,126 @@
+package com.unicauca.fiet.sistema_electivas.common.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.IntConsumer;
+
+/**
+ * Autómata de Aho–Corasick sobre un conjunto fijo de patrones.
+ *
+ * <p>Permite saber qué patrones aparecen como subcadena de un texto recorriéndolo una sola vez,
+ * en lugar de evaluar {@code texto.contains(patron)} para cada patrón. Es inmutable una vez
+ * construido, por lo que puede compartirse entre hilos.</p>
+ *
+ * <p>La semántica es la de {@link String#contains(CharSequence)}: un patrón vacío aparece en
+ * cualquier texto, incluso en uno vacío.</p>
+ */
+public final class BuscadorSubcadenas {
+
+    private static final int[] SIN_PATRONES = new int[0];
+
+    /** Transiciones por nodo; el nodo 0 es la raíz. */
+    private final List<Map<Character, Integer>> transiciones = new ArrayList<>();
+    private final int[] fallo;
+    /** Índices de los patrones que terminan en cada nodo, incluidos los heredados por fallo. */
+    private final int[][] salidas;
+
+    /**
+     * Construye el autómata.
+     *
+     * @param patrones patrones a buscar; el índice de cada uno en la lista es el que se reporta
+     */
+    public BuscadorSubcadenas(List<String> patrones) {
+        transiciones.add(new HashMap<>());
+        List<List<Integer>> terminales = new ArrayList<>();
+        terminales.add(new ArrayList<>());
+
+        for (int p = 0; p < patrones.size(); p++) {
+            String patron = patrones.get(p);
+            int nodo = 0;
+            for (int i = 0; i < patron.length(); i++) {
+                Integer siguiente = transiciones.get(nodo).get(patron.charAt(i));
+                if (siguiente == null) {
+                    siguiente = transiciones.size();
+                    transiciones.add(new HashMap<>());
+                    terminales.add(new ArrayList<>());
+                    transiciones.get(nodo).put(patron.charAt(i), siguiente);
+                }
+                nodo = siguiente;
+            }
+            terminales.get(nodo).add(p);
+        }
+
+        int nodos = transiciones.size();
+        fallo = new int[nodos];
+        salidas = new int[nodos][];
+        salidas[0] = aArreglo(terminales.get(0), SIN_PATRONES);
+
+        // Recorrido por niveles: el fallo de un nodo siempre está a menor profundidad
+        Queue<Integer> cola = new ArrayDeque<>();
+        for (int hijo : transiciones.get(0).values()) {
+            fallo[hijo] = 0;
+            salidas[hijo] = aArreglo(terminales.get(hijo), SIN_PATRONES);
+            cola.add(hijo);
+        }
+        while (!cola.isEmpty()) {
+            int nodo = cola.poll();
+            for (Map.Entry<Character, Integer> arista : transiciones.get(nodo).entrySet()) {
+                int hijo = arista.getValue();
+                int f = fallo[nodo];
+                while (f != 0 && !transiciones.get(f).containsKey(arista.getKey())) {
+                    f = fallo[f];
+                }
+                Integer destino = transiciones.get(f).get(arista.getKey());
+                fallo[hijo] = destino != null && destino != hijo ? destino : 0;
+                salidas[hijo] = aArreglo(terminales.get(hijo), salidasSinRaiz(fallo[hijo]));
+                cola.add(hijo);
+            }
+        }
+    }
+
+    /**
+     * Reporta los patrones que aparecen en {@code texto}.
+     *
+     * <p>Un patrón puede reportarse más de una vez si aparece varias veces en el texto.</p>
+     *
+     * @param texto texto a recorrer
+     * @param encontrado recibe el índice de cada patrón encontrado
+     */
+    public void buscar(String texto, IntConsumer encontrado) {
+        for (int p : salidas[0]) {
+            encontrado.accept(p);
+        }
+        int nodo = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            Integer siguiente = transiciones.get(nodo).get(c);
+            while (siguiente == null && nodo != 0) {
+                nodo = fallo[nodo];
+                siguiente = transiciones.get(nodo).get(c);
+            }
+            nodo = siguiente != null ? siguiente : 0;
+            for (int p : salidas[nodo]) {
+                encontrado.accept(p);
+            }
+        }
+    }
+
+    /** Los patrones vacíos (salidas de la raíz) ya se reportan una vez al inicio de cada búsqueda. */
+    private int[] salidasSinRaiz(int nodo) {
+        return nodo == 0 ? SIN_PATRONES : salidas[nodo];
+    }
+
+    private static int[] aArreglo(List<Integer> propios, int[] heredados) {
+        if (propios.isEmpty()) return heredados;
+        int[] resultado = Arrays.copyOf(heredados, heredados.length + propios.size());
+        for (int i = 0; i < propios.size(); i++) {
+            resultado[heredados.length + i] = propios.get(i);
+        }
+        return resultado;
+    }
+}
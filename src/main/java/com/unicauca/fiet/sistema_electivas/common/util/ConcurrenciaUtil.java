@@ -0,0 +1,42 @@
+package com.unicauca.fiet.sistema_electivas.common.util;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Utilidades para esperar tareas lanzadas en paralelo (por ejemplo, en hilos virtuales)
+ * conservando las excepciones de negocio originales.
+ */
+public final class ConcurrenciaUtil {
+
+    private ConcurrenciaUtil() {
+    }
+
+    /**
+     * Espera el resultado de una tarea.
+     *
+     * <p>Si la tarea falló con una {@link RuntimeException} (por ejemplo una
+     * {@code BusinessException}), se relanza tal cual para que el
+     * {@code GlobalExceptionHandler} la trate igual que en una ejecución secuencial.</p>
+     *
+     * @param futuro tarea en ejecución
+     * @return resultado de la tarea
+     */
+    public static <T> T esperar(Future<T> futuro) {
+        try {
+            return futuro.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La operación fue interrumpida.", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (causa instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(causa.getMessage(), causa);
+        }
+    }
+}
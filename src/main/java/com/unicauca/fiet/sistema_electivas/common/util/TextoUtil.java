@@ -0,0 +1,33 @@
+package com.unicauca.fiet.sistema_electivas.common.util;
+
+import java.text.Normalizer;
+import java.util.regex.Pattern;
+
+/**
+ * Utilidades de normalización de texto para comparar nombres escritos a mano
+ * (materias, programas, electivas) sin depender de tildes ni mayúsculas.
+ */
+public final class TextoUtil {
+
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}");
+
+    private TextoUtil() {
+    }
+
+    /**
+     * Normaliza un texto para facilitar su comparación.
+     *
+     * <p>Elimina tildes, convierte a minúsculas y quita espacios al inicio y al final, de modo
+     * que "Cálculo diferencial", "CALCULO DIFERENCIAL" y "calculo diferencial" coinciden.</p>
+     *
+     * @param texto cadena original (puede ser {@code null})
+     * @return texto normalizado, o cadena vacía si {@code texto} es {@code null}
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) return "";
+        return MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase()
+                .trim();
+    }
+}
@@ -0,0 +1,89 @@
+package com.unicauca.fiet.sistema_electivas.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate para las entidades de referencia (programas, planes,
+ * electivas, departamentos y períodos), en memoria con Caffeine a través de JCache.
+ *
+ * <p>Las entidades usan la estrategia {@code READ_WRITE}: Hibernate actualiza o invalida la
+ * entrada al confirmar cada transacción que las modifica, también con las actualizaciones
+ * masivas en JPQL. La caché es local a cada instancia; la vigencia acota cuánto puede durar un
+ * cambio hecho por fuera de la aplicación (o por otra instancia).</p>
+ *
+ * <p>Aciertos, fallos, inserciones y desalojos de cada región se publican en
+ * {@code /actuator/metrics/cache.gets} y métricas relacionadas, con la etiqueta {@code cache}.</p>
+ */
+@Configuration
+public class CacheSegundoNivelConfig {
+
+    /** Tamaño máximo y vigencia de cada región. */
+    static final Map<String, Region> REGIONES = Map.of(
+            RegionesCache.PROGRAMA, new Region(200, Duration.ofHours(1)),
+            RegionesCache.PLAN_ESTUDIO, new Region(500, Duration.ofHours(1)),
+            RegionesCache.ELECTIVA, new Region(2_000, Duration.ofHours(1)),
+            RegionesCache.PROGRAMA_ELECTIVA, new Region(10_000, Duration.ofHours(1)),
+            RegionesCache.DEPARTAMENTO, new Region(100, Duration.ofHours(1)),
+            RegionesCache.DEPARTAMENTO_ELECTIVAS, new Region(100, Duration.ofHours(1)),
+            // El período cambia de estado durante el proceso; se mantiene menos tiempo
+            RegionesCache.PERIODO_ACADEMICO, new Region(50, Duration.ofMinutes(10))
+    );
+
+    /**
+     * Administrador de cachés propio de la aplicación, con una caché por región.
+     *
+     * <p>Se usa un proveedor nuevo por contexto para que varios contextos de Spring (por ejemplo,
+     * en las pruebas) no compartan regiones.</p>
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager cacheSegundoNivel() {
+        CacheManager cacheManager = new CaffeineCachingProvider()
+                .getCacheManager(URI.create("electivas-segundo-nivel"), getClass().getClassLoader());
+        REGIONES.forEach((nombre, region) -> {
+            CaffeineConfiguration<Object, Object> configuracion = new CaffeineConfiguration<>();
+            configuracion.setMaximumSize(OptionalLong.of(region.maximo()));
+            configuracion.setExpireAfterWrite(OptionalLong.of(region.vigencia().toNanos()));
+            configuracion.setStatisticsEnabled(true);
+            cacheManager.createCache(nombre, configuracion);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer cacheSegundoNivelCustomizer(CacheManager cacheSegundoNivel) {
+        return propiedades -> {
+            propiedades.put(ConfigSettings.CACHE_MANAGER, cacheSegundoNivel);
+            propiedades.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder metricasCacheSegundoNivel(CacheManager cacheSegundoNivel) {
+        return registry -> REGIONES.keySet().forEach(nombre ->
+                JCacheMetrics.monitor(registry, cacheSegundoNivel.getCache(nombre), Tags.of("nivel", "segundo")));
+    }
+
+    /**
+     * Límites de una región.
+     *
+     * @param maximo   entradas como máximo
+     * @param vigencia tiempo desde la última escritura tras el cual la entrada se descarta
+     */
+    record Region(long maximo, Duration vigencia) {
+    }
+}
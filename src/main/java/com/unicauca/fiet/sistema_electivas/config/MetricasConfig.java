@@ -0,0 +1,21 @@
+package com.unicauca.fiet.sistema_electivas.config;
+
+import com.unicauca.fiet.sistema_electivas.common.metricas.ContadorConsultas;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Conecta el conteo de sentencias SQL ({@link ContadorConsultas}) con Hibernate.
+ *
+ * <p>El resto de métricas se exponen con Actuator en {@code /actuator/metrics}.</p>
+ */
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer contadorConsultasCustomizer(ContadorConsultas contadorConsultas) {
+        return propiedades -> propiedades.put(AvailableSettings.STATEMENT_INSPECTOR, contadorConsultas);
+    }
+}
@@ -0,0 +1,13 @@
+package com.unicauca.fiet.sistema_electivas.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas ({@code @Scheduled}) de la aplicación, como la
+ * sincronización incremental de respuestas de Google Forms.
+ */
+@Configuration
+@EnableScheduling
+public class ProgramacionConfig {
+}
@@ -0,0 +1,90 @@
+package com.unicauca.fiet.sistema_electivas.config;
+
+import com.unicauca.fiet.sistema_electivas.common.replica.DataSourceReplica;
+import com.unicauca.fiet.sistema_electivas.common.replica.GuardiaReplica;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envía las transacciones de solo lectura ({@code @Transactional(readOnly = true)}, incluidas las
+ * consultas de los repositorios fuera de una transacción de escritura) a una réplica de PostgreSQL,
+ * y todo lo demás al primario ({@code spring.datasource}).
+ *
+ * <p>Solo se activa si se define {@code electivas.datasource.replica.url}; sin ella la aplicación
+ * usa el único origen de datos que configura Spring Boot.</p>
+ *
+ * <p>La conexión física se obtiene al ejecutar la primera sentencia, cuando ya se sabe si la
+ * transacción es de solo lectura ({@link LazyConnectionDataSourceProxy}); {@link DataSourceReplica}
+ * decide entonces con el estado de la transacción, no con la conexión. Hibernate libera la
+ * conexión al terminar cada transacción, para que con open-in-view una petición no se quede con la
+ * conexión de la réplica después de una lectura y falle al escribir.</p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "electivas.datasource.replica", name = "url")
+public class ReplicaConfig {
+
+    /**
+     * Pool del primario, configurado como siempre con {@code spring.datasource.*}.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primarioDataSource(DataSourceProperties propiedades) {
+        HikariDataSource dataSource = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    /**
+     * Pool de la réplica. Espera poco por una conexión: si la réplica no responde se usa el primario.
+     */
+    @Bean
+    @ConfigurationProperties("electivas.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(
+            @Value("${electivas.datasource.replica.url}") String url,
+            @Value("${electivas.datasource.replica.username:${spring.datasource.username}}") String usuario,
+            @Value("${electivas.datasource.replica.password:${spring.datasource.password}}") String clave
+    ) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(clave);
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        dataSource.setConnectionTimeout(Duration.ofSeconds(2).toMillis());
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primarioDataSource") DataSource primario,
+            @Qualifier("replicaDataSource") DataSource replica,
+            GuardiaReplica guardiaReplica,
+            MeterRegistry registry,
+            @Value("${electivas.datasource.replica.reintento:PT30S}") Duration reintento
+    ) {
+        return new LazyConnectionDataSourceProxy(
+                new DataSourceReplica(replica, primario, guardiaReplica, reintento, registry));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaCustomizer() {
+        return propiedades -> propiedades.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -1,18 +1,23 @@
 package com.unicauca.fiet.sistema_electivas.departamento.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
 import com.unicauca.fiet.sistema_electivas.departamento.enums.EstadoDepartamento;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.DEPARTAMENTO)
 @Table(name = "departamento")
 public class Departamento {
 
@@ -40,6 +45,7 @@ public class Departamento {
     private EstadoDepartamento estado;
 
     @OneToMany(mappedBy = "departamento")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.DEPARTAMENTO_ELECTIVAS)
     @JsonIgnore
     private List<Electiva> electivas;
 }
\ No newline at end of file
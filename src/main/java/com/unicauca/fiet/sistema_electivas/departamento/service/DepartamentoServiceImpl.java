@@ -12,6 +12,7 @@ import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
 import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
 import com.unicauca.fiet.sistema_electivas.departamento.repository.DepartamentoRepository;
 import com.unicauca.fiet.sistema_electivas.electiva.repository.ElectivaRepository;
+import com.unicauca.fiet.sistema_electivas.electiva.service.CatalogoElectivas;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,9 @@ public class DepartamentoServiceImpl implements DepartamentoService {
 
     @Autowired
     private ElectivaRepository electivaRepository;
+
+    @Autowired
+    private CatalogoElectivas catalogoElectivas;
     /**
      * {@inheritDoc}
      */
@@ -99,6 +103,8 @@ public class DepartamentoServiceImpl implements DepartamentoService {
 
         // 🔹 Guardar y mapear respuesta
         Departamento actualizado = departamentoRepository.save(deptoExistente);
+        // Las electivas del catálogo muestran el nombre del departamento
+        catalogoElectivas.invalidar();
         return DepartamentoMapper.toResponse(actualizado);
     }
 
@@ -1,9 +1,13 @@
 package com.unicauca.fiet.sistema_electivas.electiva.controller;
 
 import com.unicauca.fiet.sistema_electivas.common.dto.MensajeResponse;
+import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.ActualizarElectivaDTO;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.CrearElectivaDTO;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResponseDTO;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.FiltroElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.PaginaElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
 import com.unicauca.fiet.sistema_electivas.common.exception.GlobalExceptionHandler;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
@@ -44,12 +48,27 @@ public class ElectivaController {
 
     /**
      * Endpoint para listar todas las electivas, con filtros opcionales.
+     *
+     * <p>Si se indica {@code tamano}, devuelve solo la página {@code pagina} (desde 0). El total de
+     * electivas que cumplen los filtros va en la cabecera {@code X-Total-Count}.</p>
      */
     @GetMapping
     public ResponseEntity<List<ElectivaResponseDTO>> listarElectivas(
             @RequestParam(defaultValue = "false") boolean mostrarInactivas,
-            @RequestParam(required = false) String query) {
-        return ResponseEntity.ok(electivaService.findElectivas(mostrarInactivas, query));
+            @RequestParam(required = false) String query,
+            @RequestParam(required = false) EstadoElectiva estado,
+            @RequestParam(required = false) Long departamentoId,
+            @RequestParam(required = false) Long programaId,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(required = false) Integer tamano) {
+        if (pagina < 0 || (tamano != null && tamano < 1)) {
+            throw new BusinessException("La página debe ser mayor o igual a 0 y el tamaño mayor a 0.");
+        }
+        FiltroElectivas filtro = new FiltroElectivas(query, mostrarInactivas, estado, departamentoId, programaId);
+        PaginaElectivas resultado = electivaService.buscarElectivas(filtro, pagina, tamano);
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(resultado.total()))
+                .body(resultado.electivas());
     }
 
 
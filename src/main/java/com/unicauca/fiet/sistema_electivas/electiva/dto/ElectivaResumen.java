@@ -0,0 +1,20 @@
+package com.unicauca.fiet.sistema_electivas.electiva.dto;
+
+import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
+
+/**
+ * Columnas de una electiva que se muestran en el listado, con los datos de su departamento.
+ *
+ * @param departamentoId ID del departamento, o {@code null} si la electiva no tiene uno
+ * @param departamentoNombre nombre del departamento, o {@code null} si la electiva no tiene uno
+ */
+public record ElectivaResumen(
+        Long id,
+        String codigo,
+        String nombre,
+        String descripcion,
+        EstadoElectiva estado,
+        Long departamentoId,
+        String departamentoNombre
+) {
+}
@@ -0,0 +1,22 @@
+package com.unicauca.fiet.sistema_electivas.electiva.dto;
+
+import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
+
+/**
+ * Filtros del listado de electivas. Los valores nulos no filtran.
+ *
+ * @param texto palabras buscadas en el código o el nombre, sin distinguir tildes ni mayúsculas;
+ *              la última puede estar incompleta (búsqueda mientras se escribe)
+ * @param incluirInactivas si es {@code false}, se excluyen las electivas {@code INACTIVA}
+ * @param estado estado exacto de la electiva
+ * @param departamentoId departamento de la electiva
+ * @param programaId programa al que debe estar asociada la electiva
+ */
+public record FiltroElectivas(
+        String texto,
+        boolean incluirInactivas,
+        EstadoElectiva estado,
+        Long departamentoId,
+        Long programaId
+) {
+}
@@ -0,0 +1,12 @@
+package com.unicauca.fiet.sistema_electivas.electiva.dto;
+
+import java.util.List;
+
+/**
+ * Una página del listado de electivas.
+ *
+ * @param electivas electivas de la página, ordenadas por ID
+ * @param total electivas que cumplen los filtros, en todas las páginas
+ */
+public record PaginaElectivas(List<ElectivaResponseDTO> electivas, int total) {
+}
@@ -0,0 +1,11 @@
+package com.unicauca.fiet.sistema_electivas.electiva.dto;
+
+/**
+ * Programa al que está asociada una electiva.
+ *
+ * @param electivaId ID de la electiva
+ * @param programaId ID del programa
+ * @param programaNombre nombre del programa
+ */
+public record ProgramaDeElectiva(Long electivaId, Long programaId, String programaNombre) {
+}
@@ -49,6 +49,33 @@ public class ElectivaMapper {
                 .build();
     }
 
+    /**
+     * Convierte la proyección {@link ElectivaResumen} de un listado en su {@link ElectivaResponseDTO}.
+     *
+     * @param electiva columnas de la electiva y su departamento
+     * @param programasAsociados programas de la electiva
+     * @return DTO con los datos de la electiva y sus programas
+     */
+    public static ElectivaResponseDTO toResponse(ElectivaResumen electiva, List<ProgramaDeElectiva> programasAsociados) {
+        List<ProgramaSimpleDTO> programas = programasAsociados.stream()
+                .map(pe -> ProgramaSimpleDTO.builder()
+                        .id(pe.programaId())
+                        .nombre(pe.programaNombre())
+                        .build())
+                .collect(Collectors.toList());
+
+        return ElectivaResponseDTO.builder()
+                .id(electiva.id())
+                .codigo(electiva.codigo())
+                .nombre(electiva.nombre())
+                .descripcion(electiva.descripcion())
+                .estado(electiva.estado().name())
+                .departamentoId(electiva.departamentoId())
+                .departamentoNombre(electiva.departamentoNombre())
+                .programas(programas)
+                .build();
+    }
+
     /**
      * Convierte un DTO de creación {@link CrearElectivaDTO} en una entidad {@link Electiva}.
      *
@@ -1,16 +1,21 @@
 package com.unicauca.fiet.sistema_electivas.electiva.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
 import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
 import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.ELECTIVA)
 @Table(name = "electiva")
 public class Electiva {
 
@@ -1,13 +1,18 @@
 package com.unicauca.fiet.sistema_electivas.electiva.model;
 
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
 import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.PROGRAMA_ELECTIVA)
 @Table(name = "programa_electiva")
 public class ProgramaElectiva {
     @EmbeddedId
@@ -1,9 +1,12 @@
 package com.unicauca.fiet.sistema_electivas.electiva.repository;
 
 import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResumen;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -18,7 +21,25 @@ public interface ElectivaRepository extends JpaRepository<Electiva, Long> {
 
     boolean existsByDepartamentoAndEstado(Departamento departamento, EstadoElectiva estado);
 
-    List<Electiva> findByNombreContainingIgnoreCaseOrCodigoContainingIgnoreCase(String nombre, String codigo);
-
-
+    /**
+     * Lista las electivas con solo las columnas del listado y el nombre de su departamento.
+     *
+     * @param texto texto contenido en el nombre o el código (sin distinguir mayúsculas), o {@code null} para no filtrar
+     * @param incluirInactivas si es {@code false}, se excluyen las electivas {@code INACTIVA}
+     * @return electivas que cumplen los filtros, ordenadas por ID
+     */
+    @Query("""
+        SELECT new com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResumen(
+            e.id, e.codigo, e.nombre, e.descripcion, e.estado, d.id, d.nombre)
+        FROM Electiva e
+        LEFT JOIN e.departamento d
+        WHERE (:texto IS NULL
+               OR LOWER(e.nombre) LIKE LOWER(CONCAT('%', :texto, '%'))
+               OR LOWER(e.codigo) LIKE LOWER(CONCAT('%', :texto, '%')))
+          AND (:incluirInactivas = TRUE
+               OR e.estado <> com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva.INACTIVA)
+        ORDER BY e.id
+    """)
+    List<ElectivaResumen> listarResumen(@Param("texto") String texto,
+                                        @Param("incluirInactivas") boolean incluirInactivas);
 }
\ No newline at end of file
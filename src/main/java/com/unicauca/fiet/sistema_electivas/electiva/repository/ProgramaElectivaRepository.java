@@ -1,10 +1,9 @@
 package com.unicauca.fiet.sistema_electivas.electiva.repository;
 
+import com.unicauca.fiet.sistema_electivas.electiva.dto.ProgramaDeElectiva;
 import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
-import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectiva;
 import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectivaId;
-import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
 import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
@@ -12,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -72,22 +72,36 @@ public interface ProgramaElectivaRepository extends JpaRepository<ProgramaElecti
     List<Programa> findProgramasByElectivaId(@Param("electivaId") Long electivaId);
 
     /**
-     * Retorna todas las relaciones {@link ProgramaElectiva} donde el programa asociado
-     * se encuentra en estado {@link EstadoPrograma#APROBADO}.
+     * Obtiene las relaciones programa–electiva de varias electivas a la vez,
+     * con el {@link Programa} ya cargado.
      *
-     * <p>Este método utiliza <code>JOIN FETCH</code> para cargar de manera anticipada
-     * tanto el {@link Programa} como la {@link Electiva}, evitando el problema de
-     * N+1 queries y optimizando el acceso a los datos relacionados.</p>
+     * <p>Permite resolver los programas de un listado de electivas con una sola
+     * consulta en lugar de una por electiva.</p>
      *
-     * @return una lista de relaciones programa–electiva cuyo programa está aprobado.
+     * @param electivaIds IDs de las electivas.
+     * @return relaciones de las electivas indicadas.
      */
     @Query("""
-    SELECT pe
-    FROM ProgramaElectiva pe
-    JOIN FETCH pe.programa p
-    JOIN FETCH pe.electiva e
-    WHERE p.estado = com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma.APROBADO
-""")
-    List<ProgramaElectiva> findAllWithProgramaAprobadoAndElectiva();
+        SELECT pe
+        FROM ProgramaElectiva pe
+        JOIN FETCH pe.programa
+        WHERE pe.electiva.id IN :electivaIds
+    """)
+    List<ProgramaElectiva> findByElectivaIdInConPrograma(@Param("electivaIds") Collection<Long> electivaIds);
 
+    /**
+     * Obtiene el ID y el nombre del programa de todas las relaciones programa–electiva.
+     *
+     * <p>Lo usa el catálogo de electivas para construir su índice con una sola consulta.</p>
+     *
+     * @return un registro por cada relación programa–electiva.
+     */
+    @Query("""
+        SELECT new com.unicauca.fiet.sistema_electivas.electiva.dto.ProgramaDeElectiva(
+            pe.id.electivaId, p.id, p.nombre)
+        FROM ProgramaElectiva pe
+        JOIN pe.programa p
+        ORDER BY p.id
+    """)
+    List<ProgramaDeElectiva> listarProgramasDeTodasLasElectivas();
 }
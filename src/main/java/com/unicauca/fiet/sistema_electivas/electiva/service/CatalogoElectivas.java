@@ -0,0 +1,247 @@
+package com.unicauca.fiet.sistema_electivas.electiva.service;
+
+import com.unicauca.fiet.sistema_electivas.common.replica.GuardiaReplica;
+import com.unicauca.fiet.sistema_electivas.common.util.TextoUtil;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResponseDTO;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResumen;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.FiltroElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.PaginaElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.ProgramaDeElectiva;
+import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
+import com.unicauca.fiet.sistema_electivas.electiva.mapper.ElectivaMapper;
+import com.unicauca.fiet.sistema_electivas.electiva.repository.ElectivaRepository;
+import com.unicauca.fiet.sistema_electivas.electiva.repository.ProgramaElectivaRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Catálogo de electivas en memoria, con sus programas y un índice de palabras de su código y nombre.
+ *
+ * <p>Se construye con dos consultas (electivas con su departamento y todas las relaciones
+ * programa–electiva) la primera vez que se usa, y se descarta cuando cambia una electiva, un
+ * departamento o un programa: los servicios que los modifican deben llamar a {@link #invalidar()}.
+ * Un cambio que no pasa por esos servicios (otra instancia, SQL directo) sigue sin verse en las
+ * búsquedas hasta {@code electivas.catalogo.vigencia}.</p>
+ *
+ * <p>La búsqueda no distingue tildes ni mayúsculas: cada palabra buscada debe coincidir con una
+ * palabra del código o del nombre, salvo la última, a la que le basta ser su prefijo.</p>
+ */
+@Component
+public class CatalogoElectivas {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+
+    private final ElectivaRepository electivaRepository;
+    private final ProgramaElectivaRepository programaElectivaRepository;
+    private final GuardiaReplica guardiaReplica;
+    private final long vigenciaNanos;
+
+    private final Object candado = new Object();
+    /** Aumenta con cada invalidación; un índice construido antes de la última no se publica. */
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile Indice indice;
+
+    public CatalogoElectivas(ElectivaRepository electivaRepository,
+                             ProgramaElectivaRepository programaElectivaRepository,
+                             GuardiaReplica guardiaReplica,
+                             @Value("${electivas.catalogo.vigencia:PT10M}") Duration vigencia) {
+        this.electivaRepository = electivaRepository;
+        this.programaElectivaRepository = programaElectivaRepository;
+        this.guardiaReplica = guardiaReplica;
+        this.vigenciaNanos = vigencia.toNanos();
+    }
+
+    /**
+     * Busca electivas y devuelve una página del resultado, ordenado por ID.
+     *
+     * @param filtro filtros a aplicar
+     * @param pagina número de página, desde 0
+     * @param tamano electivas por página, o {@code null} para devolver todas
+     * @return página pedida y total de electivas que cumplen los filtros
+     */
+    public PaginaElectivas buscar(FiltroElectivas filtro, int pagina, Integer tamano) {
+        Indice actual = obtenerIndice();
+        BitSet candidatas = actual.coincidencias(filtro.texto());
+
+        List<ElectivaResponseDTO> contenido = new ArrayList<>();
+        int total = 0;
+        // En long: una página lejana con un tamaño grande desborda int y devolvería otra página
+        long desde = tamano == null ? 0 : (long) pagina * tamano;
+        long hasta = tamano == null ? Long.MAX_VALUE : desde + tamano;
+        for (int i = candidatas.nextSetBit(0); i >= 0; i = candidatas.nextSetBit(i + 1)) {
+            Entrada entrada = actual.entradas().get(i);
+            if (!cumple(entrada, filtro)) continue;
+            if (total >= desde && total < hasta) {
+                contenido.add(entrada.toResponse());
+            }
+            total++;
+        }
+        return new PaginaElectivas(contenido, total);
+    }
+
+    /**
+     * Obtiene una electiva con sus programas.
+     *
+     * @param id ID de la electiva
+     * @return la electiva, o vacío si no existe
+     */
+    public Optional<ElectivaResponseDTO> obtener(Long id) {
+        return Optional.ofNullable(obtenerIndice().porId().get(id)).map(Entrada::toResponse);
+    }
+
+    /**
+     * Devuelve los ID de los programas asociados a una electiva.
+     *
+     * @param electivaId ID de la electiva
+     * @return programas de la electiva, o lista vacía si no existe o no tiene programas
+     */
+    public List<Long> programasDe(Long electivaId) {
+        Entrada entrada = obtenerIndice().porId().get(electivaId);
+        return entrada == null
+                ? List.of()
+                : entrada.programas().stream().map(ProgramaDeElectiva::programaId).toList();
+    }
+
+    /**
+     * Descarta el catálogo para que la siguiente consulta lo reconstruya.
+     *
+     * <p>Si hay una transacción activa, se descarta también al confirmarla, para que una lectura
+     * concurrente no deje publicado el catálogo anterior. Las lecturas que siguen van al primario
+     * (ver {@link GuardiaReplica}), de modo que la reconstrucción ya incluya el cambio.</p>
+     */
+    public void invalidar() {
+        descartar();
+        guardiaReplica.registrarTransicion();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar();
+                }
+            });
+        }
+    }
+
+    private void descartar() {
+        generacion.incrementAndGet();
+        indice = null;
+    }
+
+    private Indice obtenerIndice() {
+        Indice actual = indice;
+        if (actual != null && !actual.vencido(vigenciaNanos)) {
+            return actual;
+        }
+        synchronized (candado) {
+            actual = indice;
+            if (actual != null && !actual.vencido(vigenciaNanos)) {
+                return actual;
+            }
+            long generacionInicial = generacion.get();
+            Indice nuevo = construir();
+            if (generacion.get() == generacionInicial) {
+                indice = nuevo;
+            }
+            return nuevo;
+        }
+    }
+
+    private Indice construir() {
+        List<ElectivaResumen> electivas = electivaRepository.listarResumen(null, true);
+        Map<Long, List<ProgramaDeElectiva>> programasPorElectiva = programaElectivaRepository
+                .listarProgramasDeTodasLasElectivas()
+                .stream()
+                .collect(Collectors.groupingBy(ProgramaDeElectiva::electivaId));
+
+        List<Entrada> entradas = new ArrayList<>(electivas.size());
+        Map<Long, Entrada> porId = new HashMap<>();
+        NavigableMap<String, BitSet> palabras = new TreeMap<>();
+        for (ElectivaResumen electiva : electivas) {
+            Entrada entrada = new Entrada(electiva, List.copyOf(programasPorElectiva.getOrDefault(electiva.id(), List.of())));
+            int posicion = entradas.size();
+            entradas.add(entrada);
+            porId.put(electiva.id(), entrada);
+            for (String palabra : dividirEnPalabras(electiva.codigo() + " " + electiva.nombre())) {
+                palabras.computeIfAbsent(palabra, p -> new BitSet()).set(posicion);
+            }
+        }
+        return new Indice(List.copyOf(entradas), Map.copyOf(porId), palabras, System.nanoTime());
+    }
+
+    private static boolean cumple(Entrada entrada, FiltroElectivas filtro) {
+        ElectivaResumen electiva = entrada.electiva();
+        if (!filtro.incluirInactivas() && electiva.estado() == EstadoElectiva.INACTIVA) return false;
+        if (filtro.estado() != null && electiva.estado() != filtro.estado()) return false;
+        if (filtro.departamentoId() != null && !filtro.departamentoId().equals(electiva.departamentoId())) return false;
+        return filtro.programaId() == null
+                || entrada.programas().stream().anyMatch(p -> filtro.programaId().equals(p.programaId()));
+    }
+
+    private static String[] dividirEnPalabras(String texto) {
+        String normalizado = TextoUtil.normalizar(texto);
+        return normalizado.isEmpty() ? new String[0] : SEPARADORES.split(normalizado);
+    }
+
+    /** Electiva del catálogo con sus programas. Ambos son inmutables; el DTO se crea en cada consulta. */
+    private record Entrada(ElectivaResumen electiva, List<ProgramaDeElectiva> programas) {
+
+        ElectivaResponseDTO toResponse() {
+            return ElectivaMapper.toResponse(electiva, programas);
+        }
+    }
+
+    /**
+     * Catálogo construido.
+     *
+     * @param entradas electivas ordenadas por ID; los bits del índice son posiciones en esta lista
+     * @param palabras palabras normalizadas de código y nombre, con las electivas que las contienen
+     * @param construido {@link System#nanoTime()} al construirlo
+     */
+    private record Indice(List<Entrada> entradas, Map<Long, Entrada> porId,
+                          NavigableMap<String, BitSet> palabras, long construido) {
+
+        boolean vencido(long vigenciaNanos) {
+            return System.nanoTime() - construido > vigenciaNanos;
+        }
+
+        /** Posiciones de las electivas cuyo código o nombre contiene todas las palabras de {@code texto}. */
+        BitSet coincidencias(String texto) {
+            BitSet resultado = new BitSet(entradas.size());
+            resultado.set(0, entradas.size());
+            String[] buscadas = texto == null ? new String[0] : dividirEnPalabras(texto);
+            if (buscadas.length > 0 && buscadas[0].isEmpty()) {
+                buscadas = Arrays.copyOfRange(buscadas, 1, buscadas.length);
+            }
+            // La última palabra está incompleta si el texto no termina en un separador
+            boolean ultimaCompleta = texto != null && !texto.isEmpty()
+                    && !Character.isLetterOrDigit(texto.charAt(texto.length() - 1));
+            for (int i = 0; i < buscadas.length; i++) {
+                boolean prefijo = i == buscadas.length - 1 && !ultimaCompleta;
+                resultado.and(prefijo ? conPrefijo(buscadas[i]) : palabras.getOrDefault(buscadas[i], new BitSet()));
+            }
+            return resultado;
+        }
+
+        private BitSet conPrefijo(String prefijo) {
+            BitSet union = new BitSet(entradas.size());
+            palabras.subMap(prefijo, true, prefijo + Character.MAX_VALUE, false).values().forEach(union::or);
+            return union;
+        }
+    }
+}
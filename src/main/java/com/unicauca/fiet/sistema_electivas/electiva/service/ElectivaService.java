@@ -3,6 +3,8 @@ package com.unicauca.fiet.sistema_electivas.electiva.service;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.ActualizarElectivaDTO;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.CrearElectivaDTO;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResponseDTO;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.FiltroElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.PaginaElectivas;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import java.util.List;
 
@@ -52,6 +54,16 @@ public interface ElectivaService {
      */
     List<ElectivaResponseDTO> findElectivas(boolean mostrarInactivas, String query);
 
+    /**
+     * Busca electivas con filtros y paginación. La búsqueda por texto no distingue tildes ni
+     * mayúsculas y admite que la última palabra esté incompleta.
+     * @param filtro Filtros de texto, estado, departamento y programa.
+     * @param pagina Número de página, desde 0.
+     * @param tamano Electivas por página, o {@code null} para devolver todas.
+     * @return La página pedida y el total de electivas que cumplen los filtros.
+     */
+    PaginaElectivas buscarElectivas(FiltroElectivas filtro, int pagina, Integer tamano);
+
     /**
      * Buscar electivas por el id.
      * @param id el ID de la electiva a buscar
@@ -9,6 +9,8 @@ import com.unicauca.fiet.sistema_electivas.departamento.repository.DepartamentoR
 import com.unicauca.fiet.sistema_electivas.electiva.dto.ActualizarElectivaDTO;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.CrearElectivaDTO;
 import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResponseDTO;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.FiltroElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.PaginaElectivas;
 import com.unicauca.fiet.sistema_electivas.electiva.mapper.ElectivaMapper;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectiva;
@@ -43,6 +45,8 @@ public class ElectivaServiceImpl implements ElectivaService {
     private ProgramaElectivaRepository programaElectivaRepository;
     @Autowired
     private OfertaRepository ofertaRepository;
+    @Autowired
+    private CatalogoElectivas catalogoElectivas;
     /**
      * {@inheritDoc}
      */
@@ -103,6 +107,7 @@ public class ElectivaServiceImpl implements ElectivaService {
                 })
                 .collect(Collectors.toList());
         programaElectivaRepository.saveAll(relaciones);
+        catalogoElectivas.invalidar();
 
         return ElectivaMapper.toResponse(nuevaElectiva, relaciones);
     }
@@ -187,6 +192,7 @@ public class ElectivaServiceImpl implements ElectivaService {
         programaElectivaRepository.saveAll(relaciones);
 
         Electiva electivaActualizada = electivaRepository.save(electiva);
+        catalogoElectivas.invalidar();
         return ElectivaMapper.toResponse(electivaActualizada,relaciones);
     }
 
@@ -223,6 +229,7 @@ public class ElectivaServiceImpl implements ElectivaService {
         // Si no tiene ofertas activas, se puede desactivar
         electiva.setEstado(EstadoElectiva.INACTIVA);
         electivaRepository.save(electiva);
+        catalogoElectivas.invalidar();
     }
 
     /**
@@ -234,6 +241,7 @@ public class ElectivaServiceImpl implements ElectivaService {
                 .orElseThrow(() -> new ResourceNotFoundException("Electiva no encontrada"));
         electiva.setEstado(EstadoElectiva.APROBADA);
         electivaRepository.save(electiva);
+        catalogoElectivas.invalidar();
     }
     /**
      * {@inheritDoc}
@@ -247,47 +255,28 @@ public class ElectivaServiceImpl implements ElectivaService {
         }
         electiva.setEstado(EstadoElectiva.APROBADA);
         electivaRepository.save(electiva);
+        catalogoElectivas.invalidar();
     }
     /**
      * {@inheritDoc}
      */
     @Override
     public List<ElectivaResponseDTO> findElectivas(boolean mostrarInactivas, String query) {
-        List<Electiva> resultado;
-
-        if (query != null && !query.trim().isEmpty()) {
-            resultado = electivaRepository.findByNombreContainingIgnoreCaseOrCodigoContainingIgnoreCase(query, query);
-        } else {
-            resultado = electivaRepository.findAll();
-        }
-
-        if (!mostrarInactivas) {
-            resultado = resultado.stream()
-                    .filter(e -> e.getEstado() != EstadoElectiva.INACTIVA)
-                    .collect(Collectors.toList());
-        }
-
-        return resultado.stream()
-                .map(electiva -> {
-                    List<ProgramaElectiva> programas = programaElectivaRepository.findByElectivaId(electiva.getId());
-                    return ElectivaMapper.toResponse(electiva, programas);
-                })
-                .collect(Collectors.toList());
+        return buscarElectivas(new FiltroElectivas(query, mostrarInactivas, null, null, null), 0, null).electivas();
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PaginaElectivas buscarElectivas(FiltroElectivas filtro, int pagina, Integer tamano) {
+        return catalogoElectivas.buscar(filtro, pagina, tamano);
     }
     /**
      * {@inheritDoc}
      */
     @Override
-    @Transactional
     public ElectivaResponseDTO buscarPorId(Long id) {
-        // Buscar la electiva o lanzar excepción si no existe
-        Electiva electiva = electivaRepository.findById(id)
+        return catalogoElectivas.obtener(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Electiva no encontrada con id: " + id));
-
-        // Obtener los programas asociados desde la tabla intermedia
-        List<ProgramaElectiva> programasAsociados = programaElectivaRepository.findByElectivaId(id);
-
-        // Mapear la respuesta con los programas incluidos
-        return ElectivaMapper.toResponse(electiva, programasAsociados);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.unicauca.fiet.sistema_electivas.integracion.google;
+
+import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
+import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
+import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
+import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.util.store.FileDataStoreFactory;
+import com.unicauca.fiet.sistema_electivas.common.exception.GoogleFormsException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Credencial OAuth 2.0 de Google que se obtiene en la primera solicitud.
+ *
+ * <p>Al inicializar cada solicitud delega en la {@link Credential} real, que agrega el token
+ * de acceso, lo renueva con el refresh token cuando vence y reintenta ante un 401. La
+ * credencial se construye una sola vez: primero desde el almacén de tokens y, solo si no hay
+ * una válida, mediante el flujo con navegador.</p>
+ */
+public class CredencialGoogleDiferida implements HttpRequestInitializer {
+
+    private static final String USUARIO = "user";
+
+    private static final List<String> SCOPES = List.of(
+            "https://www.googleapis.com/auth/forms",
+            "https://www.googleapis.com/auth/drive",
+            "https://www.googleapis.com/auth/script.projects",
+            "https://www.googleapis.com/auth/script.external_request"
+    );
+
+    private final HttpTransport transport;
+    private final String clientSecret;
+    private final File directorioTokens;
+
+    private volatile Credential credencial;
+
+    public CredencialGoogleDiferida(HttpTransport transport, String clientSecret, File directorioTokens) {
+        this.transport = transport;
+        this.clientSecret = clientSecret;
+        this.directorioTokens = directorioTokens;
+    }
+
+    @Override
+    public void initialize(HttpRequest request) throws IOException {
+        obtener().initialize(request);
+    }
+
+    /**
+     * Devuelve la credencial, cargándola en la primera llamada.
+     */
+    public Credential obtener() throws IOException {
+        Credential actual = credencial;
+        if (actual == null) {
+            synchronized (this) {
+                if (credencial == null) {
+                    credencial = autorizar();
+                }
+                actual = credencial;
+            }
+        }
+        return actual;
+    }
+
+    private Credential autorizar() throws IOException {
+        // 1. Cargar client_secret.json desde resources
+        GoogleClientSecrets clientSecrets;
+        try (InputStream secreto = CredencialGoogleDiferida.class.getResourceAsStream(clientSecret)) {
+            if (secreto == null) {
+                throw new GoogleFormsException("No se encontró el archivo de credenciales de Google: " + clientSecret);
+            }
+            clientSecrets = GoogleClientSecrets.load(
+                    GoogleFormsConfig.JSON_FACTORY, new InputStreamReader(secreto, StandardCharsets.UTF_8));
+        }
+
+        // 2. Configurar flujo OAuth 2.0 con los tokens guardados en storage/tokens
+        GoogleAuthorizationCodeFlow flow = new GoogleAuthorizationCodeFlow.Builder(
+                transport, GoogleFormsConfig.JSON_FACTORY, clientSecrets, SCOPES)
+                .setDataStoreFactory(new FileDataStoreFactory(directorioTokens))
+                .setAccessType("offline") // Necesario para refresh token
+                .build();
+
+        // 3. Receptor local para OAuth (solo abre navegador si no hay token guardado)
+        LocalServerReceiver receiver = new LocalServerReceiver.Builder()
+                .setPort(8888)
+                .build();
+
+        return new AuthorizationCodeInstalledApp(flow, receiver).authorize(USUARIO);
+    }
+}
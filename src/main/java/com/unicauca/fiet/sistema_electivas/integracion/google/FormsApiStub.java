@@ -0,0 +1,205 @@
+package com.unicauca.fiet.sistema_electivas.integracion.google;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.http.LowLevelHttpRequest;
+import com.google.api.client.http.LowLevelHttpResponse;
+import com.google.api.client.json.Json;
+import com.google.api.client.testing.http.MockLowLevelHttpRequest;
+import com.google.api.client.testing.http.MockLowLevelHttpResponse;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Implementación local de la API de Google Forms y de Apps Script, usada por el perfil
+ * {@code google-stub}.
+ *
+ * <p>Atiende en memoria las solicitudes que hace {@link GoogleFormsClient}:
+ * <ul>
+ *   <li>{@code scripts.run}: crea un formulario vacío y devuelve su {@code formId} y URL.</li>
+ *   <li>{@code forms.get}: devuelve las preguntas registradas, con el título como questionId.</li>
+ *   <li>{@code forms.responses.list}: devuelve las respuestas registradas, aplicando el filtro
+ *   {@code timestamp >=}/{@code >} y paginando con {@code pageToken}.</li>
+ *   <li>{@code forms.setPublishSettings}: marca el formulario como cerrado.</li>
+ * </ul>
+ * Las respuestas se registran con {@link #agregarRespuesta(String, Map)} y se editan con
+ * {@link #editarRespuesta(String, String, Map, Instant)}.</p>
+ */
+public class FormsApiStub extends HttpTransport {
+
+    private static final int TAMANO_PAGINA = 100;
+    private static final Pattern FORM_ID = Pattern.compile("/v1/forms/([^/:?]+)");
+    private static final Pattern FILTRO_TIMESTAMP = Pattern.compile("timestamp\\s*(>=|>)\\s*(\\S+)");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger secuencia = new AtomicInteger();
+    private final Map<String, FormularioStub> formularios = new ConcurrentHashMap<>();
+
+    private record RespuestaStub(String responseId, Instant lastSubmittedTime, Map<String, String> respuestas) {
+    }
+
+    private static final class FormularioStub {
+        private final List<RespuestaStub> respuestas = new CopyOnWriteArrayList<>();
+        private final Map<String, Boolean> preguntas = new ConcurrentHashMap<>();
+        private volatile boolean aceptaRespuestas = true;
+    }
+
+    /**
+     * Registra una respuesta en un formulario, enviada en este instante.
+     *
+     * @param formId    formulario destino (se crea si no existe)
+     * @param respuestas pares título de pregunta-respuesta
+     * @return identificador asignado a la respuesta
+     */
+    public String agregarRespuesta(String formId, Map<String, String> respuestas) {
+        return agregarRespuesta(formId, respuestas, Instant.now());
+    }
+
+    /**
+     * Registra una respuesta en un formulario, enviada en el instante indicado.
+     *
+     * @param formId    formulario destino (se crea si no existe)
+     * @param respuestas pares título de pregunta-respuesta
+     * @param enviada   fecha de envío ({@code lastSubmittedTime})
+     * @return identificador asignado a la respuesta
+     */
+    public String agregarRespuesta(String formId, Map<String, String> respuestas, Instant enviada) {
+        FormularioStub formulario = formularios.computeIfAbsent(formId, id -> new FormularioStub());
+        respuestas.keySet().forEach(titulo -> formulario.preguntas.put(titulo, Boolean.TRUE));
+        String responseId = "resp-" + secuencia.incrementAndGet();
+        formulario.respuestas.add(new RespuestaStub(responseId, enviada, new LinkedHashMap<>(respuestas)));
+        return responseId;
+    }
+
+    /**
+     * Reemplaza una respuesta ya registrada, como si el estudiante la editara en el instante indicado.
+     *
+     * @param formId     formulario de la respuesta
+     * @param responseId identificador devuelto al registrarla
+     * @param respuestas nuevos pares título de pregunta-respuesta
+     * @param enviada    fecha de la edición ({@code lastSubmittedTime})
+     */
+    public void editarRespuesta(String formId, String responseId, Map<String, String> respuestas, Instant enviada) {
+        FormularioStub formulario = formularios.get(formId);
+        for (int i = 0; formulario != null && i < formulario.respuestas.size(); i++) {
+            if (formulario.respuestas.get(i).responseId().equals(responseId)) {
+                respuestas.keySet().forEach(titulo -> formulario.preguntas.put(titulo, Boolean.TRUE));
+                formulario.respuestas.set(i, new RespuestaStub(responseId, enviada, new LinkedHashMap<>(respuestas)));
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Respuesta no registrada: " + responseId);
+    }
+
+    /**
+     * Indica si el formulario sigue aceptando respuestas.
+     */
+    public boolean aceptaRespuestas(String formId) {
+        FormularioStub formulario = formularios.get(formId);
+        return formulario == null || formulario.aceptaRespuestas;
+    }
+
+    @Override
+    protected LowLevelHttpRequest buildRequest(String method, String url) {
+        return new MockLowLevelHttpRequest(url) {
+            @Override
+            public LowLevelHttpResponse execute() {
+                MockLowLevelHttpResponse respuesta = new MockLowLevelHttpResponse().setContentType(Json.MEDIA_TYPE);
+                try {
+                    return respuesta.setContent(responder(method, url));
+                } catch (RuntimeException | JsonProcessingException e) {
+                    return respuesta.setStatusCode(400).setContent("{\"error\":{\"message\":\"" + e.getMessage() + "\"}}");
+                }
+            }
+        };
+    }
+
+    private String responder(String method, String url) throws JsonProcessingException {
+        if (url.contains("script.googleapis.com")) {
+            String formId = "stub-" + secuencia.incrementAndGet();
+            formularios.put(formId, new FormularioStub());
+            return objectMapper.writeValueAsString(Map.of("response", Map.of("result", Map.of(
+                    "formId", formId,
+                    "url", "http://localhost/forms/" + formId))));
+        }
+
+        Matcher matcher = FORM_ID.matcher(url);
+        if (!matcher.find()) {
+            throw new IllegalArgumentException("Solicitud no soportada por el stub: " + method + " " + url);
+        }
+        FormularioStub formulario = formularios.computeIfAbsent(matcher.group(1), id -> new FormularioStub());
+
+        if (url.contains(":setPublishSettings")) {
+            formulario.aceptaRespuestas = false;
+            return "{}";
+        }
+        if (url.contains("/responses")) {
+            return objectMapper.writeValueAsString(listarRespuestas(formulario, URI.create(url).getRawQuery()));
+        }
+
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (String titulo : formulario.preguntas.keySet()) {
+            items.add(Map.of("title", titulo, "questionItem", Map.of("question", Map.of("questionId", titulo))));
+        }
+        return objectMapper.writeValueAsString(Map.of("formId", matcher.group(1), "items", items));
+    }
+
+    private Map<String, Object> listarRespuestas(FormularioStub formulario, String query) {
+        Map<String, String> parametros = new LinkedHashMap<>();
+        if (query != null) {
+            for (String par : query.split("&")) {
+                int igual = par.indexOf('=');
+                if (igual > 0) {
+                    parametros.put(par.substring(0, igual), URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+
+        List<RespuestaStub> filtradas = new ArrayList<>(formulario.respuestas);
+        String filtro = parametros.get("filter");
+        if (filtro != null) {
+            Matcher m = FILTRO_TIMESTAMP.matcher(filtro);
+            if (!m.find()) {
+                throw new IllegalArgumentException("Filtro no soportado: " + filtro);
+            }
+            Instant desde = Instant.parse(m.group(2));
+            boolean inclusivo = m.group(1).equals(">=");
+            filtradas.removeIf(r -> inclusivo ? r.lastSubmittedTime().isBefore(desde) : !r.lastSubmittedTime().isAfter(desde));
+        }
+
+        int inicio = parametros.containsKey("pageToken") ? Integer.parseInt(parametros.get("pageToken")) : 0;
+        int fin = Math.min(inicio + TAMANO_PAGINA, filtradas.size());
+
+        List<Map<String, Object>> pagina = new ArrayList<>();
+        for (RespuestaStub r : filtradas.subList(Math.min(inicio, fin), fin)) {
+            Map<String, Object> answers = new LinkedHashMap<>();
+            r.respuestas().forEach((titulo, valor) -> answers.put(titulo, Map.of(
+                    "questionId", titulo,
+                    "textAnswers", Map.of("answers", List.of(Map.of("value", valor))))));
+            pagina.add(Map.of(
+                    "responseId", r.responseId(),
+                    "lastSubmittedTime", r.lastSubmittedTime().toString(),
+                    "answers", answers));
+        }
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("responses", pagina);
+        if (fin < filtradas.size()) {
+            respuesta.put("nextPageToken", String.valueOf(fin));
+        }
+        return respuesta;
+    }
+}
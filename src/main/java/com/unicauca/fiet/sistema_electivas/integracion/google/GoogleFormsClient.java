@@ -4,26 +4,28 @@ package com.unicauca.fiet.sistema_electivas.integracion.google;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.client.googleapis.json.GoogleJsonResponseException;
 import com.google.api.services.forms.v1.Forms;
+import com.google.api.services.forms.v1.FormsRequest;
 import com.google.api.services.forms.v1.model.*;
-import com.google.api.client.auth.oauth2.Credential;
+import com.google.api.client.http.ByteArrayContent;
+import com.google.api.client.http.GenericUrl;
+import com.google.api.client.http.HttpRequest;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpResponse;
+import com.google.api.client.http.HttpTransport;
 
 import com.unicauca.fiet.sistema_electivas.common.exception.GoogleFormsException;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasClientes;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
-import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
 import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.io.OutputStream;
-import java.net.HttpURLConnection;
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.net.URL;
+import java.util.function.Consumer;
 
 
 /**
@@ -47,7 +49,14 @@ import java.net.URL;
 public class GoogleFormsClient {
     /** Cliente oficial de la API de Google Forms, inyectado mediante configuración de seguridad OAuth. */
     private final Forms formsService;
-    private final Credential googleCredential;
+    /** Transporte HTTP compartido con el cliente de Forms, usado también para Apps Script. */
+    private final HttpTransport googleHttpTransport;
+    /** Autenticación diferida: la credencial se carga en la primera solicitud. */
+    private final HttpRequestInitializer googleCredencial;
+    /** Duración de cada llamada a la API, publicada como {@code electivas.cliente}. */
+    private final MetricasClientes metricasClientes;
+
+    private static final String CLIENTE = "google-forms";
 
     private final String appsScriptUrl = "https://script.googleapis.com/v1/scripts/AKfycbwRxkD8ipBGCZCk7_DJ8u12w6avpESkjHTUhOB4ybhSywTfQTShsTBjrVibxiHoVJ06jA:run";
 
@@ -57,61 +66,71 @@ public class GoogleFormsClient {
     // --------------------------------------------------------
 
     /**
-     * Obtiene todas las respuestas enviadas a un formulario de Google Forms y las devuelve como respuesta.
+     * Recorre página por página las respuestas de un formulario enviadas desde una fecha.
      *
-     * <p>Acciones realizadas:
-     * <ul>
-     * <li>Consulta la API de Google Forms para obtener las respuestas.</li>
-     * <li>Mapea cada respuesta a una entidad {@link RespuestasFormulario}.</li>
-     * <li>Devuelve todas las respuestas en la base de datos asociadas al período correspondiente.</li>
-     * </ul>
+     * <p>Con {@code desde} se aplica el filtro {@code timestamp >= desde} de la API, que compara
+     * contra {@code lastSubmittedTime}: se obtienen las respuestas nuevas y las editadas después
+     * de esa marca. La comparación es inclusiva para no perder envíos con la misma fecha; quien
+     * consume las páginas debe tolerar recibir de nuevo una respuesta ya conocida.</p>
      *
-     * @param formId  ID del formulario de Google Forms.
-     * @throws RuntimeException Si ocurre un error al obtener o procesar las respuestas.
+     * @param formId    ID del formulario de Google Forms.
+     * @param desde     último envío ya sincronizado, o {@code null} para obtener todas.
+     * @param porPagina recibe cada página ya convertida, en el orden en que llega.
+     * @throws GoogleFormsException si ocurre un error al consultar la API.
      */
-    public List<Map<String, String>> obtenerRespuestas(String formId) {
+    public void recorrerRespuestas(String formId, Instant desde, Consumer<List<RespuestaGoogleForms>> porPagina) {
         try {
             //  Obtener estructura del formulario
-            Form form = formsService.forms().get(formId).execute();
-
-            //  Construir mapa de questionId -> título de la pregunta
-            Map<String, String> mapaPreguntas = new HashMap<>();
-            for (Item item : form.getItems()) {
-                if (item.getQuestionItem() != null && item.getQuestionItem().getQuestion() != null) {
-                    mapaPreguntas.put(item.getQuestionItem().getQuestion().getQuestionId(), item.getTitle());
-                }
-            }
-            // LISTA FINAL COMPLETA
-            List<Map<String, String>> respuestasTotales = new ArrayList<>();
+            Map<String, String> mapaPreguntas = obtenerMapaPreguntas(formId);
 
             // ------ PAGINACIÓN ------
             String nextPageToken = null;
             //  Obtener respuestas
             do {
-                ListFormResponsesResponse response =
-                        formsService.forms()
-                                .responses()
-                                .list(formId)
-                                .setPageToken(nextPageToken) // <--- clave
-                                .execute();
+                Forms.FormsOperations.Responses.List solicitud = formsService.forms()
+                        .responses()
+                        .list(formId)
+                        .setPageToken(nextPageToken); // <--- clave
+                if (desde != null) {
+                    solicitud.setFilter("timestamp >= " + desde);
+                }
+                ListFormResponsesResponse response = ejecutar("listar-respuestas", solicitud);
 
                 if (response.getResponses() != null) {
+                    List<RespuestaGoogleForms> pagina = new ArrayList<>(response.getResponses().size());
                     for (FormResponse fr : response.getResponses()) {
-                        respuestasTotales.add(convertirAmapa(fr, mapaPreguntas));
+                        pagina.add(new RespuestaGoogleForms(
+                                fr.getResponseId(),
+                                Instant.parse(fr.getLastSubmittedTime()),
+                                convertirAmapa(fr, mapaPreguntas)));
                     }
+                    porPagina.accept(pagina);
                 }
 
                 nextPageToken = response.getNextPageToken(); // <--- ¿hay más páginas?
 
             } while (nextPageToken != null);
 
-            return respuestasTotales;
-
         } catch (IOException e) {
             throw new GoogleFormsException("Error al obtener respuestas del formulario", e);
         }
     }
 
+    /**
+     * Construye el mapa de questionId -> título de la pregunta del formulario.
+     */
+    private Map<String, String> obtenerMapaPreguntas(String formId) throws IOException {
+        Form form = ejecutar("obtener-formulario", formsService.forms().get(formId));
+
+        Map<String, String> mapaPreguntas = new HashMap<>();
+        for (Item item : form.getItems()) {
+            if (item.getQuestionItem() != null && item.getQuestionItem().getQuestion() != null) {
+                mapaPreguntas.put(item.getQuestionItem().getQuestion().getQuestionId(), item.getTitle());
+            }
+        }
+        return mapaPreguntas;
+    }
+
 
     /**
      * Convierte una respuesta completa de la API de Google Forms a un mapa llave-valor.
@@ -206,38 +225,32 @@ public class GoogleFormsClient {
             );
 
 
-            String token = googleCredential.getAccessToken();
-
-            HttpURLConnection con = (HttpURLConnection) new URL(appsScriptUrl).openConnection();
-            con.setRequestMethod("POST");
-            con.setDoOutput(true);
-            con.setRequestProperty("Content-Type", "application/json");
-            con.setRequestProperty("Authorization", "Bearer " + token);
-
-
-            // Escribir JSON
-            try (OutputStream os = con.getOutputStream()) {
-                os.write(objectMapper.writeValueAsBytes(payload));
+            // Escribir JSON; la credencial agrega y renueva el token de acceso
+            HttpRequest request = googleHttpTransport.createRequestFactory(googleCredencial)
+                    .buildPostRequest(
+                            new GenericUrl(appsScriptUrl),
+                            new ByteArrayContent("application/json", objectMapper.writeValueAsBytes(payload)));
+            request.setThrowExceptionOnExecuteError(false);
+            request.setReadTimeout(0); // La generación del formulario puede tardar; sin límite de lectura
+
+            HttpResponse httpResponse = metricasClientes.medir(CLIENTE, "generar-formulario", request::execute);
+            int status = httpResponse.getStatusCode();
+            String response;
+            try {
+                response = httpResponse.parseAsString();
+            } finally {
+                httpResponse.disconnect();
             }
 
-            int status = con.getResponseCode();
-
             // Si Apps Script devolvió error 4xx o 5xx → leer el error
             if (status >= 400) {
-                String errorBody = new BufferedReader(new InputStreamReader(con.getErrorStream()))
-                        .lines().collect(Collectors.joining());
-
                 System.err.println("ERROR HTTP " + status);
                 System.err.println("CUERPO DEVUELTO POR APPS SCRIPT:");
-                System.err.println(errorBody);
+                System.err.println(response);
 
-                throw new RuntimeException("Error HTTP " + status + ": " + errorBody);
+                throw new RuntimeException("Error HTTP " + status + ": " + response);
             }
 
-            // Leer respuesta OK
-            String response = new BufferedReader(new InputStreamReader(con.getInputStream()))
-                    .lines().collect(Collectors.joining());
-
             Map<String, Object> root = objectMapper.readValue(response, Map.class);
 
             Map<String, Object> resp = (Map<String, Object>) root.get("response");
@@ -278,7 +291,7 @@ public class GoogleFormsClient {
                     .setPublishSettings(publishSettings);
 
             // Ejecutar la llamada a la API
-            formsService.forms().setPublishSettings(formId, request).execute();
+            ejecutar("cerrar-formulario", formsService.forms().setPublishSettings(formId, request));
 
             log.info("Formulario [{}] cerrado correctamente. Ya no acepta respuestas.", formId);
         } catch (Exception e) {
@@ -298,6 +311,13 @@ public class GoogleFormsClient {
     // --------------------------------------------------------
     // MÉTODOS AUXILIARES
     // --------------------------------------------------------
+    /**
+     * Ejecuta una solicitud a la API de Forms midiendo su duración.
+     */
+    private <T> T ejecutar(String operacion, FormsRequest<T> solicitud) throws IOException {
+        return metricasClientes.medir(CLIENTE, operacion, solicitud::execute);
+    }
+
     // Método helper para preguntas de texto
     private Item campoTexto(String label) {
         return new Item()
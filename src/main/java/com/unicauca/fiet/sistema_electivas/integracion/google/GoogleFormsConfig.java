@@ -1,20 +1,20 @@
 package com.unicauca.fiet.sistema_electivas.integracion.google;
 
-import com.google.api.client.auth.oauth2.Credential;
-import com.google.api.client.extensions.java6.auth.oauth2.AuthorizationCodeInstalledApp;
-import com.google.api.client.extensions.jetty.auth.oauth2.LocalServerReceiver;
-import com.google.api.client.googleapis.auth.oauth2.GoogleAuthorizationCodeFlow;
-import com.google.api.client.googleapis.auth.oauth2.GoogleClientSecrets;
 import com.google.api.client.googleapis.javanet.GoogleNetHttpTransport;
+import com.google.api.client.http.HttpRequestInitializer;
+import com.google.api.client.http.HttpTransport;
+import com.google.api.client.json.JsonFactory;
 import com.google.api.client.json.jackson2.JacksonFactory;
 import com.google.api.services.forms.v1.Forms;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import com.google.api.client.util.store.FileDataStoreFactory;
+import org.springframework.context.annotation.Profile;
+
 import java.io.File;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
 
-import java.io.InputStreamReader;
-import java.util.List;
 /**
  * Configuración de autenticación y cliente de Google Forms.
  *
@@ -23,13 +23,16 @@ import java.util.List;
  *
  * <p>Acciones realizadas:
  * <ul>
- *   <li>Carga el archivo de credenciales <b>client_secret.json</b> desde el classpath.</li>
- *   <li>Configura el flujo de autorización OAuth2 para obtener el token de acceso.</li>
- *   <li>Levanta un servidor local para completar el flujo de autenticación.</li>
- *   <li>Devuelve un cliente {@link Forms} completamente autenticado para uso de la aplicación.</li>
+ *   <li>Crea un único {@link HttpTransport} compartido por todas las llamadas a Google.</li>
+ *   <li>Registra una credencial diferida: el archivo <b>client_secret.json</b> y los tokens
+ *   guardados se cargan en la primera llamada a la API, no al iniciar la aplicación.</li>
+ *   <li>Devuelve un cliente {@link Forms} que autentica cada solicitud con esa credencial.</li>
  * </ul>
  * </p>
  *
+ * <p>Con el perfil {@code google-stub} el transporte y la credencial los aporta
+ * {@link GoogleFormsStubConfig}, de modo que la aplicación arranca sin red ni navegador.</p>
+ *
  * <p>Este bean se inyecta automáticamente en componentes como {@link GoogleFormsClient}
  * mediante Spring Dependency Injection.</p>
  *
@@ -39,66 +42,46 @@ import java.util.List;
 @Configuration
 public class GoogleFormsConfig {
 
-    private static final String APPLICATION_NAME = "Sistema Electivas";
-    @Bean
-    public Credential googleCredential() throws Exception {
-        // 1. Cargar client_secret.json desde resources
-        GoogleClientSecrets clientSecrets = GoogleClientSecrets.load(
-                JacksonFactory.getDefaultInstance(),
-                new InputStreamReader(
-                        GoogleFormsConfig.class.getResourceAsStream("/client_secret_475492352745-1a78a31v9etga3mv6qt633mn4ibab5gf.apps.googleusercontent.com.json")
-                )
-        );
+    static final String APPLICATION_NAME = "Sistema Electivas";
+    static final JsonFactory JSON_FACTORY = JacksonFactory.getDefaultInstance();
 
-        // 2. Definir carpeta para guardar tokens dentro de storage/tokens
-        File DATA_STORE_DIR = new File("./storage/tokens");
-        FileDataStoreFactory dataStoreFactory = new FileDataStoreFactory(DATA_STORE_DIR);
-
-        // 3. Configurar flujo OAuth 2.0
-        GoogleAuthorizationCodeFlow flow = new GoogleAuthorizationCodeFlow.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(),
-                JacksonFactory.getDefaultInstance(),
-                clientSecrets,
-                List.of(
-                        "https://www.googleapis.com/auth/forms",
-                        "https://www.googleapis.com/auth/drive",
-                        "https://www.googleapis.com/auth/script.projects",
-                        "https://www.googleapis.com/auth/script.external_request"
-                )
-        )
-                .setDataStoreFactory(dataStoreFactory) // Guardar tokens aquí
-                .setAccessType("offline") // Necesario para refresh token
-                .build();
-
-        // 4. Receptor local para OAuth (solo abre navegador la primera vez)
-        LocalServerReceiver receiver = new LocalServerReceiver.Builder()
-                .setPort(8888)
-                .build();
+    /**
+     * Transporte HTTP compartido por el cliente de Forms y las llamadas a Apps Script.
+     */
+    @Bean
+    @Profile("!google-stub")
+    public HttpTransport googleHttpTransport() throws GeneralSecurityException, IOException {
+        return GoogleNetHttpTransport.newTrustedTransport();
+    }
 
-        // 5. Autorizar y devolver credencial
-        return new AuthorizationCodeInstalledApp(flow, receiver).authorize("user");
+    /**
+     * Credencial OAuth 2.0 que se carga en el primer uso.
+     *
+     * <p>Solo abre el navegador (receptor local en el puerto 8888) si el almacén de tokens
+     * no tiene una credencial válida; el token de acceso se renueva con el refresh token.</p>
+     */
+    @Bean
+    @Profile("!google-stub")
+    public CredencialGoogleDiferida googleCredencial(
+            HttpTransport googleHttpTransport,
+            @Value("${google.oauth.client-secret:/client_secret_475492352745-1a78a31v9etga3mv6qt633mn4ibab5gf.apps.googleusercontent.com.json}") String clientSecret,
+            @Value("${google.oauth.tokens-path:./storage/tokens}") String tokensPath
+    ) {
+        return new CredencialGoogleDiferida(googleHttpTransport, clientSecret, new File(tokensPath));
     }
+
     /**
-     * Crea e inicializa un cliente autenticado de Google Forms API.
+     * Crea el cliente de Google Forms API.
      *
-     * <p>El proceso sigue estos pasos:</p>
-     * <ol>
-     *   <li>Carga el archivo de credenciales OAuth 2.0 desde el directorio {@code /resources}.</li>
-     *   <li>Configura el flujo de autorización con los scopes de acceso a Forms y Drive.</li>
-     *   <li>Levanta un receptor local en el puerto 8888 para manejar la devolución del código OAuth.</li>
-     *   <li>Solicita autorización al usuario mediante el navegador predeterminado.</li>
-     *   <li>Devuelve una instancia autenticada de {@link Forms} lista para usar.</li>
-     * </ol>
+     * <p>La construcción no realiza llamadas de red: la autorización ocurre cuando se ejecuta
+     * la primera solicitud.</p>
      *
-     * @return Cliente autenticado de Google Forms API.
-     * @throws Exception Si ocurre un error al crear el flujo de autenticación o cargar las credenciales.
+     * @return Cliente de Google Forms API.
      */
     @Bean
-    public Forms googleFormsService(Credential credential) throws Exception {
-        return new Forms.Builder(
-                GoogleNetHttpTransport.newTrustedTransport(),
-                JacksonFactory.getDefaultInstance(),
-                credential
-        ).setApplicationName(APPLICATION_NAME).build();
+    public Forms googleFormsService(HttpTransport googleHttpTransport, HttpRequestInitializer googleCredencial) {
+        return new Forms.Builder(googleHttpTransport, JSON_FACTORY, googleCredencial)
+                .setApplicationName(APPLICATION_NAME)
+                .build();
     }
 }
@@ -0,0 +1,33 @@
+package com.unicauca.fiet.sistema_electivas.integracion.google;
+
+import com.google.api.client.http.HttpRequestInitializer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Integración con Google desactivada (perfil {@code google-stub}).
+ *
+ * <p>Sustituye el transporte HTTP por {@link FormsApiStub}, que responde en memoria a las
+ * llamadas de Google Forms y Apps Script, y usa una credencial vacía. Permite arrancar la
+ * aplicación y ejecutar las pruebas sin red, sin navegador y sin archivo de credenciales.</p>
+ */
+@Slf4j
+@Configuration
+@Profile("google-stub")
+public class GoogleFormsStubConfig {
+
+    @Bean
+    public FormsApiStub googleHttpTransport() {
+        log.info("Integración con Google Forms en modo stub: no se realizarán llamadas externas.");
+        return new FormsApiStub();
+    }
+
+    @Bean
+    public HttpRequestInitializer googleCredencial() {
+        return request -> {
+            // Sin autenticación: el stub no la requiere
+        };
+    }
+}
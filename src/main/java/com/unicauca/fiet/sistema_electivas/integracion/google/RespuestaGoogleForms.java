@@ -0,0 +1,14 @@
+package com.unicauca.fiet.sistema_electivas.integracion.google;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Respuesta de Google Forms ya convertida al formato de importación.
+ *
+ * @param responseId  identificador de la respuesta en Google Forms (estable entre ediciones)
+ * @param ultimoEnvio fecha del último envío o edición de la respuesta ({@code lastSubmittedTime})
+ * @param datos       pares pregunta-respuesta, incluido {@code timestampRespuesta}
+ */
+public record RespuestaGoogleForms(String responseId, Instant ultimoEnvio, Map<String, String> datos) {
+}
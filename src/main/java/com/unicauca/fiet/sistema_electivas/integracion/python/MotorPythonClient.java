@@ -1,6 +1,8 @@
 package com.unicauca.fiet.sistema_electivas.integracion.python;
 
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasClientes;
 import com.unicauca.fiet.sistema_electivas.reporte.dto.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
 
@@ -11,10 +13,24 @@ import java.util.Map;
 @Component
 public class MotorPythonClient {
 
+    private static final String CLIENTE = "motor-python";
+
     private final RestTemplate restTemplate;
+    private final MetricasClientes metricasClientes;
+    private final String urlBase;
 
-    public MotorPythonClient() {
-        this.restTemplate = new RestTemplate();
+    /**
+     * @param motorPythonRestTemplate cliente HTTP del motor (ver {@link MotorPythonConfig} y {@link MotorPythonStubConfig})
+     * @param urlBase URL base del microservicio Python
+     */
+    public MotorPythonClient(
+            RestTemplate motorPythonRestTemplate,
+            MetricasClientes metricasClientes,
+            @Value("${motor-python.url:http://localhost:8000}") String urlBase
+    ) {
+        this.restTemplate = motorPythonRestTemplate;
+        this.metricasClientes = metricasClientes;
+        this.urlBase = urlBase;
     }
 
     /**
@@ -29,16 +45,16 @@ public class MotorPythonClient {
     public DistribucionAsignacionesResponse calcularDistribucion(
             List<AsignacionElectivaMinDto> asignaciones
     ) {
-        String url = "http://localhost:8000/estadisticas/distribucion";
+        String url = urlBase + "/estadisticas/distribucion";
 
         Map<String, Object> request = new HashMap<>();
         request.put("asignaciones", asignaciones);
 
-        return restTemplate.postForObject(
-                url,
-                request,
-                DistribucionAsignacionesResponse.class
-        );
+        return metricasClientes.medir(CLIENTE, "distribucion", () -> restTemplate.postForObject(
+                    url,
+                    request,
+                    DistribucionAsignacionesResponse.class
+            ));
     }
 
     /**
@@ -54,16 +70,16 @@ public class MotorPythonClient {
             List<AsignacionElectivaProgramaDto> asignaciones,
             String semestre
     ) {
-        String url = "http://localhost:8000/estadisticas/distribucion-por-programa?semestre=" + semestre;
+        String url = urlBase + "/estadisticas/distribucion-por-programa?semestre=" + semestre;
 
         Map<String, Object> request = new HashMap<>();
         request.put("asignaciones", asignaciones);
 
-        return restTemplate.postForObject(
-                url,
-                request,
-                DistribucionAsignacionesPorProgramaResponse.class
-        );
+        return metricasClientes.medir(CLIENTE, "distribucion-por-programa", () -> restTemplate.postForObject(
+                    url,
+                    request,
+                    DistribucionAsignacionesPorProgramaResponse.class
+            ));
     }
 
     /**
@@ -84,14 +100,14 @@ public class MotorPythonClient {
             DistribucionAsignacionesPorProgramaResponse distribucionProgramas,
             ResumenProcesamientoPeriodoResponse resumenPeriodo) {
 
-        String url = "http://localhost:8000/estadisticas/reporte-distribucion";
+        String url = urlBase + "/estadisticas/reporte-distribucion";
 
         Map<String, Object> request = new HashMap<>();
         request.put("distribucionEstudiantes", distribucionEstudiantes);
         request.put("distribucionProgramas", distribucionProgramas);
         request.put("resumenPeriodo", resumenPeriodo);
 
-        return restTemplate.postForObject(url, request, byte[].class);
+        return metricasClientes.medir(CLIENTE, "reporte-distribucion", () -> restTemplate.postForObject(url, request, byte[].class));
     }
 
     /**
@@ -110,16 +126,16 @@ public class MotorPythonClient {
     public PopularidadElectivasResponse calcularPopularidad(
             List<PopularidadRequestDto> solicitudes
     ) {
-        String url = "http://localhost:8000/estadisticas/popularidad";
+        String url = urlBase + "/estadisticas/popularidad";
 
         Map<String, Object> request = new HashMap<>();
         request.put("solicitudes", solicitudes);
 
-        return restTemplate.postForObject(
-                url,
-                request,
-                PopularidadElectivasResponse.class
-        );
+        return metricasClientes.medir(CLIENTE, "popularidad", () -> restTemplate.postForObject(
+                    url,
+                    request,
+                    PopularidadElectivasResponse.class
+            ));
     }
 
 
@@ -139,13 +155,13 @@ public class MotorPythonClient {
             PopularidadElectivasResponse popularidadAptos,
             PopularidadElectivasResponse popularidadDescartados) {
 
-        String url = "http://localhost:8000/estadisticas/reporte-popularidad";
+        String url = urlBase + "/estadisticas/reporte-popularidad";
 
         Map<String, Object> request = new HashMap<>();
         request.put("popularidadAptos", popularidadAptos);
         request.put("popularidadDescartados", popularidadDescartados);
 
-        return restTemplate.postForObject(url, request, byte[].class);
+        return metricasClientes.medir(CLIENTE, "reporte-popularidad", () -> restTemplate.postForObject(url, request, byte[].class));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.unicauca.fiet.sistema_electivas.integracion.python;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Cliente HTTP hacia el microservicio Python de estadísticas.
+ *
+ * <p>Con el perfil {@code python-stub} se reemplaza por {@link MotorPythonStubConfig}.</p>
+ */
+@Configuration
+public class MotorPythonConfig {
+
+    @Bean
+    @Profile("!python-stub")
+    public RestTemplate motorPythonRestTemplate() {
+        return new RestTemplate();
+    }
+}
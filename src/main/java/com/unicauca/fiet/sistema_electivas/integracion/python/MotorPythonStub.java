@@ -0,0 +1,251 @@
+package com.unicauca.fiet.sistema_electivas.integracion.python;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementación local del microservicio Python de estadísticas, usada por el perfil
+ * {@code python-stub}.
+ *
+ * <p>Atiende en memoria las solicitudes que hace {@link MotorPythonClient}:
+ * <ul>
+ *   <li>{@code /estadisticas/distribucion}: cuántos estudiantes tienen 0, 1, 2, 3, 4 o 5+
+ *   electivas asignadas, en lista de espera y en total.</li>
+ *   <li>{@code /estadisticas/distribucion-por-programa}: la misma distribución por programa.</li>
+ *   <li>{@code /estadisticas/popularidad}: solicitudes por electiva y número de opción,
+ *   de mayor a menor total.</li>
+ *   <li>{@code /estadisticas/reporte-*}: un libro de Excel con el contenido recibido.</li>
+ * </ul>
+ * Los cálculos siguen el contrato del microservicio, no su presentación.</p>
+ */
+public class MotorPythonStub implements ClientHttpRequestFactory {
+
+    private static final String[] CATEGORIAS = {"0", "1", "2", "3", "4", "5+"};
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new AbstractClientHttpRequest() {
+            private final ByteArrayOutputStream cuerpo = new ByteArrayOutputStream();
+
+            @Override
+            public HttpMethod getMethod() {
+                return httpMethod;
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            protected OutputStream getBodyInternal(HttpHeaders headers) {
+                return cuerpo;
+            }
+
+            @Override
+            protected ClientHttpResponse executeInternal(HttpHeaders headers) throws IOException {
+                try {
+                    return responder(uri, objectMapper.readTree(cuerpo.toByteArray()));
+                } catch (RuntimeException e) {
+                    return new Respuesta(HttpStatus.BAD_REQUEST, MediaType.APPLICATION_JSON,
+                            objectMapper.writeValueAsBytes(Map.of("detail", String.valueOf(e.getMessage()))));
+                }
+            }
+        };
+    }
+
+    private ClientHttpResponse responder(URI uri, JsonNode solicitud) throws IOException {
+        String ruta = uri.getPath();
+        String semestre = UriComponentsBuilder.fromUri(uri).build().getQueryParams().getFirst("semestre");
+
+        if (ruta.endsWith("/estadisticas/distribucion")) {
+            return json(distribucion(null, solicitud.path("asignaciones")));
+        }
+        if (ruta.endsWith("/estadisticas/distribucion-por-programa")) {
+            Map<String, List<JsonNode>> porPrograma = new TreeMap<>();
+            for (JsonNode asignacion : solicitud.path("asignaciones")) {
+                porPrograma.computeIfAbsent(asignacion.path("programaCodigo").asText(), p -> new ArrayList<>()).add(asignacion);
+            }
+            Map<String, Object> programas = new LinkedHashMap<>();
+            porPrograma.forEach((programa, asignaciones) -> {
+                Map<String, Object> distribucion = distribucion(semestre, objectMapper.valueToTree(asignaciones));
+                distribucion.remove("semestre");
+                programas.put(programa, distribucion);
+            });
+            Map<String, Object> respuesta = new LinkedHashMap<>();
+            respuesta.put("semestre", semestre);
+            respuesta.put("programas", programas);
+            return json(respuesta);
+        }
+        if (ruta.endsWith("/estadisticas/popularidad")) {
+            return json(popularidad(solicitud.path("solicitudes")));
+        }
+        if (ruta.endsWith("/estadisticas/reporte-distribucion") || ruta.endsWith("/estadisticas/reporte-popularidad")) {
+            return new Respuesta(HttpStatus.OK, MediaType.APPLICATION_OCTET_STREAM, libro(solicitud));
+        }
+        throw new IllegalArgumentException("Solicitud no soportada por el stub: " + ruta);
+    }
+
+    /**
+     * Cuenta estudiantes por cantidad de electivas asignadas, en lista de espera y en total.
+     */
+    private Map<String, Object> distribucion(String semestre, JsonNode asignaciones) {
+        Map<String, int[]> porEstudiante = new HashMap<>();
+        for (JsonNode asignacion : asignaciones) {
+            int[] conteo = porEstudiante.computeIfAbsent(asignacion.path("estudianteCodigo").asText(), c -> new int[2]);
+            switch (asignacion.path("estado").asText()) {
+                case "ASIGNADA" -> conteo[0]++;
+                case "LISTA_ESPERA" -> conteo[1]++;
+                default -> {
+                    // Otros estados no cuentan
+                }
+            }
+        }
+
+        Map<String, Long> asignadas = categorias();
+        Map<String, Long> listaEspera = categorias();
+        Map<String, Long> total = categorias();
+        for (int[] conteo : porEstudiante.values()) {
+            asignadas.merge(categoria(conteo[0]), 1L, Long::sum);
+            listaEspera.merge(categoria(conteo[1]), 1L, Long::sum);
+            total.merge(categoria(conteo[0] + conteo[1]), 1L, Long::sum);
+        }
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("semestre", semestre);
+        respuesta.put("asignadas", asignadas);
+        respuesta.put("listaEspera", listaEspera);
+        respuesta.put("total", total);
+        return respuesta;
+    }
+
+    /**
+     * Agrupa las solicitudes por electiva y número de opción.
+     */
+    private Map<String, Object> popularidad(JsonNode solicitudes) {
+        Map<String, Map<Integer, Integer>> porElectiva = new HashMap<>();
+        for (JsonNode solicitud : solicitudes) {
+            porElectiva.computeIfAbsent(solicitud.path("nombreElectiva").asText(), n -> new TreeMap<>())
+                    .merge(solicitud.path("numeroOpcion").asInt(), 1, Integer::sum);
+        }
+
+        List<Map<String, Object>> electivas = new ArrayList<>();
+        porElectiva.forEach((nombre, conteoPorOpcion) -> {
+            Map<String, Object> electiva = new LinkedHashMap<>();
+            electiva.put("nombre", nombre);
+            electiva.put("conteoPorOpcion", conteoPorOpcion);
+            electiva.put("conteoTotal", conteoPorOpcion.values().stream().mapToInt(Integer::intValue).sum());
+            electivas.add(electiva);
+        });
+        electivas.sort(Comparator.comparing((Map<String, Object> e) -> (Integer) e.get("conteoTotal")).reversed()
+                .thenComparing(e -> (String) e.get("nombre")));
+
+        Map<String, Object> respuesta = new LinkedHashMap<>();
+        respuesta.put("semestre", null);
+        respuesta.put("electivas", electivas);
+        return respuesta;
+    }
+
+    /**
+     * Libro con una fila por sección de la solicitud (el JSON recibido, recortado al límite de una celda).
+     */
+    private byte[] libro(JsonNode solicitud) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook();
+             ByteArrayOutputStream salida = new ByteArrayOutputStream()) {
+            Sheet sheet = workbook.createSheet("Resumen");
+            int fila = 0;
+            for (Map.Entry<String, JsonNode> seccion : solicitud.properties()) {
+                Row row = sheet.createRow(fila++);
+                String contenido = seccion.getValue().toString();
+                row.createCell(0).setCellValue(seccion.getKey());
+                row.createCell(1).setCellValue(contenido.length() > 32_767 ? contenido.substring(0, 32_767) : contenido);
+            }
+            workbook.write(salida);
+            return salida.toByteArray();
+        }
+    }
+
+    private ClientHttpResponse json(Object cuerpo) throws IOException {
+        return new Respuesta(HttpStatus.OK, MediaType.APPLICATION_JSON, objectMapper.writeValueAsBytes(cuerpo));
+    }
+
+    private static Map<String, Long> categorias() {
+        Map<String, Long> categorias = new LinkedHashMap<>();
+        for (String categoria : CATEGORIAS) {
+            categorias.put(categoria, 0L);
+        }
+        return categorias;
+    }
+
+    private static String categoria(int cantidad) {
+        return CATEGORIAS[Math.min(cantidad, CATEGORIAS.length - 1)];
+    }
+
+    /** Respuesta HTTP ya construida en memoria. */
+    private static final class Respuesta implements ClientHttpResponse {
+        private final HttpStatus estado;
+        private final HttpHeaders headers = new HttpHeaders();
+        private final byte[] cuerpo;
+
+        private Respuesta(HttpStatus estado, MediaType tipo, byte[] cuerpo) {
+            this.estado = estado;
+            this.cuerpo = cuerpo;
+            headers.setContentType(tipo);
+            headers.setContentLength(cuerpo.length);
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() {
+            return estado;
+        }
+
+        @Override
+        public String getStatusText() {
+            return estado.getReasonPhrase();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(cuerpo);
+        }
+
+        @Override
+        public void close() {
+            // Sin recursos que liberar
+        }
+    }
+}
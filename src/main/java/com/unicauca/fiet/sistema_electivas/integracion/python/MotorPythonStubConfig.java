@@ -0,0 +1,25 @@
+package com.unicauca.fiet.sistema_electivas.integracion.python;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Motor Python desactivado (perfil {@code python-stub}).
+ *
+ * <p>Las llamadas de {@link MotorPythonClient} las atiende {@link MotorPythonStub} en memoria,
+ * de modo que las estadísticas y sus reportes se pueden generar sin el microservicio.</p>
+ */
+@Slf4j
+@Configuration
+@Profile("python-stub")
+public class MotorPythonStubConfig {
+
+    @Bean
+    public RestTemplate motorPythonRestTemplate() {
+        log.info("Motor Python en modo stub: las estadísticas se calculan en memoria.");
+        return new RestTemplate(new MotorPythonStub());
+    }
+}
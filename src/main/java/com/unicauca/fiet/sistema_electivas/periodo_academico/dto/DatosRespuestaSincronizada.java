@@ -0,0 +1,14 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.dto;
+
+import java.util.Map;
+
+/**
+ * Datos de una respuesta sincronizada de Google Forms, sin la entidad que los contiene.
+ *
+ * <p>Se consulta por páginas al cerrar el formulario; al no ser una entidad, lo leído no
+ * queda en el contexto de persistencia de la transacción.</p>
+ *
+ * @param datos pares pregunta-respuesta en el formato de importación
+ */
+public record DatosRespuestaSincronizada(Map<String, String> datos) {
+}
@@ -1,10 +1,14 @@
 package com.unicauca.fiet.sistema_electivas.periodo_academico.model;
 
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
+import com.unicauca.fiet.sistema_electivas.common.replica.CambioPeriodoListener;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -15,6 +19,9 @@ import java.util.Map;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.PERIODO_ACADEMICO)
+@EntityListeners(CambioPeriodoListener.class)
 @Table(name = "periodo_academico")
 public class PeriodoAcademico {
     @Id
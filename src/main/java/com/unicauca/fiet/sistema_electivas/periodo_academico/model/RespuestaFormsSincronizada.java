@@ -0,0 +1,53 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Respuesta de Google Forms recibida mientras el formulario del período está abierto.
+ *
+ * <p>La sincronización programada guarda aquí las respuestas nuevas o editadas; al cerrar el
+ * formulario solo se consulta lo recibido después del último envío registrado y el conjunto
+ * completo se importa como {@link RespuestasFormulario}.</p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "respuestas_forms_sincronizadas",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"periodo_id", "response_id"}))
+public class RespuestaFormsSincronizada {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "respuestas_forms_sincronizadas_seq")
+    @SequenceGenerator(name = "respuestas_forms_sincronizadas_seq", sequenceName = "respuestas_forms_sincronizadas_seq", allocationSize = 50)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "periodo_id", nullable = false)
+    private PeriodoAcademico periodo;
+
+    @NotNull
+    @Column(name = "response_id", nullable = false)
+    private String responseId;
+
+    @NotNull
+    @Column(name = "ultimo_envio", nullable = false)
+    private Instant ultimoEnvio;
+
+    @NotNull
+    @Column(name = "datos", nullable = false)
+    @JdbcTypeCode(SqlTypes.JSON)
+    private Map<String, String> datos = new LinkedHashMap<>();
+
+    @NotNull
+    @Column(name = "fecha_sincronizacion", nullable = false)
+    private Instant fechaSincronizacion;
+}
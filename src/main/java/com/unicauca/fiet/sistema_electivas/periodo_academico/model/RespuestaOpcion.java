@@ -14,7 +14,7 @@ public class RespuestaOpcion {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "respuesta_opcion_seq")
-    @SequenceGenerator(name = "respuesta_opcion_seq", sequenceName = "respuesta_opcion_seq", allocationSize = 1)
+    @SequenceGenerator(name = "respuesta_opcion_seq", sequenceName = "respuesta_opcion_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -19,7 +19,7 @@ import java.util.List;
 public class RespuestasFormulario {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "respuestas_formulario_seq")
-    @SequenceGenerator(name = "respuestas_formulario_seq", sequenceName = "respuestas_formulario_seq", allocationSize = 1)
+    @SequenceGenerator(name = "respuestas_formulario_seq", sequenceName = "respuestas_formulario_seq", allocationSize = 50)
     private Long id;
 
     @NotNull
@@ -82,4 +82,20 @@ public interface OfertaRepository extends JpaRepository<Oferta, Long> {
     """)
     Optional<Oferta> findByElectivaNombreIgnoreCaseAndPeriodo(@Param("nombreElectiva") String nombreElectiva,
                                                               @Param("periodo") PeriodoAcademico periodo);
+
+    /**
+     * Obtiene las ofertas de un período junto con su electiva en una sola consulta.
+     *
+     * <p>Usado al importar respuestas del formulario para resolver por nombre todas las
+     * opciones sin consultar la base de datos por cada una.</p>
+     *
+     * @param periodoId ID del período académico
+     * @return ofertas del período con su electiva cargada
+     */
+    @Query("""
+        SELECT o FROM Oferta o
+        JOIN FETCH o.electiva
+        WHERE o.periodo.id = :periodoId
+    """)
+    List<Oferta> findByPeriodoIdConElectiva(@Param("periodoId") Long periodoId);
 }
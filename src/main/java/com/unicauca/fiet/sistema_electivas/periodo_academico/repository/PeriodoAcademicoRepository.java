@@ -1,11 +1,17 @@
 package com.unicauca.fiet.sistema_electivas.periodo_academico.repository;
 
+import com.unicauca.fiet.sistema_electivas.periodo_academico.dto.PeriodoAcademicoResponse;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
@@ -25,15 +31,36 @@ public interface PeriodoAcademicoRepository extends JpaRepository<PeriodoAcademi
     Optional<PeriodoAcademico> findBySemestre(String semestre);
 
     /**
-     * Busca períodos académicos cuyo semestre contenga el texto dado (case-insensitive).
+     * Obtiene un período bloqueando su fila hasta el fin de la transacción ({@code SELECT ... FOR UPDATE}).
+     *
+     * <p>Lo usa la sincronización de respuestas del formulario, para no solaparse con otra
+     * sincronización ni con el cierre del mismo período.</p>
+     *
+     * @param id ID del período académico
+     * @return el período leído de la base de datos, o vacío si no existe
      */
-    @Query("""
-        SELECT p
-        FROM PeriodoAcademico p
-        WHERE LOWER(p.semestre) LIKE LOWER(CONCAT('%', :semestreTexto, '%'))
-        ORDER BY p.semestre DESC
-    """)
-    List<PeriodoAcademico> buscarPorSemestre(@Param("semestreTexto") String semestreTexto);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PeriodoAcademico p WHERE p.id = :id")
+    Optional<PeriodoAcademico> findByIdParaActualizar(@Param("id") Long id);
+
+    /**
+     * Cambia el estado de un período si sigue en el estado esperado, en una transacción propia.
+     *
+     * <p>Lo usan los reportes de la asignación, que se generan en una transacción de solo lectura.
+     * Al ser una actualización masiva no dispara {@code CambioPeriodoListener}; quien la llame
+     * debe avisar a {@code GuardiaReplica}.</p>
+     *
+     * @param id ID del período académico
+     * @param actual estado en el que debe estar
+     * @param nuevo estado al que pasa
+     * @return 1 si se cambió, 0 si el período ya no estaba en {@code actual}
+     */
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query("UPDATE PeriodoAcademico p SET p.estado = :nuevo WHERE p.id = :id AND p.estado = :actual")
+    int cambiarEstado(@Param("id") Long id,
+                      @Param("actual") EstadoPeriodoAcademico actual,
+                      @Param("nuevo") EstadoPeriodoAcademico nuevo);
 
     /**
      * Busca períodos académicos por estado.
@@ -41,20 +68,27 @@ public interface PeriodoAcademicoRepository extends JpaRepository<PeriodoAcademi
     List<PeriodoAcademico> findByEstadoOrderBySemestreDesc(EstadoPeriodoAcademico estado);
 
     /**
-     * Busca períodos académicos cuyo semestre contenga el texto dado (case-insensitive)
-     * y además coincidan con el estado especificado.
+     * Lista los períodos directamente como {@link PeriodoAcademicoResponse}, ordenados por
+     * semestre descendente. Los filtros nulos no se aplican.
+     *
+     * @param semestreTexto texto contenido en el semestre (sin distinguir mayúsculas), o {@code null}
+     * @param estado estado de los períodos, o {@code null}
+     * @return períodos que cumplen los filtros
      */
     @Query("""
-        SELECT p
+        SELECT new com.unicauca.fiet.sistema_electivas.periodo_academico.dto.PeriodoAcademicoResponse(
+            p.id, p.semestre, p.fechaApertura, p.fechaCierre, CAST(p.estado AS String),
+            p.opcionesPorPrograma, p.urlFormulario)
         FROM PeriodoAcademico p
-        WHERE LOWER(p.semestre) LIKE LOWER(CONCAT('%', :semestreTexto, '%'))
-          AND p.estado = :estado
+        WHERE (:semestreTexto IS NULL OR LOWER(p.semestre) LIKE LOWER(CONCAT('%', :semestreTexto, '%')))
+          AND (:estado IS NULL OR p.estado = :estado)
         ORDER BY p.semestre DESC
     """)
-    List<PeriodoAcademico> buscarPorSemestreYEstado(
+    List<PeriodoAcademicoResponse> listarResumen(
             @Param("semestreTexto") String semestreTexto,
             @Param("estado") EstadoPeriodoAcademico estado
     );
+
     /**
      * Mira si existen periodos academicos con algunos estados en particular
      */
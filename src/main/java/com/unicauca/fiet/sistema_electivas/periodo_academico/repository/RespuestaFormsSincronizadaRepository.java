@@ -0,0 +1,78 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.repository;
+
+import com.unicauca.fiet.sistema_electivas.periodo_academico.dto.DatosRespuestaSincronizada;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaFormsSincronizada;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio de las respuestas de Google Forms sincronizadas por período.
+ */
+@Repository
+public interface RespuestaFormsSincronizadaRepository extends JpaRepository<RespuestaFormsSincronizada, Long> {
+
+    /**
+     * Obtiene la fecha del último envío sincronizado de un período.
+     *
+     * <p>Es la marca desde la que la siguiente sincronización consulta la API.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @return último envío registrado, o vacío si aún no se ha sincronizado nada.
+     */
+    @Query("SELECT MAX(r.ultimoEnvio) FROM RespuestaFormsSincronizada r WHERE r.periodo.id = :periodoId")
+    Optional<Instant> findUltimoEnvioByPeriodoId(@Param("periodoId") Long periodoId);
+
+    /**
+     * Obtiene las respuestas ya sincronizadas de un período entre los identificadores indicados.
+     *
+     * <p>La sincronización la consulta una vez por página descargada, para decidir qué respuestas
+     * insertar y cuáles actualizar.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @param responseIds identificadores de las respuestas en Google Forms.
+     * @return respuestas ya registradas.
+     */
+    List<RespuestaFormsSincronizada> findByPeriodoIdAndResponseIdIn(Long periodoId, Collection<String> responseIds);
+
+    /**
+     * Obtiene una página de los datos de las respuestas sincronizadas de un período, en orden de envío.
+     *
+     * @param periodoId ID del período académico.
+     * @param pageable página solicitada.
+     * @return datos de las respuestas de la página.
+     */
+    @Query("""
+    SELECT new com.unicauca.fiet.sistema_electivas.periodo_academico.dto.DatosRespuestaSincronizada(r.datos)
+    FROM RespuestaFormsSincronizada r
+    WHERE r.periodo.id = :periodoId
+    ORDER BY r.ultimoEnvio, r.id
+    """)
+    Slice<DatosRespuestaSincronizada> findDatosByPeriodoId(@Param("periodoId") Long periodoId, Pageable pageable);
+
+    /**
+     * Indica si el período tiene respuestas sincronizadas.
+     *
+     * @param periodoId ID del período académico.
+     * @return {@code true} si hay al menos una respuesta.
+     */
+    boolean existsByPeriodoId(Long periodoId);
+
+    /**
+     * Elimina las respuestas sincronizadas de un período, una vez importadas.
+     *
+     * @param periodoId ID del período académico.
+     */
+    @Modifying
+    @Query("DELETE FROM RespuestaFormsSincronizada r WHERE r.periodo.id = :periodoId")
+    void deleteByPeriodoId(@Param("periodoId") Long periodoId);
+}
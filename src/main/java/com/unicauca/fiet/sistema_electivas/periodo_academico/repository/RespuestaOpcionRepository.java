@@ -2,8 +2,10 @@ package com.unicauca.fiet.sistema_electivas.periodo_academico.repository;
 
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaOpcion;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.OpcionRespuestaResumen;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -45,4 +47,23 @@ public interface RespuestaOpcionRepository extends JpaRepository<RespuestaOpcion
         ORDER BY r.id ASC, ro.opcionNum ASC
     """)
     List<RespuestaOpcion> findAllOpcionesByPeriodoAndEstadoDatosCargados(Long periodoId);
+
+    /**
+     * Lista las electivas elegidas en todas las respuestas de un período, con solo el número de
+     * opción y el nombre de la electiva. Las opciones sin oferta no se incluyen.
+     *
+     * @param periodoId ID del período académico.
+     * @return opciones del período, ordenadas por respuesta y número de opción.
+     */
+    @Query("""
+        SELECT new com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.OpcionRespuestaResumen(
+            r.id, ro.opcionNum, e.nombre)
+        FROM RespuestaOpcion ro
+        JOIN ro.respuesta r
+        JOIN ro.oferta o
+        JOIN o.electiva e
+        WHERE r.periodo.id = :periodoId
+        ORDER BY r.id ASC, ro.opcionNum ASC
+    """)
+    List<OpcionRespuestaResumen> listarResumenPorPeriodo(@Param("periodoId") Long periodoId);
 }
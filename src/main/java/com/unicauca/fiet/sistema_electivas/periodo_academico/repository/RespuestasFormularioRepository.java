@@ -3,13 +3,19 @@ package com.unicauca.fiet.sistema_electivas.periodo_academico.repository;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -25,6 +31,25 @@ public interface RespuestasFormularioRepository extends JpaRepository<Respuestas
     })
     List<RespuestasFormulario> findByPeriodoId(Long periodoId);
 
+    /**
+     * Lista las respuestas de un período con solo las columnas del listado, sin sus opciones
+     * (ver {@link RespuestaOpcionRepository#listarResumenPorPeriodo(Long)}).
+     *
+     * @param periodoId ID del período académico.
+     * @return respuestas del período, ordenadas por ID.
+     */
+    @Query("""
+        SELECT new com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioResumen(
+            r.id, r.codigoEstudiante, r.correoEstudiante, r.nombreEstudiante, r.apellidosEstudiante,
+            p.nombre, pe.semestre, r.timestampRespuesta, r.estado)
+        FROM RespuestasFormulario r
+        JOIN r.periodo pe
+        LEFT JOIN r.programa p
+        WHERE pe.id = :periodoId
+        ORDER BY r.id
+    """)
+    List<RespuestaFormularioResumen> listarResumenPorPeriodo(@Param("periodoId") Long periodoId);
+
     /**
      * Obtiene todas las respuestas que se encuentren en un estado específico,
      * sin filtrarlas por período académico.
@@ -67,6 +92,98 @@ public interface RespuestasFormularioRepository extends JpaRepository<Respuestas
             @Param("estados") List<EstadoRespuestaFormulario> estados
     );
 
+    /**
+     * Devuelve los códigos de estudiante distintos que se encuentran en alguno de los
+     * estados indicados, ordenados por código.
+     *
+     * <p>Solo lee la columna del código, sin cargar las respuestas ni sus relaciones.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @param estados estados a considerar.
+     * @return códigos sin repetir.
+     */
+    @Query("""
+        SELECT DISTINCT r.codigoEstudiante
+        FROM RespuestasFormulario r
+        WHERE r.periodo.id = :periodoId
+        AND r.estado IN :estados
+        ORDER BY r.codigoEstudiante
+        """)
+    List<String> findCodigosDistintosByPeriodoAndEstados(
+            @Param("periodoId") Long periodoId,
+            @Param("estados") List<EstadoRespuestaFormulario> estados
+    );
+
+    /**
+     * Marca como {@code UNICO} la respuesta más antigua de cada código de estudiante y
+     * como {@code DUPLICADO} las demás, en una sola sentencia.
+     *
+     * <p>Solo participan las respuestas en {@code SIN_PROCESAR}, {@code UNICO} o
+     * {@code DUPLICADO}, por lo que el filtro puede volver a aplicarse. Los empates de
+     * fecha se resuelven por el ID de la respuesta.</p>
+     *
+     * <p>La sentencia declara su tabla como espacio de consulta: sin él, Hibernate vaciaría toda la
+     * caché de segundo nivel al ejecutarla.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @return cantidad de respuestas clasificadas.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "respuestas_formulario"))
+    @Query(value = """
+        UPDATE respuestas_formulario r
+        SET estado = CASE WHEN o.posicion = 1 THEN 'UNICO' ELSE 'DUPLICADO' END
+        FROM (
+            SELECT id,
+                   ROW_NUMBER() OVER (
+                       PARTITION BY codigo_estudiante
+                       ORDER BY timestamp_respuesta, id
+                   ) AS posicion
+            FROM respuestas_formulario
+            WHERE periodo_id = :periodoId
+              AND estado IN ('SIN_PROCESAR', 'UNICO', 'DUPLICADO')
+        ) o
+        WHERE r.id = o.id
+        """, nativeQuery = true)
+    int clasificarDuplicados(@Param("periodoId") Long periodoId);
+
+    /**
+     * Clasifica por antigüedad las respuestas que ya pasaron el filtro de duplicados.
+     *
+     * <p>Los códigos con formato {@code AAAA YY PP NNNN} (año de ingreso {@code YY} y
+     * período {@code 01}/{@code 02}) pasan a {@code CUMPLE} si suman al menos 6 semestres
+     * hasta el período actual y a {@code NO_CUMPLE} en caso contrario; el resto queda en
+     * {@code FORMATO_INVALIDO} para revisión manual. El cálculo se hace en la base de datos
+     * y solo se modifica la columna de estado.</p>
+     *
+     * <p>La sentencia declara su tabla como espacio de consulta: sin él, Hibernate vaciaría toda la
+     * caché de segundo nivel al ejecutarla.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @param anioActual año del período académico (por ejemplo, 2025).
+     * @param periodoActual número del período dentro del año (1 o 2).
+     * @return cantidad de respuestas clasificadas.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "respuestas_formulario"))
+    @Query(value = """
+        UPDATE respuestas_formulario
+        SET estado = CASE
+            WHEN codigo_estudiante !~ '^[0-9]{6}0[12][0-9]{4}$' THEN 'FORMATO_INVALIDO'
+            WHEN (:anioActual - (2000 + CAST(SUBSTRING(codigo_estudiante FROM 5 FOR 2) AS INTEGER))) * 2
+                 + (:periodoActual - CAST(SUBSTRING(codigo_estudiante FROM 7 FOR 2) AS INTEGER)) >= 6
+                THEN 'CUMPLE'
+            ELSE 'NO_CUMPLE'
+        END
+        WHERE periodo_id = :periodoId
+          AND estado IN ('UNICO', 'CUMPLE', 'NO_CUMPLE', 'FORMATO_INVALIDO')
+        """, nativeQuery = true)
+    int clasificarPorAntiguedad(
+            @Param("periodoId") Long periodoId,
+            @Param("anioActual") int anioActual,
+            @Param("periodoActual") int periodoActual
+    );
+
     /**
      * Devuelve la cantidqd de códigos de estudiante ven los estados que se pidan
      * para un periodo académico específico.
@@ -98,6 +215,23 @@ public interface RespuestasFormularioRepository extends JpaRepository<Respuestas
     );
 
 
+    /**
+     * Verifica si el código de estudiante ya está en uso en otra respuesta del período,
+     * considerando solo las respuestas que se encuentran en alguno de los estados indicados.
+     *
+     * <p>Se resuelve con el índice parcial {@code idx_respuestas_formulario_periodo_codigo_activo}
+     * sin cargar las respuestas del período.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @param codigoEstudiante código a verificar.
+     * @param id ID de la respuesta que se está editando (se excluye de la búsqueda).
+     * @param estados estados en los que el código se considera activo.
+     * @return true si otra respuesta activa usa el código.
+     */
+    boolean existsByPeriodoIdAndCodigoEstudianteAndIdNotAndEstadoIn(
+            Long periodoId, String codigoEstudiante, Long id, Collection<EstadoRespuestaFormulario> estados
+    );
+
     // Validar duplicados exactos al importar
     boolean existsByPeriodoAndCodigoEstudianteAndTimestampRespuesta(
             PeriodoAcademico periodo, String codigoEstudiante, Instant timestampRespuesta
@@ -114,10 +248,22 @@ public interface RespuestasFormularioRepository extends JpaRepository<Respuestas
      * @return true si hay alguna respuesta en esos estados.
      */
     boolean existsByPeriodoIdAndEstadoIn(Long periodoId, List<EstadoRespuestaFormulario> estados);
+
+    /**
+     * Verifica si ya se importaron respuestas desde un archivo concreto.
+     *
+     * <p>Usado para omitir la importación cuando se vuelve a cargar un archivo
+     * con exactamente el mismo contenido.</p>
+     *
+     * @param archivoId ID del {@code CargaArchivo} de origen.
+     * @return true si existe al menos una respuesta asociada a ese archivo.
+     */
+    boolean existsByArchivoCargadoId(Long archivoId);
     
     /**
      * Obtiene todas las respuestas de un período académico filtradas por estado,
-     * incluyendo la carga anticipada (fetch) de sus opciones seleccionadas.
+     * incluyendo la carga anticipada (fetch) de sus opciones seleccionadas
+     * junto con la oferta y la electiva de cada opción.
      *
      * <p>Útil para procesos donde se requiere analizar respuestas completas
      * sin disparar múltiples consultas adicionales.</p>
@@ -129,6 +275,8 @@ public interface RespuestasFormularioRepository extends JpaRepository<Respuestas
     @Query("""
     SELECT DISTINCT r FROM RespuestasFormulario r
     LEFT JOIN FETCH r.opciones o
+    LEFT JOIN FETCH o.oferta of
+    LEFT JOIN FETCH of.electiva
     WHERE r.periodo.id = :periodoId
     AND r.estado IN :estados
     """)
@@ -140,17 +288,21 @@ public interface RespuestasFormularioRepository extends JpaRepository<Respuestas
      * Recupera el historial completo de respuestas que un estudiante ha
      * enviado a lo largo de distintos períodos académicos.
      *
-     * <p>Incluye información del período y las opciones seleccionadas,
+     * <p>Incluye información del período, el programa y las opciones seleccionadas
+     * (con su oferta y electiva),
      * y se ordena del período más reciente al más antiguo.</p>
      *
      * @param codigo código del estudiante.
      * @return lista de respuestas ordenadas por período y fecha.
      */
     @Query("""
-    SELECT rf
+    SELECT DISTINCT rf
     FROM RespuestasFormulario rf
     JOIN FETCH rf.periodo p
+    LEFT JOIN FETCH rf.programa
     LEFT JOIN FETCH rf.opciones o
+    LEFT JOIN FETCH o.oferta of
+    LEFT JOIN FETCH of.electiva
     WHERE rf.codigoEstudiante = :codigo
     ORDER BY p.semestre DESC, rf.timestampRespuesta DESC
     """)
@@ -1,28 +1,31 @@
 package com.unicauca.fiet.sistema_electivas.periodo_academico.service;
 
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
+import com.unicauca.fiet.sistema_electivas.common.excel.EncabezadosExcel;
+import com.unicauca.fiet.sistema_electivas.common.excel.LectorExcel;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.Oferta;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaOpcion;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.OfertaRepository;
-import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestaOpcionRepository;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestasFormularioRepository;
+import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
+import com.unicauca.fiet.sistema_electivas.programa.service.DirectorioProgramas;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.poi.ss.usermodel.*;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
 import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalQuery;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -33,64 +36,92 @@ import java.util.regex.Pattern;
 public class FormularioImportService {
 
     private final ProgramaRepository programaRepository;
+    private final DirectorioProgramas directorioProgramas;
     private final RespuestasFormularioRepository respuestaRepository;
-    private final RespuestaOpcionRepository opcionRepository;
     private final OfertaRepository ofertaRepository;
+    private final LectorExcel lectorExcel;
 
+    /**
+     * Importa las respuestas crudas del formulario como {@link RespuestasFormulario} y sus opciones.
+     *
+     * <p>Los programas se resuelven con {@link DirectorioProgramas} (sin distinguir tildes ni
+     * mayúsculas) y las ofertas del período una sola vez en un diccionario indexado por nombre
+     * (sin distinguir mayúsculas); las respuestas se construyen en memoria
+     * con sus opciones y se persisten juntas, de modo que Hibernate las inserta en lotes.</p>
+     *
+     * <p>Si {@code archivo} ya tiene respuestas asociadas (el archivo de respuestas es idéntico
+     * a uno importado antes y {@code ArchivoService} reutilizó su carga), no se importa de nuevo.</p>
+     *
+     * @return respuestas creadas; vacío si el contenido ya había sido importado
+     */
     @Transactional
     public List<RespuestasFormulario> procesarRespuestas(
-            List<Map<String, String>> datosCrudos,
+            Iterable<Map<String, String>> datosCrudos,
             PeriodoAcademico periodo,
             CargaArchivo archivo) {
 
-        List<RespuestasFormulario> entidades = new ArrayList<>();
-        for (Map<String, String> datos : datosCrudos) {
-            String codigoEst = datos.get("Código del estudiante");
-
-
+        if (archivo.getId() != null && respuestaRepository.existsByArchivoCargadoId(archivo.getId())) {
+            log.info("Las respuestas del archivo [{}] ya fueron importadas; se omite la importación.", archivo.getNombreArchivo());
+            return List.of();
+        }
 
-            Instant finalFechaRespuesta = parsearFechaFlexible(datos.get("timestampRespuesta"));
+        Map<Long, Programa> programasPorId = new HashMap<>();
 
+        Map<String, Oferta> ofertasPorNombre = new HashMap<>();
+        for (Oferta oferta : ofertaRepository.findByPeriodoIdConElectiva(periodo.getId())) {
+            ofertasPorNombre.putIfAbsent(claveNombre(oferta.getElectiva().getNombre()), oferta);
+        }
 
+        LectorFechas lectorFechas = new LectorFechas();
+        List<RespuestasFormulario> entidades = new ArrayList<>();
+        for (Map<String, String> datos : datosCrudos) {
             RespuestasFormulario r = new RespuestasFormulario();
             r.setPeriodo(periodo);
             r.setArchivoCargado(archivo);
-            r.setCodigoEstudiante(codigoEst);
+            r.setCodigoEstudiante(datos.get("Código del estudiante"));
             r.setCorreoEstudiante(datos.get("Correo institucional"));
             r.setNombreEstudiante(datos.get("Nombres"));
             r.setApellidosEstudiante(datos.get("Apellidos"));
-            r.setTimestampRespuesta(finalFechaRespuesta);
-
-            String progTexto = datos.get("Programa académico");
-            programaRepository.findByNombreIgnoreCase(progTexto).ifPresent(r::setPrograma);
+            r.setTimestampRespuesta(lectorFechas.parsearFechaFlexible(datos.get("timestampRespuesta")));
+            r.setPrograma(directorioProgramas.resolver(datos.get("Programa académico"))
+                    .map(programa -> programasPorId.computeIfAbsent(programa.id(), programaRepository::getReferenceById))
+                    .orElse(null));
             r.setEstado(EstadoRespuestaFormulario.SIN_PROCESAR);
 
-            respuestaRepository.save(r);
-
             short num = 1;
-            for (String key : datos.keySet()) {
-                if (key.toLowerCase().startsWith("electiva opción")) {
-                    String electivaTexto = datos.get(key);
+            for (Map.Entry<String, String> entrada : datos.entrySet()) {
+                if (entrada.getKey().toLowerCase().startsWith("electiva opción")) {
+                    String electivaTexto = entrada.getValue();
                     if (electivaTexto == null || electivaTexto.isBlank()) continue;
 
                     RespuestaOpcion op = new RespuestaOpcion();
                     op.setRespuesta(r);
                     op.setOpcionNum((int) num++);
-                    ofertaRepository.findByElectivaNombreIgnoreCaseAndPeriodo(electivaTexto, periodo)
-                            .ifPresent(op::setOferta);
-                    opcionRepository.save(op);
+                    op.setOferta(ofertasPorNombre.get(claveNombre(electivaTexto)));
+                    r.getOpciones().add(op);
                 }
             }
             entidades.add(r);
         }
 
+        // Las opciones se insertan en cascada junto con su respuesta
+        respuestaRepository.saveAll(entidades);
         return entidades;
     }
 
+    /**
+     * Clave de búsqueda por nombre, equivalente a la comparación {@code LOWER(a) = LOWER(b)}.
+     */
+    private static String claveNombre(String nombre) {
+        return nombre == null ? "" : nombre.toLowerCase(Locale.ROOT);
+    }
+
     private static final Set<String> REQUIRED_HEADERS_RESPUESTAS = Set.of(
             "marca temporal", "correo institucional", "código del estudiante", "nombre", "apellidos", "programa académico", "electiva opción 1"
     );
 
+    private static final Pattern NUMERO_OPCION = Pattern.compile("(\\d+)");
+
     private static final Map<String, String> HEADER_ALIASES_RESPUESTAS = Map.ofEntries(
             Map.entry("marca temporal", "marca temporal"),
             Map.entry("timestamp", "marca temporal"),
@@ -112,70 +143,42 @@ public class FormularioImportService {
             throw new BusinessException("El archivo está vacío o no fue enviado.");
         }
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
-
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new BusinessException("Archivo Excel sin hojas.");
-            }
-
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new BusinessException("El archivo debe tener una fila de encabezado.");
-            }
-
-            DataFormatter formatter = new DataFormatter();
-            Map<String, Integer> headerIndex = new LinkedHashMap<>();
-
-            for (Cell cell : headerRow) {
-                String raw = formatter.formatCellValue(cell);
-                if (raw == null) continue;
-
-                String normalized = raw.trim().toLowerCase();
-                String canonical = HEADER_ALIASES_RESPUESTAS.getOrDefault(normalized, normalized);
-                headerIndex.put(canonical, cell.getColumnIndex());
-            }
-
-            if (!headerIndex.keySet().containsAll(REQUIRED_HEADERS_RESPUESTAS)) {
-                throw new BusinessException("Formato de archivo inválido. Faltan columnas requeridas.");
-            }
+        EncabezadosExcel encabezados = EncabezadosExcel.conAlias(HEADER_ALIASES_RESPUESTAS)
+                .conservandoDesconocidos()
+                .requiriendo(REQUIRED_HEADERS_RESPUESTAS, "Formato de archivo inválido. Faltan columnas requeridas.");
 
+        try {
             List<Map<String, String>> respuestas = new ArrayList<>();
+            List<Integer> columnasElectivas = new ArrayList<>();
+
+            lectorExcel.leer(file, encabezados, row -> {
+                if (row.estaVacia()) return true;
 
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-                boolean filaVacia = true;
-                for (Cell cell : row) {
-                    if (cell != null && !formatter.formatCellValue(cell).trim().isEmpty()) {
-                        filaVacia = false;
-                        break;
-                    }
+                // Las columnas de electivas se ordenan una sola vez, con la primera fila de datos
+                if (columnasElectivas.isEmpty()) {
+                    row.getColumnas().entrySet().stream()
+                            .filter(e -> e.getKey().toLowerCase().startsWith("electiva opción"))
+                            .sorted(Comparator.comparing(e -> extraerNumeroOpcion(e.getKey())))
+                            .forEach(e -> columnasElectivas.add(e.getValue()));
                 }
-                if (filaVacia) continue;
+
                 Map<String, String> datos = new LinkedHashMap<>();
-                datos.put("timestampRespuesta", getCellString(row, headerIndex.get("marca temporal"), formatter));
-                datos.put("Correo institucional", getCellString(row, headerIndex.get("correo institucional"), formatter));
-                datos.put("Código del estudiante", getCellString(row, headerIndex.get("código del estudiante"), formatter));
-                datos.put("Nombres", getCellString(row, headerIndex.get("nombre"), formatter));
-                datos.put("Apellidos", getCellString(row, headerIndex.get("apellidos"), formatter));
-                datos.put("Programa académico", getCellString(row, headerIndex.get("programa académico"), formatter));
-
-                List<Map.Entry<String, Integer>> electivas = headerIndex.entrySet().stream()
-                        .filter(e -> e.getKey().toLowerCase().startsWith("electiva opción"))
-                        .sorted(Comparator.comparing(e -> extraerNumeroOpcion(e.getKey())))
-                        .toList();
+                datos.put("timestampRespuesta", row.getTexto("marca temporal"));
+                datos.put("Correo institucional", row.getTexto("correo institucional"));
+                datos.put("Código del estudiante", row.getTexto("código del estudiante"));
+                datos.put("Nombres", row.getTexto("nombre"));
+                datos.put("Apellidos", row.getTexto("apellidos"));
+                datos.put("Programa académico", row.getTexto("programa académico"));
 
                 short num = 1;
-                for (Map.Entry<String, Integer> entry : electivas) {
-                    String valor = getCellString(row, entry.getValue(), formatter);
-                    datos.put("Electiva opción " + num++, valor);
+                for (Integer columna : columnasElectivas) {
+                    datos.put("Electiva opción " + num++, row.getTexto(columna));
                 }
-                if (datos.get("Código del estudiante") == null && datos.get("Correo institucional") == null) continue;
+                if (datos.get("Código del estudiante") == null && datos.get("Correo institucional") == null) return true;
 
                 respuestas.add(datos);
-            }
+                return true;
+            });
             return respuestas;
         } catch (BusinessException be) {
             throw be;
@@ -186,114 +189,161 @@ public class FormularioImportService {
 
     private int extraerNumeroOpcion(String texto) {
         try {
-            Matcher m = Pattern.compile("(\\d+)").matcher(texto);
+            Matcher m = NUMERO_OPCION.matcher(texto);
             return m.find() ? Integer.parseInt(m.group(1)) : Integer.MAX_VALUE;
         } catch (NumberFormatException e) {
             return Integer.MAX_VALUE;
         }
     }
 
-    private String getCellString(Row row, Integer colIndex, DataFormatter formatter) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        return formatter.formatCellValue(cell).trim();
-    }
+    // Formatos locales de Excel/Google; 'GMT'XXX, 'GMT'xx y 'GMT'x para offsets flexibles
+    private static final DateTimeFormatter[] FORMATOS_FECHA_LOCAL = {
+            // Ejemplo: 2025/05/27 4:35:13 PM GMT-05:00
+            DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'XXX", Locale.US),
+
+            // Ejemplo: 2025/05/27 4:35:13 PM GMT-0500
+            DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'xx", Locale.US),
+
+            // Ejemplo: 2025/05/27 4:35:13 PM GMT-5
+            DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'x", Locale.US)
+    };
+
+    private static final Pattern GMT_UN_DIGITO = Pattern.compile("GMT-([0-9])\\b");
 
     /**
-     * Intenta convertir un texto de fecha a un {@link Instant} usando múltiples formatos.
-     *
-     * <p>Este método es robusto frente a formatos de fecha provenientes de:
-     * <ul>
-     *     <li>API de Google Forms → ISO-8601 (ej: {@code 2025-11-24T14:30:00.000Z})</li>
-     *     <li>Archivos Excel exportados manualmente → formatos locales (ej:
-     *         {@code 2025/05/27 4:35:13 p.m. GMT-5})</li>
-     *     <li>Variaciones en AM/PM en español (ej: {@code p.m.}, {@code p. m.}, {@code pm})</li>
-     *     <li>Offsets de zona horaria de la forma {@code GMT-5}, {@code GMT-05}, {@code GMT-05:00}</li>
-     * </ul>
+     * Lector de fechas para una importación.
      *
-     * <p>El método aplica una estrategia escalonada:
-     * <ol>
-     *     <li>Intentar parseo ISO-8601 directamente (caso Google API).</li>
-     *     <li>Normalizar variantes de AM/PM en español.</li>
-     *     <li>Intentar varios {@link DateTimeFormatter} que toleran diferentes variantes de GMT.</li>
-     *     <li>Si todo falla, registrar una advertencia y retornar {@link Instant#now()}.</li>
-     * </ol>
-     *
-     * <p>Este comportamiento garantiza que la importación de datos nunca falle por problemas
-     * de formato de fecha y permite rastrear fácilmente problemas mediante logs.
-     *
-     * @param fechaTexto Texto de una fecha proveniente de Excel o Google Forms.
-     * @return Un {@link Instant} válido. Si no es posible interpretar la fecha, retorna la hora actual.
+     * <p>Todas las respuestas de un mismo archivo suelen compartir formato, así que el lector
+     * recuerda el último formato que funcionó y lo prueba primero en la siguiente fila. Los
+     * formatos se verifican con {@link DateTimeFormatter#parseUnresolved}, que indica el fallo
+     * sin lanzar excepciones.</p>
      */
-    private Instant parsearFechaFlexible(String fechaTexto) {
+    private static final class LectorFechas {
+
+        private static final int FORMATO_ISO = -1;
+        private static final int SIN_FORMATO = -2;
+
+        private int formatoDetectado = SIN_FORMATO;
+
+        /**
+         * Intenta convertir un texto de fecha a un {@link Instant} usando múltiples formatos.
+         *
+         * <p>Este método es robusto frente a formatos de fecha provenientes de:
+         * <ul>
+         *     <li>API de Google Forms → ISO-8601 (ej: {@code 2025-11-24T14:30:00.000Z})</li>
+         *     <li>Archivos Excel exportados manualmente → formatos locales (ej:
+         *         {@code 2025/05/27 4:35:13 p.m. GMT-5})</li>
+         *     <li>Variaciones en AM/PM en español (ej: {@code p.m.}, {@code p. m.}, {@code pm})</li>
+         *     <li>Offsets de zona horaria de la forma {@code GMT-5}, {@code GMT-05}, {@code GMT-05:00}</li>
+         * </ul>
+         *
+         * <p>El método aplica una estrategia escalonada:
+         * <ol>
+         *     <li>Intentar el formato detectado en la fila anterior.</li>
+         *     <li>Intentar parseo ISO-8601 directamente (caso Google API).</li>
+         *     <li>Normalizar variantes de AM/PM en español.</li>
+         *     <li>Intentar varios {@link DateTimeFormatter} que toleran diferentes variantes de GMT.</li>
+         *     <li>Si todo falla, registrar una advertencia y retornar {@link Instant#now()}.</li>
+         * </ol>
+         *
+         * <p>Este comportamiento garantiza que la importación de datos nunca falle por problemas
+         * de formato de fecha y permite rastrear fácilmente problemas mediante logs.
+         *
+         * @param fechaTexto Texto de una fecha proveniente de Excel o Google Forms.
+         * @return Un {@link Instant} válido. Si no es posible interpretar la fecha, retorna la hora actual.
+         */
+        Instant parsearFechaFlexible(String fechaTexto) {
+
+            if (fechaTexto == null || fechaTexto.isBlank()) {
+                log.warn("Fecha nula o vacía, usando Instant.now()");
+                return Instant.now();
+            }
 
-        if (fechaTexto == null || fechaTexto.isBlank()) {
-            log.warn("Fecha nula o vacía, usando Instant.now()");
+            String raw = fechaTexto.trim();
+
+            // ----------------------------------------------------
+            // 1. INTENTAR EL FORMATO DETECTADO EN LA FILA ANTERIOR
+            // ----------------------------------------------------
+            if (formatoDetectado != SIN_FORMATO) {
+                Instant fecha = formatoDetectado == FORMATO_ISO
+                        ? parsearIso(raw)
+                        : parsearLocal(normalizar(raw), FORMATOS_FECHA_LOCAL[formatoDetectado]);
+                if (fecha != null) return fecha;
+            }
+
+            // ----------------------------------------------------
+            // 2. INTENTAR ISO-8601 (Google Forms API)
+            // ----------------------------------------------------
+            Instant iso = parsearIso(raw);
+            if (iso != null) {
+                formatoDetectado = FORMATO_ISO;
+                return iso;
+            }
+
+            // ----------------------------------------------------
+            // 3. Intentar formato manual variaciones Excel/Google
+            // ----------------------------------------------------
+            String normalizada = normalizar(raw);
+            for (int i = 0; i < FORMATOS_FECHA_LOCAL.length; i++) {
+                Instant fecha = parsearLocal(normalizada, FORMATOS_FECHA_LOCAL[i]);
+                if (fecha != null) {
+                    formatoDetectado = i;
+                    return fecha;
+                }
+            }
+
+            // ----------------------------------------------------
+            // 4. Fallo total → log de alerta y fallback
+            // ----------------------------------------------------
+            log.warn("Formato de fecha no reconocido [{}], usando Instant.now()", raw);
             return Instant.now();
         }
 
-        String raw = fechaTexto.trim();
-
-        // ----------------------------------------------------
-        // 1. INTENTAR ISO-8601 (Google Forms API)
-        // ----------------------------------------------------
-        try {
+        private static Instant parsearIso(String raw) {
             // Google a veces manda "2025-11-25 12:00:00Z" sin T
-            return Instant.parse(raw.replace(" ", "T"));
-        } catch (Exception ignored) {
-            log.debug("No coincide con formato ISO-8601");
+            return parsear(raw.replace(" ", "T"), DateTimeFormatter.ISO_INSTANT, Instant::from);
         }
 
-        // ----------------------------------------------------
-        // 2. NORMALIZAR FORMATO LOCAL / EXCEL
-        // ----------------------------------------------------
-
-        // Normalizar AM/PM español
-        String normalizada = raw
-                .replace("p.m.", "PM")
-                .replace("a.m.", "AM")
-                .replace("p. m.", "PM")
-                .replace("a. m.", "AM")
-                .replace("pm", "PM")
-                .replace("am", "AM")
-                .replace("Pm", "PM")
-                .replace("Am", "AM")
-                .trim();
-
-        // Google Forms envía a veces:
-        // "GMT-5", "GMT-05", "GMT-05:00"
-        normalizada = normalizada.replaceAll("GMT-([0-9])\\b", "GMT-0$1"); // para que XXX lo entienda
-
-        // ----------------------------------------------------
-        // 3. Intentar formato manual variaciones Excel/Google
-        // ----------------------------------------------------
-
-        // LO IMPORTANTE: 'GMT'XXX para offsets flexibles
-        DateTimeFormatter fmts[] = new DateTimeFormatter[]{
-                // Ejemplo: 2025/05/27 4:35:13 PM GMT-05:00
-                DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'XXX", Locale.US),
-
-                // Ejemplo: 2025/05/27 4:35:13 PM GMT-0500
-                DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'xx", Locale.US),
-
-                // Ejemplo: 2025/05/27 4:35:13 PM GMT-5
-                DateTimeFormatter.ofPattern("yyyy/MM/dd h:mm:ss a 'GMT'x", Locale.US)
-        };
-
-        for (DateTimeFormatter fmt : fmts) {
+        private static Instant parsearLocal(String normalizada, DateTimeFormatter formato) {
+            ZonedDateTime zdt = parsear(normalizada, formato, ZonedDateTime::from);
+            return zdt == null ? null : zdt.toInstant();
+        }
+
+        /**
+         * Aplica el formato solo si reconoce el texto completo; en caso contrario devuelve {@code null}.
+         */
+        private static <T> T parsear(String texto, DateTimeFormatter formato, TemporalQuery<T> consulta) {
+            ParsePosition posicion = new ParsePosition(0);
+            if (formato.parseUnresolved(texto, posicion) == null || posicion.getIndex() != texto.length()) {
+                return null;
+            }
             try {
-                ZonedDateTime zdt = ZonedDateTime.parse(normalizada, fmt);
-                return zdt.toInstant();
-            } catch (Exception ignored) {
-                // continuar probando
+                return formato.parse(texto, consulta);
+            } catch (DateTimeException e) {
+                // Texto reconocido pero con valores inválidos (por ejemplo, 2025/02/30)
+                return null;
             }
         }
 
-        // ----------------------------------------------------
-        // 4. Fallo total → log de alerta y fallback
-        // ----------------------------------------------------
-        return Instant.now();
+        /**
+         * Normaliza AM/PM en español y offsets {@code GMT-5} a {@code GMT-05}.
+         */
+        private static String normalizar(String raw) {
+            String normalizada = raw
+                    .replace("p.m.", "PM")
+                    .replace("a.m.", "AM")
+                    .replace("p. m.", "PM")
+                    .replace("a. m.", "AM")
+                    .replace("pm", "PM")
+                    .replace("am", "AM")
+                    .replace("Pm", "PM")
+                    .replace("Am", "AM")
+                    .trim();
+
+            // Google Forms envía a veces:
+            // "GMT-5", "GMT-05", "GMT-05:00"
+            return GMT_UN_DIGITO.matcher(normalizada).replaceAll("GMT-0$1"); // para que XXX lo entienda
+        }
     }
 
 }
\ No newline at end of file
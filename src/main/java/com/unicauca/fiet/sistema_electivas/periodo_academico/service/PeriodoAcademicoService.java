@@ -86,7 +86,9 @@ public interface PeriodoAcademicoService {
      *   <li>Verifica que el período esté en estado {@code ABIERTO} antes de cerrarlo.</li>
      *   <li>Cambia el estado a {@code EN_PROCESO_ASIGNACION} y guarda el cambio.</li>
      *   <li>Extrae el {@code formId} desde la URL del formulario de Google asociada al período.</li>
-     *   <li>Obtiene automáticamente las respuestas del formulario mediante la API de Google Forms.</li>
+     *   <li>Obtiene automáticamente las respuestas del formulario mediante la API de Google Forms:
+     *       solo las recibidas después de la última sincronización programada, que se suman a
+     *       las ya sincronizadas mientras el formulario estuvo abierto.</li>
      *   <li>Si no existe una URL configurada, cambia el estado a {@code CONFIGURACION} y lanza excepción.</li>
      * </ul>
      *
@@ -2,8 +2,7 @@ package com.unicauca.fiet.sistema_electivas.periodo_academico.service;
 
 import com.unicauca.fiet.sistema_electivas.archivo.service.ArchivoService;
 import com.unicauca.fiet.sistema_electivas.common.exception.*;
-import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectiva;
-import com.unicauca.fiet.sistema_electivas.electiva.repository.ProgramaElectivaRepository;
+import com.unicauca.fiet.sistema_electivas.electiva.service.CatalogoElectivas;
 import com.unicauca.fiet.sistema_electivas.integracion.google.GoogleFormsClient;
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.dto.*;
@@ -20,7 +19,6 @@ import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.*;
@@ -52,7 +50,9 @@ public class PeriodoAcademicoServiceImpl implements PeriodoAcademicoService {
     @Autowired
     private FormularioImportService formularioImportService;
     @Autowired
-    private ProgramaElectivaRepository programaElectivaRepository;
+    private SincronizacionFormularioService sincronizacionFormularioService;
+    @Autowired
+    private CatalogoElectivas catalogoElectivas;
     private final ReentrantLock lockCerrarFormulario = new ReentrantLock();
 
 
@@ -122,21 +122,8 @@ public class PeriodoAcademicoServiceImpl implements PeriodoAcademicoService {
     @Override
     @Transactional(readOnly = true)
     public List<PeriodoAcademicoResponse> listarPeriodos(String semestreTexto, EstadoPeriodoAcademico estado) {
-        List<PeriodoAcademico> periodos;
-
-        if (semestreTexto != null && !semestreTexto.isBlank() && estado != null) {
-            periodos = periodoRepository.buscarPorSemestreYEstado(semestreTexto, estado);
-        } else if (semestreTexto != null && !semestreTexto.isBlank()) {
-            periodos = periodoRepository.buscarPorSemestre(semestreTexto);
-        } else if (estado != null) {
-            periodos = periodoRepository.findByEstadoOrderBySemestreDesc(estado);
-        } else {
-            periodos = periodoRepository.findAll(Sort.by(Sort.Direction.DESC, "semestre"));
-        }
-
-        return periodos.stream()
-                .map(PeriodoAcademicoMapper::toResponse)
-                .collect(Collectors.toList());
+        String texto = semestreTexto != null && !semestreTexto.isBlank() ? semestreTexto : null;
+        return periodoRepository.listarResumen(texto, estado);
     }
 
     /**
@@ -198,19 +185,20 @@ public class PeriodoAcademicoServiceImpl implements PeriodoAcademicoService {
                 .collect(Collectors.toList());
 
         // 9. Crear formulario de preinscripción
-        // Obtenemos las relaciones programa-electiva
-        List<ProgramaElectiva> relaciones = programaElectivaRepository.findAllWithProgramaAprobadoAndElectiva();
-
-        // Filtrar solo relaciones cuyas electivas estén en curso
-        List<ProgramaElectiva> relacionesEnCurso = relaciones.stream()
-                .filter(pe -> electivasEnCurso.contains(pe.getElectiva()))
-                .toList();
+        // Programas aprobados de cada electiva en curso, tomados del catálogo
+        Set<Long> idsProgramasAprobados = programasAprobados.stream()
+                .map(Programa::getId)
+                .collect(Collectors.toSet());
 
         Map<Long, List<Electiva>> electivasPorPrograma = new HashMap<>();
-        for (ProgramaElectiva pe : relacionesEnCurso) {
-            electivasPorPrograma
-                    .computeIfAbsent(pe.getPrograma().getId(), k -> new ArrayList<>())
-                    .add(pe.getElectiva());
+        for (Electiva electiva : electivasEnCurso) {
+            for (Long programaId : catalogoElectivas.programasDe(electiva.getId())) {
+                if (idsProgramasAprobados.contains(programaId)) {
+                    electivasPorPrograma
+                            .computeIfAbsent(programaId, k -> new ArrayList<>())
+                            .add(electiva);
+                }
+            }
         }
 
         Map<String, Object> respuesta = googleFormsClient.generarFormulario(periodo, programasAprobados, electivasPorPrograma);
@@ -309,13 +297,18 @@ public class PeriodoAcademicoServiceImpl implements PeriodoAcademicoService {
             try {
                 googleFormsClient.cerrarFormulario(formId);
 
-                List<Map<String, String>> datos = googleFormsClient.obtenerRespuestas(formId);
-                if (datos.isEmpty()) {
+                // Solo se consulta lo recibido desde la última sincronización programada
+                sincronizacionFormularioService.sincronizarPeriodo(periodo);
+                if (!sincronizacionFormularioService.existenRespuestasSincronizadas(periodoId)) {
                     throw new GoogleFormsException("No se encontraron respuestas.");
                 }
 
+                // El archivo y la importación recorren lo sincronizado por páginas, una pasada cada uno:
+                // la importación necesita la carga del archivo, que solo se conoce con el contenido completo
+                Iterable<Map<String, String>> datos = sincronizacionFormularioService.recorrerRespuestasSincronizadas(periodoId);
                 CargaArchivo archivo = archivoService.guardarArchivoRespuestas(datos, periodo);
                 formularioImportService.procesarRespuestas(datos, periodo, archivo);
+                sincronizacionFormularioService.descartarRespuestasSincronizadas(periodoId);
 
             } catch (GoogleFormsException ex) {
                 log.warn("Fallo en obtención automática de respuestas. Requiere carga manual: {}", ex.getMessage());
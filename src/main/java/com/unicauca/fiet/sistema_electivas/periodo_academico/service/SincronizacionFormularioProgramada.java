@@ -0,0 +1,44 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.service;
+
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tarea programada que sincroniza las respuestas de los formularios abiertos.
+ *
+ * <p>Reparte la consulta a la API de Google Forms a lo largo del período de inscripción,
+ * de modo que el cierre del formulario solo necesite traer las últimas respuestas.
+ * Se desactiva con {@code google.forms.sync.habilitada=false}.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "google.forms.sync.habilitada", havingValue = "true", matchIfMissing = true)
+public class SincronizacionFormularioProgramada {
+
+    private final PeriodoAcademicoRepository periodoRepository;
+    private final SincronizacionFormularioService sincronizacionService;
+
+    @Scheduled(
+            initialDelayString = "${google.forms.sync.retraso-inicial:PT1M}",
+            fixedDelayString = "${google.forms.sync.intervalo:PT5M}"
+    )
+    public void sincronizarFormulariosAbiertos() {
+        for (PeriodoAcademico periodo : periodoRepository.findByEstadoOrderBySemestreDesc(EstadoPeriodoAcademico.ABIERTO_FORMULARIO)) {
+            if (periodo.getFormId() == null || periodo.getFormId().isBlank()) continue;
+
+            try {
+                sincronizacionService.sincronizarPeriodo(periodo);
+            } catch (RuntimeException e) {
+                // Un fallo no debe detener la sincronización de los demás períodos; se reintenta en la siguiente ejecución
+                log.warn("No fue posible sincronizar las respuestas del período [{}]: {}", periodo.getSemestre(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.service;
+
+import com.unicauca.fiet.sistema_electivas.common.exception.GoogleFormsException;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+
+import java.util.Map;
+
+/**
+ * Servicio de sincronización incremental de las respuestas de Google Forms.
+ *
+ * <p>Mientras el período está en {@code ABIERTO_FORMULARIO}, las respuestas se consultan
+ * periódicamente a partir del último envío ya registrado y se guardan en la base de datos.
+ * Al cerrar el formulario solo falta traer lo recibido desde la última sincronización.</p>
+ */
+public interface SincronizacionFormularioService {
+
+    /**
+     * Consulta en Google Forms las respuestas enviadas o editadas desde el último envío
+     * sincronizado del período y las registra.
+     *
+     * <p>Si el período ya no está en {@code ABIERTO_FORMULARIO} no se consulta nada.</p>
+     *
+     * @param periodo período con formulario configurado ({@code formId}).
+     * @return cantidad de respuestas nuevas o actualizadas.
+     * @throws GoogleFormsException si la API de Google Forms falla.
+     */
+    int sincronizarPeriodo(PeriodoAcademico periodo);
+
+    /**
+     * Recorre las respuestas sincronizadas de un período en el formato de importación,
+     * ordenadas por fecha de envío.
+     *
+     * <p>Las respuestas se leen de la base de datos por páginas a medida que se recorren, de modo
+     * que nunca están todas en memoria. Cada recorrido vuelve a consultarlas.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @return pares pregunta-respuesta de cada respuesta.
+     */
+    Iterable<Map<String, String>> recorrerRespuestasSincronizadas(Long periodoId);
+
+    /**
+     * Indica si el período tiene respuestas sincronizadas.
+     *
+     * @param periodoId ID del período académico.
+     * @return {@code true} si hay al menos una respuesta.
+     */
+    boolean existenRespuestasSincronizadas(Long periodoId);
+
+    /**
+     * Elimina las respuestas sincronizadas de un período una vez importadas.
+     *
+     * @param periodoId ID del período académico.
+     */
+    void descartarRespuestasSincronizadas(Long periodoId);
+}
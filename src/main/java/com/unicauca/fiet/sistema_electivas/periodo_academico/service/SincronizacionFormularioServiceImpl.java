@@ -0,0 +1,215 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.service;
+
+import com.unicauca.fiet.sistema_electivas.common.exception.GoogleFormsException;
+import com.unicauca.fiet.sistema_electivas.common.util.ConcurrenciaUtil;
+import com.unicauca.fiet.sistema_electivas.integracion.google.GoogleFormsClient;
+import com.unicauca.fiet.sistema_electivas.integracion.google.RespuestaGoogleForms;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.dto.DatosRespuestaSincronizada;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaFormsSincronizada;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestaFormsSincronizadaRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SincronizacionFormularioServiceImpl implements SincronizacionFormularioService {
+
+    // Páginas descargadas que pueden esperar a ser registradas (cada página trae hasta 5000 respuestas)
+    private static final int PAGINAS_EN_COLA = 2;
+
+    // Respuestas leídas por consulta al recorrer lo sincronizado (una página de Google Forms trae hasta 5000)
+    private static final int TAMANO_PAGINA_LECTURA = 1000;
+
+    // Marca de fin de la descarga; se compara por identidad
+    private static final List<RespuestaGoogleForms> FIN_PAGINAS = new ArrayList<>(0);
+
+    private final GoogleFormsClient googleFormsClient;
+    private final RespuestaFormsSincronizadaRepository sincronizadaRepository;
+    private final PeriodoAcademicoRepository periodoRepository;
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>La consulta a Google Forms y el registro en la base de datos avanzan en paralelo:
+     * un hilo virtual descarga y convierte las páginas y las deja en una cola acotada, y el
+     * hilo de la transacción las registra a medida que llegan. Si el registro se atrasa, la
+     * cola llena detiene la descarga, de modo que en memoria nunca hay más de
+     * {@value #PAGINAS_EN_COLA} páginas pendientes.</p>
+     *
+     * <p>El período se vuelve a leer con su fila bloqueada hasta el fin de la transacción: dos
+     * sincronizaciones del mismo período (la programada y la del cierre) no se solapan, y la que
+     * esperaba a que otra cerrara el formulario encuentra el período cerrado y no hace nada.</p>
+     */
+    @Override
+    @Transactional
+    public int sincronizarPeriodo(PeriodoAcademico periodo) {
+        PeriodoAcademico bloqueado = periodoRepository.findByIdParaActualizar(periodo.getId()).orElse(null);
+        if (bloqueado == null || bloqueado.getEstado() != EstadoPeriodoAcademico.ABIERTO_FORMULARIO) {
+            log.debug("Período [{}]: el formulario ya no está abierto; no se sincroniza.", periodo.getSemestre());
+            return 0;
+        }
+
+        Instant desde = sincronizadaRepository.findUltimoEnvioByPeriodoId(bloqueado.getId()).orElse(null);
+        BlockingQueue<List<RespuestaGoogleForms>> paginas = new ArrayBlockingQueue<>(PAGINAS_EN_COLA);
+
+        int registradas = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<?> descarga = executor.submit(() -> {
+                try {
+                    googleFormsClient.recorrerRespuestas(bloqueado.getFormId(), desde, pagina -> encolar(paginas, pagina));
+                } finally {
+                    encolar(paginas, FIN_PAGINAS);
+                }
+            });
+
+            try {
+                for (List<RespuestaGoogleForms> pagina = tomar(paginas); pagina != FIN_PAGINAS; pagina = tomar(paginas)) {
+                    registradas += registrarPagina(bloqueado, pagina);
+                }
+            } catch (RuntimeException e) {
+                // Liberar la descarga si quedó bloqueada esperando espacio en la cola
+                descarga.cancel(true);
+                throw e;
+            }
+
+            // Propaga el error de la API, si lo hubo
+            ConcurrenciaUtil.esperar(descarga);
+        }
+
+        log.debug("Período [{}]: {} respuestas sincronizadas desde {}.", periodo.getSemestre(), registradas, desde);
+        return registradas;
+    }
+
+    /**
+     * Registra una página descargada: una consulta trae las respuestas de la página que ya
+     * estaban sincronizadas y el resto se inserta en lote.
+     *
+     * <p>Una respuesta ya registrada solo se actualiza si el envío recibido es igual o más
+     * reciente, de modo que volver a recibirla no crea duplicados ni retrocede sus datos.</p>
+     *
+     * @return cantidad de respuestas insertadas o actualizadas
+     */
+    private int registrarPagina(PeriodoAcademico periodo, List<RespuestaGoogleForms> pagina) {
+        if (pagina.isEmpty()) return 0;
+
+        Map<String, RespuestaFormsSincronizada> registradas = new HashMap<>();
+        for (RespuestaFormsSincronizada existente : sincronizadaRepository.findByPeriodoIdAndResponseIdIn(
+                periodo.getId(), pagina.stream().map(RespuestaGoogleForms::responseId).toList())) {
+            registradas.put(existente.getResponseId(), existente);
+        }
+
+        Instant ahora = Instant.now();
+        List<RespuestaFormsSincronizada> cambios = new ArrayList<>(pagina.size());
+        for (RespuestaGoogleForms respuesta : pagina) {
+            RespuestaFormsSincronizada sincronizada = registradas.get(respuesta.responseId());
+            if (sincronizada == null) {
+                sincronizada = new RespuestaFormsSincronizada();
+                sincronizada.setPeriodo(periodo);
+                sincronizada.setResponseId(respuesta.responseId());
+                registradas.put(respuesta.responseId(), sincronizada);
+            } else if (sincronizada.getUltimoEnvio().isAfter(respuesta.ultimoEnvio())) {
+                continue;
+            }
+            sincronizada.setUltimoEnvio(respuesta.ultimoEnvio());
+            sincronizada.setDatos(respuesta.datos());
+            sincronizada.setFechaSincronizacion(ahora);
+            cambios.add(sincronizada);
+        }
+
+        sincronizadaRepository.saveAll(cambios);
+        sincronizadaRepository.flush();
+        return cambios.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Cada recorrido consulta la base de datos por páginas de {@value #TAMANO_PAGINA_LECTURA}
+     * respuestas, sin convertirlas en entidades; debe hacerse dentro de la transacción del llamador.</p>
+     */
+    @Override
+    public Iterable<Map<String, String>> recorrerRespuestasSincronizadas(Long periodoId) {
+        return () -> new Iterator<>() {
+            private int numeroPagina = 0;
+            private Iterator<DatosRespuestaSincronizada> pagina = Collections.emptyIterator();
+            private boolean hayMasPaginas = true;
+
+            @Override
+            public boolean hasNext() {
+                while (!pagina.hasNext() && hayMasPaginas) {
+                    Slice<DatosRespuestaSincronizada> siguiente = sincronizadaRepository.findDatosByPeriodoId(
+                            periodoId, PageRequest.of(numeroPagina++, TAMANO_PAGINA_LECTURA));
+                    pagina = siguiente.iterator();
+                    hayMasPaginas = siguiente.hasNext();
+                }
+                return pagina.hasNext();
+            }
+
+            @Override
+            public Map<String, String> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return pagina.next().datos();
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existenRespuestasSincronizadas(Long periodoId) {
+        return sincronizadaRepository.existsByPeriodoId(periodoId);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public void descartarRespuestasSincronizadas(Long periodoId) {
+        sincronizadaRepository.deleteByPeriodoId(periodoId);
+    }
+
+    private static void encolar(BlockingQueue<List<RespuestaGoogleForms>> paginas, List<RespuestaGoogleForms> pagina) {
+        try {
+            paginas.put(pagina);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GoogleFormsException("La descarga de respuestas fue interrumpida.", e);
+        }
+    }
+
+    private static List<RespuestaGoogleForms> tomar(BlockingQueue<List<RespuestaGoogleForms>> paginas) {
+        try {
+            return paginas.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("La sincronización fue interrumpida.", e);
+        }
+    }
+}
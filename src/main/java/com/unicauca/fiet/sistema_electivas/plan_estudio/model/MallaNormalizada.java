@@ -0,0 +1,181 @@
+package com.unicauca.fiet.sistema_electivas.plan_estudio.model;
+
+import com.unicauca.fiet.sistema_electivas.common.util.BuscadorSubcadenas;
+import com.unicauca.fiet.sistema_electivas.common.util.TextoUtil;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
+
+import java.util.List;
+
+/**
+ * Vista inmutable de la malla curricular de un plan de estudios, con los nombres de las
+ * materias ya normalizados.
+ *
+ * <p>Las materias se conservan ordenadas por semestre y nombre, de modo que las materias
+ * "hasta el semestre N" son siempre un prefijo de la lista. Incluye un
+ * {@link BuscadorSubcadenas} sobre los nombres normalizados para encontrar en un solo
+ * recorrido qué materias del plan aparecen dentro de un texto.</p>
+ *
+ * <p>Por cada semestre guarda, acumulados desde el primero, la cantidad de materias y los
+ * créditos totales y por tipo de materia, de modo que las consultas "hasta el semestre N" no
+ * recorren la lista.</p>
+ */
+public final class MallaNormalizada {
+
+    /**
+     * Materia del plan con su nombre normalizado.
+     *
+     * @param nombre nombre original de la materia
+     * @param nombreNormalizado nombre sin tildes, en minúsculas y sin espacios externos
+     * @param semestre semestre de la materia
+     * @param tipo tipo de materia
+     * @param creditos créditos de la materia
+     */
+    public record MateriaNormalizada(
+            String nombre,
+            String nombreNormalizado,
+            int semestre,
+            TipoMateria tipo,
+            int creditos
+    ) {
+    }
+
+    private final Long planId;
+    private final List<MateriaNormalizada> materias;
+    private final BuscadorSubcadenas buscadorNombres;
+
+    // --- Acumulados por semestre, indexados por número de semestre (0 = ninguno) ---
+    /** Materias con semestre menor o igual al índice. */
+    private final int[] materiasHasta;
+    /** Créditos de todas las materias con semestre menor o igual al índice. */
+    private final int[] creditosHasta;
+    /** Créditos por tipo de materia ({@link TipoMateria#ordinal()}) con semestre menor o igual al índice. */
+    private final int[][] creditosPorTipoHasta;
+
+    private MallaNormalizada(Long planId, List<MateriaNormalizada> materias) {
+        this.planId = planId;
+        this.materias = materias;
+        this.buscadorNombres = new BuscadorSubcadenas(
+                materias.stream().map(MateriaNormalizada::nombreNormalizado).toList()
+        );
+
+        int ultimoSemestre = materias.stream().mapToInt(MateriaNormalizada::semestre).max().orElse(0);
+        this.materiasHasta = new int[ultimoSemestre + 1];
+        this.creditosHasta = new int[ultimoSemestre + 1];
+        this.creditosPorTipoHasta = new int[TipoMateria.values().length][ultimoSemestre + 1];
+        for (MateriaNormalizada materia : materias) {
+            int semestre = Math.max(materia.semestre(), 0);
+            materiasHasta[semestre]++;
+            creditosHasta[semestre] += materia.creditos();
+            if (materia.tipo() != null) {
+                creditosPorTipoHasta[materia.tipo().ordinal()][semestre] += materia.creditos();
+            }
+        }
+        acumular(materiasHasta);
+        acumular(creditosHasta);
+        for (int[] creditosTipo : creditosPorTipoHasta) {
+            acumular(creditosTipo);
+        }
+    }
+
+    private static void acumular(int[] valores) {
+        for (int i = 1; i < valores.length; i++) {
+            valores[i] += valores[i - 1];
+        }
+    }
+
+    /**
+     * Construye la malla a partir de las materias del plan.
+     *
+     * @param planId ID del plan de estudios
+     * @param materiasOrdenadas materias ordenadas por semestre y nombre
+     * @return malla normalizada
+     */
+    public static MallaNormalizada desde(Long planId, List<PlanMateria> materiasOrdenadas) {
+        return new MallaNormalizada(planId, materiasOrdenadas.stream()
+                .map(m -> new MateriaNormalizada(
+                        m.getNombre(),
+                        TextoUtil.normalizar(m.getNombre()),
+                        m.getSemestre(),
+                        m.getTipo(),
+                        m.getCreditos()
+                ))
+                .toList());
+    }
+
+    public Long getPlanId() {
+        return planId;
+    }
+
+    /** Materias del plan, ordenadas por semestre y nombre. */
+    public List<MateriaNormalizada> getMaterias() {
+        return materias;
+    }
+
+    /** Buscador cuyos índices de patrón coinciden con las posiciones de {@link #getMaterias()}. */
+    public BuscadorSubcadenas getBuscadorNombres() {
+        return buscadorNombres;
+    }
+
+    /**
+     * Cantidad de materias con semestre menor o igual a {@code semestre}, es decir, la longitud
+     * del prefijo de {@link #getMaterias()} que corresponde a esos semestres.
+     *
+     * @param semestre último semestre incluido
+     * @return número de materias hasta ese semestre
+     */
+    public int cantidadHastaSemestre(int semestre) {
+        return acumuladoHasta(materiasHasta, semestre);
+    }
+
+    /**
+     * Materias de un semestre, ordenadas por nombre.
+     *
+     * @param semestre número de semestre
+     * @return vista de {@link #getMaterias()} con las materias de ese semestre (vacía si no hay)
+     */
+    public List<MateriaNormalizada> materiasDelSemestre(int semestre) {
+        return materias.subList(cantidadHastaSemestre(semestre - 1), cantidadHastaSemestre(semestre));
+    }
+
+    /**
+     * Créditos de las materias con semestre menor o igual a {@code semestre}.
+     *
+     * @param semestre último semestre incluido
+     * @return suma de créditos hasta ese semestre
+     */
+    public int creditosHastaSemestre(int semestre) {
+        return acumuladoHasta(creditosHasta, semestre);
+    }
+
+    /**
+     * Créditos de las materias de un tipo con semestre menor o igual a {@code semestre}.
+     *
+     * @param semestre último semestre incluido
+     * @param tipo tipo de materia
+     * @return suma de créditos de ese tipo hasta ese semestre
+     */
+    public int creditosHastaSemestre(int semestre, TipoMateria tipo) {
+        return acumuladoHasta(creditosPorTipoHasta[tipo.ordinal()], semestre);
+    }
+
+    /** Créditos de todas las materias del plan. */
+    public int getCreditosTotales() {
+        return creditosHasta[creditosHasta.length - 1];
+    }
+
+    /**
+     * Créditos de todas las materias de un tipo.
+     *
+     * @param tipo tipo de materia
+     * @return suma de créditos de ese tipo en todo el plan
+     */
+    public int getCreditos(TipoMateria tipo) {
+        int[] acumulado = creditosPorTipoHasta[tipo.ordinal()];
+        return acumulado[acumulado.length - 1];
+    }
+
+    private static int acumuladoHasta(int[] acumulado, int semestre) {
+        if (semestre < 0) return 0;
+        return acumulado[Math.min(semestre, acumulado.length - 1)];
+    }
+}
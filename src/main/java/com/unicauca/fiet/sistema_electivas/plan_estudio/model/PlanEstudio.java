@@ -1,11 +1,14 @@
 package com.unicauca.fiet.sistema_electivas.plan_estudio.model;
 
-import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.EstadoPlanEstudio;
+import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -15,6 +18,8 @@ import java.util.Map;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.PLAN_ESTUDIO)
 @Table(name = "plan_estudios")
 public class PlanEstudio {
 
@@ -0,0 +1,316 @@
+package com.unicauca.fiet.sistema_electivas.plan_estudio.model;
+
+import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.dto.ReglaNivelacion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reglas de un {@link PlanEstudio} ya interpretadas desde su configuración JSON.
+ *
+ * <p>Las reglas de nivelación se guardan como arreglos paralelos (semestre, créditos mínimos,
+ * períodos máximos) ordenados de mayor a menor semestre, y las electivas por semestre como una
+ * tabla indexada por semestre. Evaluar un estudiante no requiere convertir JSON ni nombres de
+ * semestre.</p>
+ *
+ * <p>También guarda los créditos configurados del plan y los derivados de ellos (créditos de
+ * electivas y obligatorios), que el cálculo de avance y las reglas de asignación usan por cada
+ * estudiante.</p>
+ *
+ * <p>Es inmutable y puede compartirse entre hilos.</p>
+ */
+public final class ReglasPlanCompiladas {
+
+    /** Marca de "sin valor" en la tabla de electivas (equivale a un valor nulo o no numérico). */
+    public static final int SIN_VALOR = Integer.MIN_VALUE;
+
+    /** Semestres con tabla precalculada como máximo; rangos mayores se evalúan con búsqueda binaria. */
+    private static final int MAXIMO_RANGO_TABLA = 64;
+
+    /** Créditos que vale cada electiva. */
+    public static final int CREDITOS_POR_ELECTIVA = 3;
+
+    /**
+     * Créditos configurados de un plan y sus derivados.
+     *
+     * @param creditosTotales créditos totales del plan, o {@link #SIN_VALOR} si no están configurados
+     * @param electivasRequeridas electivas que exige el plan (0 si no está configurado)
+     * @param creditosElectivas créditos de las electivas requeridas
+     * @param creditosTrabajoGrado créditos del trabajo de grado (0 si no está configurado)
+     * @param creditosObligatorios créditos totales sin electivas ni trabajo de grado, o
+     *                             {@link #SIN_VALOR} si no hay créditos totales
+     */
+    public record CreditosPlan(
+            int creditosTotales,
+            int electivasRequeridas,
+            int creditosElectivas,
+            int creditosTrabajoGrado,
+            int creditosObligatorios
+    ) {
+
+        /**
+         * Calcula los derivados a partir de la configuración del plan.
+         *
+         * @param creditosTotales créditos totales del plan, o {@code null}
+         * @param electivasRequeridas electivas requeridas, o {@code null}
+         * @param creditosTrabajoGrado créditos del trabajo de grado, o {@code null}
+         * @return créditos del plan
+         */
+        public static CreditosPlan desde(Integer creditosTotales, Integer electivasRequeridas, Integer creditosTrabajoGrado) {
+            int electivas = electivasRequeridas != null ? electivasRequeridas : 0;
+            int trabajoGrado = creditosTrabajoGrado != null ? creditosTrabajoGrado : 0;
+            int creditosElectivas = electivas * CREDITOS_POR_ELECTIVA;
+            return new CreditosPlan(
+                    creditosTotales != null ? creditosTotales : SIN_VALOR,
+                    electivas,
+                    creditosElectivas,
+                    trabajoGrado,
+                    creditosTotales != null ? creditosTotales - creditosElectivas - trabajoGrado : SIN_VALOR
+            );
+        }
+
+        /** Indica si el plan tiene configurados sus créditos totales. */
+        public boolean tieneCreditosTotales() {
+            return creditosTotales != SIN_VALOR;
+        }
+    }
+
+    private final CreditosPlan creditos;
+
+    // --- Reglas de nivelación ---
+    private final int[] semestresRegla;
+    private final int[] minCreditos;
+    private final int[] maxPeriodos;
+    /** Nombre de semestre no reconocido en las reglas, si lo hay. */
+    private final String semestreNoReconocido;
+
+    // --- Electivas por semestre ---
+    /** Claves numéricas ordenadas y su valor en el mapa original ({@link #SIN_VALOR} si no es entero). */
+    private final int[] clavesElectivas;
+    private final int[] valoresElectivas;
+    /** Si la clave {@code String.valueOf(semestre)} existe literalmente en el mapa original. */
+    private final boolean[] claveExacta;
+    /** Tabla para semestres en [primerSemestreTabla, primerSemestreTabla + tabla.length). */
+    private final int[] tablaElectivas;
+    private final int primerSemestreTabla;
+
+    private ReglasPlanCompiladas(
+            CreditosPlan creditos,
+            int[] semestresRegla, int[] minCreditos, int[] maxPeriodos, String semestreNoReconocido,
+            int[] clavesElectivas, int[] valoresElectivas, boolean[] claveExacta
+    ) {
+        this.creditos = creditos;
+        this.semestresRegla = semestresRegla;
+        this.minCreditos = minCreditos;
+        this.maxPeriodos = maxPeriodos;
+        this.semestreNoReconocido = semestreNoReconocido;
+        this.clavesElectivas = clavesElectivas;
+        this.valoresElectivas = valoresElectivas;
+        this.claveExacta = claveExacta;
+
+        if (clavesElectivas.length > 0
+                && (long) clavesElectivas[clavesElectivas.length - 1] - clavesElectivas[0] < MAXIMO_RANGO_TABLA) {
+            // Una posición extra a cada lado cubre "por debajo del menor" y "por encima del mayor"
+            this.primerSemestreTabla = clavesElectivas[0] - 1;
+            this.tablaElectivas = new int[clavesElectivas[clavesElectivas.length - 1] - clavesElectivas[0] + 3];
+            for (int i = 0; i < tablaElectivas.length; i++) {
+                tablaElectivas[i] = buscarElectivas(primerSemestreTabla + i);
+            }
+        } else {
+            this.primerSemestreTabla = 0;
+            this.tablaElectivas = null;
+        }
+    }
+
+    /**
+     * Compila las reglas de un plan.
+     *
+     * @param reglasNivelacion reglas de nivelación ya convertidas (clave = nombre del semestre), o {@code null}
+     * @param electivasPorSemestre mapa de electivas por semestre del plan, o {@code null}
+     * @param creditos créditos configurados del plan
+     * @return reglas compiladas
+     */
+    public static ReglasPlanCompiladas compilar(
+            Map<String, ReglaNivelacion> reglasNivelacion,
+            Map<String, Object> electivasPorSemestre,
+            CreditosPlan creditos
+    ) {
+        // --- Reglas de nivelación, de mayor a menor semestre ---
+        List<int[]> reglas = new ArrayList<>();
+        String noReconocido = null;
+        if (reglasNivelacion != null) {
+            for (Map.Entry<String, ReglaNivelacion> entry : reglasNivelacion.entrySet()) {
+                int semestre = numeroSemestre(entry.getKey());
+                if (semestre == 0) {
+                    noReconocido = noReconocido != null ? noReconocido : entry.getKey();
+                }
+                ReglaNivelacion regla = entry.getValue();
+                reglas.add(new int[]{
+                        semestre,
+                        regla.getMinCreditosAprobados() != null ? regla.getMinCreditosAprobados() : Integer.MAX_VALUE,
+                        regla.getMaxPeriodosMatriculados() != null ? regla.getMaxPeriodosMatriculados() : Integer.MIN_VALUE
+                });
+            }
+        }
+        reglas.sort((a, b) -> Integer.compare(b[0], a[0]));
+
+        // --- Electivas por semestre: solo claves enteras, ordenadas ---
+        List<Integer> claves = new ArrayList<>();
+        if (electivasPorSemestre != null) {
+            for (String clave : electivasPorSemestre.keySet()) {
+                try {
+                    claves.add(Integer.valueOf(clave));
+                } catch (NumberFormatException ex) {
+                    // Claves no numéricas se ignoran
+                }
+            }
+        }
+        int[] clavesOrdenadas = claves.stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] valores = new int[clavesOrdenadas.length];
+        boolean[] exactas = new boolean[clavesOrdenadas.length];
+        for (int i = 0; i < clavesOrdenadas.length; i++) {
+            String texto = String.valueOf(clavesOrdenadas[i]);
+            exactas[i] = electivasPorSemestre.containsKey(texto);
+            valores[i] = enteroSeguro(electivasPorSemestre.get(texto));
+        }
+
+        return new ReglasPlanCompiladas(
+                creditos,
+                reglas.stream().mapToInt(r -> r[0]).toArray(),
+                reglas.stream().mapToInt(r -> r[1]).toArray(),
+                reglas.stream().mapToInt(r -> r[2]).toArray(),
+                noReconocido,
+                clavesOrdenadas,
+                valores,
+                exactas
+        );
+    }
+
+    /** Créditos configurados del plan y sus derivados. */
+    public CreditosPlan getCreditos() {
+        return creditos;
+    }
+
+    /** Indica si el plan tiene reglas de nivelación configuradas. */
+    public boolean tieneReglasNivelacion() {
+        return semestresRegla.length > 0;
+    }
+
+    /**
+     * Indica si el estudiante cumple al menos una regla de nivelación del plan.
+     *
+     * @param creditosAprobados créditos aprobados del estudiante
+     * @param periodosMatriculados períodos matriculados del estudiante
+     * @return {@code true} si alguna regla se cumple
+     */
+    public boolean cumpleAlgunaRegla(int creditosAprobados, int periodosMatriculados) {
+        for (int i = 0; i < semestresRegla.length; i++) {
+            if (creditosAprobados >= minCreditos[i] && periodosMatriculados <= maxPeriodos[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Semestre más alto cuya regla de nivelación cumple el estudiante.
+     *
+     * @param creditosAprobados créditos aprobados del estudiante
+     * @param periodosMatriculados períodos matriculados del estudiante
+     * @return número de semestre, o 0 si no cumple ninguna regla
+     * @throws BusinessException si alguna regla usa un nombre de semestre no reconocido
+     */
+    public int semestreNivelacion(int creditosAprobados, int periodosMatriculados) {
+        if (semestreNoReconocido != null) {
+            throw new BusinessException("Nombre de semestre no reconocido: " + semestreNoReconocido);
+        }
+        // Ordenadas de mayor a menor: la primera que se cumple es la de semestre más alto
+        for (int i = 0; i < semestresRegla.length; i++) {
+            if (creditosAprobados >= minCreditos[i] && periodosMatriculados <= maxPeriodos[i]) {
+                return semestresRegla[i];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Indica si el plan tiene al menos una clave numérica en {@code electivasPorSemestre}.
+     */
+    public boolean tieneElectivasPorSemestre() {
+        return clavesElectivas.length > 0;
+    }
+
+    /**
+     * Electivas configuradas para un semestre.
+     *
+     * <p>Si el semestre no está configurado se usa el más cercano: el menor si está por debajo,
+     * el mayor si está por encima y, entre dos claves, la inmediatamente superior.</p>
+     *
+     * @param semestre semestre objetivo
+     * @return cantidad configurada, o {@link #SIN_VALOR} si no hay claves o el valor no es entero
+     */
+    public int electivasParaSemestre(int semestre) {
+        if (clavesElectivas.length == 0) {
+            return SIN_VALOR;
+        }
+        if (tablaElectivas != null) {
+            int indice = Math.min(Math.max(semestre - primerSemestreTabla, 0), tablaElectivas.length - 1);
+            return tablaElectivas[indice];
+        }
+        return buscarElectivas(semestre);
+    }
+
+    private int buscarElectivas(int semestre) {
+        int posicion = Arrays.binarySearch(clavesElectivas, semestre);
+        if (posicion >= 0 && claveExacta[posicion]) {
+            return valoresElectivas[posicion];
+        }
+        if (semestre <= clavesElectivas[0]) {
+            return valoresElectivas[0];
+        }
+        if (semestre >= clavesElectivas[clavesElectivas.length - 1]) {
+            return valoresElectivas[clavesElectivas.length - 1];
+        }
+        // Entre claves: la inmediatamente mayor o igual
+        int siguiente = posicion >= 0 ? posicion : -posicion - 1;
+        return valoresElectivas[siguiente];
+    }
+
+    /**
+     * Convierte el nombre de un semestre ("Octavo", "décimo", ...) a su número.
+     *
+     * @return número del semestre, o 0 si no se reconoce
+     */
+    private static int numeroSemestre(String nombre) {
+        return switch (nombre.toLowerCase()) {
+            case "primero" -> 1;
+            case "segundo" -> 2;
+            case "tercero" -> 3;
+            case "cuarto" -> 4;
+            case "quinto" -> 5;
+            case "sexto" -> 6;
+            case "séptimo", "septimo" -> 7;
+            case "octavo" -> 8;
+            case "noveno" -> 9;
+            case "décimo", "decimo" -> 10;
+            default -> 0;
+        };
+    }
+
+    private static int enteroSeguro(Object o) {
+        if (o instanceof Number numero) {
+            return numero.intValue();
+        }
+        if (o instanceof String texto) {
+            try {
+                return Integer.parseInt(texto);
+            } catch (NumberFormatException ex) {
+                return SIN_VALOR;
+            }
+        }
+        return SIN_VALOR;
+    }
+}
@@ -21,15 +21,11 @@ public interface PlanMateriaRepository extends JpaRepository<PlanMateria, Long>
     List<PlanMateria> findByPlanEstudios(PlanEstudio planEstudio);
 
     /**
-     * Obtiene las materias de un plan de estudios hasta un semestre específico (inclusive),
-     * ordenadas por semestre ascendente y nombre ascendente.
+     * Obtiene todas las materias de un plan de estudios, ordenadas por semestre
+     * ascendente y nombre ascendente.
      *
      * @param planEstudioId ID del plan de estudios
-     * @param semestre límite superior del semestre (inclusive)
-     * @return lista de materias correspondientes
+     * @return lista de materias del plan
      */
-    List<PlanMateria> findByPlanEstudios_IdAndSemestreLessThanEqualOrderBySemestreAscNombreAsc(
-            Long planEstudioId,
-            int semestre
-    );
+    List<PlanMateria> findByPlanEstudios_IdOrderBySemestreAscNombreAsc(Long planEstudioId);
 }
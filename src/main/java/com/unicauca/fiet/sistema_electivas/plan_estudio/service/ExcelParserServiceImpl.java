@@ -1,19 +1,20 @@
 package com.unicauca.fiet.sistema_electivas.plan_estudio.service;
 
+import com.unicauca.fiet.sistema_electivas.common.excel.EncabezadosExcel;
+import com.unicauca.fiet.sistema_electivas.common.excel.LectorExcel;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanMateria;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
 import java.util.*;
 
 /**
- * Implementación que usa Apache POI para convertir un .xlsx en PlanMateria.
+ * Implementación que usa Apache POI (lectura por eventos mediante {@link LectorExcel})
+ * para convertir un .xlsx en PlanMateria.
  */
 @Service
 @RequiredArgsConstructor
@@ -37,6 +38,8 @@ public class ExcelParserServiceImpl implements ExcelParserService {
             Map.entry("sem.", "semestre")
     );
 
+    private final LectorExcel lectorExcel;
+
     /**
      * {@inheritDoc}
      */
@@ -46,51 +49,18 @@ public class ExcelParserServiceImpl implements ExcelParserService {
             throw new BusinessException("El archivo está vacío o no fue enviado.");
         }
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
-
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new BusinessException("Archivo Excel sin hojas.");
-            }
-
-            // Leer encabezado (primera fila)
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new BusinessException("El archivo debe tener una fila de encabezado.");
-            }
-
-            // Mapear nombre de columna -> índice de columna (case-insensitive)
-            Map<String, Integer> headerIndex = new HashMap<>();
-            DataFormatter formatter = new DataFormatter();
-
-            for (Cell cell : headerRow) {
-                String raw = formatter.formatCellValue(cell);
-                if (raw != null) {
-                    String normalized = raw.trim().toLowerCase();
-                    String canonical = HEADER_ALIASES.get(normalized);
-                    if (canonical != null) {
-                        headerIndex.put(canonical, cell.getColumnIndex());
-                    }
-                }
-            }
-
-
-            if (!headerIndex.keySet().containsAll(REQUIRED_HEADERS_PLAN)) {
-                throw new BusinessException("Formato inválido. El archivo debe contener encabezados equivalentes a: codigo, nombre, creditos, semestre.");
-            }
+        EncabezadosExcel encabezados = EncabezadosExcel.conAlias(HEADER_ALIASES)
+                .requiriendo(REQUIRED_HEADERS_PLAN, "Formato inválido. El archivo debe contener encabezados equivalentes a: codigo, nombre, creditos, semestre.");
 
+        try {
             List<PlanMateria> materias = new ArrayList<>();
 
-            // Recorrer filas a partir de la segunda (i = 1)
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                String codigo = getCellString(row, headerIndex.get("codigo"), formatter);
-                String nombre = getCellString(row, headerIndex.get("nombre"), formatter);
-                Integer creditos = getCellInteger(row, headerIndex.get("creditos"));
-                Integer semestre = getCellInteger(row, headerIndex.get("semestre"));
+            // Recorrer filas a partir de la segunda (la primera es el encabezado)
+            lectorExcel.leer(file, encabezados, row -> {
+                String codigo = row.getTexto("codigo");
+                String nombre = row.getTexto("nombre");
+                Integer creditos = row.getEntero("creditos");
+                Integer semestre = row.getEntero("semestre");
 
                 // Verificar si la fila está "vacía"
                 int vacios = 0;
@@ -101,18 +71,20 @@ public class ExcelParserServiceImpl implements ExcelParserService {
 
                 if (vacios >= 3) {
                     // asumimos que ya no hay más datos → detener procesamiento
-                    break;
+                    return false;
                 }
 
+                int numeroFila = row.getNumeroFila() + 1;
+
                 // Validaciones normales (errores si falta un campo obligatorio)
                 if (nombre == null || nombre.isBlank()) {
-                    throw new BusinessException("Fila " + (i + 1) + ": el campo 'nombre' es obligatorio.");
+                    throw new BusinessException("Fila " + numeroFila + ": el campo 'nombre' es obligatorio.");
                 }
                 if (creditos == null || creditos <= 0) {
-                    throw new BusinessException("Fila " + (i + 1) + ": 'creditos' debe ser un entero positivo.");
+                    throw new BusinessException("Fila " + numeroFila + ": 'creditos' debe ser un entero positivo.");
                 }
                 if (semestre == null || semestre <= 0) {
-                    throw new BusinessException("Fila " + (i + 1) + ": 'semestre' debe ser un entero positivo.");
+                    throw new BusinessException("Fila " + numeroFila + ": 'semestre' debe ser un entero positivo.");
                 }
 
                 PlanMateria materia = new PlanMateria();
@@ -123,7 +95,8 @@ public class ExcelParserServiceImpl implements ExcelParserService {
                 materia.setPlanEstudios(plan);
 
                 materias.add(materia);
-            }
+                return true;
+            });
 
 
             if (materias.isEmpty()) {
@@ -174,51 +147,4 @@ public class ExcelParserServiceImpl implements ExcelParserService {
 
         return TipoMateria.OBLIGATORIA;
     }
-
-    /**
-     * Obtiene el valor de una celda de Excel como texto formateado y limpio.
-     *
-     * <p>Este método evita errores cuando las celdas son nulas o están vacías,
-     * y usa {@link DataFormatter} para convertir correctamente cualquier tipo
-     * de celda (numérica, string, fecha, fórmula) en una representación textual.
-     *
-     * @param row       Fila actual de la hoja Excel.
-     * @param colIndex  Índice de la columna a leer (puede ser nulo).
-     * @param formatter Instancia de {@link DataFormatter} para formatear la celda.
-     * @return Valor de la celda como texto limpio, o {@code null} si no existe.
-     */
-    private String getCellString(Row row, Integer colIndex, DataFormatter formatter) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        return formatter.formatCellValue(cell).trim();
-    }
-    /**
-     * Obtiene el valor entero de una celda de Excel.
-     *
-     * <p>Este método maneja celdas de tipo numérico y texto,
-     * intentando convertirlas a {@link Integer}. Si la celda no
-     * contiene un valor numérico válido, devuelve {@code null}.
-     *
-     * @param row      Fila actual de la hoja Excel.
-     * @param colIndex Índice de la columna a leer (puede ser nulo).
-     * @return Valor entero de la celda, o {@code null} si no puede parsearse.
-     */
-    private Integer getCellInteger(Row row, Integer colIndex) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-
-        if (cell.getCellType() == CellType.NUMERIC) {
-            double d = cell.getNumericCellValue();
-            return (int) d;
-        } else {
-            String s = cell.toString().trim();
-            try {
-                return Integer.parseInt(s);
-            } catch (NumberFormatException e) {
-                return null;
-            }
-        }
-    }
 }
@@ -0,0 +1,66 @@
+package com.unicauca.fiet.sistema_electivas.plan_estudio.service;
+
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.MallaNormalizada;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.repository.PlanMateriaRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché en memoria de las mallas curriculares normalizadas, por ID de plan de estudios.
+ *
+ * <p>La malla de un plan solo cambia al cargarla ({@code cargarMallaCurricular}), por lo que
+ * se construye una vez y se reutiliza en cada verificación. La carga de malla debe llamar a
+ * {@link #invalidar(Long)}.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class MallaNormalizadaCache {
+
+    private final PlanMateriaRepository planMateriaRepository;
+
+    private final Map<Long, MallaNormalizada> mallas = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene la malla normalizada de un plan, construyéndola si no está en caché.
+     *
+     * @param planId ID del plan de estudios
+     * @return malla normalizada (vacía si el plan no tiene materias)
+     */
+    public MallaNormalizada obtener(Long planId) {
+        MallaNormalizada malla = mallas.get(planId);
+        if (malla != null) {
+            return malla;
+        }
+        MallaNormalizada construida = MallaNormalizada.desde(
+                planId,
+                planMateriaRepository.findByPlanEstudios_IdOrderBySemestreAscNombreAsc(planId)
+        );
+        MallaNormalizada previa = mallas.putIfAbsent(planId, construida);
+        return previa != null ? previa : construida;
+    }
+
+    /**
+     * Descarta la malla de un plan.
+     *
+     * <p>Si hay una transacción activa, se descarta también al confirmarla, para que una lectura
+     * concurrente no deje en caché la malla anterior a la carga.</p>
+     *
+     * @param planId ID del plan de estudios
+     */
+    public void invalidar(Long planId) {
+        mallas.remove(planId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    mallas.remove(planId);
+                }
+            });
+        }
+    }
+}
@@ -10,12 +10,16 @@ import com.unicauca.fiet.sistema_electivas.plan_estudio.mapper.PlanEstudioMapper
 import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.MallaNormalizada;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.ReglasPlanCompiladas;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanMateria;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.repository.PlanEstudioRepository;
 import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.repository.PlanMateriaRepository;
 import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
+import com.unicauca.fiet.sistema_electivas.programa.service.DirectorioProgramas;
 import com.unicauca.fiet.sistema_electivas.common.exception.DuplicateResourceException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
 import jakarta.annotation.Nullable;
@@ -25,6 +29,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -42,6 +47,9 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
     private final ExcelParserService excelParserService;
     private final PlanMateriaRepository planMateriaRepository;
     private final PeriodoAcademicoRepository periodoAcademicoRepository;
+    private final MallaNormalizadaCache mallaNormalizadaCache;
+    private final ReglasPlanCache reglasPlanCache;
+    private final DirectorioProgramas directorioProgramas;
 
     /**
      * {@inheritDoc}
@@ -202,6 +210,7 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
         }
 
         PlanEstudio actualizado = planEstudioRepository.save(plan);
+        reglasPlanCache.invalidar(actualizado.getId());
 
         // Usamos el mapper para crear la respuesta
 
@@ -283,12 +292,13 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
         // 2. Parsear el archivo a entidades PlanMateria (no guardadas aún)
         List<PlanMateria> materias = excelParserService.parsearMaterias(file, plan);
 
-        // 3. Validar suma de créditos: total
-        int sumaCreditosMaterias = materias.stream()
-                .mapToInt(PlanMateria::getCreditos)
-                .sum();
-
+        // Modelo de la malla cargada: créditos totales y por tipo sumados en una sola pasada
+        MallaNormalizada malla = MallaNormalizada.desde(plan.getId(), materias.stream()
+                .sorted(Comparator.comparing(PlanMateria::getSemestre).thenComparing(PlanMateria::getNombre))
+                .toList());
 
+        // 3. Validar suma de créditos: total
+        int sumaCreditosMaterias = malla.getCreditosTotales();
 
         if (sumaCreditosMaterias != configuracion.getCreditosTotalesPlan()) {
             throw new BusinessException("Revise los créditos del plan, no coinciden con los ingresados manualmente. "
@@ -296,11 +306,8 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
         }
 
         // 4. Validar créditos de electivas
-        int creditosElectivasEsperado = 3 * configuracion.getElectivasRequeridas();
-        int creditosElectivasMaterias = materias.stream()
-                .filter(m -> "ELECTIVA".equalsIgnoreCase(m.getTipo().name()))
-                .mapToInt(PlanMateria::getCreditos)
-                .sum();
+        int creditosElectivasEsperado = ReglasPlanCompiladas.CREDITOS_POR_ELECTIVA * configuracion.getElectivasRequeridas();
+        int creditosElectivasMaterias = malla.getCreditos(TipoMateria.ELECTIVA);
 
         if (creditosElectivasMaterias != creditosElectivasEsperado) {
             throw new BusinessException("La suma de créditos de las electivas no coincide. "
@@ -308,10 +315,7 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
         }
 
         // 5. Validar créditos de trabajo de grado
-        int creditosTrabajoGradoMaterias = materias.stream()
-                .filter(m -> "TRABAJO_GRADO".equalsIgnoreCase(m.getTipo().name()))
-                .mapToInt(PlanMateria::getCreditos)
-                .sum();
+        int creditosTrabajoGradoMaterias = malla.getCreditos(TipoMateria.TRABAJO_GRADO);
 
         if (creditosTrabajoGradoMaterias != configuracion.getCreditosTrabajoGrado()) {
             throw new BusinessException("La suma de créditos del trabajo de grado no coincide. "
@@ -323,8 +327,10 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
         validarReglasNivelacion(configuracion.getReglasNivelacionJson());
         // Usa el mapper para actualizar el plan desde el DTO
         PlanEstudioMapper.updateFromConfiguracion(plan, configuracion);
+        reglasPlanCache.invalidar(plan.getId());
         // 7. Persistir materias y actualizar estado
         planMateriaRepository.saveAll(materias);
+        mallaNormalizadaCache.invalidar(plan.getId());
         plan.setEstado(EstadoPlanEstudio.ACTIVO);
         planEstudioRepository.save(plan);
 
@@ -333,6 +339,7 @@ public class PlanEstudioServiceImpl implements PlanEstudioService {
         if (programa.getEstado() == EstadoPrograma.BORRADOR) {
             programa.setEstado(EstadoPrograma.APROBADO);
             programaRepository.save(programa);
+            directorioProgramas.invalidar();
         }
 
 
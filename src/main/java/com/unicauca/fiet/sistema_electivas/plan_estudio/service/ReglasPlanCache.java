@@ -0,0 +1,88 @@
+package com.unicauca.fiet.sistema_electivas.plan_estudio.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.dto.ReglaNivelacion;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.ReglasPlanCompiladas;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché de las reglas compiladas de cada plan de estudios, por ID y versión del plan.
+ *
+ * <p>Las reglas de nivelación y las electivas por semestre se guardan como JSON en
+ * {@link PlanEstudio}; aquí se convierten una sola vez a {@link ReglasPlanCompiladas}, junto con
+ * los créditos configurados del plan.</p>
+ *
+ * <p>Todo servicio que modifique esos campos o la versión de un plan existente debe llamar a
+ * {@link #invalidar(Long)}. Hoy son dos, ambos en {@code PlanEstudioServiceImpl}:
+ * {@code actualizarPlan} (versión) y {@code cargarMallaCurricular}, que es donde se guarda la
+ * configuración del plan. Crear o desactivar un plan no afecta reglas ya compiladas.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class ReglasPlanCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<ClavePlan, ReglasPlanCompiladas> reglas = new ConcurrentHashMap<>();
+
+    /**
+     * Obtiene las reglas compiladas de un plan, compilándolas si no están en caché.
+     *
+     * @param plan plan de estudios (con su configuración cargada)
+     * @return reglas compiladas del plan
+     */
+    public ReglasPlanCompiladas obtener(PlanEstudio plan) {
+        return reglas.computeIfAbsent(new ClavePlan(plan.getId(), plan.getVersion()), clave -> compilar(plan));
+    }
+
+    /**
+     * Descarta las reglas de un plan (todas sus versiones).
+     *
+     * <p>Si hay una transacción activa, se descartan también al confirmarla, para que una lectura
+     * concurrente no deje en caché la configuración anterior.</p>
+     *
+     * @param planId ID del plan de estudios
+     */
+    public void invalidar(Long planId) {
+        reglas.keySet().removeIf(clave -> clave.planId().equals(planId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reglas.keySet().removeIf(clave -> clave.planId().equals(planId));
+                }
+            });
+        }
+    }
+
+    private ReglasPlanCompiladas compilar(PlanEstudio plan) {
+        Map<String, ReglaNivelacion> reglasNivelacion = null;
+        if (plan.getReglasNivelacion() != null && !plan.getReglasNivelacion().isEmpty()) {
+            reglasNivelacion = objectMapper.convertValue(
+                    plan.getReglasNivelacion(),
+                    new TypeReference<Map<String, ReglaNivelacion>>() {}
+            );
+        }
+        return ReglasPlanCompiladas.compilar(
+                reglasNivelacion,
+                plan.getElectivasPorSemestre(),
+                ReglasPlanCompiladas.CreditosPlan.desde(
+                        plan.getCreditosTotalesPlan(),
+                        plan.getElectivasRequeridas(),
+                        plan.getCreditosTrabajoGrado()
+                )
+        );
+    }
+
+    /** Clave de caché: ID y versión del plan. */
+    private record ClavePlan(Long planId, String version) {
+    }
+}
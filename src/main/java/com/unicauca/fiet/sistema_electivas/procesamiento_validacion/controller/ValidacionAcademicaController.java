@@ -5,9 +5,14 @@ import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateExceptio
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.*;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service.ValidacionAcademicaService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +20,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Gestiona la carga de datos SIMCA, el manejo de inconsistencias
@@ -82,6 +88,43 @@ public class ValidacionAcademicaController {
         return ResponseEntity.ok(inconsistencias);
     }
 
+    /**
+     * HU 2.1.1.4: Consulta paginada de las inconsistencias detectadas en la última carga SIMCA.
+     *
+     * <p>Admite filtros opcionales por tipo, archivo de origen y prefijo del código, además de
+     * los parámetros estándar {@code page}, {@code size} y {@code sort}.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @param tipo tipo de inconsistencia (opcional).
+     * @param archivo nombre del archivo de origen (opcional).
+     * @param codigo prefijo del código de estudiante (opcional).
+     * @param pageable página solicitada (por defecto 50 registros ordenados por id).
+     * @return página de inconsistencias.
+     */
+    @GetMapping("/periodos/{periodoId}/inconsistencias-simca")
+    public ResponseEntity<PagedModel<InconsistenciaSimcaResponse>> consultarInconsistenciasSimca(
+            @PathVariable Long periodoId,
+            @RequestParam(required = false) TipoInconsistenciaSimca tipo,
+            @RequestParam(required = false) String archivo,
+            @RequestParam(required = false) String codigo,
+            @PageableDefault(size = 50, sort = "id", direction = Sort.Direction.ASC) Pageable pageable
+    ) {
+        return ResponseEntity.ok(
+                validacionService.consultarInconsistenciasSimca(periodoId, tipo, archivo, codigo, pageable)
+        );
+    }
+
+    /**
+     * HU 2.1.1.4: Cantidad de inconsistencias de la última carga SIMCA, por tipo.
+     *
+     * @param periodoId ID del período académico.
+     * @return mapa tipo → cantidad (incluye todos los tipos).
+     */
+    @GetMapping("/periodos/{periodoId}/inconsistencias-simca/resumen")
+    public ResponseEntity<Map<TipoInconsistenciaSimca, Long>> resumirInconsistenciasSimca(@PathVariable Long periodoId) {
+        return ResponseEntity.ok(validacionService.contarInconsistenciasSimca(periodoId));
+    }
+
     /**
      * HU 2.1.2.2: Toma la decisión de incluir o descartar una respuesta inconsistente.
      *
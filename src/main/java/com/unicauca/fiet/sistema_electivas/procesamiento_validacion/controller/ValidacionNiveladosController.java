@@ -2,6 +2,7 @@ package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.controller;
 
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.DatosAcademicoResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.VerificacionNiveladoDTO;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.VerificacionNiveladoLoteResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service.ValidacionNiveladosService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -59,6 +60,27 @@ public class ValidacionNiveladosController {
         return ResponseEntity.ok(resultado);
     }
 
+    /**
+     * Genera los reportes de nivelación de varios estudiantes a partir de un ZIP de historiales
+     * académicos, cada uno nombrado con el código del estudiante.
+     *
+     * @param periodoId ID del período académico
+     * @param archivoZip ZIP con los historiales (.xlsx, .xls o .csv)
+     * @param aplicarDecisiones si se registran automáticamente las decisiones inequívocas
+     * @return {@link VerificacionNiveladoLoteResponse} con el resumen y el resultado por archivo
+     */
+    @PostMapping("/periodos/{periodoId}/reportes-lote")
+    public ResponseEntity<VerificacionNiveladoLoteResponse> generarReportesNiveladoLote(
+            @PathVariable Long periodoId,
+            @RequestParam("archivo") MultipartFile archivoZip,
+            @RequestParam(value = "aplicarDecisiones", defaultValue = "false") boolean aplicarDecisiones) {
+
+        VerificacionNiveladoLoteResponse resultado = validacionNiveladosService
+                .generarReportesNiveladoLote(periodoId, archivoZip, aplicarDecisiones);
+
+        return ResponseEntity.ok(resultado);
+    }
+
     /**
      * Registra la decisión final del administrador sobre la nivelación del estudiante.
      *
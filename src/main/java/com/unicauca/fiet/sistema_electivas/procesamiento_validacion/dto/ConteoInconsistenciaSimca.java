@@ -0,0 +1,12 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
+
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
+
+/**
+ * Cantidad de inconsistencias SIMCA de un tipo dentro de un período.
+ *
+ * @param tipo tipo de inconsistencia
+ * @param cantidad número de inconsistencias registradas
+ */
+public record ConteoInconsistenciaSimca(TipoInconsistenciaSimca tipo, Long cantidad) {
+}
@@ -1,7 +1,9 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
 
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 
 /**
@@ -10,6 +12,8 @@ import java.math.BigDecimal;
  * y otras consultas de datos académicos.
  */
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class DatosAcademicoResponse {
 
     private Long id;
@@ -0,0 +1,34 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
+
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * DTO de consulta de una inconsistencia SIMCA registrada (HU 2.1.1.4).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InconsistenciaSimcaResponse {
+
+    private Long id;
+
+    /**
+     * ID de la RespuestasFormulario (si se logra encontrar).
+     * Es null si el código del archivo no está en la lista de preinscritos.
+     */
+    private Long respuestaId;
+    private TipoInconsistenciaSimca tipo;
+    private String codigoEstudiante;
+    private String nombreEstudiante;
+    private String mensaje;
+    private String archivoOrigen;
+
+    /** Fila del archivo (base 1) donde aparece el registro; null si no apareció en ningún archivo. */
+    private Integer fila;
+    private Instant fechaRegistro;
+}
@@ -0,0 +1,11 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
+
+/**
+ * Electiva elegida en una opción de una respuesta de formulario.
+ *
+ * @param respuestaId ID de la respuesta a la que pertenece la opción
+ * @param opcionNum número de opción (1, 2, 3...)
+ * @param nombreElectiva nombre de la electiva ofertada
+ */
+public record OpcionRespuestaResumen(Long respuestaId, Integer opcionNum, String nombreElectiva) {
+}
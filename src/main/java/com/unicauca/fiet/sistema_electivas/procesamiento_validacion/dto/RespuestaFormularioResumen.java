@@ -0,0 +1,23 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
+
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
+
+import java.time.Instant;
+
+/**
+ * Columnas de una respuesta de formulario que se muestran en el listado por período, sin sus opciones.
+ *
+ * @param programaNombre nombre del programa, o {@code null} si la respuesta no tiene programa asociado
+ */
+public record RespuestaFormularioResumen(
+        Long id,
+        String codigoEstudiante,
+        String correoEstudiante,
+        String nombreEstudiante,
+        String apellidosEstudiante,
+        String programaNombre,
+        String periodoSemestre,
+        Instant timestampRespuesta,
+        EstadoRespuestaFormulario estado
+) {
+}
@@ -1,13 +1,17 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
 
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.util.List;
+import java.util.Map;
 
 /**
  * DTO para la respuesta de la carga de archivos SIMCA (HU 2.1.1).
- * Contiene el mensaje de resumen y el detalle de inconsistencias.
+ * Contiene el mensaje de resumen y la cantidad de inconsistencias por tipo.
+ *
+ * <p>El detalle de las inconsistencias se consulta paginado en
+ * {@code /periodos/{periodoId}/inconsistencias-simca}.</p>
  */
 @Data
 @NoArgsConstructor
@@ -26,6 +30,6 @@ public class SimcaCargaResponse {
     /** Total de registros en los archivos que no coincidieron. */
     private int inconsistenciasEncontradas;
 
-    /** Lista detallada de las inconsistencias encontradas (HU 2.1.1.4). */
-    private List<InconsistenciaDto> detalleInconsistencias;
-}
\ No newline at end of file
+    /** Cantidad de inconsistencias encontradas por tipo (HU 2.1.1.4). */
+    private Map<TipoInconsistenciaSimca, Long> inconsistenciasPorTipo;
+}
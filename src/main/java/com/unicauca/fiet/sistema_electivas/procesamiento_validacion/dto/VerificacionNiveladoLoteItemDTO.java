@@ -0,0 +1,32 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
+
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.ResultadoVerificacionLote;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de la verificación de un historial incluido en un ZIP de historiales.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificacionNiveladoLoteItemDTO {
+
+    /** Nombre del archivo dentro del ZIP. */
+    private String archivo;
+
+    /** Código de estudiante deducido del nombre del archivo. */
+    private String codigoEstudiante;
+
+    /** ID de los datos académicos del estudiante, si es un posible nivelado del período. */
+    private Long idDatosAcademicos;
+
+    private ResultadoVerificacionLote resultado;
+
+    /** Detalle del resultado o del error. */
+    private String mensaje;
+
+    /** Comparación de materias; null si el archivo no pudo verificarse. */
+    private VerificacionNiveladoDTO verificacion;
+}
@@ -0,0 +1,41 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Respuesta de la verificación de nivelados por lote (ZIP de historiales académicos).
+ * Contiene el resumen del lote y el resultado de cada archivo, en el orden del ZIP.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificacionNiveladoLoteResponse {
+
+    /** Cantidad de historiales encontrados en el ZIP. */
+    private int archivosRecibidos;
+
+    /** Historiales comparados con la malla (con o sin decisión registrada). */
+    private int verificados;
+
+    /** Historiales verificados con todas las materias aprobadas. */
+    private int cumplenNivelacion;
+
+    /** Decisiones finales registradas automáticamente. */
+    private int decisionesRegistradas;
+
+    /** Archivos cuyo código no corresponde a un posible nivelado del período. */
+    private int sinCandidato;
+
+    /** Archivos que no pudieron procesarse. */
+    private int errores;
+
+    /** Códigos de posibles nivelados del período que no tenían historial en el ZIP. */
+    private List<String> candidatosSinHistorial;
+
+    /** Resultado por archivo, en el orden del ZIP. */
+    private List<VerificacionNiveladoLoteItemDTO> resultados;
+}
@@ -0,0 +1,29 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums;
+
+/**
+ * Resultado del procesamiento de un historial dentro de una verificación de nivelados por lote.
+ *
+ * <ul>
+ *   <li><b>VERIFICADO:</b> Se comparó el historial con la malla; la decisión queda pendiente de revisión manual.</li>
+ *   <li><b>DECISION_REGISTRADA:</b> Se comparó el historial y el resultado era inequívoco, por lo que se registró la decisión final.</li>
+ *   <li><b>SIN_CANDIDATO:</b> El código del archivo no corresponde a un posible nivelado del período.</li>
+ *   <li><b>ERROR:</b> El archivo no pudo procesarse (formato inválido, duplicado o reglas del plan no aplicables).</li>
+ * </ul>
+ */
+public enum ResultadoVerificacionLote {
+
+    VERIFICADO("Historial verificado, pendiente de decisión"),
+    DECISION_REGISTRADA("Historial verificado y decisión final registrada"),
+    SIN_CANDIDATO("El código no corresponde a un posible nivelado del período"),
+    ERROR("El historial no pudo procesarse");
+
+    private final String descripcion;
+
+    ResultadoVerificacionLote(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
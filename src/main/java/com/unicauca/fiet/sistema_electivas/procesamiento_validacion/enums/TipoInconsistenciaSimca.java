@@ -0,0 +1,31 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums;
+
+/**
+ * Tipos de inconsistencia detectados durante la carga de archivos SIMCA (HU 2.1.1.3 y 2.1.1.4).
+ *
+ * <ul>
+ *   <li><b>NO_INSCRITO:</b> El código aparece en SIMCA pero no tiene una respuesta válida en el proceso.</li>
+ *   <li><b>INACTIVO_SIMCA:</b> El código aparece inactivo o con información incompleta en SIMCA.</li>
+ *   <li><b>PROGRAMA_NO_ENCONTRADO:</b> El programa reportado por SIMCA no coincide con ningún programa registrado.</li>
+ *   <li><b>PLAN_NO_ENCONTRADO:</b> El programa existe, pero no hay un plan activo adecuado para el estudiante.</li>
+ *   <li><b>SIN_DATOS_SIMCA:</b> Se esperaba información del estudiante, pero no apareció en ningún archivo.</li>
+ * </ul>
+ */
+public enum TipoInconsistenciaSimca {
+
+    NO_INSCRITO("Estudiante no inscrito en el proceso (no registró una respuesta válida)."),
+    INACTIVO_SIMCA("El código aparece inactivo o sin información válida en SIMCA."),
+    PROGRAMA_NO_ENCONTRADO("No se encontró un programa registrado que coincida con el reportado por SIMCA."),
+    PLAN_NO_ENCONTRADO("No se encontró un plan de estudio activo adecuado para el programa o año de ingreso."),
+    SIN_DATOS_SIMCA("Se esperaba información de SIMCA para este estudiante, pero no se encontró en los archivos.");
+
+    private final String descripcion;
+
+    TipoInconsistenciaSimca(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+}
@@ -2,7 +2,6 @@ package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper;
 
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.DatosAcademicoResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -10,16 +9,13 @@ import java.util.stream.Collectors;
 
 /**
  * Componente Mapper para convertir entre la entidad DatosAcademico y sus DTOs.
+ *
+ * <p>Los listados por período no pasan por aquí: el repositorio construye el DTO en la consulta
+ * ({@code DatosAcademicoRepository#listarResumenPorPeriodo}).</p>
  */
 @Component
 public class DatosAcademicoMapper {
 
-    private final ModelMapper modelMapper;
-
-    public DatosAcademicoMapper() {
-        this.modelMapper = new ModelMapper();
-    }
-
     /**
      * Convierte una entidad DatosAcademico a su DTO de respuesta.
      *
@@ -27,12 +23,22 @@ public class DatosAcademicoMapper {
      * @return El DTO DatosAcademicoResponse.
      */
     public DatosAcademicoResponse toResponse(DatosAcademico datos) {
-        // ModelMapper mapeará automáticamente campos como:
-        // id, codigoEstudiante, apellidos, nombres, programa,
-        // creditosAprobados, periodosMatriculados, promedioCarrera,
-        // aprobadas, esNivelado, porcentajeAvance, estadoAptitud
-
-        return modelMapper.map(datos, DatosAcademicoResponse.class);
+        if (datos == null) return null;
+
+        return new DatosAcademicoResponse(
+                datos.getId(),
+                datos.getCodigoEstudiante(),
+                datos.getApellidos(),
+                datos.getNombres(),
+                datos.getPrograma(),
+                datos.getCreditosAprobados(),
+                datos.getPeriodosMatriculados(),
+                datos.getPromedioCarrera(),
+                datos.getAprobadas(),
+                datos.getEsNivelado(),
+                datos.getPorcentajeAvance(),
+                datos.getEstadoAptitud()
+        );
     }
 
     /**
@@ -46,4 +52,4 @@ public class DatosAcademicoMapper {
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
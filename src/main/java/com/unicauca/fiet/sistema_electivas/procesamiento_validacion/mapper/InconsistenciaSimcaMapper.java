@@ -0,0 +1,36 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper;
+
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.InconsistenciaSimcaResponse;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.InconsistenciaSimca;
+
+/**
+ * Clase utilitaria para transformar la entidad {@link InconsistenciaSimca}
+ * en su representación {@link InconsistenciaSimcaResponse}.
+ */
+public class InconsistenciaSimcaMapper {
+
+    /**
+     * Convierte una inconsistencia registrada en su DTO de consulta.
+     *
+     * <p>Solo se lee el identificador de la respuesta asociada, por lo que no se
+     * inicializa la relación perezosa.</p>
+     *
+     * @param entidad inconsistencia registrada
+     * @return DTO con los datos de la inconsistencia
+     */
+    public static InconsistenciaSimcaResponse toResponse(InconsistenciaSimca entidad) {
+        if (entidad == null) return null;
+
+        return new InconsistenciaSimcaResponse(
+                entidad.getId(),
+                entidad.getRespuesta() != null ? entidad.getRespuesta().getId() : null,
+                entidad.getTipo(),
+                entidad.getCodigoEstudiante(),
+                entidad.getNombreEstudiante(),
+                entidad.getMensaje(),
+                entidad.getNombreArchivo(),
+                entidad.getFila(),
+                entidad.getFechaRegistro()
+        );
+    }
+}
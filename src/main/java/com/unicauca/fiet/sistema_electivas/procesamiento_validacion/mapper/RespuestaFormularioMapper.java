@@ -5,10 +5,14 @@ package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaOpcion;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.ElectivaSeleccionadaResponse;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.OpcionRespuestaResumen;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioDesicionResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioResponse;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioResumen;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 /**
@@ -69,6 +73,39 @@ public class RespuestaFormularioMapper {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Arma el listado de respuestas de un período a partir de las proyecciones del repositorio,
+     * asignando a cada respuesta sus opciones.
+     *
+     * @param respuestas columnas de cada respuesta
+     * @param opciones opciones de todas las respuestas, ordenadas por número de opción
+     * @return DTOs en el orden de {@code respuestas}
+     */
+    public static List<RespuestaFormularioResponse> toResponseList(List<RespuestaFormularioResumen> respuestas,
+                                                                   List<OpcionRespuestaResumen> opciones) {
+        Map<Long, List<ElectivaSeleccionadaResponse>> opcionesPorRespuesta = opciones.stream()
+                .collect(Collectors.groupingBy(
+                        OpcionRespuestaResumen::respuestaId,
+                        Collectors.mapping(
+                                op -> new ElectivaSeleccionadaResponse(op.opcionNum(), op.nombreElectiva()),
+                                Collectors.toList())));
+
+        return respuestas.stream()
+                .map(r -> new RespuestaFormularioResponse(
+                        r.id(),
+                        r.codigoEstudiante(),
+                        r.correoEstudiante(),
+                        r.nombreEstudiante(),
+                        r.apellidosEstudiante(),
+                        r.programaNombre(),
+                        r.periodoSemestre(),
+                        r.timestampRespuesta(),
+                        r.estado().name(),
+                        opcionesPorRespuesta.getOrDefault(r.id(), new ArrayList<>())
+                ))
+                .collect(Collectors.toList());
+    }
+
     public static RespuestaFormularioDesicionResponse toRespuestaFormularioResponse(RespuestasFormulario entidad) {
         return RespuestaFormularioDesicionResponse.builder()
                 .id(entidad.getId())
@@ -86,4 +86,8 @@ public class DatosAcademico {
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
     @JoinColumn(name = "respuesta_id", nullable = false)
     private RespuestasFormulario respuesta;
+
+    /** Fila (base 1) del archivo SIMCA de donde se leyó el registro; no se persiste. */
+    @Transient
+    private Integer filaArchivo;
 }
\ No newline at end of file
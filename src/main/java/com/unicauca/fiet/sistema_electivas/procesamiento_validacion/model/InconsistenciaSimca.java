@@ -0,0 +1,73 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model;
+
+import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Inconsistencia detectada al cargar los archivos SIMCA de un período.
+ *
+ * <p>Cada carga reemplaza las inconsistencias del período, de modo que la tabla siempre
+ * refleja el resultado de la última carga. La secuencia reserva bloques de 50 valores
+ * para que las inserciones se agrupen en lotes JDBC.</p>
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "inconsistencias_simca")
+public class InconsistenciaSimca {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inconsistencias_simca_seq")
+    @SequenceGenerator(name = "inconsistencias_simca_seq", sequenceName = "inconsistencias_simca_id_seq", allocationSize = 50)
+    @Column(name = "id", nullable = false)
+    private Long id;
+
+    @NotNull
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "periodo_id", nullable = false)
+    private PeriodoAcademico periodo;
+
+    /** Respuesta asociada; es {@code null} cuando el estudiante no está inscrito en el proceso. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "respuesta_id")
+    private RespuestasFormulario respuesta;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 40)
+    private TipoInconsistenciaSimca tipo;
+
+    @NotNull
+    @Column(name = "codigo_estudiante", nullable = false, length = Integer.MAX_VALUE)
+    private String codigoEstudiante;
+
+    @Column(name = "nombre_estudiante", length = Integer.MAX_VALUE)
+    private String nombreEstudiante;
+
+    @NotNull
+    @Column(name = "mensaje", nullable = false, length = Integer.MAX_VALUE)
+    private String mensaje;
+
+    /** Archivo donde se detectó; es {@code null} para estudiantes que no aparecieron en ningún archivo. */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "archivo_cargado_id")
+    private CargaArchivo archivoCargado;
+
+    @Column(name = "nombre_archivo", length = Integer.MAX_VALUE)
+    private String nombreArchivo;
+
+    /** Fila del archivo (base 1) donde aparece el registro. */
+    @Column(name = "fila")
+    private Integer fila;
+
+    @NotNull
+    @Column(name = "fecha_registro", nullable = false)
+    private Instant fechaRegistro;
+}
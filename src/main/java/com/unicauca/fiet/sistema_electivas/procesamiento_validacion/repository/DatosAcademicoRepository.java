@@ -2,6 +2,7 @@ package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository;
 
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.DatosAcademicoResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -11,6 +12,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Repositorio para la entidad {@link DatosAcademico}, con consultas derivadas
@@ -97,6 +99,47 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
             Long periodoId,
             List<EstadoAptitud> estados
     );
+    /**
+     * Lista los datos académicos de un período directamente como {@link DatosAcademicoResponse},
+     * leyendo solo las columnas que expone el DTO.
+     *
+     * <p>No carga entidades: no hay proxies del plan, la respuesta o el archivo, ni copias para
+     * la detección de cambios.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @return datos académicos del período, ordenados por ID.
+     */
+    @Query("""
+    SELECT new com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.DatosAcademicoResponse(
+        d.id, d.codigoEstudiante, d.apellidos, d.nombres, d.programa, d.creditosAprobados,
+        d.periodosMatriculados, d.promedioCarrera, d.aprobadas, d.esNivelado, d.porcentajeAvance, d.estadoAptitud)
+    FROM DatosAcademico d
+    WHERE d.respuesta.periodo.id = :periodoId
+    ORDER BY d.id
+    """)
+    List<DatosAcademicoResponse> listarResumenPorPeriodo(@Param("periodoId") Long periodoId);
+
+    /**
+     * Variante de {@link #listarResumenPorPeriodo(Long)} limitada a los estados de aptitud indicados.
+     *
+     * @param periodoId ID del período académico.
+     * @param estados estados de aptitud permitidos.
+     * @return datos académicos filtrados, ordenados por ID.
+     */
+    @Query("""
+    SELECT new com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.DatosAcademicoResponse(
+        d.id, d.codigoEstudiante, d.apellidos, d.nombres, d.programa, d.creditosAprobados,
+        d.periodosMatriculados, d.promedioCarrera, d.aprobadas, d.esNivelado, d.porcentajeAvance, d.estadoAptitud)
+    FROM DatosAcademico d
+    WHERE d.respuesta.periodo.id = :periodoId
+      AND d.estadoAptitud IN :estados
+    ORDER BY d.id
+    """)
+    List<DatosAcademicoResponse> listarResumenPorPeriodoYEstados(
+            @Param("periodoId") Long periodoId,
+            @Param("estados") List<EstadoAptitud> estados
+    );
+
     /**
      * Obtiene todos los registros de DatosAcadémicos asociados a un período académico
      * específico y que tengan exactamente el estado de aptitud indicado.
@@ -139,6 +182,24 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
             @Param("estadoAptitud") EstadoAptitud estadoAptitud
     );
 
+    /**
+     * Obtiene todos los datos académicos de un período con su plan de estudios
+     * ya cargado, sin filtrar por estado de aptitud.
+     *
+     * <p>Permite a los reportes indexar en memoria los datos de todos los estudiantes
+     * del período en lugar de buscarlos uno a uno por código.</p>
+     *
+     * @param periodoId ID del período académico.
+     * @return datos académicos del período con su plan.
+     */
+    @Query("""
+    SELECT d
+    FROM DatosAcademico d
+    JOIN FETCH d.planEstudios
+    WHERE d.respuesta.periodo.id = :periodoId
+    """)
+    List<DatosAcademico> findByPeriodoIdConPlan(@Param("periodoId") Long periodoId);
+
     /**
      * Busca los datos académicos de un estudiante para un período académico
      * específico.
@@ -162,6 +223,7 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
      * es decir, aquellos cuyo estado de aptitud ya fue procesado para asignación.
      *
      * <p>Incluye carga anticipada (fetch) de la respuesta y sus opciones,
+     * con la oferta y la electiva de cada opción,
      * evitando consultas adicionales posteriores.</p>
      *
      * @param periodoId ID del período académico.
@@ -172,6 +234,8 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
     FROM DatosAcademico da
     JOIN FETCH da.respuesta r
     LEFT JOIN FETCH r.opciones o
+    LEFT JOIN FETCH o.oferta of
+    LEFT JOIN FETCH of.electiva
     WHERE r.periodo.id = :periodoId
       AND da.estadoAptitud = 'ASIGNACION_PROCESADA'
     """)
@@ -181,7 +245,8 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
      * Recupera el historial de datos académicos de un estudiante a través
      * de todos los períodos en los que ha participado.
      *
-     * <p>Los resultados se ordenan del período más reciente al más antiguo.</p>
+     * <p>Los resultados se ordenan del período más reciente al más antiguo e incluyen
+     * el archivo de origen con su período ya cargados.</p>
      *
      * @param codigo código del estudiante.
      * @return lista de datos académicos ordenados cronológicamente.
@@ -189,6 +254,8 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
     @Query("""
     SELECT da
     FROM DatosAcademico da
+    JOIN FETCH da.archivoCargado ac
+    JOIN FETCH ac.periodo
     JOIN da.respuesta r
     JOIN r.periodo p
     WHERE da.codigoEstudiante = :codigo
@@ -213,5 +280,21 @@ public interface DatosAcademicoRepository extends JpaRepository<DatosAcademico,
     """)
     List<DatosAcademico> buscarCoincidencias(String filtro);
 
+    /**
+     * Obtiene los códigos de estudiante ya cargados desde un archivo SIMCA concreto.
+     *
+     * <p>Permite reconocer, al volver a subir un archivo idéntico, los registros que
+     * ya fueron aplicados en la carga anterior.</p>
+     *
+     * @param archivoId ID del {@code CargaArchivo} de origen.
+     * @return códigos de estudiante registrados con ese archivo.
+     */
+    @Query("""
+    SELECT d.codigoEstudiante
+    FROM DatosAcademico d
+    WHERE d.archivoCargado.id = :archivoId
+    """)
+    Set<String> findCodigosEstudianteByArchivoCargadoId(@Param("archivoId") Long archivoId);
+
 }
 
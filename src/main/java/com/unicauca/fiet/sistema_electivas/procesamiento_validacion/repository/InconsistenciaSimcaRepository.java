@@ -0,0 +1,98 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository;
+
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.ConteoInconsistenciaSimca;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.InconsistenciaSimca;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link InconsistenciaSimca}.
+ *
+ * <p>Las consultas son paginadas para que el volumen de inconsistencias de una carga
+ * no determine el tamaño de las respuestas HTTP.</p>
+ */
+@Repository
+public interface InconsistenciaSimcaRepository extends JpaRepository<InconsistenciaSimca, Long> {
+
+    /**
+     * Consulta paginada de las inconsistencias de un período con filtros opcionales.
+     *
+     * @param periodoId ID del período académico.
+     * @param tipo tipo de inconsistencia, o {@code null} para todos.
+     * @param archivo nombre del archivo de origen, o {@code null} para todos.
+     * @param codigo prefijo del código de estudiante, o {@code null} para todos.
+     * @param pageable página y orden solicitados.
+     * @return página de inconsistencias.
+     */
+    @Query("""
+    SELECT i
+    FROM InconsistenciaSimca i
+    WHERE i.periodo.id = :periodoId
+      AND (:tipo IS NULL OR i.tipo = :tipo)
+      AND (:archivo IS NULL OR i.nombreArchivo = :archivo)
+      AND (:codigo IS NULL OR i.codigoEstudiante LIKE CONCAT(:codigo, '%'))
+    """)
+    Page<InconsistenciaSimca> buscarPorPeriodo(
+            @Param("periodoId") Long periodoId,
+            @Param("tipo") TipoInconsistenciaSimca tipo,
+            @Param("archivo") String archivo,
+            @Param("codigo") String codigo,
+            Pageable pageable
+    );
+
+    /**
+     * Cuenta las inconsistencias de un período agrupadas por tipo.
+     *
+     * @param periodoId ID del período académico.
+     * @return un conteo por cada tipo presente en el período.
+     */
+    @Query("""
+    SELECT new com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.ConteoInconsistenciaSimca(i.tipo, COUNT(i))
+    FROM InconsistenciaSimca i
+    WHERE i.periodo.id = :periodoId
+    GROUP BY i.tipo
+    """)
+    List<ConteoInconsistenciaSimca> contarPorTipo(@Param("periodoId") Long periodoId);
+
+    /**
+     * Elimina las inconsistencias de las respuestas indicadas.
+     *
+     * <p>Se usa al iniciar una carga SIMCA con las respuestas que la carga vuelve a evaluar;
+     * las del resto del período se conservan.</p>
+     *
+     * @param respuestaIds IDs de las respuestas del formulario.
+     */
+    @Modifying
+    @Query("DELETE FROM InconsistenciaSimca i WHERE i.respuesta.id IN :respuestaIds")
+    void deleteByRespuestaIdIn(@Param("respuestaIds") Collection<Long> respuestaIds);
+
+    /**
+     * Elimina las inconsistencias detectadas en un archivo cargado.
+     *
+     * <p>Se usa cuando una carga SIMCA vuelve a procesar un archivo idéntico a uno ya cargado,
+     * cuyas inconsistencias se calculan de nuevo.</p>
+     *
+     * @param archivoCargadoId ID del registro del archivo.
+     */
+    @Modifying
+    @Query("DELETE FROM InconsistenciaSimca i WHERE i.archivoCargado.id = :archivoCargadoId")
+    void deleteByArchivoCargadoId(@Param("archivoCargadoId") Long archivoCargadoId);
+
+    /**
+     * Elimina las inconsistencias asociadas a una respuesta ya resuelta.
+     *
+     * @param respuestaId ID de la respuesta del formulario.
+     */
+    @Modifying
+    @Query("DELETE FROM InconsistenciaSimca i WHERE i.respuesta.id = :respuestaId")
+    void deleteByRespuestaId(@Param("respuestaId") Long respuestaId);
+}
@@ -4,6 +4,7 @@ import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.MateriaVistaExcel;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.file.Path;
 import java.util.List;
 
 public interface ExcelHistorialAcademicoService {
@@ -17,4 +18,14 @@ public interface ExcelHistorialAcademicoService {
      * @throws BusinessException si el archivo no cumple con el formato esperado o está vacío
      */
     List<MateriaVistaExcel> parsearHistorialAcademico(MultipartFile file);
+
+    /**
+     * Variante de {@link #parsearHistorialAcademico(MultipartFile)} para un historial ya
+     * guardado en disco (por ejemplo, extraído de un ZIP de historiales).
+     *
+     * @param archivo ruta del archivo Excel o CSV
+     * @return lista de materias encontradas en el archivo
+     * @throws BusinessException si el archivo no cumple con el formato esperado o está vacío
+     */
+    List<MateriaVistaExcel> parsearHistorialAcademico(Path archivo);
 }
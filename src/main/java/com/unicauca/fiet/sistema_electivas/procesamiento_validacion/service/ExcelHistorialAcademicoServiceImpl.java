@@ -1,13 +1,17 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
 
+import com.unicauca.fiet.sistema_electivas.common.excel.EncabezadosExcel;
+import com.unicauca.fiet.sistema_electivas.common.excel.LectorExcel;
+import com.unicauca.fiet.sistema_electivas.common.excel.ProcesadorFilaExcel;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.MateriaVistaExcel;
 import lombok.RequiredArgsConstructor;
-import org.apache.poi.ss.usermodel.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -49,6 +53,8 @@ public class ExcelHistorialAcademicoServiceImpl implements ExcelHistorialAcademi
             Map.entry("tipo", "tipo")
     );
 
+    private final LectorExcel lectorExcel;
+
     /**
      * {@inheritDoc}
      */
@@ -57,62 +63,52 @@ public class ExcelHistorialAcademicoServiceImpl implements ExcelHistorialAcademi
         if (file == null || file.isEmpty()) {
             throw new BusinessException("El archivo está vacío o no fue enviado.");
         }
+        return leerMaterias((encabezados, procesador) -> lectorExcel.leer(file, encabezados, procesador));
+    }
 
-        try (InputStream is = file.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
-
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new BusinessException("Archivo Excel sin hojas.");
-            }
-
-            // Leer encabezado
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new BusinessException("El archivo debe tener una fila de encabezado.");
-            }
-
-            Map<String, Integer> headerIndex = new HashMap<>();
-            DataFormatter formatter = new DataFormatter();
-
-            for (Cell cell : headerRow) {
-                String raw = formatter.formatCellValue(cell);
-                if (raw != null) {
-                    String normalized = raw.trim().toLowerCase();
-                    String canonical = HEADER_ALIASES.get(normalized);
-                    if (canonical != null) {
-                        headerIndex.put(canonical, cell.getColumnIndex());
-                    }
-                }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<MateriaVistaExcel> parsearHistorialAcademico(Path archivo) {
+        try {
+            if (Files.size(archivo) == 0) {
+                throw new BusinessException("El archivo está vacío o no fue enviado.");
             }
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el archivo del historial académico.");
+        }
+        return leerMaterias((encabezados, procesador) -> lectorExcel.leer(archivo, encabezados, procesador));
+    }
 
-            if (!headerIndex.keySet().containsAll(REQUIRED_HEADERS)) {
-                throw new BusinessException("Formato inválido. El archivo debe contener columnas: " +
+    /**
+     * Recorre el historial con la fuente indicada y convierte cada fila en una {@link MateriaVistaExcel}.
+     */
+    private List<MateriaVistaExcel> leerMaterias(LecturaHistorial lectura) {
+        EncabezadosExcel encabezados = EncabezadosExcel.conAlias(HEADER_ALIASES)
+                .requiriendo(REQUIRED_HEADERS, "Formato inválido. El archivo debe contener columnas: " +
                         String.join(", ", REQUIRED_HEADERS));
-            }
 
+        try {
             List<MateriaVistaExcel> materias = new ArrayList<>();
 
             // Recorrer filas de datos
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-
-                String periodo = getCellString(row, headerIndex.get("periodo"), formatter);
-                String nombre = getCellString(row, headerIndex.get("materia"), formatter);
-                Integer creditos = getCellInteger(row, headerIndex.get("créditos"));
-                Integer semestre = getCellInteger(row, headerIndex.get("semestre"));
-                String nota = getCellString(row, headerIndex.get("nota"),formatter);
-                String habilitacion = getCellString(row, headerIndex.get("habilitación"),formatter);
-                String definitivaRaw = getCellString(row, headerIndex.get("definitiva"), formatter);
-
-                Double definitiva = getCellDouble(row, headerIndex.get("definitiva"));
+            lectura.leer(encabezados, row -> {
+                String periodo = row.getTexto("periodo");
+                String nombre = row.getTexto("materia");
+                Integer creditos = row.getEntero("créditos");
+                Integer semestre = row.getEntero("semestre");
+                String nota = row.getTexto("nota");
+                String habilitacion = row.getTexto("habilitación");
+                String definitivaRaw = row.getTexto("definitiva");
+
+                Double definitiva = row.getDecimal("definitiva");
                 boolean aprobadaPorLetra = "A".equalsIgnoreCase(definitivaRaw);
-                String tipo = getCellString(row, headerIndex.get("tipo"), formatter);
+                String tipo = row.getTexto("tipo");
 
                 if ((nombre == null || nombre.isBlank()) && (creditos == null || semestre == null)) {
                     // Fila vacía, final del archivo
-                    break;
+                    return false;
                 }
 
                 MateriaVistaExcel materia = new MateriaVistaExcel();
@@ -127,7 +123,8 @@ public class ExcelHistorialAcademicoServiceImpl implements ExcelHistorialAcademi
                 materia.setAprobadaPorLetra(aprobadaPorLetra);
 
                 materias.add(materia);
-            }
+                return true;
+            });
 
             if (materias.isEmpty()) {
                 throw new BusinessException("No se encontraron materias en el archivo.");
@@ -141,78 +138,10 @@ public class ExcelHistorialAcademicoServiceImpl implements ExcelHistorialAcademi
             throw new BusinessException("Error procesando el archivo. Asegúrese de que sea un .xlsx con columnas válidas.");
         }
     }
-    /**
-     * Obtiene el valor de una celda como texto formateado.
-     *
-     * <p>Usa {@link DataFormatter} para mantener el formato original del Excel
-     * (por ejemplo, valores con ceros a la izquierda o fechas).</p>
-     *
-     * @param row fila actual del archivo
-     * @param colIndex índice de la columna a leer
-     * @param formatter formateador de datos de Apache POI
-     * @return valor de la celda como texto, o {@code null} si no existe
-     */
-    private String getCellString(Row row, Integer colIndex, DataFormatter formatter) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        return formatter.formatCellValue(cell).trim();
-    }
 
-    /**
-     * Obtiene el valor de una celda numérica como entero.
-     *
-     * <p>Si la celda contiene texto numérico, intenta convertirlo a entero.
-     * Si no es posible, devuelve {@code null}.</p>
-     *
-     * @param row fila actual del archivo
-     * @param colIndex índice de la columna a leer
-     * @return valor entero o {@code null} si no se puede convertir
-     */
-    private Integer getCellInteger(Row row, Integer colIndex) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return (int) cell.getNumericCellValue();
-            } else {
-                String s = cell.toString().trim();
-                return Integer.parseInt(s);
-            }
-        } catch (Exception e) {
-            return null;
-        }
+    /** Fuente del historial: archivo subido o archivo en disco. */
+    @FunctionalInterface
+    private interface LecturaHistorial {
+        void leer(EncabezadosExcel encabezados, ProcesadorFilaExcel procesador) throws IOException;
     }
-
-    /**
-     * Obtiene el valor de una celda numérica como entero.
-     *
-     * <p>Si la celda contiene texto numérico, intenta convertirlo a entero.
-     * Si no es posible, devuelve {@code null}.</p>
-     *
-     * @param row fila actual del archivo
-     * @param colIndex índice de la columna a leer
-     * @return valor entero o {@code null} si no se puede convertir
-     */
-    private Double getCellDouble(Row row, Integer colIndex) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return cell.getNumericCellValue();
-            } else {
-                String s = cell.toString().trim().replace(",", ".");
-                // Solo parseamos si realmente es número
-                if (s.matches("^-?\\d+(\\.\\d+)?$")) {
-                    return Double.parseDouble(s);
-                }
-                return null;
-            }
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
 }
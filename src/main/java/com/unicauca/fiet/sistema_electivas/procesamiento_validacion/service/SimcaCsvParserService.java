@@ -1,22 +1,27 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
 
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoAlmacenado;
+import com.unicauca.fiet.sistema_electivas.common.excel.EncabezadosExcel;
+import com.unicauca.fiet.sistema_electivas.common.excel.FilaExcel;
+import com.unicauca.fiet.sistema_electivas.common.excel.LectorExcel;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException; // Importar BusinessException
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
-import org.apache.poi.ss.usermodel.*; // Importar Apache POI
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream; // Importar InputStream
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set; // Importar Set
 
 @Service
+@RequiredArgsConstructor
 public class SimcaCsvParserService {
 
     // Columnas requeridas según HU 2.1.1 (convertido a Set para validación)
@@ -40,86 +45,87 @@ public class SimcaCsvParserService {
             Map.entry("aprobadas", "APROBADAS")
     );
 
-    public List<DatosAcademico> parsearArchivoSimca(MultipartFile archivo) throws Exception {
-        if (archivo == null || archivo.isEmpty()) {
-            throw new BusinessException("El archivo está vacío o no fue enviado.");
-        }
+    private static final BigDecimal PROMEDIO_MINIMO = new BigDecimal("0.000");
+    private static final BigDecimal PROMEDIO_MAXIMO = new BigDecimal("5.000");
 
-        List<DatosAcademico> listaDatos = new ArrayList<>();
-        DataFormatter dataFormatter = new DataFormatter(); // Usado para leer celdas como texto
+    // Lecturas recientes indexadas por huella SHA-256 del contenido, acotadas por el total de
+    // filas retenidas y no por el número de archivos
+    private static final long MAXIMO_FILAS_EN_CACHE = 50_000;
 
-        try (InputStream is = archivo.getInputStream();
-             Workbook workbook = WorkbookFactory.create(is)) {
+    private final LectorExcel lectorExcel;
 
-            Sheet sheet = workbook.getSheetAt(0);
-            if (sheet == null) {
-                throw new BusinessException("Archivo Excel sin hojas.");
-            }
+    private final Cache<String, List<DatosAcademico>> lecturasPorHash = Caffeine.newBuilder()
+            .maximumWeight(MAXIMO_FILAS_EN_CACHE)
+            .weigher((String hash, List<DatosAcademico> filas) -> filas.size())
+            .build();
 
-            // Leer encabezado (fila 0)
-            Row headerRow = sheet.getRow(0);
-            if (headerRow == null) {
-                throw new BusinessException("El archivo debe tener una fila de encabezado.");
-            }
+    /**
+     * Convierte una exportación de SIMCA en entidades {@link DatosAcademico}.
+     *
+     * <p>Acepta libros de Excel (.xls/.xlsx) y CSV; el formato se detecta por el contenido
+     * del archivo. En ambos casos se aplican los mismos alias de encabezado, columnas
+     * requeridas y validaciones por fila.</p>
+     *
+     * <p>El resultado se conserva por la huella del contenido, hasta
+     * {@value #MAXIMO_FILAS_EN_CACHE} filas entre todos los archivos: si se vuelve a subir un
+     * archivo idéntico no se lee de nuevo. Cada llamada devuelve entidades nuevas, por lo
+     * que el llamador puede modificarlas y persistirlas libremente.</p>
+     *
+     * @param archivo archivo exportado desde SIMCA, ya almacenado
+     * @return registros leídos, en el orden del archivo
+     * @throws BusinessException si falta alguna columna requerida o una fila es inválida
+     */
+    public List<DatosAcademico> parsearArchivoSimca(ArchivoAlmacenado archivo) throws Exception {
+        List<DatosAcademico> leidos = lecturasPorHash.getIfPresent(archivo.hash());
+        if (leidos == null) {
+            leidos = leerArchivo(archivo);
+            lecturasPorHash.put(archivo.hash(), leidos);
+        }
+        return leidos.stream().map(this::copiar).toList();
+    }
 
-            Map<String, Integer> headerMap = new HashMap<>();
-            for (Cell cell : headerRow) {
-                String rawValue = dataFormatter.formatCellValue(cell);
-                if (rawValue != null) {
-                    String normalized = rawValue.trim().toLowerCase().replace(" ", "_");
-                    String canonical = HEADER_ALIASES.get(normalized);
-                    if (canonical != null) {
-                        headerMap.put(canonical, cell.getColumnIndex());
-                    }
-                }
-            }
+    private List<DatosAcademico> leerArchivo(ArchivoAlmacenado archivo) throws Exception {
+        if (Files.size(archivo.ruta()) == 0) {
+            throw new BusinessException("El archivo está vacío o no fue enviado.");
+        }
+
+        List<DatosAcademico> listaDatos = new ArrayList<>();
 
-            // Validación de estructura y campos (HU 2.1.1.2) [cite: 18]
-            if (!headerMap.keySet().containsAll(COLUMNAS_REQUERIDAS)) {
-                throw new BusinessException("Error en el archivo '" + archivo.getOriginalFilename() +
+        // Validación de estructura y campos (HU 2.1.1.2) [cite: 18]
+        EncabezadosExcel encabezados = EncabezadosExcel.conAlias(HEADER_ALIASES)
+                .normalizando(valor -> valor.trim().toLowerCase().replace(" ", "_"))
+                .requiriendo(COLUMNAS_REQUERIDAS, "Error en el archivo '" + archivo.nombreOriginal() +
                         "'. Asegúrese de que el archivo tenga todas las columnas requeridas: " +
                         String.join(", ", COLUMNAS_REQUERIDAS) + " [cite: 18]");
-            }
-
-            // Recorrer filas de datos (desde la fila 1)
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
 
+        try {
+            // Recorrer filas de datos (desde la fila 1) sin cargar el libro completo en memoria
+            lectorExcel.leerAdmitiendoCsv(archivo.ruta(), encabezados, row -> {
                 try {
-                    // Obtener valores usando los helpers
-                    String codigo = getCellString(row, headerMap.get("CODIGO"), dataFormatter);
+                    String codigo = row.getTexto("CODIGO");
 
-                   // Ignorar la última línea de advertencia (si existe) [cite: 47]
+                    // Ignorar la última línea de advertencia (si existe) [cite: 47]
                     if (codigo != null && codigo.startsWith("La División de Admisiones")) {
-                        continue;
+                        return true;
                     }
 
                     // Si el código está vacío, asumimos que es el final del archivo
                     if (codigo == null || codigo.isBlank()) {
-                        break;
+                        return false;
                     }
 
-                    String apellidos = getCellString(row, headerMap.get("APELLIDOS"), dataFormatter);
-                    String nombres = getCellString(row, headerMap.get("NOMBRES"), dataFormatter);
-                    String usuario = getCellString(row, headerMap.get("USUARIO"), dataFormatter);
-                    String programa = getCellString(row, headerMap.get("PROGRAMA"), dataFormatter);
-                    Integer creditos = getCellInteger(row, headerMap.get("CREDITOS_APROBADOS"));
-                    Integer periodos = getCellInteger(row, headerMap.get("PERIODOS_MATRICULADOS"));
-                    BigDecimal promedio = getCellBigDecimal(row, headerMap.get("PROMEDIO_CARRERA"));
-                    Integer aprobadas = getCellInteger(row, headerMap.get("APROBADAS"));
-
                     // Crear la entidad
                     DatosAcademico datos = new DatosAcademico();
                     datos.setCodigoEstudiante(codigo);
-                    datos.setApellidos(apellidos);
-                    datos.setNombres(nombres);
-                    datos.setUsuario(usuario);
-                    datos.setPrograma(programa);
-                    datos.setCreditosAprobados(creditos);
-                    datos.setPeriodosMatriculados(periodos);
-                    datos.setPromedioCarrera(promedio);
-                    datos.setAprobadas(aprobadas);
+                    datos.setApellidos(row.getTexto("APELLIDOS"));
+                    datos.setNombres(row.getTexto("NOMBRES"));
+                    datos.setUsuario(row.getTexto("USUARIO"));
+                    datos.setPrograma(row.getTexto("PROGRAMA"));
+                    datos.setCreditosAprobados(row.getEntero("CREDITOS_APROBADOS"));
+                    datos.setPeriodosMatriculados(row.getEntero("PERIODOS_MATRICULADOS"));
+                    datos.setPromedioCarrera(getCellBigDecimal(row, "PROMEDIO_CARRERA"));
+                    datos.setAprobadas(row.getEntero("APROBADAS"));
+                    datos.setFilaArchivo(row.getNumeroFila() + 1);
 
                     // Valores por defecto
                     datos.setEsNivelado(false);
@@ -127,12 +133,12 @@ public class SimcaCsvParserService {
                     datos.setEstadoAptitud(EstadoAptitud.PENDIENTE_VALIDACION);
 
                     listaDatos.add(datos);
+                    return true;
 
                 } catch (Exception e) {
-                    throw new BusinessException("Error procesando fila de Excel: " + (i+1) + " | Error: " + e.getMessage());
-                    // Continuar con la siguiente fila
+                    throw new BusinessException("Error procesando fila de Excel: " + (row.getNumeroFila() + 1) + " | Error: " + e.getMessage());
                 }
-            }
+            });
         }  catch (BusinessException e) {
             // Propagar tal cual, no envolver
             throw e;
@@ -140,8 +146,8 @@ public class SimcaCsvParserService {
         } catch (Exception e) {
             // Este es el catch general solo para errores reales del archivo
             throw new BusinessException(
-                    "Error procesando el archivo '" + archivo.getOriginalFilename() +
-                            "'. Asegúrese de que sea un archivo Excel (.xls o .xlsx) válido. " +
+                    "Error procesando el archivo '" + archivo.nombreOriginal() +
+                            "'. Asegúrese de que sea un archivo Excel (.xls o .xlsx) o CSV válido. " +
                             "Detalle: " + e.getMessage()
             );
         }
@@ -149,36 +155,24 @@ public class SimcaCsvParserService {
     }
 
     /**
-     * Métodos de ayuda (inspirados en tu clase de ejemplo)
+     * Crea una entidad nueva con los valores leídos de SIMCA y los valores por defecto.
      */
-
-    /**
-     * Obtiene el valor de una celda como texto formateado.
-     */
-    private String getCellString(Row row, Integer colIndex, DataFormatter formatter) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        return formatter.formatCellValue(cell).trim();
-    }
-
-    /**
-     * Obtiene el valor de una celda numérica como entero.
-     */
-    private Integer getCellInteger(Row row, Integer colIndex) {
-        if (colIndex == null) return null;
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-        try {
-            if (cell.getCellType() == CellType.NUMERIC) {
-                return (int) cell.getNumericCellValue();
-            } else {
-                String s = cell.toString().trim();
-                return Integer.parseInt(s);
-            }
-        } catch (Exception e) {
-            return null;
-        }
+    private DatosAcademico copiar(DatosAcademico leido) {
+        DatosAcademico datos = new DatosAcademico();
+        datos.setCodigoEstudiante(leido.getCodigoEstudiante());
+        datos.setApellidos(leido.getApellidos());
+        datos.setNombres(leido.getNombres());
+        datos.setUsuario(leido.getUsuario());
+        datos.setPrograma(leido.getPrograma());
+        datos.setCreditosAprobados(leido.getCreditosAprobados());
+        datos.setPeriodosMatriculados(leido.getPeriodosMatriculados());
+        datos.setPromedioCarrera(leido.getPromedioCarrera());
+        datos.setAprobadas(leido.getAprobadas());
+        datos.setFilaArchivo(leido.getFilaArchivo());
+        datos.setEsNivelado(false);
+        datos.setPorcentajeAvance(BigDecimal.ZERO);
+        datos.setEstadoAptitud(EstadoAptitud.PENDIENTE_VALIDACION);
+        return datos;
     }
 
     /**
@@ -187,13 +181,10 @@ public class SimcaCsvParserService {
      *  - Máximo 3 decimales
      *  - Rango permitido: 0.000 a 5.000
      */
-    private BigDecimal getCellBigDecimal(Row row, Integer colIndex) {
-        if (colIndex == null) return null;
+    private BigDecimal getCellBigDecimal(FilaExcel row, String columna) {
+        if (!row.tieneCelda(columna)) return null;
 
-        Cell cell = row.getCell(colIndex);
-        if (cell == null) return null;
-
-        int fila = row.getRowNum() + 1; // fila 1-based
+        int fila = row.getNumeroFila() + 1; // fila 1-based
 
         try {
 
@@ -202,15 +193,15 @@ public class SimcaCsvParserService {
             // -------------------------------
             // CASO 1: Valor numérico puro
             // -------------------------------
-            if (cell.getCellType() == CellType.NUMERIC) {
-                bd = BigDecimal.valueOf(cell.getNumericCellValue());
+            if (row.esNumerica(columna)) {
+                bd = BigDecimal.valueOf(row.getValorNumerico(columna));
             }
 
             // -------------------------------
             // CASO 2: Valor en texto
             // -------------------------------
             else {
-                String raw = cell.getStringCellValue().trim();
+                String raw = row.getTexto(columna);
                 if (raw.isBlank()) return null;
 
                 raw = raw.replace(",", ".");
@@ -237,10 +228,7 @@ public class SimcaCsvParserService {
             // -------------------------------
             // VALIDACIÓN: Rango permitido
             // -------------------------------
-            BigDecimal min = new BigDecimal("0.000");
-            BigDecimal max = new BigDecimal("5.000");
-
-            if (bd.compareTo(min) < 0 || bd.compareTo(max) > 0) {
+            if (bd.compareTo(PROMEDIO_MINIMO) < 0 || bd.compareTo(PROMEDIO_MAXIMO) > 0) {
                 throw new BusinessException(
                         " el promedio (" + bd + ") está fuera del rango permitido (0.000 - 5.000)."
                 );
@@ -254,7 +242,7 @@ public class SimcaCsvParserService {
         } catch (Exception e) {
             throw new BusinessException(
                     "Error procesando promedio en la fila " + fila +
-                            ". Valor recibido: '" + cell.toString() + "'"
+                            ". Valor recibido: '" + row.getTexto(columna) + "'"
             );
         }
     }
@@ -5,8 +5,12 @@ import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateExceptio
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.*;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
+import java.util.Map;
 import org.springframework.lang.Nullable;
 
 public interface ValidacionAcademicaService {
@@ -20,7 +24,10 @@ public interface ValidacionAcademicaService {
      *
      * @param idPeriodo ID del período académico sobre el cual se realiza la carga
      * @param archivos lista de archivos CSV exportados desde SIMCA
-     * @return objeto {@link SimcaCargaResponse} con el resumen de la carga y las inconsistencias encontradas
+     * <p>Las inconsistencias detectadas reemplazan a las de cargas anteriores del período y se
+     * guardan en lotes a medida que se encuentran; la respuesta solo incluye su cantidad por tipo.</p>
+     *
+     * @return objeto {@link SimcaCargaResponse} con el resumen de la carga y el conteo de inconsistencias
      * @throws ResourceNotFoundException si el período no existe
      * @throws InvalidStateException si el período no está en estado PROCESO_CONFIRMACION_SIMCA
      * @throws BusinessException si ocurre un error al procesar los archivos
@@ -54,6 +61,36 @@ public interface ValidacionAcademicaService {
      */
     List<RespuestaFormularioResponse> obtenerInconsistencias(Long idPeriodo);
 
+    /**
+     * Consulta paginada de las inconsistencias registradas en la última carga SIMCA del período.
+     *
+     * @param idPeriodo ID del período académico
+     * @param tipo tipo de inconsistencia a filtrar, o {@code null} para todos
+     * @param archivo nombre del archivo de origen a filtrar, o {@code null} para todos
+     * @param codigo prefijo del código de estudiante a filtrar, o {@code null} para todos
+     * @param pageable página, tamaño y orden solicitados
+     * @return página de {@link InconsistenciaSimcaResponse}
+     * @throws ResourceNotFoundException si el período no existe
+     */
+    PagedModel<InconsistenciaSimcaResponse> consultarInconsistenciasSimca(
+            Long idPeriodo,
+            @Nullable TipoInconsistenciaSimca tipo,
+            @Nullable String archivo,
+            @Nullable String codigo,
+            Pageable pageable
+    );
+
+    /**
+     * Cuenta las inconsistencias registradas en la última carga SIMCA del período, por tipo.
+     *
+     * <p>Todos los tipos aparecen en el resultado, con cero si no tienen registros.</p>
+     *
+     * @param idPeriodo ID del período académico
+     * @return cantidad de inconsistencias por tipo
+     * @throws ResourceNotFoundException si el período no existe
+     */
+    Map<TipoInconsistenciaSimca, Long> contarInconsistenciasSimca(Long idPeriodo);
+
     /**
      * Permite resolver una inconsistencia proveniente de SIMCA.
      *
@@ -1,53 +1,69 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
 
 // DTOs, Enums, Models
+import com.unicauca.fiet.sistema_electivas.common.metricas.EtapaProceso;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.EstadoPlanEstudio;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.*;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.TipoInconsistenciaSimca;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.InconsistenciaSimcaMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.ValidacionProcesamientoMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.InconsistenciaSimca;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.ReglasPlanCompiladas;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.service.ReglasPlanCache;
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
+import com.unicauca.fiet.sistema_electivas.archivo.dto.ArchivoAlmacenado;
 
 
 // Repositorios
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestasFormularioRepository;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.DatosAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.InconsistenciaSimcaRepository;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.repository.PlanEstudioRepository;
 
 // Servicios y Mappers
 import com.unicauca.fiet.sistema_electivas.archivo.service.ArchivoService;
-import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.DatosAcademicoMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.RespuestaFormularioMapper;
 
 // Excepciones
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
+import com.unicauca.fiet.sistema_electivas.common.util.ConcurrenciaUtil;
 
 // Imports de Spring y Java
+import com.unicauca.fiet.sistema_electivas.programa.dto.ProgramaResuelto;
 import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
 import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
+import com.unicauca.fiet.sistema_electivas.programa.service.DirectorioProgramas;
 import lombok.RequiredArgsConstructor;
 import org.springframework.lang.Nullable;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
-import java.text.Normalizer;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 
@@ -73,10 +89,21 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
     @Autowired
     private ProgramaRepository programaRepository;
     @Autowired
-    private DatosAcademicoMapper datosAcademicoMapper;
+    private DirectorioProgramas directorioProgramas;
+    @Autowired
+    private ReglasPlanCache reglasPlanCache;
+    @Autowired
+    private InconsistenciaSimcaRepository inconsistenciaSimcaRepository;
+    @Autowired
+    private MetricasEtapas metricasEtapas;
+
+    // Coincide con hibernate.jdbc.batch_size y con el allocationSize de la secuencia
+    private static final int TAMANO_LOTE_INCONSISTENCIAS = 50;
+
     /**
      * {@inheritDoc}
      */
+    @EtapaProceso("carga-simca")
     @Transactional
     @Override
     public SimcaCargaResponse cargarYValidarDatosSimca(Long idPeriodo, MultipartFile[] archivos) {
@@ -87,18 +114,46 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
         Set<String> codigosEsperados = mapaRespuestas.keySet();
         // Mapa para buscar la 'RespuestaFormulario' original por código
 
-        List<InconsistenciaDto> inconsistencias = new ArrayList<>();
+        // La carga recalcula las inconsistencias de las respuestas que evalúa; las demás del
+        // período (otras respuestas y archivos de cargas anteriores) se conservan
+        if (!mapaRespuestas.isEmpty()) {
+            inconsistenciaSimcaRepository.deleteByRespuestaIdIn(
+                    mapaRespuestas.values().stream().map(RespuestasFormulario::getId).toList());
+        }
+        RegistroInconsistencias inconsistencias = new RegistroInconsistencias(periodo);
+        Set<Long> archivosReemplazados = new HashSet<>();
         int registrosExitosos = 0;
         int archivosProcesados = 0;
 
-        for (MultipartFile archivo : archivos) {
-            archivosProcesados++;
-            registrosExitosos += procesarArchivoSimca(
-                    archivo, periodo, mapaRespuestas,
-                    codigosEsperados, inconsistencias
-            );
+        // 2. Almacenar y leer todos los archivos en paralelo (hilos virtuales): cada archivo se
+        //    guarda calculando su huella y se lee desde la copia almacenada
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<LecturaSimca>> lecturas = new ArrayList<>(archivos.length);
+            for (MultipartFile archivo : archivos) {
+                lecturas.add(executor.submit(() -> {
+                    ArchivoAlmacenado almacenado = archivoService.almacenarArchivoDatosAcademicos(archivo);
+                    return new LecturaSimca(almacenado, leerArchivoSimca(almacenado));
+                }));
+            }
+
+            // 3. Registrar y consolidar en el orden de carga: las reglas dependen de los códigos ya procesados
+            for (int i = 0; i < archivos.length; i++) {
+                LecturaSimca lectura = ConcurrenciaUtil.esperar(lecturas.get(i));
+                CargaArchivo carga = archivoService.registrarArchivoDatosAcademicos(lectura.almacenado(), periodo);
+                // Un archivo idéntico a uno ya cargado reutiliza su registro: sus inconsistencias se reemplazan
+                if (archivosReemplazados.add(carga.getId())) {
+                    inconsistenciaSimcaRepository.deleteByArchivoCargadoId(carga.getId());
+                }
+                archivosProcesados++;
+                metricasEtapas.registrarFilas(lectura.datos().size());
+                registrosExitosos += procesarArchivoSimca(
+                        archivos[i], lectura.datos(), carga, mapaRespuestas,
+                        codigosEsperados, inconsistencias
+                );
+            }
         }
         verificarFaltantesSimca(mapaRespuestas, codigosEsperados, inconsistencias);
+        inconsistencias.guardarPendientes();
         // 7. Verificar si aún hay respuestas sin datos cargados
         String mensajeBase = String.format(
                 "Se procesaron %d archivos con %d registros exitosos.",
@@ -107,7 +162,8 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
         String mensajeFinal=actualizarEstadoPeriodoSiCompleto(periodo, idPeriodo);
         // 8. Generar reporte (HU 2.1.1.1 y 2.1.1.4)
 
-        return new SimcaCargaResponse(mensajeBase+mensajeFinal, archivosProcesados, registrosExitosos, inconsistencias.size(), inconsistencias);
+        return new SimcaCargaResponse(mensajeBase+mensajeFinal, archivosProcesados, registrosExitosos,
+                inconsistencias.getTotal(), inconsistencias.getConteoPorTipo());
     }
 
     /**
@@ -152,45 +208,53 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
     }
 
     /**
-     * Procesa un archivo CSV de SIMCA, validando cada registro contra las respuestas esperadas
-     * y registrando inconsistencias cuando sea necesario.
+     * Procesa los registros ya leídos de un archivo de SIMCA, validando cada uno contra las
+     * respuestas esperadas y registrando inconsistencias cuando sea necesario.
      *
      * <p>Guarda los datos académicos válidos y actualiza los estados de las respuestas
      * a DATOS_CARGADOS o INCONSISTENTE_SIMCA según corresponda.</p>
      *
+     * <p>Se ejecuta en el hilo de la petición y en el orden de carga de los archivos, de modo
+     * que un código repetido en dos archivos se resuelve siempre igual.</p>
+     *
      * @param archivo archivo CSV proveniente de SIMCA
-     * @param periodo período académico en proceso
+     * @param datosDelArchivo registros leídos del archivo
+     * @param carga registro del archivo en el almacenamiento
      * @param mapaRespuestas mapa de respuestas válidas (por código de estudiante)
      * @param codigosEsperados conjunto de códigos esperados según las respuestas previas
-     * @param inconsistencias lista donde se agregan las inconsistencias detectadas
+     * @param inconsistencias registro donde se agregan las inconsistencias detectadas
      * @return cantidad de registros cargados exitosamente
      */
     private int procesarArchivoSimca(
             MultipartFile archivo,
-            PeriodoAcademico periodo,
+            List<DatosAcademico> datosDelArchivo,
+            CargaArchivo carga,
             Map<String, RespuestasFormulario> mapaRespuestas,
             Set<String> codigosEsperados,
-            List<InconsistenciaDto> inconsistencias
+            RegistroInconsistencias inconsistencias
     ) {
-        List<DatosAcademico> datosDelArchivo = leerArchivoSimca(archivo);
-        CargaArchivo carga = archivoService.guardarArchivoDatosAcademicos(archivo, periodo);
-
         List<DatosAcademico> aGuardar = new ArrayList<>();
         List<RespuestasFormulario> respuestasAActualizar = new ArrayList<>();
         int registrosExitosos = 0;
 
+        // Si el archivo es idéntico a uno ya cargado, sus registros aplicados no son inconsistencias
+        Set<String> cargadosConEsteArchivo = datosAcademicoRepository.findCodigosEstudianteByArchivoCargadoId(carga.getId());
+
         for (DatosAcademico datos : datosDelArchivo) {
             String codigo = datos.getCodigoEstudiante();
 
             if (!codigosEsperados.contains(codigo)) {
-                registrarInconsistenciaNoInscrito(datos, archivo, inconsistencias);
+                if (cargadosConEsteArchivo.contains(codigo)) {
+                    continue;
+                }
+                registrarInconsistenciaNoInscrito(datos, archivo, carga, inconsistencias);
                 continue;
             }
 
             RespuestasFormulario respuesta = mapaRespuestas.get(codigo);
 
             if (esFilaIncompleta(datos)) {
-                registrarInconsistenciaInactiva(datos, respuesta, archivo, inconsistencias);
+                registrarInconsistenciaInactiva(datos, respuesta, archivo, carga, inconsistencias);
                 respuesta.setEstado(EstadoRespuestaFormulario.INCONSISTENTE_SIMCA);
                 respuestasAActualizar.add(respuesta);
                 // ELIMINAR DE ESPERADOS ya que ya se proceso inconsistencias
@@ -202,21 +266,18 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
             if (plan == null) {
 
                 // 1. Revisar por qué falló
-                String normalizadoPrograma = Normalizer.normalize(datos.getPrograma(), Normalizer.Form.NFD)
-                        .replaceAll("\\p{M}", "")
-                        .toLowerCase();
+                boolean programaEncontrado = directorioProgramas
+                        .resolver(datos.getPrograma(), EstadoPrograma.APROBADO)
+                        .isPresent();
 
-                Programa programaEncontrado = programaRepository.buscarFlexible(normalizadoPrograma, EstadoPrograma.APROBADO)
-                        .orElse(null);
-
-                if (programaEncontrado == null) {
+                if (!programaEncontrado) {
                     // No existe un programa que coincida
                     respuesta.setEstado(EstadoRespuestaFormulario.PROGRAMA_NO_ENCONTRADO);
-                    registrarInconsistenciaPrograma(datos, respuesta, archivo, inconsistencias);
+                    registrarInconsistenciaPrograma(datos, respuesta, archivo, carga, inconsistencias);
                 } else {
                     // Sí existe el programa, pero falló seleccionar plan
                     respuesta.setEstado(EstadoRespuestaFormulario.PLAN_NO_ENCONTRADO);
-                    registrarInconsistenciaPlan(datos, respuesta, archivo, inconsistencias);
+                    registrarInconsistenciaPlan(datos, respuesta, archivo, carga, inconsistencias);
                 }
 
                 respuestasAActualizar.add(respuesta);
@@ -255,30 +316,35 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      *
      * @param mapaRespuestas mapa de respuestas esperadas
      * @param codigosEsperados conjunto de códigos de estudiantes esperados
-     * @param inconsistencias lista donde se agregan las inconsistencias detectadas
+     * @param inconsistencias registro donde se agregan las inconsistencias detectadas
      */
     private void verificarFaltantesSimca(
             Map<String, RespuestasFormulario> mapaRespuestas,
             Set<String> codigosEsperados,
-            List<InconsistenciaDto> inconsistencias
+            RegistroInconsistencias inconsistencias
     ) {
+        List<RespuestasFormulario> faltantes = new ArrayList<>();
         // IMPORTANTE: ahora solo quedan los faltantes reales
         for (String codigo : codigosEsperados) {
 
             RespuestasFormulario resp = mapaRespuestas.get(codigo);
             if (resp != null) {
-                inconsistencias.add(new InconsistenciaDto(
-                        resp.getId(),
+                inconsistencias.registrar(
+                        TipoInconsistenciaSimca.SIN_DATOS_SIMCA,
+                        resp,
                         codigo,
                         resp.getNombreEstudiante(),
-                        "Se esperaba información de SIMCA para este estudiante, pero no se encontró en los archivos.",
+                        TipoInconsistenciaSimca.SIN_DATOS_SIMCA.getDescripcion(),
+                        null,
+                        null,
                         null
-                ));
+                );
 
                 resp.setEstado(EstadoRespuestaFormulario.DATOS_NO_CARGADOS);
-                respuestasRepository.save(resp);
+                faltantes.add(resp);
             }
         }
+        respuestasRepository.saveAll(faltantes);
     }
 
     /**
@@ -317,21 +383,16 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
 
     /**
      * Busca y asigna el plan de estudios adecuado a partir de los datos académicos de SIMCA.
-     * Ignora mayúsculas/tildes en la comparación del nombre del programa.
+     * El programa se resuelve con {@link DirectorioProgramas}, sin consultar la base de datos.
      *
      * @param datos datos académicos del estudiante
      * @return plan de estudio encontrado o null si no se pudo determinar
      */
     public PlanEstudio obtenerPlanParaDatosAcademicos(DatosAcademico datos) {
-        // 1. Buscar programa activo directamente (ignorando tildes y mayúsculas)
-        String normalizado = Normalizer
-                .normalize(datos.getPrograma(), Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "") // elimina acentos
-                .toLowerCase();
-        Programa programa = programaRepository.buscarFlexible(normalizado, EstadoPrograma.APROBADO).orElse(null);
-        System.out.println(programa);
-        if (programa == null) return null; // No hay programa activo coincidente
-        System.out.println("encontrado");
+        // 1. Resolver el programa aprobado en memoria (ignorando tildes, mayúsculas y alias de SIMCA)
+        ProgramaResuelto resuelto = directorioProgramas.resolver(datos.getPrograma(), EstadoPrograma.APROBADO).orElse(null);
+        if (resuelto == null) return null; // No hay programa activo coincidente
+        Programa programa = programaRepository.getReferenceById(resuelto.id());
         // 3. Buscar planes activos del programa
         List<PlanEstudio> planesActivos = planEstudioRepository
                 .findByProgramaAndEstado(programa, EstadoPlanEstudio.ACTIVO);
@@ -377,18 +438,22 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
     /**
      * Lee y convierte un archivo CSV de SIMCA en una lista de objetos {@link DatosAcademico}.
      *
-     * @param archivo archivo CSV a procesar
+     * @param archivo archivo CSV ya almacenado
      * @return lista de registros académicos
      * @throws BusinessException si ocurre un error al parsear el archivo
      */
-    private List<DatosAcademico> leerArchivoSimca(MultipartFile archivo) {
+    private List<DatosAcademico> leerArchivoSimca(ArchivoAlmacenado archivo) {
         try {
             return csvParserService.parsearArchivoSimca(archivo);
         } catch (Exception e) {
-            throw new BusinessException("Error en el archivo '" + archivo.getOriginalFilename() + "'. " + e.getMessage());
+            throw new BusinessException("Error en el archivo '" + archivo.nombreOriginal() + "'. " + e.getMessage());
         }
     }
 
+    /** Resultado de almacenar y leer un archivo SIMCA en paralelo. */
+    private record LecturaSimca(ArchivoAlmacenado almacenado, List<DatosAcademico> datos) {
+    }
+
     /**
      * Determina si una fila del archivo SIMCA está incompleta o con datos faltantes.
      *
@@ -432,16 +497,20 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      *
      * @param d datos del estudiante detectado
      * @param a archivo de origen
-     * @param incs lista donde se agregará la inconsistencia
+     * @param carga registro del archivo de origen
+     * @param incs registro donde se agregará la inconsistencia
      */
-    private void registrarInconsistenciaNoInscrito(DatosAcademico d, MultipartFile a, List<InconsistenciaDto> incs) {
-        incs.add(new InconsistenciaDto(
+    private void registrarInconsistenciaNoInscrito(DatosAcademico d, MultipartFile a, CargaArchivo carga, RegistroInconsistencias incs) {
+        incs.registrar(
+                TipoInconsistenciaSimca.NO_INSCRITO,
                 null,
                 d.getCodigoEstudiante(),
                 d.getNombres() + " " + d.getApellidos(),
-                "Estudiante no inscrito en el proceso (no registró una respuesta válida).",
-                a.getOriginalFilename()
-        ));
+                TipoInconsistenciaSimca.NO_INSCRITO.getDescripcion(),
+                carga,
+                a.getOriginalFilename(),
+                d.getFilaArchivo()
+        );
     }
 
     /**
@@ -452,16 +521,20 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      * @param d datos académicos del estudiante
      * @param r respuesta original asociada al estudiante
      * @param a archivo de origen
-     * @param incs lista donde se agregará la inconsistencia
+     * @param carga registro del archivo de origen
+     * @param incs registro donde se agregará la inconsistencia
      */
-    private void registrarInconsistenciaInactiva(DatosAcademico d, RespuestasFormulario r, MultipartFile a, List<InconsistenciaDto> incs) {
-        incs.add(new InconsistenciaDto(
-                r.getId(),
+    private void registrarInconsistenciaInactiva(DatosAcademico d, RespuestasFormulario r, MultipartFile a, CargaArchivo carga, RegistroInconsistencias incs) {
+        incs.registrar(
+                TipoInconsistenciaSimca.INACTIVO_SIMCA,
+                r,
                 d.getCodigoEstudiante(),
                 (d.getNombres() + " " + d.getApellidos()).trim(),
-                "El código aparece inactivo o sin información válida en SIMCA.",
-                a.getOriginalFilename()
-        ));
+                TipoInconsistenciaSimca.INACTIVO_SIMCA.getDescripcion(),
+                carga,
+                a.getOriginalFilename(),
+                d.getFilaArchivo()
+        );
     }
     /**
      * Registra una inconsistencia cuando no se encuentra un plan de estudios activo
@@ -472,16 +545,20 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      * @param d datos académicos del estudiante
      * @param r respuesta original asociada al estudiante
      * @param a archivo de origen
-     * @param incs lista donde se agregará la inconsistencia
+     * @param carga registro del archivo de origen
+     * @param incs registro donde se agregará la inconsistencia
      */
-    private void registrarInconsistenciaPlan(DatosAcademico d, RespuestasFormulario r, MultipartFile a, List<InconsistenciaDto> incs) {
-        incs.add(new InconsistenciaDto(
-                r.getId(),
+    private void registrarInconsistenciaPlan(DatosAcademico d, RespuestasFormulario r, MultipartFile a, CargaArchivo carga, RegistroInconsistencias incs) {
+        incs.registrar(
+                TipoInconsistenciaSimca.PLAN_NO_ENCONTRADO,
+                r,
                 d.getCodigoEstudiante(),
                 d.getNombres() + " " + d.getApellidos(),
-                "No se encontró un plan de estudio activo adecuado para el programa o año de ingreso.",
-                a.getOriginalFilename()
-        ));
+                TipoInconsistenciaSimca.PLAN_NO_ENCONTRADO.getDescripcion(),
+                carga,
+                a.getOriginalFilename(),
+                d.getFilaArchivo()
+        );
     }
     /**
      * Registra una inconsistencia cuando no se encuentra un programa en el sistema
@@ -490,21 +567,94 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      * @param d datos académicos del estudiante (provenientes de SIMCA)
      * @param r respuesta original asociada al estudiante
      * @param a archivo de origen que generó la inconsistencia
-     * @param incs lista donde se agregará la inconsistencia
+     * @param carga registro del archivo de origen
+     * @param incs registro donde se agregará la inconsistencia
      */
     private void registrarInconsistenciaPrograma(
             DatosAcademico d,
             RespuestasFormulario r,
             MultipartFile a,
-            List<InconsistenciaDto> incs
+            CargaArchivo carga,
+            RegistroInconsistencias incs
     ) {
-        incs.add(new InconsistenciaDto(
-                r.getId(),
+        incs.registrar(
+                TipoInconsistenciaSimca.PROGRAMA_NO_ENCONTRADO,
+                r,
                 d.getCodigoEstudiante(),
                 d.getNombres() + " " + d.getApellidos(),
                 "No se encontró un programa registrado que coincida con '" + d.getPrograma() + "' reportado por SIMCA.",
-                a.getOriginalFilename()
-        ));
+                carga,
+                a.getOriginalFilename(),
+                d.getFilaArchivo()
+        );
+    }
+
+    /**
+     * Acumula las inconsistencias de una carga SIMCA y las guarda en lotes de
+     * {@value #TAMANO_LOTE_INCONSISTENCIAS}, llevando el conteo por tipo.
+     *
+     * <p>Así la memoria usada no depende del número de inconsistencias y la respuesta
+     * de la carga solo necesita los conteos.</p>
+     */
+    private final class RegistroInconsistencias {
+
+        private final PeriodoAcademico periodo;
+        private final Instant fechaRegistro = Instant.now();
+        private final List<InconsistenciaSimca> pendientes = new ArrayList<>(TAMANO_LOTE_INCONSISTENCIAS);
+        private final Map<TipoInconsistenciaSimca, Long> conteoPorTipo = new EnumMap<>(TipoInconsistenciaSimca.class);
+        private int total = 0;
+
+        RegistroInconsistencias(PeriodoAcademico periodo) {
+            this.periodo = periodo;
+            for (TipoInconsistenciaSimca tipo : TipoInconsistenciaSimca.values()) {
+                conteoPorTipo.put(tipo, 0L);
+            }
+        }
+
+        void registrar(
+                TipoInconsistenciaSimca tipo,
+                @Nullable RespuestasFormulario respuesta,
+                String codigo,
+                String nombre,
+                String mensaje,
+                @Nullable CargaArchivo carga,
+                @Nullable String nombreArchivo,
+                @Nullable Integer fila
+        ) {
+            InconsistenciaSimca inconsistencia = new InconsistenciaSimca();
+            inconsistencia.setPeriodo(periodo);
+            inconsistencia.setRespuesta(respuesta);
+            inconsistencia.setTipo(tipo);
+            inconsistencia.setCodigoEstudiante(codigo);
+            inconsistencia.setNombreEstudiante(nombre);
+            inconsistencia.setMensaje(mensaje);
+            inconsistencia.setArchivoCargado(carga);
+            inconsistencia.setNombreArchivo(nombreArchivo);
+            inconsistencia.setFila(fila);
+            inconsistencia.setFechaRegistro(fechaRegistro);
+
+            pendientes.add(inconsistencia);
+            conteoPorTipo.merge(tipo, 1L, Long::sum);
+            total++;
+
+            if (pendientes.size() >= TAMANO_LOTE_INCONSISTENCIAS) {
+                guardarPendientes();
+            }
+        }
+
+        void guardarPendientes() {
+            if (pendientes.isEmpty()) return;
+            inconsistenciaSimcaRepository.saveAll(pendientes);
+            pendientes.clear();
+        }
+
+        int getTotal() {
+            return total;
+        }
+
+        Map<TipoInconsistenciaSimca, Long> getConteoPorTipo() {
+            return conteoPorTipo;
+        }
     }
 
     /**
@@ -516,19 +666,11 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
             Long periodoId,
             List<EstadoAptitud> estadosFiltro
     ) {
-        List<DatosAcademico> entidades;
-
         // Si NO enviaron filtro → traer todos los estados
         if (estadosFiltro == null || estadosFiltro.isEmpty()) {
-            entidades = datosAcademicoRepository.findByRespuesta_PeriodoId(periodoId);
-        } else {
-            entidades = datosAcademicoRepository.findByRespuesta_PeriodoIdAndEstadoAptitudIn(
-                    periodoId,
-                    estadosFiltro
-            );
+            return datosAcademicoRepository.listarResumenPorPeriodo(periodoId);
         }
-
-        return datosAcademicoMapper.toResponseList(entidades);
+        return datosAcademicoRepository.listarResumenPorPeriodoYEstados(periodoId, estadosFiltro);
     }
 
     /**
@@ -550,10 +692,11 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
             }
 
             // Validar que no exista otra respuesta con el mismo código en el mismo periodo
-            boolean existe = respuestasRepository.existsByPeriodoIdAndCodigoEstudianteAndEstado(
+            boolean existe = respuestasRepository.existsByPeriodoIdAndCodigoEstudianteAndIdNotAndEstadoIn(
                     respuesta.getPeriodo().getId(),
                     nuevoCodigo.trim(),
-                    EstadoRespuestaFormulario.DATOS_CARGADOS
+                    respuestaId,
+                    List.of(EstadoRespuestaFormulario.DATOS_CARGADOS)
             );
 
             if (existe) {
@@ -570,6 +713,8 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
         }
 
         respuestasRepository.save(respuesta);
+        // La inconsistencia queda resuelta: ya no se lista en la consulta paginada
+        inconsistenciaSimcaRepository.deleteByRespuestaId(respuestaId);
         //  Verificar si ya se pueden avanzar los estados del período
         String mensajeEstado = "Respuesta actualizada correctamente"+ actualizarEstadoPeriodoSiCompleto(respuesta.getPeriodo(), respuesta.getPeriodo().getId());
 
@@ -600,6 +745,51 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
         return RespuestaFormularioMapper.toResponseList(inconsistentes);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public PagedModel<InconsistenciaSimcaResponse> consultarInconsistenciasSimca(
+            Long idPeriodo,
+            @Nullable TipoInconsistenciaSimca tipo,
+            @Nullable String archivo,
+            @Nullable String codigo,
+            Pageable pageable
+    ) {
+        validarPeriodoExiste(idPeriodo);
+        return new PagedModel<>(inconsistenciaSimcaRepository
+                .buscarPorPeriodo(idPeriodo, tipo, vacioANulo(archivo), vacioANulo(codigo), pageable)
+                .map(InconsistenciaSimcaMapper::toResponse));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Transactional(readOnly = true)
+    @Override
+    public Map<TipoInconsistenciaSimca, Long> contarInconsistenciasSimca(Long idPeriodo) {
+        validarPeriodoExiste(idPeriodo);
+        Map<TipoInconsistenciaSimca, Long> conteo = new EnumMap<>(TipoInconsistenciaSimca.class);
+        for (TipoInconsistenciaSimca tipo : TipoInconsistenciaSimca.values()) {
+            conteo.put(tipo, 0L);
+        }
+        for (ConteoInconsistenciaSimca c : inconsistenciaSimcaRepository.contarPorTipo(idPeriodo)) {
+            conteo.put(c.tipo(), c.cantidad());
+        }
+        return conteo;
+    }
+
+    private void validarPeriodoExiste(Long idPeriodo) {
+        if (!periodoRepository.existsById(idPeriodo)) {
+            throw new ResourceNotFoundException("Periodo no encontrado");
+        }
+    }
+
+    private String vacioANulo(@Nullable String valor) {
+        return valor == null || valor.isBlank() ? null : valor.trim();
+    }
+
 
     /**
      * {@inheritDoc}
@@ -647,6 +837,7 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      * {@inheritDoc}
      *
      */
+    @EtapaProceso("calculo-avance")
     @Override
     @Transactional
     public CambioEstadoValidacionResponse calcularPorcentajeAvance(Long idPeriodo) {
@@ -683,6 +874,7 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
         if (datosPeriodo.isEmpty()) {
             throw new ResourceNotFoundException("No se encontraron registros académicos válidos para este período.");
         }
+        metricasEtapas.registrarFilas(datosPeriodo.size());
 
         // 4 Inicializar contadores del proceso
         int totalProcesados = 0;
@@ -699,23 +891,18 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
                     porcentajeAvance = BigDecimal.valueOf(100.00);
                     nivelados++;
                 } else {
-                    PlanEstudio plan = dato.getPlanEstudios();
-
-                    Integer creditosTotales = plan.getCreditosTotalesPlan();
-                    Integer creditosElectivas = plan.getElectivasRequeridas() != null
-                            ? plan.getElectivasRequeridas() * 3
-                            : 0;
-                    Integer creditosTG = plan.getCreditosTrabajoGrado() != null
-                            ? plan.getCreditosTrabajoGrado()
-                            : 0;
+                    // Créditos obligatorios del plan (totales - electivas - trabajo de grado), ya calculados
+                    ReglasPlanCompiladas.CreditosPlan creditosPlan =
+                            reglasPlanCache.obtener(dato.getPlanEstudios()).getCreditos();
 
-                    if (creditosTotales == null || dato.getCreditosAprobados() == null || dato.getAprobadas() == null) {
+                    if (!creditosPlan.tieneCreditosTotales() || dato.getCreditosAprobados() == null || dato.getAprobadas() == null) {
                         errores++;
                         continue;
                     }
 
-                    int totalAjustado = creditosTotales - creditosElectivas - creditosTG;
-                    int creditosEstudianteAjustados = dato.getCreditosAprobados() - (dato.getAprobadas() * 3);
+                    int totalAjustado = creditosPlan.creditosObligatorios();
+                    int creditosEstudianteAjustados = dato.getCreditosAprobados()
+                            - (dato.getAprobadas() * ReglasPlanCompiladas.CREDITOS_POR_ELECTIVA);
 
                     double porcentajeCalc = ((double) creditosEstudianteAjustados / totalAjustado) * 100.0;
 
@@ -749,6 +936,7 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
      * {@inheritDoc}
      *
      */
+    @EtapaProceso("requisitos-generales")
     @Override
     @Transactional
     public CambioEstadoValidacionResponse validarRequisitosGenerales(Long periodoId) {
@@ -776,6 +964,7 @@ public class ValidacionAcademicaServiceImpl implements ValidacionAcademicaServic
         if (estudiantes.isEmpty()) {
             throw new ResourceNotFoundException("No existen registros académicos en este período.");
         }
+        metricasEtapas.registrarFilas(estudiantes.size());
 
         // Contadores
         int totalAptos = 0;
@@ -1,10 +1,12 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
 
+import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.DatosAcademicoResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.ValidacionNiveladoResponseDTO;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.VerificacionNiveladoDTO;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.VerificacionNiveladoLoteResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.util.List;
@@ -24,6 +26,28 @@ public interface ValidacionNiveladosService {
      */
     VerificacionNiveladoDTO generarReporteNivelado(MultipartFile archivoExcel, Long idDatosAcademicos);
 
+    /**
+     * Genera los reportes de nivelación de varios estudiantes a partir de un ZIP de historiales.
+     *
+     * <p>Cada archivo del ZIP debe llamarse con el código del estudiante (por ejemplo
+     * {@code 104618021234.xlsx}). Los historiales se leen y comparan en paralelo con la malla
+     * de cada plan, y el resultado de cada archivo se devuelve en el orden del ZIP junto con
+     * un resumen del lote.</p>
+     *
+     * <p>Si {@code aplicarDecisiones} es {@code true}, se registra la decisión final
+     * (como en {@link #registrarDecisionFinal(Long, boolean)}) para los casos inequívocos:
+     * todas las materias aprobadas, o materias pendientes sin ninguna "No cursada".</p>
+     *
+     * @param idPeriodo ID del período académico
+     * @param archivoZip ZIP con los historiales académicos
+     * @param aplicarDecisiones si se registran automáticamente las decisiones inequívocas
+     * @return resumen del lote y resultado por archivo
+     * @throws ResourceNotFoundException si el período no existe
+     * @throws InvalidStateException si el período no está en PROCESO_REVISION_POTENCIALES_NIVELADOS
+     * @throws BusinessException si el ZIP está vacío, es inválido o supera los límites del lote
+     */
+    VerificacionNiveladoLoteResponse generarReportesNiveladoLote(Long idPeriodo, MultipartFile archivoZip, boolean aplicarDecisiones);
+
     /**
      * Registra la decisión final del administrador sobre si un estudiante
      * cumple o no con el nivel de avance esperado.
@@ -1,20 +1,25 @@
 package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
+import com.unicauca.fiet.sistema_electivas.common.metricas.EtapaProceso;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
+import com.unicauca.fiet.sistema_electivas.common.util.BuscadorSubcadenas;
+import com.unicauca.fiet.sistema_electivas.common.util.ConcurrenciaUtil;
+import com.unicauca.fiet.sistema_electivas.common.util.TextoUtil;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
-import com.unicauca.fiet.sistema_electivas.plan_estudio.dto.ReglaNivelacion;
 import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
-import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
-import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanMateria;
-import com.unicauca.fiet.sistema_electivas.plan_estudio.repository.PlanMateriaRepository;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.MallaNormalizada;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.MallaNormalizada.MateriaNormalizada;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.ReglasPlanCompiladas;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.service.MallaNormalizadaCache;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.service.ReglasPlanCache;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.*;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.ResultadoVerificacionLote;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.DatosAcademicoMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.VerificacionNiveladoMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
@@ -23,27 +28,57 @@ import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.D
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.text.Normalizer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipInputStream;
 import java.util.concurrent.atomic.AtomicInteger;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosService {
+
+    // Límites del ZIP de historiales académicos
+    private static final int MAXIMO_HISTORIALES_POR_LOTE = 500;
+    private static final long TAMANO_MAXIMO_HISTORIAL = 10L * 1024 * 1024;
+
+    // Hilos para leer y comparar historiales: la lectura de Excel consume CPU y memoria, por eso se acota
+    private static final int HILOS_VERIFICACION_LOTE =
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+    private static final String OBSERVACION_NO_CURSADA = "No cursada";
+
     @Autowired
-    private ObjectMapper objectMapper;
+    private ReglasPlanCache reglasPlanCache;
     @Autowired
     private DatosAcademicoRepository datosAcademicoRepository;
     @Autowired
-    private PlanMateriaRepository planMateriaRepository;
+    private MallaNormalizadaCache mallaNormalizadaCache;
     @Autowired
     private ExcelHistorialAcademicoService  excelHistorialAcademicoService;
     @Autowired
@@ -52,6 +87,8 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
     private DatosAcademicoMapper datosAcademicoMapper;
     @Autowired
     private VerificacionNiveladoMapper verificacionNiveladoMapper;
+    @Autowired
+    private MetricasEtapas metricasEtapas;
     /**
      * {@inheritDoc}
      */
@@ -76,20 +113,20 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
             throw new BusinessException("El estudiante no cumple con ninguna de las reglas de nivelación del su plan.");
         }
 
-        // 4. Traer materias del plan de estudios hasta ese semestre
-        List<PlanMateria> planMaterias = planMateriaRepository
-                .findByPlanEstudios_IdAndSemestreLessThanEqualOrderBySemestreAscNombreAsc(datos.getPlanEstudios().getId(), semestres);
+        // 4. Tomar la malla normalizada del plan (en caché) y las materias hasta ese semestre
+        MallaNormalizada malla = mallaNormalizadaCache.obtener(datos.getPlanEstudios().getId());
+        int materiasEsperadas = malla.cantidadHastaSemestre(semestres);
 
         // 5. Leer materias aprobadas desde el Excel
         List<MateriaVistaExcel> materiasExcel = excelHistorialAcademicoService.parsearHistorialAcademico(archivoExcel);
 
         // 6. Comparar materias esperadas vs. materias aprobadas
-        List<MateriaComparadaDTO> comparacion = compararMaterias(planMaterias, materiasExcel);
+        List<MateriaComparadaDTO> comparacion = compararMaterias(malla, materiasEsperadas, materiasExcel);
 
         // 7. Calcular porcentaje de avance (materias aprobadas / materias esperadas)
         boolean todasAprobadas = comparacion.stream().allMatch(MateriaComparadaDTO::isAprobada);
         BigDecimal porcentaje = BigDecimal.valueOf(
-                (double) comparacion.stream().filter(MateriaComparadaDTO::isAprobada).count() * 100 / planMaterias.size()
+                (double) comparacion.stream().filter(MateriaComparadaDTO::isAprobada).count() * 100 / materiasEsperadas
         ).setScale(2, RoundingMode.HALF_UP);
 
         // 9. Construir DTO de salida
@@ -100,6 +137,280 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
                 semestres
         );
     }
+    /**
+     * {@inheritDoc}
+     */
+    @Transactional
+    @Override
+    public VerificacionNiveladoLoteResponse generarReportesNiveladoLote(
+            Long idPeriodo,
+            MultipartFile archivoZip,
+            boolean aplicarDecisiones
+    ) {
+        PeriodoAcademico periodo = periodoRepository.findById(idPeriodo)
+                .orElseThrow(() -> new ResourceNotFoundException("Periodo no encontrado"));
+
+        if (periodo.getEstado() != EstadoPeriodoAcademico.PROCESO_REVISION_POTENCIALES_NIVELADOS) {
+            throw new InvalidStateException("Solo se pueden verificar la nivelación de un estudiante despues de preseleccionar los posibles nivelados.");
+        }
+        if (archivoZip == null || archivoZip.isEmpty()) {
+            throw new BusinessException("El archivo está vacío o no fue enviado.");
+        }
+
+        // 1. Posibles nivelados del período, con su plan ya cargado
+        Map<String, DatosAcademico> candidatos = datosAcademicoRepository
+                .findAptosConPlanByPeriodo(idPeriodo, EstadoAptitud.POSIBLE_NIVELADO)
+                .stream()
+                .collect(Collectors.toMap(DatosAcademico::getCodigoEstudiante, d -> d, (a, b) -> a, LinkedHashMap::new));
+
+        Path carpeta = crearCarpetaTemporal();
+        try {
+            // 2. Extraer los historiales del ZIP (secuencial: el ZIP solo se puede leer en orden)
+            List<HistorialLote> historiales = extraerHistoriales(archivoZip, carpeta);
+
+            // 3. Leer y comparar en paralelo sobre un pool acotado; los resultados conservan el orden del ZIP
+            List<VerificacionNiveladoLoteItemDTO> resultados;
+            Set<String> codigosProcesados = new HashSet<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(HILOS_VERIFICACION_LOTE)) {
+                List<Future<VerificacionNiveladoLoteItemDTO>> tareas = new ArrayList<>(historiales.size());
+                for (HistorialLote historial : historiales) {
+                    tareas.add(planificarVerificacion(historial, candidatos, codigosProcesados, executor));
+                }
+                resultados = tareas.stream().map(ConcurrenciaUtil::esperar).toList();
+            }
+
+            // 4. Registrar decisiones inequívocas (en el hilo de la petición, dentro de la transacción)
+            if (aplicarDecisiones) {
+                resultados.forEach(this::aplicarDecisionSiEsInequivoca);
+            }
+
+            return construirRespuestaLote(resultados, candidatos, codigosProcesados);
+        } finally {
+            eliminarCarpetaTemporal(carpeta);
+        }
+    }
+
+    /**
+     * Prepara la verificación de un historial del lote y la envía al pool.
+     *
+     * <p>Las consultas y el cálculo del semestre a verificar se hacen en el hilo de la petición;
+     * en el pool solo se lee el archivo y se compara con la malla en caché. Los archivos sin
+     * candidato, duplicados o con reglas no aplicables se resuelven de inmediato.</p>
+     */
+    private Future<VerificacionNiveladoLoteItemDTO> planificarVerificacion(
+            HistorialLote historial,
+            Map<String, DatosAcademico> candidatos,
+            Set<String> codigosProcesados,
+            ExecutorService executor
+    ) {
+        String codigo = resolverCodigo(historial.nombreArchivo(), candidatos);
+        DatosAcademico datos = candidatos.get(codigo);
+
+        if (datos == null) {
+            return CompletableFuture.completedFuture(new VerificacionNiveladoLoteItemDTO(
+                    historial.nombreArchivo(), codigo, null, ResultadoVerificacionLote.SIN_CANDIDATO,
+                    ResultadoVerificacionLote.SIN_CANDIDATO.getDescripcion(), null));
+        }
+        if (!codigosProcesados.add(codigo)) {
+            return CompletableFuture.completedFuture(new VerificacionNiveladoLoteItemDTO(
+                    historial.nombreArchivo(), codigo, datos.getId(), ResultadoVerificacionLote.ERROR,
+                    "El ZIP contiene más de un historial para el código " + codigo + ".", null));
+        }
+
+        int semestres;
+        MallaNormalizada malla;
+        try {
+            semestres = determinarSemestreVerificacion(datos);
+            if (semestres == -1) {
+                throw new BusinessException("El estudiante no cumple con ninguna de las reglas de nivelación del su plan.");
+            }
+            malla = mallaNormalizadaCache.obtener(datos.getPlanEstudios().getId());
+        } catch (BusinessException e) {
+            return CompletableFuture.completedFuture(new VerificacionNiveladoLoteItemDTO(
+                    historial.nombreArchivo(), codigo, datos.getId(), ResultadoVerificacionLote.ERROR, e.getMessage(), null));
+        }
+
+        return executor.submit(() -> {
+            try {
+                List<MateriaVistaExcel> materiasExcel = excelHistorialAcademicoService.parsearHistorialAcademico(historial.ruta());
+                List<MateriaComparadaDTO> comparacion =
+                        compararMaterias(malla, malla.cantidadHastaSemestre(semestres), materiasExcel);
+                boolean todasAprobadas = comparacion.stream().allMatch(MateriaComparadaDTO::isAprobada);
+                VerificacionNiveladoDTO verificacion =
+                        verificacionNiveladoMapper.toDTO(datos, comparacion, todasAprobadas, semestres);
+
+                return new VerificacionNiveladoLoteItemDTO(
+                        historial.nombreArchivo(), codigo, datos.getId(), ResultadoVerificacionLote.VERIFICADO,
+                        verificacion.getMensajeResumen(), verificacion);
+            } catch (BusinessException e) {
+                return new VerificacionNiveladoLoteItemDTO(
+                        historial.nombreArchivo(), codigo, datos.getId(), ResultadoVerificacionLote.ERROR, e.getMessage(), null);
+            } catch (RuntimeException e) {
+                log.warn("Error verificando el historial '{}' del lote", historial.nombreArchivo(), e);
+                return new VerificacionNiveladoLoteItemDTO(
+                        historial.nombreArchivo(), codigo, datos.getId(), ResultadoVerificacionLote.ERROR,
+                        "Error inesperado procesando el historial.", null);
+            }
+        });
+    }
+
+    /**
+     * Registra la decisión final de un historial verificado si el resultado no deja dudas.
+     *
+     * <p>Se confirma la nivelación cuando todas las materias están aprobadas y se descarta cuando
+     * hay materias reprobadas o pendientes pero todas fueron encontradas en el historial. Si alguna
+     * materia aparece como "No cursada" (puede ser una diferencia de nombre) se deja para revisión
+     * manual.</p>
+     */
+    private void aplicarDecisionSiEsInequivoca(VerificacionNiveladoLoteItemDTO item) {
+        if (item.getResultado() != ResultadoVerificacionLote.VERIFICADO) return;
+
+        List<MateriaComparadaDTO> comparacion = item.getVerificacion().getComparacionMaterias();
+        if (comparacion.isEmpty()) return;
+
+        boolean nivelado = item.getVerificacion().isNivelado();
+        boolean hayNoCursadas = comparacion.stream()
+                .anyMatch(m -> OBSERVACION_NO_CURSADA.equals(m.getObservacion()));
+        if (!nivelado && hayNoCursadas) return;
+
+        registrarDecisionFinal(item.getIdDatosAcademicos(), nivelado);
+        item.setResultado(ResultadoVerificacionLote.DECISION_REGISTRADA);
+        item.setMensaje(nivelado
+                ? "Nivelación confirmada automáticamente: todas las materias están aprobadas."
+                : "Nivelación descartada automáticamente: " + item.getVerificacion().getMensajeResumen());
+    }
+
+    private VerificacionNiveladoLoteResponse construirRespuestaLote(
+            List<VerificacionNiveladoLoteItemDTO> resultados,
+            Map<String, DatosAcademico> candidatos,
+            Set<String> codigosProcesados
+    ) {
+        int verificados = 0, cumplen = 0, decisiones = 0, sinCandidato = 0, errores = 0;
+        for (VerificacionNiveladoLoteItemDTO item : resultados) {
+            switch (item.getResultado()) {
+                case VERIFICADO -> verificados++;
+                case DECISION_REGISTRADA -> {
+                    verificados++;
+                    decisiones++;
+                }
+                case SIN_CANDIDATO -> sinCandidato++;
+                case ERROR -> errores++;
+            }
+            if (item.getVerificacion() != null && item.getVerificacion().isNivelado()) {
+                cumplen++;
+            }
+        }
+
+        List<String> sinHistorial = candidatos.keySet().stream()
+                .filter(codigo -> !codigosProcesados.contains(codigo))
+                .toList();
+
+        return new VerificacionNiveladoLoteResponse(
+                resultados.size(), verificados, cumplen, decisiones, sinCandidato, errores, sinHistorial, resultados);
+    }
+
+    /**
+     * Extrae los historiales del ZIP a archivos temporales numerados.
+     *
+     * <p>Los nombres internos del ZIP no se usan como rutas (evita escrituras fuera de la
+     * carpeta temporal). Se omiten carpetas, archivos ocultos y metadatos de macOS.</p>
+     */
+    private List<HistorialLote> extraerHistoriales(MultipartFile archivoZip, Path carpeta) {
+        List<HistorialLote> historiales = new ArrayList<>();
+
+        try (ZipInputStream zip = new ZipInputStream(archivoZip.getInputStream())) {
+            ZipEntry entrada;
+            while ((entrada = zip.getNextEntry()) != null) {
+                String nombre = nombreBase(entrada.getName());
+                if (entrada.isDirectory() || entrada.getName().startsWith("__MACOSX/")
+                        || nombre.isBlank() || nombre.startsWith(".")) {
+                    continue;
+                }
+                if (historiales.size() >= MAXIMO_HISTORIALES_POR_LOTE) {
+                    throw new BusinessException("El ZIP supera el máximo de " + MAXIMO_HISTORIALES_POR_LOTE + " historiales por lote.");
+                }
+
+                Path destino = carpeta.resolve("historial_" + historiales.size());
+                copiarAcotado(zip, destino, nombre);
+                historiales.add(new HistorialLote(nombre, destino));
+            }
+        } catch (ZipException | IllegalArgumentException e) {
+            throw new BusinessException("El archivo no es un ZIP válido: " + e.getMessage());
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo leer el ZIP de historiales académicos.");
+        }
+
+        if (historiales.isEmpty()) {
+            throw new BusinessException("El ZIP no contiene historiales académicos.");
+        }
+        return historiales;
+    }
+
+    private void copiarAcotado(InputStream origen, Path destino, String nombre) throws IOException {
+        byte[] buffer = new byte[8192];
+        long total = 0;
+        try (OutputStream salida = Files.newOutputStream(destino)) {
+            int leidos;
+            while ((leidos = origen.read(buffer)) != -1) {
+                total += leidos;
+                if (total > TAMANO_MAXIMO_HISTORIAL) {
+                    throw new BusinessException("El historial '" + nombre + "' supera el tamaño máximo permitido.");
+                }
+                salida.write(buffer, 0, leidos);
+            }
+        }
+    }
+
+    /**
+     * Deduce el código del estudiante a partir del nombre del archivo.
+     *
+     * <p>Se usa el nombre sin extensión; si no corresponde a un candidato, se intenta con los
+     * dígitos iniciales (por ejemplo "104618021234 - Pérez.xlsx").</p>
+     */
+    private String resolverCodigo(String nombreArchivo, Map<String, DatosAcademico> candidatos) {
+        int punto = nombreArchivo.lastIndexOf('.');
+        String base = (punto > 0 ? nombreArchivo.substring(0, punto) : nombreArchivo).trim();
+        if (candidatos.containsKey(base)) {
+            return base;
+        }
+        int fin = 0;
+        while (fin < base.length() && Character.isDigit(base.charAt(fin))) {
+            fin++;
+        }
+        return fin > 0 ? base.substring(0, fin) : base;
+    }
+
+    private String nombreBase(String ruta) {
+        String normalizada = ruta.replace('\\', '/');
+        return normalizada.substring(normalizada.lastIndexOf('/') + 1);
+    }
+
+    private Path crearCarpetaTemporal() {
+        try {
+            return Files.createTempDirectory("historiales_lote_");
+        } catch (IOException e) {
+            throw new BusinessException("No se pudo preparar el procesamiento del lote de historiales.");
+        }
+    }
+
+    private void eliminarCarpetaTemporal(Path carpeta) {
+        try (Stream<Path> rutas = Files.walk(carpeta)) {
+            rutas.sorted(Comparator.reverseOrder()).forEach(ruta -> {
+                try {
+                    Files.deleteIfExists(ruta);
+                } catch (IOException e) {
+                    log.warn("No se pudo eliminar el temporal {}", ruta);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("No se pudo limpiar la carpeta temporal {}", carpeta);
+        }
+    }
+
+    /** Historial extraído del ZIP: nombre original y copia temporal en disco. */
+    private record HistorialLote(String nombreArchivo, Path ruta) {
+    }
+
     /**
      * Determina hasta qué semestre deben verificarse las materias para el cálculo de nivelación.
      *
@@ -111,42 +422,25 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
      * <p>Si el estudiante no cumple ninguna regla, se usa un fallback:
      * <b>periodosMatriculados - 1</b> (mínimo 1).</p>
      *
+     * <p>Las reglas se toman ya compiladas de {@link ReglasPlanCache}; los nombres de
+     * semestre ("Octavo", "Noveno", ...) se convierten a número al compilarlas.</p>
+     *
      * @param datos Información académica del estudiante.
      * @return número del semestre hasta el cual deben verificarse materias (semestre - 1).
      */
     private int determinarSemestreVerificacion(DatosAcademico datos) {
 
-        PlanEstudio plan = datos.getPlanEstudios();
+        ReglasPlanCompiladas reglas = reglasPlanCache.obtener(datos.getPlanEstudios());
 
-        if (plan.getReglasNivelacion() == null || plan.getReglasNivelacion().isEmpty()) {
+        if (!reglas.tieneReglasNivelacion()) {
             // Si un plan no tiene reglas, usar fallback
             return Math.max(datos.getPeriodosMatriculados() - 1, 1);
         }
 
-        // Convertimos el JSON a un MAP tipado
-        Map<String, ReglaNivelacion> reglas = objectMapper.convertValue(
-                plan.getReglasNivelacion(),
-                new TypeReference<Map<String, ReglaNivelacion>>() {}
-        );
-
-        int creditos = datos.getCreditosAprobados();
         int periodos = datos.getPeriodosMatriculados();
 
-        int semestreSeleccionado = 0;
-
-        for (Map.Entry<String, ReglaNivelacion> entry : reglas.entrySet()) {
-
-            String nombreSemestre = entry.getKey();     // Ej: "Octavo"
-            ReglaNivelacion regla = entry.getValue();   // Tipado 100%
-
-            int numeroSemestre = convertirNombreSemestreANumero(nombreSemestre);
-
-            if (creditos >= regla.getMinCreditosAprobados()
-                    && periodos <= regla.getMaxPeriodosMatriculados()) {
-
-                semestreSeleccionado = Math.max(semestreSeleccionado, numeroSemestre);
-            }
-        }
+        // Semestre más alto cuya regla cumple el estudiante (0 si ninguna)
+        int semestreSeleccionado = reglas.semestreNivelacion(datos.getCreditosAprobados(), periodos);
 
         // Si no cumple ninguna regla, por fallback usar semestres -1
         if (semestreSeleccionado == 0) {
@@ -156,36 +450,6 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
         // Debo verificar materias hasta semestreAnterior (nivelado en 8 → verificar 1..7)
         return semestreSeleccionado - 1;
     }
-    /**
-     * Convierte una representación textual de un semestre (por ejemplo "Octavo")
-     * a su número correspondiente.
-     *
-     * <p>Este método es necesario debido a que las reglas de nivelación pueden
-     * almacenar las claves como nombres en español y no como números.</p>
-     *
-     * @param nombre nombre del semestre en formato textual.
-     * @return número entero equivalente al semestre.
-     * @throws BusinessException si el nombre no coincide con ninguno reconocido.
-     */
-    private int convertirNombreSemestreANumero(String nombre) {
-        switch (nombre.toLowerCase()) {
-            case "primero": return 1;
-            case "segundo": return 2;
-            case "tercero": return 3;
-            case "cuarto": return 4;
-            case "quinto": return 5;
-            case "sexto": return 6;
-            case "séptimo":
-            case "septimo": return 7;
-            case "octavo": return 8;
-            case "noveno": return 9;
-            case "décimo":
-            case "decimo": return 10;
-            default: throw new BusinessException(
-                    "Nombre de semestre no reconocido: " + nombre
-            );
-        }
-    }
     /**
      * Compara las materias del plan de estudios con las materias vistas en el historial académico.
      *
@@ -199,37 +463,83 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
      * El proceso permite validar equivalencias basadas en nombre, cantidad aprobada
      * y reglas especiales para materias electivas.</p>
      *
-     * @param plan materias esperadas según el plan de estudios.
+     * <p>Una materia del plan coincide con una materia vista cuando uno de los nombres
+     * normalizados contiene al otro. Cada nombre se normaliza una sola vez y las coincidencias
+     * se resuelven con dos autómatas de subcadenas (nombres del plan, en caché, y nombres del
+     * historial), de modo que el costo es proporcional a la longitud de los nombres y no al
+     * producto materias del plan × materias vistas.</p>
+     *
+     * @param malla malla normalizada del plan de estudios.
+     * @param materiasEsperadas cantidad de materias de la malla a verificar (prefijo hasta el semestre).
      * @param materiasVistas materias extraídas del Excel cargado por el estudiante.
      * @return lista de DTOs indicando el estado de cada materia comparada.
      */
-    private List<MateriaComparadaDTO> compararMaterias(List<PlanMateria> plan, List<MateriaVistaExcel> materiasVistas) {
-        List<MateriaComparadaDTO> resultado = new ArrayList<>();
-        // --- Agrupar materias vistas ---
-        List<MateriaVistaExcel> fishAprobadas = materiasVistas.stream()
-                .filter(m -> normalizar(m.getNombre()).contains("fish"))
-                .filter(this::esAprobada)
-                .toList();
+    List<MateriaComparadaDTO> compararMaterias(
+            MallaNormalizada malla,
+            int materiasEsperadas,
+            List<MateriaVistaExcel> materiasVistas
+    ) {
+        List<MateriaComparadaDTO> resultado = new ArrayList<>(materiasEsperadas);
+
+        // --- Normalizar una sola vez y agrupar materias vistas ---
+        int totalVistas = materiasVistas.size();
+        List<String> vistasNormalizadas = new ArrayList<>(totalVistas);
+        boolean[] vistaAprobada = new boolean[totalVistas];
+        int restantesFish = 0;
+        int restantesElectivas = 0;
+
+        for (int v = 0; v < totalVistas; v++) {
+            MateriaVistaExcel vista = materiasVistas.get(v);
+            String nombreNorm = TextoUtil.normalizar(vista.getNombre());
+            vistasNormalizadas.add(nombreNorm);
+            vistaAprobada[v] = esAprobada(vista);
+
+            if (vistaAprobada[v]) {
+                if (esFish(nombreNorm)) {
+                    restantesFish++;
+                } else if (esElectivaGeneral(nombreNorm)) {
+                    restantesElectivas++;
+                }
+            }
+        }
 
-        List<MateriaVistaExcel> electivasAprobadas = materiasVistas.stream()
-                .filter(m -> normalizar(m.getNombre()).contains("electiva")
-                        && !normalizar(m.getNombre()).contains("fish"))
-                .filter(this::esAprobada)
-                .toList();
+        // --- Resolver coincidencias de nombre en ambos sentidos ---
+        boolean[] cursada = new boolean[materiasEsperadas];
+        boolean[] aprobada = new boolean[materiasEsperadas];
+
+        // El nombre visto contiene el nombre del plan
+        BuscadorSubcadenas buscadorPlan = malla.getBuscadorNombres();
+        for (int v = 0; v < totalVistas; v++) {
+            boolean aprobadaVista = vistaAprobada[v];
+            buscadorPlan.buscar(vistasNormalizadas.get(v), p -> {
+                if (p < materiasEsperadas) {
+                    cursada[p] = true;
+                    aprobada[p] |= aprobadaVista;
+                }
+            });
+        }
 
-        int restantesFish = fishAprobadas.size();
-        int restantesElectivas = electivasAprobadas.size();
+        // El nombre del plan contiene el nombre visto
+        BuscadorSubcadenas buscadorVistas = new BuscadorSubcadenas(vistasNormalizadas);
+        for (int p = 0; p < materiasEsperadas; p++) {
+            int indicePlan = p;
+            buscadorVistas.buscar(malla.getMaterias().get(p).nombreNormalizado(), v -> {
+                cursada[indicePlan] = true;
+                aprobada[indicePlan] |= vistaAprobada[v];
+            });
+        }
 
-        for (PlanMateria materiaPlan : plan) {
+        for (int p = 0; p < materiasEsperadas; p++) {
+            MateriaNormalizada materiaPlan = malla.getMaterias().get(p);
             MateriaComparadaDTO dto = new MateriaComparadaDTO();
-            dto.setNombre(materiaPlan.getNombre());
-            dto.setSemestre(materiaPlan.getSemestre());
-            dto.setObligatoria(materiaPlan.getTipo() == TipoMateria.OBLIGATORIA || materiaPlan.getTipo() == TipoMateria.ELECTIVA);
+            dto.setNombre(materiaPlan.nombre());
+            dto.setSemestre(materiaPlan.semestre());
+            dto.setObligatoria(materiaPlan.tipo() == TipoMateria.OBLIGATORIA || materiaPlan.tipo() == TipoMateria.ELECTIVA);
 
-            String nombrePlanNorm = normalizar(materiaPlan.getNombre());
+            String nombrePlanNorm = materiaPlan.nombreNormalizado();
 
             // --- Caso Fish ---
-            if (nombrePlanNorm.contains("fish")) {
+            if (esFish(nombrePlanNorm)) {
                 if (restantesFish > 0) {
                     dto.setAprobada(true);
                     dto.setObservacion("Aprobada (Fish)");
@@ -243,7 +553,7 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
             }
 
             // --- Caso Electivas generales ---
-            if (nombrePlanNorm.contains("electiva") && !nombrePlanNorm.contains("fish")) {
+            if (esElectivaGeneral(nombrePlanNorm)) {
                 if (restantesElectivas > 0) {
                     dto.setAprobada(true);
                     dto.setObservacion("Aprobada (Electiva)");
@@ -257,18 +567,12 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
             }
 
             // --- Caso materias normales ---
-            List<MateriaVistaExcel> coincidencias = materiasVistas.stream()
-                    .filter(m -> normalizar(m.getNombre()).contains(nombrePlanNorm)
-                            || nombrePlanNorm.contains(normalizar(m.getNombre())))
-                    .toList();
-
-            if (coincidencias.isEmpty()) {
+            if (!cursada[p]) {
                 dto.setAprobada(false);
-                dto.setObservacion("No cursada");
+                dto.setObservacion(OBSERVACION_NO_CURSADA);
             } else {
-                boolean aprobada = coincidencias.stream().anyMatch(this::esAprobada);
-                dto.setAprobada(aprobada);
-                dto.setObservacion(aprobada ? "Aprobada" : "Reprobada");
+                dto.setAprobada(aprobada[p]);
+                dto.setObservacion(aprobada[p] ? "Aprobada" : "Reprobada");
             }
 
             resultado.add(dto);
@@ -276,6 +580,17 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
 
         return resultado;
     }
+
+    /** Materias del grupo Fish (nombre normalizado). */
+    private boolean esFish(String nombreNormalizado) {
+        return nombreNormalizado.contains("fish");
+    }
+
+    /** Electivas que no pertenecen al grupo Fish (nombre normalizado). */
+    private boolean esElectivaGeneral(String nombreNormalizado) {
+        return nombreNormalizado.contains("electiva") && !nombreNormalizado.contains("fish");
+    }
+
     /**
      * Determina si una materia del Excel debe considerarse aprobada.
      *
@@ -328,32 +643,10 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
         return datosAcademicoMapper.toResponse(datos);
     }
 
-    /**
-     * Normaliza un nombre de materia para facilitar su comparación.
-     *
-     * <p>El proceso incluye:
-     * <ul>
-     *     <li>Eliminar acentos (uso de Normalizer)</li>
-     *     <li>Convertir a minúsculas</li>
-     *     <li>Eliminar espacios redundantes</li>
-     * </ul>
-     * Esto permite comparar "Cálculo diferencial", "CALCULO DIFERENCIAL" o "calculo diferencial"
-     * de forma consistente.</p>
-     *
-     * @param texto cadena original.
-     * @return texto normalizado en minúsculas y sin tildes.
-     */
-    private String normalizar(String texto) {
-        if (texto == null) return "";
-        return Normalizer.normalize(texto, Normalizer.Form.NFD)
-                .replaceAll("\\p{M}", "") // elimina tildes
-                .toLowerCase()
-                .trim();
-    }
-
     /**
      * {@inheritDoc}
      */
+    @EtapaProceso("preseleccion-nivelados")
     @Transactional
     @Override
     public List<DatosAcademicoResponse> preseleccionarNivelados(Long idPeriodo) {
@@ -368,29 +661,24 @@ public class ValidacionNiveladosServiceImpl implements ValidacionNiveladosServic
         // 1. Obtener todos los datos académicos cargados para este período
         List<DatosAcademico> todosLosDatos =
                 datosAcademicoRepository.findByRespuesta_Periodo_Id(idPeriodo);
+        metricasEtapas.registrarFilas(todosLosDatos.size());
 
         List<DatosAcademico> posiblesNivelados = new ArrayList<>();
 
         for (DatosAcademico datos : todosLosDatos) {
 
-            PlanEstudio plan = datos.getPlanEstudios();
+            ReglasPlanCompiladas reglas = reglasPlanCache.obtener(datos.getPlanEstudios());
 
-            if (plan.getReglasNivelacion() == null || plan.getReglasNivelacion().isEmpty()) {
+            if (!reglas.tieneReglasNivelacion()) {
                 continue; // Si el plan no tiene reglas, se omite
             }
 
-            Map<String, ReglaNivelacion> reglas = objectMapper.convertValue(
-                    plan.getReglasNivelacion(),
-                    new TypeReference<Map<String, ReglaNivelacion>>() {}
+            // Reglas ya compiladas del plan (arreglos de créditos mínimos y períodos máximos)
+            boolean esCandidato = reglas.cumpleAlgunaRegla(
+                    datos.getCreditosAprobados(),
+                    datos.getPeriodosMatriculados()
             );
 
-            // Recorremos las reglas tipadas
-            boolean esCandidato = reglas.values().stream()
-                    .anyMatch(regla ->
-                            datos.getCreditosAprobados() >= regla.getMinCreditosAprobados() &&
-                                    datos.getPeriodosMatriculados() <= regla.getMaxPeriodosMatriculados()
-                    );
-
             if (esCandidato) {
                 datos.setEstadoAptitud(EstadoAptitud.POSIBLE_NIVELADO);
                 posiblesNivelados.add(datos);
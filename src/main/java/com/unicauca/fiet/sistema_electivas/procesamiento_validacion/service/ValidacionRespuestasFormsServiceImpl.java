@@ -4,48 +4,62 @@ import com.unicauca.fiet.sistema_electivas.archivo.service.ArchivoService;
 import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
+import com.unicauca.fiet.sistema_electivas.common.metricas.EtapaProceso;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestaOpcionRepository;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestasFormularioRepository;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.CambioEstadoValidacionResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioDesicionResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.RespuestaFormularioResponse;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.RespuestaFormularioMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.ValidacionProcesamientoMapper;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.lang.Nullable;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuestasFormsService {
+
+    // Estados en los que un código de estudiante sigue en uso dentro del período
+    private static final List<EstadoRespuestaFormulario> ESTADOS_CODIGO_ACTIVO = List.of(
+            EstadoRespuestaFormulario.UNICO,
+            EstadoRespuestaFormulario.CUMPLE,
+            EstadoRespuestaFormulario.INCLUIDO,
+            EstadoRespuestaFormulario.DATOS_CARGADOS
+    );
+
     @Autowired
     private RespuestasFormularioRepository respuestasRepository;
     @Autowired
+    private RespuestaOpcionRepository respuestaOpcionRepository;
+    @Autowired
     private PeriodoAcademicoRepository periodoRepository;
     @Autowired
     private ArchivoService archivoService;
+    @Autowired
+    private MetricasEtapas metricasEtapas;
 
-    @Transactional
+    @Transactional(readOnly = true)
     @Override
     public List<RespuestaFormularioResponse> obtenerRespuestasPorPeriodo(Long periodoId) {
-        List<RespuestasFormulario> entidades = respuestasRepository.findByPeriodoId(periodoId);
-        return RespuestaFormularioMapper.toResponseList(entidades);
+        return RespuestaFormularioMapper.toResponseList(
+                respuestasRepository.listarResumenPorPeriodo(periodoId),
+                respuestaOpcionRepository.listarResumenPorPeriodo(periodoId)
+        );
     }
 
+    @EtapaProceso("filtro-duplicados")
     @Transactional
     @Override
     public CambioEstadoValidacionResponse aplicarFiltroDuplicados(Long idPeriodo) {
@@ -57,38 +71,12 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
             throw new InvalidStateException("El filtro de duplicados solo puede aplicarse cuando el formulario está cerrado.");
         }
 
-        List<RespuestasFormulario> respuestas = respuestasRepository.findByPeriodoId(idPeriodo).stream()
-                .filter(r -> r.getEstado() == EstadoRespuestaFormulario.SIN_PROCESAR ||
-                        r.getEstado() == EstadoRespuestaFormulario.UNICO ||
-                        r.getEstado() == EstadoRespuestaFormulario.DUPLICADO)
-                .collect(Collectors.toList());
-
-        if (respuestas.isEmpty()) {
-            // Si está vacío, no es error, simplemente no hay nada que procesar
-        }
-
-        Map<String, List<RespuestasFormulario>> agrupadas = respuestas.stream()
-                .collect(Collectors.groupingBy(RespuestasFormulario::getCodigoEstudiante));
-
-        int duplicadosEliminados = 0;
-        int conservadas = 0;
-
-        for (var entry : agrupadas.entrySet()) {
-            List<RespuestasFormulario> grupo = entry.getValue();
-            grupo.sort(Comparator.comparing(RespuestasFormulario::getTimestampRespuesta));
-
-            RespuestasFormulario primera = grupo.get(0);
-            primera.setEstado(EstadoRespuestaFormulario.UNICO);
-            conservadas++;
-
-            for (int i = 1; i < grupo.size(); i++) {
-                RespuestasFormulario duplicada = grupo.get(i);
-                duplicada.setEstado(EstadoRespuestaFormulario.DUPLICADO);
-                duplicadosEliminados++;
-            }
-        }
-
-        respuestasRepository.saveAll(respuestas);
+        // Clasificación en una sola sentencia: la respuesta más antigua de cada código queda UNICO
+        int clasificadas = respuestasRepository.clasificarDuplicados(idPeriodo);
+        metricasEtapas.registrarFilas(clasificadas);
+        long duplicadosEliminados = respuestasRepository.countByPeriodoIdAndEstadoIn(
+                idPeriodo, List.of(EstadoRespuestaFormulario.DUPLICADO));
+        long conservadas = clasificadas - duplicadosEliminados;
 
         if (periodo.getEstado() == EstadoPeriodoAcademico.CERRADO_FORMULARIO) {
             periodo.setEstado(EstadoPeriodoAcademico.PROCESO_FILTRADO_DUPLICADOS);
@@ -102,6 +90,7 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
         );
     }
 
+    @EtapaProceso("filtro-antiguedad")
     @Transactional
     @Override
     public CambioEstadoValidacionResponse aplicarFiltroCodigosPorAntiguedad(Long idPeriodo) {
@@ -115,36 +104,13 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
             );
         }
 
-        List<RespuestasFormulario> respuestas = respuestasRepository.findByPeriodoId(idPeriodo).stream()
-                .filter(r -> r.getEstado() == EstadoRespuestaFormulario.UNICO ||
-                        r.getEstado() == EstadoRespuestaFormulario.CUMPLE ||
-                        r.getEstado() == EstadoRespuestaFormulario.NO_CUMPLE ||
-                        r.getEstado() == EstadoRespuestaFormulario.FORMATO_INVALIDO)
-                .collect(Collectors.toList());
-
-        Pattern patron = Pattern.compile("^\\d{4}(\\d{2})(0[1-2])\\d{4}$");
         String[] partes = periodo.getSemestre().split("-");
         int anioActual = Integer.parseInt(partes[0]);
         int periodoActual = Integer.parseInt(partes[1]);
 
-        respuestas.forEach(r -> {
-            // Si ya fue incluido manualmente, no lo tocamos
-            if (r.getEstado() == EstadoRespuestaFormulario.INCLUIDO) return;
-
-            String codigo = r.getCodigoEstudiante();
-            Matcher matcher = patron.matcher(codigo);
-
-            if (!matcher.matches()) {
-                r.setEstado(EstadoRespuestaFormulario.FORMATO_INVALIDO);
-            } else {
-                int anioIngreso = 2000 + Integer.parseInt(matcher.group(1));
-                int periodoIngreso = Integer.parseInt(matcher.group(2));
-                int semestres = ((anioActual - anioIngreso) * 2) + (periodoActual - periodoIngreso);
-                r.setEstado(semestres >= 6 ? EstadoRespuestaFormulario.CUMPLE : EstadoRespuestaFormulario.NO_CUMPLE);
-            }
-        });
-
-        respuestasRepository.saveAll(respuestas);
+        // Validación de formato y cálculo de semestres cursados directamente en la base de datos
+        int clasificadas = respuestasRepository.clasificarPorAntiguedad(idPeriodo, anioActual, periodoActual);
+        metricasEtapas.registrarFilas(clasificadas);
 
         if (periodo.getEstado() == EstadoPeriodoAcademico.PROCESO_FILTRADO_DUPLICADOS) {
             periodo.setEstado(EstadoPeriodoAcademico.PROCESO_CLASIFICACION_ANTIGUEDAD);
@@ -177,15 +143,9 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
 
             String codigoLimpio = nuevoCodigo.trim();
 
-            // CORRECCIÓN: Verificar duplicados EXCLUYENDO la respuesta actual
-            // Usamos stream filter para mayor seguridad si el repo no tiene el método custom
-            boolean existe = respuestasRepository.findByPeriodoId(respuesta.getPeriodo().getId()).stream()
-                    .anyMatch(r -> r.getCodigoEstudiante().equals(codigoLimpio)
-                            && !r.getId().equals(respuestaId) // Importante: excluir la actual
-                            && (r.getEstado() == EstadoRespuestaFormulario.UNICO ||
-                            r.getEstado() == EstadoRespuestaFormulario.CUMPLE ||
-                            r.getEstado() == EstadoRespuestaFormulario.INCLUIDO ||
-                            r.getEstado() == EstadoRespuestaFormulario.DATOS_CARGADOS));
+            // Verificar duplicados EXCLUYENDO la respuesta actual, sin cargar el período completo
+            boolean existe = respuestasRepository.existsByPeriodoIdAndCodigoEstudianteAndIdNotAndEstadoIn(
+                    respuesta.getPeriodo().getId(), codigoLimpio, respuestaId, ESTADOS_CODIGO_ACTIVO);
 
             if (existe) {
                 throw new BusinessException("El código " + codigoLimpio + " ya existe y está activo en este periodo.");
@@ -204,6 +164,7 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
                 incluir ? "Estudiante incluido." : "Estudiante descartado.");
     }
 
+    @EtapaProceso("confirmacion-simca")
     @Transactional
     @Override
     public CambioEstadoValidacionResponse confirmarListaParaSimca(Long idPeriodo) {
@@ -216,9 +177,8 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
             throw new InvalidStateException("El período no está listo para la confirmación final.");
         }
 
-        long pendientes = respuestasRepository.findByPeriodoId(idPeriodo).stream()
-                .filter(r -> r.getEstado() == EstadoRespuestaFormulario.FORMATO_INVALIDO)
-                .count();
+        long pendientes = respuestasRepository.countByPeriodoIdAndEstadoIn(
+                idPeriodo, List.of(EstadoRespuestaFormulario.FORMATO_INVALIDO));
 
         if (pendientes > 0) {
             throw new InvalidStateException(
@@ -227,12 +187,10 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
         }
 
         // Obtener códigos válidos: CUMPLE o INCLUIDO
-        List<String> codigosValidos = respuestasRepository.findByPeriodoId(idPeriodo).stream()
-                .filter(r -> r.getEstado() == EstadoRespuestaFormulario.CUMPLE ||
-                        r.getEstado() == EstadoRespuestaFormulario.INCLUIDO)
-                .map(RespuestasFormulario::getCodigoEstudiante)
-                .distinct()
-                .collect(Collectors.toList());
+        List<String> codigosValidos = respuestasRepository.findCodigosDistintosByPeriodoAndEstados(
+                idPeriodo,
+                List.of(EstadoRespuestaFormulario.CUMPLE, EstadoRespuestaFormulario.INCLUIDO)
+        );
 
         long descartados = respuestasRepository.countByPeriodoIdAndEstadoIn(
                 idPeriodo,
@@ -243,6 +201,7 @@ public class ValidacionRespuestasFormsServiceImpl implements ValidacionRespuesta
             throw new InvalidStateException("No hay códigos válidos para generar lotes SIMCA.");
         }
 
+        metricasEtapas.registrarFilas(codigosValidos.size());
         List<List<String>> lotes = dividirEnLotes(codigosValidos, 50);
         archivoService.generarArchivosLotesSimca(lotes, periodo);
 
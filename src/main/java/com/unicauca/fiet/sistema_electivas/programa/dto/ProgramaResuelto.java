@@ -0,0 +1,14 @@
+package com.unicauca.fiet.sistema_electivas.programa.dto;
+
+import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
+
+/**
+ * Programa encontrado a partir de un nombre escrito a mano (SIMCA, formulario de preinscripción).
+ *
+ * @param id ID del programa
+ * @param codigo código del programa
+ * @param nombre nombre registrado del programa
+ * @param estado estado del programa
+ */
+public record ProgramaResuelto(Long id, String codigo, String nombre, EstadoPrograma estado) {
+}
@@ -1,10 +1,13 @@
 package com.unicauca.fiet.sistema_electivas.programa.model;
 
+import com.unicauca.fiet.sistema_electivas.common.cache.RegionesCache;
 import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 
 import java.time.LocalDateTime;
@@ -12,6 +15,8 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = RegionesCache.PROGRAMA)
 @Table(name = "programa")
 public class Programa {
     @Id
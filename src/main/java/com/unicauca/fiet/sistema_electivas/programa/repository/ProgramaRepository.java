@@ -1,10 +1,10 @@
 package com.unicauca.fiet.sistema_electivas.programa.repository;
 
+import com.unicauca.fiet.sistema_electivas.programa.dto.ProgramaResuelto;
 import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
 import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -69,23 +69,14 @@ public interface ProgramaRepository extends JpaRepository<Programa, Long> {
     Optional<Programa> findByNombreIgnoreCase(String nombre);
 
     /**
-     * Busca un programa académico por nombre utilizando coincidencia flexible,
-     * ignorando acentos y mayúsculas/minúsculas.
+     * Devuelve ID, código, nombre y estado de todos los programas, sin cargar entidades.
      *
-     * <p>La consulta aplica la función SQL <code>unaccent</code> para permitir
-     * coincidencias como “Sistemas”, “sistemas”, “sistémas”, etc.</p>
-     *
-     * <p>Además, filtra por un estado específico del programa.</p>
-     *
-     * @param nombre parte del nombre del programa a buscar, sin necesidad de coincidencia exacta.
-     * @param estado estado del programa que debe coincidir (por ejemplo: ACTIVO, INACTIVO).
-     * @return un Optional que contiene el programa encontrado si existe.
+     * @return programas ordenados por ID
      */
     @Query("""
-    SELECT p FROM Programa p
-    WHERE CAST(function('unaccent', lower(p.nombre)) AS string)
-          LIKE CAST(function('unaccent', lower(CONCAT('%', :nombre, '%'))) AS string)
-      AND p.estado = :estado
+    SELECT new com.unicauca.fiet.sistema_electivas.programa.dto.ProgramaResuelto(p.id, p.codigo, p.nombre, p.estado)
+    FROM Programa p
+    ORDER BY p.id
 """)
-    Optional<Programa> buscarFlexible(String nombre, EstadoPrograma estado);
+    List<ProgramaResuelto> listarResueltos();
 }
@@ -0,0 +1,268 @@
+package com.unicauca.fiet.sistema_electivas.programa.service;
+
+import com.unicauca.fiet.sistema_electivas.common.util.TextoUtil;
+import com.unicauca.fiet.sistema_electivas.programa.dto.ProgramaResuelto;
+import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
+import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Resuelve el programa académico al que se refiere un nombre escrito a mano, como la columna
+ * PROGRAMA de SIMCA o el programa elegido en el formulario de preinscripción.
+ *
+ * <p>Los programas se cargan en memoria con una consulta y se indexan por nombre normalizado
+ * (sin tildes, mayúsculas ni signos de puntuación). Cada nombre se resuelve, en este orden:</p>
+ * <ol>
+ *   <li>Nombre exacto.</li>
+ *   <li>Variantes: el código del programa, el nombre sin conectores ("Ingeniería Electrónica y
+ *       Telecomunicaciones" = "Ingeniería en Electrónica y Telecomunicaciones") y los alias de
+ *       {@code electivas.programas.alias}.</li>
+ *   <li>Coincidencia parcial: el nombre buscado contiene, o está contenido en, el nombre de un
+ *       único programa, palabra por palabra. Si hay varios candidatos no se resuelve.</li>
+ * </ol>
+ * <p>Si en las dos primeras etapas coinciden varios programas se toma el de menor ID. El resultado
+ * de cada nombre se recuerda, hasta {@value #MAXIMO_RESUELTOS} nombres distintos, de modo que una
+ * carga con miles de filas resuelve cada variante una sola vez.</p>
+ *
+ * <p>Los servicios que crean o modifican programas deben llamar a {@link #invalidar()}. Un programa
+ * creado o renombrado por otro medio no se resuelve hasta cumplir {@code electivas.programas.vigencia};
+ * cada reconstrucción es una consulta, pero vacía los nombres ya resueltos.</p>
+ */
+@Slf4j
+@Component
+public class DirectorioProgramas {
+
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Set<String> CONECTORES = Set.of("de", "del", "la", "las", "los", "el", "en", "y", "e");
+    /** Nombres distintos cuyo resultado se recuerda; los siguientes se resuelven cada vez. */
+    private static final int MAXIMO_RESUELTOS = 1000;
+
+    private final ProgramaRepository programaRepository;
+    /** Alias normalizado → nombre o código del programa, tal como se configuró. */
+    private final Map<String, String> alias;
+    private final long vigenciaNanos;
+
+    private final Object candado = new Object();
+    /** Aumenta con cada invalidación; un índice construido antes de la última no se publica. */
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile Indice indice;
+
+    /**
+     * @param alias entradas {@code alias=nombre o código del programa}, por ejemplo
+     *              {@code ING SISTEMAS=Ingeniería de Sistemas}
+     * @param vigencia tiempo tras el cual el índice se reconstruye aunque no se haya invalidado
+     */
+    public DirectorioProgramas(ProgramaRepository programaRepository,
+                               @Value("${electivas.programas.alias:}") List<String> alias,
+                               @Value("${electivas.programas.vigencia:PT10M}") Duration vigencia) {
+        this.programaRepository = programaRepository;
+        this.vigenciaNanos = vigencia.toNanos();
+        this.alias = new HashMap<>();
+        for (String entrada : alias) {
+            int igual = entrada.indexOf('=');
+            if (igual <= 0 || igual == entrada.length() - 1) {
+                throw new IllegalArgumentException("Alias de programa inválido (se espera alias=programa): " + entrada);
+            }
+            this.alias.put(clave(entrada.substring(0, igual)), entrada.substring(igual + 1).trim());
+        }
+    }
+
+    /**
+     * Resuelve un nombre de programa, sin importar el estado del programa.
+     *
+     * @param nombre nombre escrito a mano
+     * @return el programa, o vacío si ninguno coincide o la coincidencia es ambigua
+     */
+    public Optional<ProgramaResuelto> resolver(String nombre) {
+        return resolver(nombre, null);
+    }
+
+    /**
+     * Resuelve un nombre de programa entre los programas con el estado indicado.
+     *
+     * @param nombre nombre escrito a mano
+     * @param estado estado requerido, o {@code null} para cualquiera
+     * @return el programa, o vacío si ninguno coincide o la coincidencia es ambigua
+     */
+    public Optional<ProgramaResuelto> resolver(String nombre, EstadoPrograma estado) {
+        String clave = clave(nombre);
+        if (clave.isEmpty()) {
+            return Optional.empty();
+        }
+        Indice actual = obtenerIndice();
+        String claveResuelto = estado + "|" + clave;
+        Optional<ProgramaResuelto> resuelto = actual.resueltos().get(claveResuelto);
+        if (resuelto != null) {
+            return resuelto;
+        }
+        resuelto = actual.buscar(clave, estado);
+        // El tope es aproximado con resoluciones concurrentes; basta para acotar nombres arbitrarios
+        if (actual.resueltos().size() < MAXIMO_RESUELTOS) {
+            actual.resueltos().putIfAbsent(claveResuelto, resuelto);
+        }
+        return resuelto;
+    }
+
+    /**
+     * Descarta el índice para que la siguiente resolución lo reconstruya.
+     *
+     * <p>Si hay una transacción activa, se descarta también al confirmarla, para que una lectura
+     * concurrente no deje publicado el índice anterior.</p>
+     */
+    public void invalidar() {
+        descartar();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    descartar();
+                }
+            });
+        }
+    }
+
+    private void descartar() {
+        generacion.incrementAndGet();
+        indice = null;
+    }
+
+    private Indice obtenerIndice() {
+        Indice actual = indice;
+        if (actual != null && !actual.vencido(vigenciaNanos)) {
+            return actual;
+        }
+        synchronized (candado) {
+            actual = indice;
+            if (actual != null && !actual.vencido(vigenciaNanos)) {
+                return actual;
+            }
+            long generacionInicial = generacion.get();
+            Indice nuevo = construir();
+            if (generacion.get() == generacionInicial) {
+                indice = nuevo;
+            }
+            return nuevo;
+        }
+    }
+
+    private Indice construir() {
+        List<ProgramaResuelto> programas = programaRepository.listarResueltos();
+
+        Map<String, List<ProgramaResuelto>> porNombre = new HashMap<>();
+        Map<String, List<ProgramaResuelto>> porVariante = new HashMap<>();
+        Map<String, List<ProgramaResuelto>> porCodigo = new HashMap<>();
+        for (ProgramaResuelto programa : programas) {
+            String nombre = clave(programa.nombre());
+            agregar(porNombre, nombre, programa);
+            agregar(porVariante, sinConectores(nombre), programa);
+            agregar(porVariante, clave(programa.codigo()), programa);
+            agregar(porCodigo, clave(programa.codigo()), programa);
+        }
+        alias.forEach((aliasNormalizado, destino) -> {
+            String claveDestino = clave(destino);
+            List<ProgramaResuelto> destinos = porNombre.getOrDefault(claveDestino, porCodigo.getOrDefault(claveDestino, List.of()));
+            if (destinos.isEmpty()) {
+                log.warn("El alias de programa [{}] apunta a [{}], que no coincide con ningún programa.", aliasNormalizado, destino);
+            }
+            destinos.forEach(programa -> agregar(porVariante, aliasNormalizado, programa));
+        });
+
+        List<Entrada> entradas = programas.stream()
+                .map(programa -> new Entrada(programa, " " + sinConectores(clave(programa.nombre())) + " "))
+                .toList();
+        return new Indice(porNombre, porVariante, entradas, new ConcurrentHashMap<>(), System.nanoTime());
+    }
+
+    /** Agrega el programa a la clave; los programas llegan ordenados por ID y así se conservan. */
+    private static void agregar(Map<String, List<ProgramaResuelto>> mapa, String clave, ProgramaResuelto programa) {
+        if (clave.isEmpty()) return;
+        List<ProgramaResuelto> lista = mapa.computeIfAbsent(clave, k -> new ArrayList<>());
+        if (!lista.contains(programa)) {
+            lista.add(programa);
+        }
+    }
+
+    /**
+     * Normaliza un nombre: sin tildes ni mayúsculas, y con los signos de puntuación y espacios
+     * repetidos reducidos a un único espacio.
+     */
+    static String clave(String texto) {
+        return SEPARADORES.matcher(TextoUtil.normalizar(texto)).replaceAll(" ").trim();
+    }
+
+    private static String sinConectores(String clave) {
+        return Arrays.stream(clave.split(" "))
+                .filter(palabra -> !CONECTORES.contains(palabra))
+                .collect(Collectors.joining(" "));
+    }
+
+    /** Programa con su nombre sin conectores, rodeado de espacios para comparar palabras completas. */
+    private record Entrada(ProgramaResuelto programa, String palabras) {
+    }
+
+    /**
+     * Índice construido.
+     *
+     * @param porNombre nombre normalizado → programas
+     * @param porVariante código, nombre sin conectores y alias → programas
+     * @param entradas todos los programas, para la coincidencia parcial
+     * @param resueltos resultados ya calculados, por estado y nombre normalizado
+     * @param construido {@link System#nanoTime()} al construirlo
+     */
+    private record Indice(Map<String, List<ProgramaResuelto>> porNombre,
+                          Map<String, List<ProgramaResuelto>> porVariante,
+                          List<Entrada> entradas,
+                          Map<String, Optional<ProgramaResuelto>> resueltos,
+                          long construido) {
+
+        boolean vencido(long vigenciaNanos) {
+            return System.nanoTime() - construido >= vigenciaNanos;
+        }
+
+        Optional<ProgramaResuelto> buscar(String clave, EstadoPrograma estado) {
+            String variante = sinConectores(clave);
+            Optional<ProgramaResuelto> encontrado = primero(porNombre.get(clave), estado)
+                    .or(() -> primero(porVariante.get(clave), estado))
+                    .or(() -> primero(porVariante.get(variante), estado));
+            if (encontrado.isPresent() || variante.isEmpty()) {
+                return encontrado;
+            }
+
+            String buscadas = " " + variante + " ";
+            List<ProgramaResuelto> candidatos = entradas.stream()
+                    .filter(e -> estado == null || e.programa().estado() == estado)
+                    .filter(e -> e.palabras().contains(buscadas) || buscadas.contains(e.palabras()))
+                    .map(Entrada::programa)
+                    .toList();
+            if (candidatos.size() > 1) {
+                log.warn("El programa [{}] coincide con varios programas {}; no se resuelve.", clave,
+                        candidatos.stream().map(ProgramaResuelto::nombre).toList());
+            }
+            return candidatos.size() == 1 ? Optional.of(candidatos.get(0)) : Optional.empty();
+        }
+
+        private static Optional<ProgramaResuelto> primero(List<ProgramaResuelto> programas, EstadoPrograma estado) {
+            if (programas == null) return Optional.empty();
+            return programas.stream()
+                    .filter(p -> estado == null || p.estado() == estado)
+                    .findFirst();
+        }
+    }
+}
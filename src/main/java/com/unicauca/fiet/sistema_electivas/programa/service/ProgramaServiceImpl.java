@@ -3,6 +3,7 @@ package com.unicauca.fiet.sistema_electivas.programa.service;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
 import com.unicauca.fiet.sistema_electivas.electiva.repository.ProgramaElectivaRepository;
+import com.unicauca.fiet.sistema_electivas.electiva.service.CatalogoElectivas;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
 import com.unicauca.fiet.sistema_electivas.programa.dto.ProgramaDisableResponse;
@@ -28,6 +29,8 @@ import java.util.List;
 public class ProgramaServiceImpl implements ProgramaService {
     private final ProgramaRepository programaRepository;
     private final ProgramaElectivaRepository programaElectivaRepository;
+    private final CatalogoElectivas catalogoElectivas;
+    private final DirectorioProgramas directorioProgramas;
     @Autowired
     private PeriodoAcademicoRepository periodoAcademicoRepository;
     /**
@@ -71,6 +74,7 @@ public class ProgramaServiceImpl implements ProgramaService {
 
         // 4️ Guardar la entidad
         Programa saved = programaRepository.save(programa);
+        directorioProgramas.invalidar();
 
         // 5. Convertir la entidad guardada a DTO de respuesta
         return ProgramaMapper.toResponse(saved);
@@ -132,6 +136,9 @@ public class ProgramaServiceImpl implements ProgramaService {
 
         // 7 Guardar cambios
         Programa actualizado = programaRepository.save(programa);
+        // Las electivas del catálogo muestran el nombre de sus programas
+        catalogoElectivas.invalidar();
+        directorioProgramas.invalidar();
 
         // 8 Convertir a DTO de respuesta usando el mapper
         return ProgramaMapper.toResponse(actualizado);
@@ -177,6 +184,7 @@ public class ProgramaServiceImpl implements ProgramaService {
         // 5. Deshabilitar el programa
         programa.setEstado(EstadoPrograma.DESHABILITADO);
         programaRepository.save(programa);
+        directorioProgramas.invalidar();
 
         // 6. Retornar respuesta
         return new ProgramaDisableResponse(
@@ -134,6 +134,8 @@ public class ReporteAsignacionController {
                         "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
                 .header("Content-Disposition",
                         "attachment; filename=\"" + response.getNombreArchivo() + "\"")
+                .eTag(response.getEtag())
+                .lastModified(response.getUltimaModificacion())
                 .body(response.getArchivo());
     }
 
@@ -155,6 +157,8 @@ public class ReporteAsignacionController {
                         "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
                 .header("Content-Disposition",
                         "attachment; filename=\"" + response.getNombreArchivo() + "\"")
+                .eTag(response.getEtag())
+                .lastModified(response.getUltimaModificacion())
                 .body(response.getArchivo());
     }
 
@@ -3,6 +3,8 @@ package com.unicauca.fiet.sistema_electivas.reporte.dto;
 import lombok.Data;
 import org.springframework.core.io.Resource;
 
+import java.time.Instant;
+
 /**
  * DTO que encapsula el archivo generado para un reporte
  * junto con el nombre con el que fue almacenado.
@@ -23,5 +25,14 @@ public class ReporteArchivoResponse {
      * en el sistema de almacenamiento.
      */
     private String nombreArchivo;
-}
 
+    /**
+     * Etiqueta de versión del contenido, usada como {@code ETag}.
+     */
+    private String etag;
+
+    /**
+     * Fecha de carga del archivo, usada como {@code Last-Modified}.
+     */
+    private Instant ultimaModificacion;
+}
@@ -14,6 +14,7 @@ import com.unicauca.fiet.sistema_electivas.reporte.dto.EstudianteBusquedaRespons
 import com.unicauca.fiet.sistema_electivas.reporte.dto.HistorialEstudiantePeriodoResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -33,6 +34,7 @@ public class HistorialEstudiantesServiceImpl implements HistorialEstudiantesServ
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public List<HistorialEstudiantePeriodoResponse> obtenerHistorialPorEstudiante(String codigoEstudiante) {
 
         List<DatosAcademico> datos = datosAcademicoRepository.findHistorialDatosAcademicos(codigoEstudiante);
@@ -100,6 +102,7 @@ public class HistorialEstudiantesServiceImpl implements HistorialEstudiantesServ
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public List<EstudianteBusquedaResponse> buscar(String filtro) {
 
         // 1. Buscar en datos académicos
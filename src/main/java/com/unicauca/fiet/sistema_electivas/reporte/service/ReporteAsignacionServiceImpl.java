@@ -1,6 +1,7 @@
 package com.unicauca.fiet.sistema_electivas.reporte.service;
 
 import com.unicauca.fiet.sistema_electivas.archivo.enums.TipoArchivo;
+import com.unicauca.fiet.sistema_electivas.archivo.mapper.ArchivoMapper;
 import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
 import com.unicauca.fiet.sistema_electivas.archivo.repository.CargaArchivoRepository;
 import com.unicauca.fiet.sistema_electivas.archivo.service.ArchivoService;
@@ -8,6 +9,9 @@ import com.unicauca.fiet.sistema_electivas.asignacion.dto.*;
 import com.unicauca.fiet.sistema_electivas.asignacion.service.ConsultaAsignacionService;
 import com.unicauca.fiet.sistema_electivas.common.exception.InvalidStateException;
 import com.unicauca.fiet.sistema_electivas.common.exception.ResourceNotFoundException;
+import com.unicauca.fiet.sistema_electivas.common.metricas.EtapaProceso;
+import com.unicauca.fiet.sistema_electivas.common.metricas.MetricasEtapas;
+import com.unicauca.fiet.sistema_electivas.common.replica.GuardiaReplica;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
 import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
@@ -20,6 +24,7 @@ import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.io.File;
 import java.util.HashMap;
@@ -40,12 +45,20 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
     private ArchivoService  archivoService;
     @Autowired
     private CargaArchivoRepository cargaArchivoRepository;
+    @Autowired
+    private MetricasEtapas metricasEtapas;
+    @Autowired
+    private GuardiaReplica guardiaReplica;
 
     /**
      * {@inheritDoc}
      */
+    @EtapaProceso("reporte-tecnico")
+    @Transactional(readOnly = true)
     @Override
     public Workbook  generarReporteTecnico(Long periodoId) {
+        // El período está en plena asignación: la réplica puede no tener aún el último estado
+        guardiaReplica.forzarPrimario();
 
         PeriodoAcademico periodo = periodoAcademicoRepository.findById(periodoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Período no encontrado"));
@@ -60,6 +73,7 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
 
         List<EstudianteAsignacionReporteResponse> ranking =
                 consultaAsignacionService.generarReporteRanking(periodoId);
+        metricasEtapas.registrarFilas(ranking.size());
 
         Workbook workbook = new XSSFWorkbook();
 
@@ -97,8 +111,7 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
             crearHojaDepartamento(sheetDep, dep, workbook);
         }
         archivoService.guardarReporteDetallado(workbook, periodo);
-        periodo.setEstado(EstadoPeriodoAcademico.GENERACION_LISTAS_PUBLICAS);
-        periodoAcademicoRepository.save(periodo);
+        avanzarEstado(periodo, EstadoPeriodoAcademico.GENERACION_LISTAS_PUBLICAS);
         return workbook;
     }
     /**
@@ -401,8 +414,11 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
     /**
      * {@inheritDoc}
      */
+    @EtapaProceso("reporte-publicacion")
+    @Transactional(readOnly = true)
     @Override
     public Workbook generarReportePublicacion(Long periodoId) {
+        guardiaReplica.forzarPrimario();
         // 1. Buscar el periodo del cual se generara el reporte
         PeriodoAcademico periodo = periodoAcademicoRepository.findById(periodoId)
                 .orElseThrow(() -> new ResourceNotFoundException("Período no encontrado"));
@@ -419,6 +435,10 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
         // 4. Obtener departamentos y ofertas
         List<DepartamentoReporteDTO> departamentos =
                 consultaAsignacionService.generarListasDeAsigancionPorDepartamentos(periodoId);
+        metricasEtapas.registrarFilas(departamentos.stream()
+                .flatMap(dep -> dep.getOfertas().stream())
+                .mapToLong(oferta -> oferta.getListaEstudiantes().size())
+                .sum());
 
         // 5. Crear una hoja por departamento
         for (DepartamentoReporteDTO dep : departamentos) {
@@ -434,13 +454,25 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
             crearHojaDepartamentoPublico(sheetDep, dep, workbook);
         }
         archivoService.guardarReportePublicacion(workbook, periodo);
-        periodo.setEstado(EstadoPeriodoAcademico.ASIGNACION_PROCESADA);
-        periodoAcademicoRepository.save(periodo);
+        avanzarEstado(periodo, EstadoPeriodoAcademico.ASIGNACION_PROCESADA);
         // 6. Retornar workbook para que el dominio de archivos lo guarde o lo devuelva
         return workbook;
     }
 
 
+    /**
+     * Pasa el período al siguiente estado de la asignación, en una transacción propia (el reporte
+     * se genera en una de solo lectura).
+     *
+     * @throws InvalidStateException si otra petición cambió el estado mientras se generaba el reporte
+     */
+    private void avanzarEstado(PeriodoAcademico periodo, EstadoPeriodoAcademico nuevo) {
+        if (periodoAcademicoRepository.cambiarEstado(periodo.getId(), periodo.getEstado(), nuevo) == 0) {
+            throw new InvalidStateException("El período cambió de estado mientras se generaba el reporte.");
+        }
+        guardiaReplica.registrarTransicion();
+    }
+
     /**
      * Crea una hoja pública para un departamento, ocultando datos sensibles y
      * mostrando solo código y posición. Además acomoda las ofertas en pares,
@@ -564,6 +596,7 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
     /**
      * {@inheritDoc}
      */
+    @Transactional(readOnly = true)
     public ReporteArchivoResponse obtenerArchivoReporteTecnico(Long periodoId) {
         validarEstadoParaDescarga(periodoId);
 
@@ -580,6 +613,8 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
         ReporteArchivoResponse response = new ReporteArchivoResponse();
         response.setArchivo(new FileSystemResource(file));
         response.setNombreArchivo(archivo.getNombreArchivo());
+        response.setEtag(ArchivoMapper.toEtag(archivo));
+        response.setUltimaModificacion(archivo.getFechaCarga());
 
         return response;
     }
@@ -590,6 +625,7 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public ReporteArchivoResponse obtenerArchivoReportePublico(Long periodoId) {
 
         validarEstadoParaDescarga(periodoId);
@@ -612,6 +648,8 @@ public class ReporteAsignacionServiceImpl implements ReporteAsignacionService {
         ReporteArchivoResponse response = new ReporteArchivoResponse();
         response.setArchivo(new FileSystemResource(archivoFisico));
         response.setNombreArchivo(registro.getNombreArchivo());
+        response.setEtag(ArchivoMapper.toEtag(registro));
+        response.setUltimaModificacion(registro.getFechaCarga());
 
         return response;
     }
@@ -19,12 +19,12 @@ import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.Datos
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.mapper.RespuestaFormularioMapper;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
 import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.DatosAcademicoRepository;
-import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
 import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
 import com.unicauca.fiet.sistema_electivas.programa.util.ProgramaSiglaUtil;
 import com.unicauca.fiet.sistema_electivas.reporte.dto.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -137,6 +137,7 @@ public class ReportesEstadisticasServiceImpl implements ReportesEstadisticasServ
      * {@inheritDoc}
      */
     @Override
+    @Transactional(readOnly = true)
     public ResumenProcesamientoPeriodoResponse obtenerResumenProcesamiento(Long periodoId) {
 
         // 1. Validar existencia del período
@@ -277,7 +278,7 @@ public class ReportesEstadisticasServiceImpl implements ReportesEstadisticasServ
         }
 
         // 2. Convertir a DTO para Python
-        // 2. Convertir a DTO para Python
+        Map<Long, List<String>> programasPorElectiva = obtenerNombresProgramasPorElectiva(respuestas);
         List<PopularidadRequestDto> dto = respuestas.stream()
                 .flatMap(r -> r.getOpciones().stream()
                         // Filtrar opciones sin oferta (importante)
@@ -287,7 +288,7 @@ public class ReportesEstadisticasServiceImpl implements ReportesEstadisticasServ
                                 op.getOpcionNum(),
                                 op.getOferta().getElectiva().getNombre()
                                         + ProgramaSiglaUtil.generarSiglasProgramas(
-                                        obtenerNombresProgramas(op.getOferta().getElectiva().getId())
+                                        programasPorElectiva.getOrDefault(op.getOferta().getElectiva().getId(), List.of())
                                 )
                         ))
                 )
@@ -334,6 +335,7 @@ public class ReportesEstadisticasServiceImpl implements ReportesEstadisticasServ
         }
 
         // 2. Convertir a DTO para Python
+        Map<Long, List<String>> programasPorElectiva = obtenerNombresProgramasPorElectiva(respuestas);
         List<PopularidadRequestDto> dto = respuestas.stream()
                 .flatMap(r -> r.getOpciones().stream()
                         .filter(op -> op.getOferta() != null && op.getOferta().getElectiva() != null)
@@ -342,7 +344,7 @@ public class ReportesEstadisticasServiceImpl implements ReportesEstadisticasServ
                                 op.getOpcionNum(),
                                 op.getOferta().getElectiva().getNombre()
                                         + ProgramaSiglaUtil.generarSiglasProgramas(
-                                        obtenerNombresProgramas(op.getOferta().getElectiva().getId())
+                                        programasPorElectiva.getOrDefault(op.getOferta().getElectiva().getId(), List.of())
                                 )
                         ))
                 )
@@ -355,21 +357,32 @@ public class ReportesEstadisticasServiceImpl implements ReportesEstadisticasServ
     }
 
     /**
-     * Obtiene los nombres de todos los programas que tienen asociado
-     * un vínculo con la electiva especificada.
+     * Obtiene, con una sola consulta, los nombres de los programas asociados a cada
+     * electiva elegida en las respuestas indicadas.
      *
-     * <p>Este método se utiliza para construir el reporte de ofertas,
-     * donde se requiere mostrar los programas que pueden cursar la electiva.</p>
+     * <p>Se usa para construir el nombre con siglas de cada electiva en los reportes
+     * de popularidad sin consultar los programas opción por opción.</p>
      *
-     * @param electivaId ID de la electiva
-     * @return lista de nombres de programas relacionados
+     * @param respuestas respuestas con sus opciones, ofertas y electivas cargadas
+     * @return mapa ID de electiva → nombres de programas relacionados
      */
-    private List<String> obtenerNombresProgramas(Long electivaId) {
+    private Map<Long, List<String>> obtenerNombresProgramasPorElectiva(List<RespuestasFormulario> respuestas) {
+
+        Set<Long> electivaIds = respuestas.stream()
+                .flatMap(r -> r.getOpciones().stream())
+                .filter(op -> op.getOferta() != null && op.getOferta().getElectiva() != null)
+                .map(op -> op.getOferta().getElectiva().getId())
+                .collect(Collectors.toSet());
 
-        return programaElectivaRepository.findProgramasByElectivaId(electivaId)
+        if (electivaIds.isEmpty()) {
+            return Map.of();
+        }
+        return programaElectivaRepository.findByElectivaIdInConPrograma(electivaIds)
                 .stream()
-                .map(Programa::getNombre)
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(
+                        pe -> pe.getId().getElectivaId(),
+                        Collectors.mapping(pe -> pe.getPrograma().getNombre(), Collectors.toList())
+                ));
     }
 
     /**
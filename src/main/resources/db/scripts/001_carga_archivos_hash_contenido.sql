@@ -0,0 +1,6 @@
+-- Huella SHA-256 del contenido de cada archivo almacenado.
+-- Permite reconocer cargas idénticas dentro de un período y reutilizar su resultado.
+ALTER TABLE carga_archivos ADD COLUMN IF NOT EXISTS hash_contenido VARCHAR(64);
+
+CREATE INDEX IF NOT EXISTS idx_carga_archivos_periodo_tipo_hash
+    ON carga_archivos (periodo_id, tipo_archivo, hash_contenido);
@@ -0,0 +1,31 @@
+-- Inconsistencias detectadas en la carga de archivos SIMCA.
+-- Se consultan paginadas y filtradas por tipo, archivo o código; cada carga reemplaza las de las
+-- respuestas que evalúa y las de los archivos que vuelve a procesar.
+-- La secuencia avanza de 50 en 50 (allocationSize = 50) para insertar en lotes.
+CREATE SEQUENCE IF NOT EXISTS inconsistencias_simca_id_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS inconsistencias_simca (
+    id                 BIGINT       NOT NULL PRIMARY KEY,
+    periodo_id         BIGINT       NOT NULL REFERENCES periodo_academico (id),
+    respuesta_id       BIGINT       REFERENCES respuestas_formulario (id),
+    tipo               VARCHAR(40)  NOT NULL,
+    codigo_estudiante  TEXT         NOT NULL,
+    nombre_estudiante  TEXT,
+    mensaje            TEXT         NOT NULL,
+    archivo_cargado_id BIGINT       REFERENCES carga_archivos (id),
+    nombre_archivo     TEXT,
+    fila               INTEGER,
+    fecha_registro     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_inconsistencias_simca_periodo_tipo
+    ON inconsistencias_simca (periodo_id, tipo);
+
+CREATE INDEX IF NOT EXISTS idx_inconsistencias_simca_periodo_codigo
+    ON inconsistencias_simca (periodo_id, codigo_estudiante);
+
+CREATE INDEX IF NOT EXISTS idx_inconsistencias_simca_respuesta
+    ON inconsistencias_simca (respuesta_id);
+
+CREATE INDEX IF NOT EXISTS idx_inconsistencias_simca_archivo
+    ON inconsistencias_simca (archivo_cargado_id);
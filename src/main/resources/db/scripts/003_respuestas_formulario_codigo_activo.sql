@@ -0,0 +1,7 @@
+-- Índice parcial de códigos activos por período en las respuestas del formulario.
+-- Cubre la verificación de código repetido al revisar manualmente o corregir una respuesta,
+-- que solo considera los estados que conservan el código en el proceso.
+-- No es único: las clasificaciones masivas reasignan estados en una sola sentencia.
+CREATE INDEX IF NOT EXISTS idx_respuestas_formulario_periodo_codigo_activo
+    ON respuestas_formulario (periodo_id, codigo_estudiante)
+    WHERE estado IN ('UNICO', 'CUMPLE', 'INCLUIDO', 'DATOS_CARGADOS');
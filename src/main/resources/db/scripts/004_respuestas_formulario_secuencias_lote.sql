@@ -0,0 +1,4 @@
+-- Las respuestas del formulario y sus opciones se insertan en lotes al importar.
+-- Las secuencias avanzan de 50 en 50 (allocationSize = 50) para reservar identificadores por lote.
+ALTER SEQUENCE respuestas_formulario_seq INCREMENT BY 50;
+ALTER SEQUENCE respuesta_opcion_seq INCREMENT BY 50;
@@ -0,0 +1,19 @@
+-- Respuestas de Google Forms sincronizadas mientras el formulario del período está abierto.
+-- Cada respuesta se identifica por su responseId; una edición posterior reemplaza los datos.
+-- El último envío sincronizado de cada período sirve como marca para consultar solo lo nuevo.
+-- Cada página descargada se inserta en lotes: la secuencia avanza de 50 en 50 (allocationSize = 50).
+CREATE SEQUENCE IF NOT EXISTS respuestas_forms_sincronizadas_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE respuestas_forms_sincronizadas_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS respuestas_forms_sincronizadas (
+    id                   BIGINT       NOT NULL PRIMARY KEY,
+    periodo_id           BIGINT       NOT NULL REFERENCES periodo_academico (id),
+    response_id          VARCHAR(255) NOT NULL,
+    ultimo_envio         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    datos                JSONB        NOT NULL,
+    fecha_sincronizacion TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_respuestas_forms_sincronizadas_periodo_response UNIQUE (periodo_id, response_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_respuestas_forms_sincronizadas_periodo_envio
+    ON respuestas_forms_sincronizadas (periodo_id, ultimo_envio);
@@ -2,8 +2,10 @@ package com.unicauca.fiet.sistema_electivas;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles({"google-stub", "h2"})
 class SistemaElectivasApplicationTests {
 
 	@Test
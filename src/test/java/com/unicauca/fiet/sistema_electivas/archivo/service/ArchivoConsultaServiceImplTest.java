@@ -0,0 +1,80 @@
+package com.unicauca.fiet.sistema_electivas.archivo.service;
+
+import com.unicauca.fiet.sistema_electivas.archivo.dto.LotesZipDescarga;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Escritura del ZIP de lotes: la etiqueta del ZIP se deriva de los lotes, así que el contenido
+ * debe ser el mismo cada vez que se genera.
+ */
+class ArchivoConsultaServiceImplTest {
+
+    private final ArchivoConsultaServiceImpl servicio = new ArchivoConsultaServiceImpl(null);
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void elMismoConjuntoDeLotesProduceLosMismosBytes() throws Exception {
+        LotesZipDescarga descarga = descarga();
+
+        byte[] primero = escribir(descarga);
+        // La fecha DOS de una entrada tiene resolución de dos segundos
+        Thread.sleep(2100);
+        byte[] segundo = escribir(descarga);
+
+        assertThat(segundo).isEqualTo(primero);
+    }
+
+    @Test
+    void cadaEntradaLlevaLaFechaDeCargaDeSuLote() throws IOException {
+        LotesZipDescarga descarga = descarga();
+
+        Map<String, LocalDateTime> fechas = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(escribir(descarga)))) {
+            for (ZipEntry entrada; (entrada = zip.getNextEntry()) != null; ) {
+                fechas.put(entrada.getName(), entrada.getTimeLocal());
+            }
+        }
+
+        assertThat(fechas).containsExactly(
+                Map.entry("lote_1.txt", LocalDateTime.of(2024, 3, 1, 14, 30, 10)),
+                Map.entry("lote_2.txt", LocalDateTime.of(2024, 3, 2, 8, 0, 0)));
+    }
+
+    private LotesZipDescarga descarga() throws IOException {
+        Map<String, LotesZipDescarga.Entrada> entradas = new LinkedHashMap<>();
+        entradas.put("lote_1.txt", new LotesZipDescarga.Entrada(
+                lote("a", "1001\n1002\n"), LocalDateTime.of(2024, 3, 1, 14, 30, 10).toInstant(ZoneOffset.UTC)));
+        entradas.put("lote_2.txt", new LotesZipDescarga.Entrada(
+                lote("b", "1003\n"), LocalDateTime.of(2024, 3, 2, 8, 0, 0).toInstant(ZoneOffset.UTC)));
+        return new LotesZipDescarga("Lotes.zip", "etag", Instant.EPOCH, entradas);
+    }
+
+    private Path lote(String nombre, String contenido) throws IOException {
+        return Files.writeString(directorio.resolve(nombre), contenido, StandardCharsets.UTF_8);
+    }
+
+    private byte[] escribir(LotesZipDescarga descarga) throws IOException {
+        ByteArrayOutputStream salida = new ByteArrayOutputStream();
+        servicio.escribirLotesZip(descarga, salida);
+        return salida.toByteArray();
+    }
+}
@@ -0,0 +1,23 @@
+package com.unicauca.fiet.sistema_electivas.asignacion.service;
+
+import com.unicauca.fiet.sistema_electivas.soporte.PruebaConteoConsultas;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+class ConsultaAsignacionServiceConsultasTest extends PruebaConteoConsultas {
+
+    @Autowired
+    private ConsultaAsignacionService consultaAsignacionService;
+
+    @Test
+    void reporteRankingNoConsultaPorEstudiante() {
+        verificarAcotado("generarReporteRanking", 6,
+                e -> consultaAsignacionService.generarReporteRanking(e.periodoId()));
+    }
+
+    @Test
+    void listasPorDepartamentoNoConsultanPorOfertaNiPorEstudiante() {
+        verificarAcotado("generarListasDeAsigancionPorDepartamentos", 7,
+                e -> consultaAsignacionService.generarListasDeAsigancionPorDepartamentos(e.periodoId()));
+    }
+}
@@ -0,0 +1,233 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
+import com.unicauca.fiet.sistema_electivas.common.util.TextoUtil;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Lectura de libros pequeños generados en la prueba: encabezados, tipos de celda, filas vacías y
+ * formatos admitidos.
+ */
+class LectorExcelTest {
+
+    private static final Map<String, String> ALIAS = Map.of(
+            "codigo estudiante", "codigo",
+            "codigo", "codigo",
+            "nota", "nota",
+            "fecha", "fecha");
+
+    private final LectorExcel lector = new LectorExcel();
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void resuelveAliasConLaNormalizacionConfigurada() throws IOException {
+        Path libro = xlsx(XSSFWorkbook::new, hoja -> {
+            encabezado(hoja, "  Código Estudiante ", "NOTA", "Observación");
+            hoja.createRow(1).createCell(0).setCellValue("1001");
+        });
+
+        List<Map<String, Integer>> columnas = new ArrayList<>();
+        lector.leer(libro, EncabezadosExcel.conAlias(ALIAS).normalizando(TextoUtil::normalizar),
+                fila -> columnas.add(Map.copyOf(fila.getColumnas())));
+        assertThat(columnas).containsExactly(Map.of("codigo", 0, "nota", 1));
+
+        // Con la normalización por defecto la tilde no coincide, y los desconocidos se conservan
+        columnas.clear();
+        lector.leer(libro, EncabezadosExcel.conAlias(ALIAS).conservandoDesconocidos(),
+                fila -> columnas.add(Map.copyOf(fila.getColumnas())));
+        assertThat(columnas).containsExactly(Map.of("código estudiante", 0, "nota", 1, "observación", 2));
+    }
+
+    @Test
+    void leeTextosCompartidosEnLineaYNumeros() throws IOException {
+        // XSSFWorkbook guarda los textos en la tabla compartida; SXSSFWorkbook, en línea
+        for (Supplier<Workbook> libro : List.<Supplier<Workbook>>of(XSSFWorkbook::new, SXSSFWorkbook::new)) {
+            Path ruta = xlsx(libro, hoja -> {
+                encabezado(hoja, "Codigo", "Nota");
+                Row fila = hoja.createRow(1);
+                fila.createCell(0).setCellValue(20231045);
+                fila.createCell(1).setCellValue(4.5);
+                fila = hoja.createRow(2);
+                fila.createCell(0).setCellValue("20231046");
+                fila.createCell(1).setCellValue(" 3,8 ");
+                fila = hoja.createRow(3);
+                fila.createCell(0).setCellValue("sin código");
+                fila.createCell(1).setCellValue("N/A");
+            });
+
+            List<List<Object>> leidas = new ArrayList<>();
+            lector.leer(ruta, EncabezadosExcel.conAlias(ALIAS), fila -> leidas.add(List.of(
+                    fila.getTexto("codigo"), String.valueOf(fila.getEntero("codigo")),
+                    fila.esNumerica("nota"), String.valueOf(fila.getDecimal("nota")))));
+
+            assertThat(leidas).containsExactly(
+                    List.of("20231045", "20231045", true, "4.5"),
+                    List.of("20231046", "20231046", false, "3.8"),
+                    List.of("sin código", "null", false, "null"));
+        }
+    }
+
+    @Test
+    void lasFechasSeExponenFormateadasYComoNumeroDeSerie() throws IOException {
+        LocalDate fecha = LocalDate.of(2024, 3, 1);
+        double serie = DateUtil.getExcelDate(fecha);
+        Path libro = xlsx(XSSFWorkbook::new, hoja -> {
+            encabezado(hoja, "Fecha");
+            CellStyle estilo = hoja.getWorkbook().createCellStyle();
+            estilo.setDataFormat(hoja.getWorkbook().getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+            var celda = hoja.createRow(1).createCell(0);
+            celda.setCellValue(fecha);
+            celda.setCellStyle(estilo);
+        });
+
+        List<FilaLeida> leidas = new ArrayList<>();
+        lector.leer(libro, EncabezadosExcel.conAlias(ALIAS), fila -> leidas.add(new FilaLeida(
+                fila.getTexto("fecha"), fila.getEntero("fecha"), fila.getDecimal("fecha"), fila.getValorNumerico("fecha"))));
+
+        assertThat(leidas).containsExactly(new FilaLeida("2024-03-01", (int) serie, serie, serie));
+    }
+
+    @Test
+    void lasFilasAusentesNoSeEntreganYLasEnBlancoLleganVacias() throws IOException {
+        Path libro = xlsx(XSSFWorkbook::new, hoja -> {
+            encabezado(hoja, "Codigo");
+            hoja.createRow(1).createCell(0).setCellValue("1001");
+            // Fila 2 ausente; fila 3 con una celda en blanco
+            hoja.createRow(3).createCell(0);
+            hoja.createRow(4).createCell(0).setCellValue("1002");
+        });
+
+        List<Integer> numeros = new ArrayList<>();
+        List<Integer> vacias = new ArrayList<>();
+        List<String> codigos = new ArrayList<>();
+        lector.leer(libro, EncabezadosExcel.conAlias(ALIAS), fila -> {
+            numeros.add(fila.getNumeroFila());
+            if (fila.estaVacia()) {
+                vacias.add(fila.getNumeroFila());
+                return true;
+            }
+            codigos.add(fila.getTexto("codigo"));
+            return true;
+        });
+
+        assertThat(numeros).containsExactly(1, 3, 4);
+        assertThat(vacias).containsExactly(3);
+        assertThat(codigos).containsExactly("1001", "1002");
+    }
+
+    @Test
+    void faltaUnaColumnaRequeridaSinEntregarFilas() throws IOException {
+        Path libro = xlsx(XSSFWorkbook::new, hoja -> {
+            encabezado(hoja, "Codigo");
+            hoja.createRow(1).createCell(0).setCellValue("1001");
+        });
+        List<FilaExcel> entregadas = new ArrayList<>();
+
+        assertThatThrownBy(() -> lector.leer(libro,
+                EncabezadosExcel.conAlias(ALIAS).requiriendo(Set.of("codigo", "nota"), "Faltan columnas: codigo, nota"),
+                entregadas::add))
+                .isInstanceOf(BusinessException.class)
+                .hasMessage("Faltan columnas: codigo, nota");
+        assertThat(entregadas).isEmpty();
+    }
+
+    @Test
+    void elProcesadorPuedeDetenerLaLectura() throws IOException {
+        Path libro = xlsx(XSSFWorkbook::new, hoja -> {
+            encabezado(hoja, "Codigo");
+            for (int i = 1; i <= 5; i++) {
+                hoja.createRow(i).createCell(0).setCellValue("100" + i);
+            }
+        });
+
+        List<String> codigos = new ArrayList<>();
+        lector.leer(libro, EncabezadosExcel.conAlias(ALIAS), fila -> {
+            codigos.add(fila.getTexto("codigo"));
+            return codigos.size() < 2;
+        });
+
+        assertThat(codigos).containsExactly("1001", "1002");
+    }
+
+    @Test
+    void unXlsSeLeeConLaMismaInterfaz() throws IOException {
+        Path libro = directorio.resolve("libro.xls");
+        try (Workbook workbook = new HSSFWorkbook(); OutputStream salida = Files.newOutputStream(libro)) {
+            Sheet hoja = workbook.createSheet();
+            encabezado(hoja, "Código", "Nota");
+            Row fila = hoja.createRow(1);
+            fila.createCell(0).setCellValue("1001");
+            fila.createCell(1).setCellValue(4.5);
+            workbook.write(salida);
+        }
+
+        List<String> leidas = new ArrayList<>();
+        lector.leer(libro, EncabezadosExcel.conAlias(ALIAS).normalizando(TextoUtil::normalizar),
+                fila -> leidas.add(fila.getTexto("codigo") + "=" + fila.getDecimal("nota")));
+
+        assertThat(leidas).containsExactly("1001=4.5");
+    }
+
+    @Test
+    void soloLaLecturaQueAdmiteCsvAceptaTextoDelimitado() throws IOException {
+        Path csv = Files.writeString(directorio.resolve("datos.xlsx"), "Codigo;Nota\n1001;4,5\n", StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> lector.leer(csv, EncabezadosExcel.conAlias(ALIAS), fila -> true))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageStartingWith("Formato inválido");
+
+        List<String> leidas = new ArrayList<>();
+        lector.leerAdmitiendoCsv(csv, EncabezadosExcel.conAlias(ALIAS),
+                fila -> leidas.add(fila.getTexto("codigo") + "=" + fila.getDecimal("nota")));
+        assertThat(leidas).containsExactly("1001=4.5");
+    }
+
+    private record FilaLeida(String texto, Integer entero, Double decimal, Double valorNumerico) {
+    }
+
+    private interface ContenidoHoja {
+        void escribir(Sheet hoja);
+    }
+
+    private Path xlsx(Supplier<Workbook> nuevoLibro, ContenidoHoja contenido) throws IOException {
+        Path ruta = Files.createTempFile(directorio, "libro", ".xlsx");
+        try (Workbook workbook = nuevoLibro.get(); OutputStream salida = Files.newOutputStream(ruta)) {
+            contenido.escribir(workbook.createSheet());
+            workbook.write(salida);
+        }
+        return ruta;
+    }
+
+    private static void encabezado(Sheet hoja, String... columnas) {
+        Row fila = hoja.createRow(0);
+        for (int i = 0; i < columnas.length; i++) {
+            fila.createCell(i).setCellValue(columnas[i]);
+        }
+    }
+}
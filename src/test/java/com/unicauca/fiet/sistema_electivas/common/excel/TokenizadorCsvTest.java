@@ -0,0 +1,147 @@
+package com.unicauca.fiet.sistema_electivas.common.excel;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tokenización de CSV: codificación, separador, comillas y registros que cruzan el bloque de
+ * lectura de 64 KB.
+ */
+class TokenizadorCsvTest {
+
+    private static final int TAMANO_BLOQUE = 64 * 1024;
+
+    @Test
+    void utf8ConBomDescartaElBom() throws IOException {
+        byte[] contenido = concatenar(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF},
+                "Código;Nombre\n1;Peña\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(registros(contenido)).containsExactly(
+                List.of("Código", "Nombre"),
+                List.of("1", "Peña"));
+    }
+
+    @Test
+    void utf16ConBomEnAmbosOrdenes() throws IOException {
+        String texto = "Código;Nombre\n1;Peña\n";
+        byte[] le = concatenar(new byte[]{(byte) 0xFF, (byte) 0xFE}, texto.getBytes(StandardCharsets.UTF_16LE));
+        byte[] be = concatenar(new byte[]{(byte) 0xFE, (byte) 0xFF}, texto.getBytes(StandardCharsets.UTF_16BE));
+
+        for (byte[] contenido : List.of(le, be)) {
+            assertThat(registros(contenido)).containsExactly(
+                    List.of("Código", "Nombre"),
+                    List.of("1", "Peña"));
+        }
+    }
+
+    @Test
+    void sinBomYConBytesInvalidosEnUtf8UsaWindows1252() throws IOException {
+        byte[] contenido = "Código;Nombre\n1;Peña €\n".getBytes(Charset.forName("windows-1252"));
+
+        assertThat(registros(contenido)).containsExactly(
+                List.of("Código", "Nombre"),
+                List.of("1", "Peña €"));
+    }
+
+    @Test
+    void detectaPuntoYComaComaYTabulador() throws IOException {
+        for (String separador : List.of(";", ",", "\t")) {
+            String texto = String.join(separador, "a", "b", "c") + "\n"
+                    + String.join(separador, "1", "2", "3") + "\n";
+
+            assertThat(registros(texto.getBytes(StandardCharsets.UTF_8)))
+                    .as("separador [%s]", separador)
+                    .containsExactly(List.of("a", "b", "c"), List.of("1", "2", "3"));
+        }
+    }
+
+    @Test
+    void elSeparadorSeEligeFueraDeComillas() throws IOException {
+        byte[] contenido = "\"a,b,c\";d\n1;2\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(registros(contenido)).containsExactly(
+                List.of("a,b,c", "d"),
+                List.of("1", "2"));
+    }
+
+    @Test
+    void comillasEscapadasYSaltosDeLineaInternos() throws IOException {
+        byte[] contenido = "a;b\r\n\"dijo \"\"hola\"\"\";\"línea 1\r\nlínea 2\"\r\n".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(registros(contenido)).containsExactly(
+                List.of("a", "b"),
+                List.of("dijo \"hola\"", "línea 1\r\nlínea 2"));
+    }
+
+    @Test
+    void omiteLineasVaciasConservandoLaNumeracionYLeeElUltimoRegistroSinSalto() throws IOException {
+        FilaExcel fila = new FilaExcel(Map.of());
+        List<Integer> numeros = new ArrayList<>();
+        byte[] contenido = "a;b\n\n1;2\n\n3;4".getBytes(StandardCharsets.UTF_8);
+
+        new TokenizadorCsv(Channels.newChannel(new ByteArrayInputStream(contenido)))
+                .recorrer(fila, f -> numeros.add(f.getNumeroFila()));
+
+        assertThat(numeros).containsExactly(0, 2, 4);
+    }
+
+    @Test
+    void unaComillaEscapadaPartidaEntreDosBloques() throws IOException {
+        // "a;b\n" + comilla de apertura ocupan 5 bytes; el relleno deja la primera comilla de la
+        // pareja "" como último byte del bloque y la segunda como primer byte del siguiente.
+        String relleno = "x".repeat(TAMANO_BLOQUE - 6);
+        String campo = relleno + "\"" + "y".repeat(100);
+        String texto = "a;b\n\"" + campo.replace("\"", "\"\"") + "\";fin\n";
+
+        assertThat(texto.indexOf("\"\"", 5)).isEqualTo(TAMANO_BLOQUE - 1);
+        assertThat(registros(texto.getBytes(StandardCharsets.UTF_8))).containsExactly(
+                List.of("a", "b"),
+                List.of(campo, "fin"));
+    }
+
+    @Test
+    void unRegistroConCaracteresMultibyteQueCruzaElBloque() throws IOException {
+        // Cada ñ ocupa dos bytes en UTF-8; con el prefijo impar alguna queda partida entre bloques
+        String largo = "ñ".repeat(TAMANO_BLOQUE);
+        String texto = "a;b\n1;\"" + largo + "\nsigue\"\n2;3\n";
+
+        assertThat(registros(texto.getBytes(StandardCharsets.UTF_8))).containsExactly(
+                List.of("a", "b"),
+                List.of("1", largo + "\nsigue"),
+                List.of("2", "3"));
+    }
+
+    /**
+     * Recorre el contenido y devuelve el texto crudo de cada registro.
+     */
+    private static List<List<String>> registros(byte[] contenido) throws IOException {
+        FilaExcel fila = new FilaExcel(Map.of());
+        List<List<String>> registros = new ArrayList<>();
+        new TokenizadorCsv(Channels.newChannel(new ByteArrayInputStream(contenido))).recorrer(fila, f -> {
+            List<String> campos = new ArrayList<>();
+            for (int i = 0; i <= f.getUltimaColumna(); i++) {
+                campos.add(f.getTextoCrudo(i));
+            }
+            registros.add(campos);
+            return true;
+        });
+        return registros;
+    }
+
+    private static byte[] concatenar(byte[] a, byte[] b) {
+        byte[] resultado = new byte[a.length + b.length];
+        System.arraycopy(a, 0, resultado, 0, a.length);
+        System.arraycopy(b, 0, resultado, a.length, b.length);
+        return resultado;
+    }
+}
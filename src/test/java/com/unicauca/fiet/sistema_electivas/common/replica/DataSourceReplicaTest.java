@@ -0,0 +1,172 @@
+package com.unicauca.fiet.sistema_electivas.common.replica;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Enrutamiento entre primario y réplica, con dos bases H2 en memoria que solo se distinguen por
+ * el contenido de la tabla {@code origen}.
+ *
+ * <p>Las consultas pasan por Hibernate y {@link JpaTransactionManager} con el mismo manejo de
+ * conexiones que {@code ReplicaConfig}, de modo que el enrutamiento depende solo de lo que hace la
+ * transacción, igual que en producción.</p>
+ */
+class DataSourceReplicaTest {
+
+    private static final DataSource PRIMARIO = base("primario");
+    private static final DataSource REPLICA = base("replica");
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private EntityManagerFactory entityManagerFactory;
+    private JpaTransactionManager transactionManager;
+
+    @BeforeAll
+    static void crearBases() throws SQLException {
+        for (String nombre : new String[]{"primario", "replica"}) {
+            try (Connection con = base(nombre).getConnection(); Statement st = con.createStatement()) {
+                st.execute("CREATE TABLE IF NOT EXISTS origen (nombre VARCHAR(20))");
+                st.execute("DELETE FROM origen");
+                st.execute("INSERT INTO origen VALUES ('" + nombre + "')");
+                st.execute("CREATE TABLE IF NOT EXISTS escritura (valor VARCHAR(20))");
+                st.execute("DELETE FROM escritura");
+            }
+        }
+    }
+
+    @AfterEach
+    void cerrar() {
+        if (entityManagerFactory != null) {
+            entityManagerFactory.close();
+        }
+    }
+
+    @Test
+    void soloLecturaVaALaReplicaYEscrituraAlPrimario() throws SQLException {
+        conEnrutador(REPLICA, new GuardiaReplica(Duration.ofMinutes(1)));
+
+        assertThat(origen(true)).isEqualTo("replica");
+        assertThat(origen(false)).isEqualTo("primario");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado -> entityManager()
+                .createNativeQuery("INSERT INTO escritura VALUES ('nueva')")
+                .executeUpdate());
+
+        assertThat(escrituras(PRIMARIO)).isEqualTo(1);
+        assertThat(escrituras(REPLICA)).isZero();
+    }
+
+    @Test
+    void trasUnaTransicionLasLecturasVanAlPrimario() {
+        GuardiaReplica guardia = new GuardiaReplica(Duration.ofMinutes(1));
+        conEnrutador(REPLICA, guardia);
+
+        guardia.registrarTransicion();
+
+        assertThat(origen(true)).isEqualTo("primario");
+        assertThat(respaldos("transicion")).isEqualTo(1);
+    }
+
+    @Test
+    void laTransaccionQueForzaElPrimarioNoLeeDeLaReplica() {
+        GuardiaReplica guardia = new GuardiaReplica(Duration.ofMinutes(1));
+        conEnrutador(REPLICA, guardia);
+
+        TransactionTemplate soloLectura = new TransactionTemplate(transactionManager);
+        soloLectura.setReadOnly(true);
+        String forzada = soloLectura.execute(estado -> {
+            guardia.forzarPrimario();
+            return leerOrigen();
+        });
+
+        assertThat(forzada).isEqualTo("primario");
+        // Al terminar la transacción las lecturas vuelven a la réplica
+        assertThat(origen(true)).isEqualTo("replica");
+    }
+
+    @Test
+    void conLaReplicaCaidaLasLecturasVanAlPrimario() {
+        JdbcDataSource caida = new JdbcDataSource();
+        caida.setURL("jdbc:h2:./target/replica-inexistente;IFEXISTS=TRUE");
+        conEnrutador(caida, new GuardiaReplica(Duration.ofMinutes(1)));
+
+        assertThat(origen(true)).isEqualTo("primario");
+        assertThat(origen(true)).isEqualTo("primario");
+        assertThat(respaldos("error")).isEqualTo(2);
+    }
+
+    /**
+     * Arma el origen de datos como {@code ReplicaConfig} y una unidad de persistencia sin entidades
+     * sobre él.
+     */
+    private void conEnrutador(DataSource replica, GuardiaReplica guardia) {
+        DataSource enrutador = new LazyConnectionDataSourceProxy(
+                new DataSourceReplica(replica, PRIMARIO, guardia, Duration.ofMinutes(1), registry));
+
+        LocalContainerEntityManagerFactoryBean fabrica = new LocalContainerEntityManagerFactoryBean();
+        fabrica.setDataSource(enrutador);
+        fabrica.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        fabrica.setPackagesToScan(getClass().getPackageName());
+        fabrica.setJpaPropertyMap(Map.of(
+                AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION));
+        fabrica.afterPropertiesSet();
+
+        entityManagerFactory = fabrica.getObject();
+        transactionManager = new JpaTransactionManager(entityManagerFactory);
+    }
+
+    private double respaldos(String motivo) {
+        return registry.get("electivas.db.replica.respaldo").tag("motivo", motivo).counter().count();
+    }
+
+    private String origen(boolean soloLectura) {
+        TransactionTemplate plantilla = new TransactionTemplate(transactionManager);
+        plantilla.setReadOnly(soloLectura);
+        return plantilla.execute(estado -> leerOrigen());
+    }
+
+    private String leerOrigen() {
+        return (String) entityManager().createNativeQuery("SELECT nombre FROM origen").getSingleResult();
+    }
+
+    private EntityManager entityManager() {
+        return EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+    }
+
+    private static int escrituras(DataSource dataSource) throws SQLException {
+        try (Connection con = dataSource.getConnection(); Statement st = con.createStatement();
+             ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM escritura")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private static DataSource base(String nombre) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + nombre + ";DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
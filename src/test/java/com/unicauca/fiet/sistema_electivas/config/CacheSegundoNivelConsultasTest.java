@@ -0,0 +1,64 @@
+package com.unicauca.fiet.sistema_electivas.config;
+
+import com.unicauca.fiet.sistema_electivas.electiva.repository.ElectivaRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.OfertaRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.soporte.ContadorSentencias;
+import com.unicauca.fiet.sistema_electivas.soporte.DatosSinteticos;
+import com.unicauca.fiet.sistema_electivas.soporte.PruebaConteoConsultas;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheSegundoNivelConsultasTest extends PruebaConteoConsultas {
+
+    @Autowired
+    private PeriodoAcademicoRepository periodoRepository;
+    @Autowired
+    private ElectivaRepository electivaRepository;
+    @Autowired
+    private OfertaRepository ofertaRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void entidadesDeReferenciaSeLeenDeLaCache() {
+        List<Long> electivas = new TransactionTemplate(transactionManager).execute(estado ->
+                ofertaRepository.findByPeriodoId(grande.periodoId()).stream()
+                        .map(oferta -> oferta.getElectiva().getId())
+                        .toList());
+        Runnable lectura = () -> {
+            periodoRepository.findById(grande.periodoId()).orElseThrow();
+            electivas.forEach(id -> electivaRepository.findById(id).orElseThrow().getDepartamento().getNombre());
+        };
+
+        contador.medir(lectura);
+        ContadorSentencias.Medicion enCaliente = contador.medir(lectura);
+
+        assertThat(enCaliente.sentencias()).as("lectura en caliente: %s", enCaliente).isZero();
+    }
+
+    @Test
+    void modificarUnaEntidadActualizaLaCache() {
+        DatosSinteticos.Escenario escenario = crear(DatosSinteticos.periodo().estudiantes(1));
+        contador.medir(() -> periodoRepository.findById(escenario.periodoId()).orElseThrow());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado ->
+                periodoRepository.findById(escenario.periodoId()).orElseThrow()
+                        .setEstado(EstadoPeriodoAcademico.CERRADO_FORMULARIO));
+
+        AtomicReference<EstadoPeriodoAcademico> leido = new AtomicReference<>();
+        ContadorSentencias.Medicion medicion = contador.medir(() ->
+                leido.set(periodoRepository.findById(escenario.periodoId()).orElseThrow().getEstado()));
+
+        assertThat(leido.get()).isEqualTo(EstadoPeriodoAcademico.CERRADO_FORMULARIO);
+        assertThat(medicion.sentencias()).as("lectura tras la modificación: %s", medicion).isZero();
+    }
+}
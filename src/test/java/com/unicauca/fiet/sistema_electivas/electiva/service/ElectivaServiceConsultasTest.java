@@ -0,0 +1,93 @@
+package com.unicauca.fiet.sistema_electivas.electiva.service;
+
+import com.unicauca.fiet.sistema_electivas.electiva.dto.ElectivaResponseDTO;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.FiltroElectivas;
+import com.unicauca.fiet.sistema_electivas.electiva.dto.PaginaElectivas;
+import com.unicauca.fiet.sistema_electivas.soporte.ContadorSentencias;
+import com.unicauca.fiet.sistema_electivas.soporte.PruebaConteoConsultas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ElectivaServiceConsultasTest extends PruebaConteoConsultas {
+
+    @Autowired
+    private ElectivaService electivaService;
+    @Autowired
+    private CatalogoElectivas catalogoElectivas;
+
+    /** Los escenarios se persisten sin pasar por los servicios, que son los que invalidan el catálogo. */
+    @BeforeEach
+    void descartarCatalogo() {
+        catalogoElectivas.invalidar();
+    }
+
+    @Test
+    void busquedaDeElectivasNoConsultaPorElectiva() {
+        verificarAcotado("findElectivas", 2,
+                e -> electivaService.findElectivas(false, e.prefijoElectivas()));
+    }
+
+    @Test
+    void busquedaEnCalienteNoConsulta() {
+        List<ElectivaResponseDTO> enFrio = electivaService.findElectivas(false, grande.prefijoElectivas());
+
+        AtomicReference<List<ElectivaResponseDTO>> enCaliente = new AtomicReference<>();
+        ContadorSentencias.Medicion medicion = contador.medir(() ->
+                enCaliente.set(electivaService.findElectivas(false, grande.prefijoElectivas())));
+
+        assertThat(medicion.sentencias()).as("búsqueda en caliente: %s", medicion).isZero();
+        assertThat(enCaliente.get()).extracting(ElectivaResponseDTO::getId)
+                .containsExactlyElementsOf(enFrio.stream().map(ElectivaResponseDTO::getId).toList());
+    }
+
+    @Test
+    void busquedaNoDistingueTildesNiMayusculasYAceptaPrefijo() {
+        List<Long> esperadas = electivaService.findElectivas(false, pequeno.prefijoElectivas()).stream()
+                .map(ElectivaResponseDTO::getId)
+                .toList();
+        String conTildes = pequeno.prefijoElectivas().toUpperCase().replace("E", "É");
+        // Palabras en otro orden y la última incompleta: "S1 elec"
+        String incompleta = pequeno.prefijoElectivas().substring("Electiva ".length()) + "elec";
+
+        assertThat(esperadas).isNotEmpty();
+        assertThat(electivaService.findElectivas(false, conTildes))
+                .extracting(ElectivaResponseDTO::getId)
+                .containsExactlyElementsOf(esperadas);
+        assertThat(electivaService.findElectivas(false, incompleta))
+                .extracting(ElectivaResponseDTO::getId)
+                .containsExactlyElementsOf(esperadas);
+    }
+
+    @Test
+    void busquedaPaginadaInformaElTotal() {
+        FiltroElectivas filtro = new FiltroElectivas(grande.prefijoElectivas(), false, null, null, null);
+        List<Long> todas = electivaService.findElectivas(false, grande.prefijoElectivas()).stream()
+                .map(ElectivaResponseDTO::getId)
+                .toList();
+
+        PaginaElectivas segunda = electivaService.buscarElectivas(filtro, 1, 2);
+
+        assertThat(segunda.total()).isEqualTo(todas.size());
+        assertThat(segunda.electivas()).extracting(ElectivaResponseDTO::getId)
+                .containsExactlyElementsOf(todas.subList(Math.min(2, todas.size()), Math.min(4, todas.size())));
+    }
+
+    @Test
+    void paginaFueraDeRangoNoDesborda() {
+        FiltroElectivas filtro = new FiltroElectivas(grande.prefijoElectivas(), false, null, null, null);
+        int total = electivaService.findElectivas(false, grande.prefijoElectivas()).size();
+
+        // 65536 * 65536 = 2^32, que en int da 0 y devolvería la primera página
+        PaginaElectivas lejana = electivaService.buscarElectivas(filtro, 1 << 16, 1 << 16);
+
+        assertThat(total).isPositive();
+        assertThat(lejana.total()).isEqualTo(total);
+        assertThat(lejana.electivas()).isEmpty();
+    }
+}
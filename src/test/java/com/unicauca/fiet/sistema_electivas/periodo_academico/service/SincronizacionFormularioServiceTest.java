@@ -0,0 +1,115 @@
+package com.unicauca.fiet.sistema_electivas.periodo_academico.service;
+
+import com.unicauca.fiet.sistema_electivas.integracion.google.FormsApiStub;
+import com.unicauca.fiet.sistema_electivas.integracion.python.MotorPythonClient;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.PeriodoAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestaFormsSincronizadaRepository;
+import com.unicauca.fiet.sistema_electivas.soporte.DatosSinteticos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Sincronización incremental contra el stub de Google Forms (perfil {@code google-stub}).
+ *
+ * <p>Cada prueba crea su propio período con un solo estudiante.</p>
+ */
+@SpringBootTest
+@ActiveProfiles({"google-stub", "h2"})
+class SincronizacionFormularioServiceTest {
+
+    private static final Instant INICIO = Instant.parse("2025-02-03T14:00:00Z");
+
+    @Autowired
+    private SincronizacionFormularioService sincronizacionService;
+    @Autowired
+    private FormsApiStub formsApi;
+    @Autowired
+    private PeriodoAcademicoRepository periodoRepository;
+    @Autowired
+    private RespuestaFormsSincronizadaRepository sincronizadaRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+    /** Mismo reemplazo que en las pruebas de consultas, para compartir el contexto de Spring. */
+    @MockitoBean
+    private MotorPythonClient motorPythonClient;
+
+    @Test
+    void sincronizaSoloLoEnviadoDesdeLaUltimaMarca() {
+        PeriodoAcademico periodo = periodoConFormularioAbierto();
+        String formId = periodo.getFormId();
+        String ana = formsApi.agregarRespuesta(formId, respuesta("Ana"), INICIO);
+        formsApi.agregarRespuesta(formId, respuesta("Luis"), INICIO.plusSeconds(1));
+        formsApi.agregarRespuesta(formId, respuesta("Eva"), INICIO.plusSeconds(2));
+
+        assertThat(sincronizacionService.sincronizarPeriodo(periodo)).isEqualTo(3);
+        assertThat(sincronizadaRepository.findUltimoEnvioByPeriodoId(periodo.getId())).contains(INICIO.plusSeconds(2));
+
+        // Sin cambios solo vuelve la respuesta de la marca (el filtro es inclusivo) y no se duplica
+        assertThat(sincronizacionService.sincronizarPeriodo(periodo)).isEqualTo(1);
+        assertThat(nombresSincronizados(periodo)).containsExactly("Ana", "Luis", "Eva");
+
+        formsApi.editarRespuesta(formId, ana, respuesta("Ana María"), INICIO.plusSeconds(5));
+        formsApi.agregarRespuesta(formId, respuesta("Juan"), INICIO.plusSeconds(6));
+
+        // Llegan la de la marca, la editada y la nueva; la de Luis no cambió y no se consulta
+        assertThat(sincronizacionService.sincronizarPeriodo(periodo)).isEqualTo(3);
+        assertThat(nombresSincronizados(periodo)).containsExactly("Luis", "Eva", "Ana María", "Juan");
+        assertThat(sincronizadaRepository.findUltimoEnvioByPeriodoId(periodo.getId())).contains(INICIO.plusSeconds(6));
+    }
+
+    @Test
+    void periodoCerradoMientrasEsperabaNoSeSincroniza() {
+        PeriodoAcademico periodo = periodoConFormularioAbierto();
+        formsApi.agregarRespuesta(periodo.getFormId(), respuesta("Ana"), INICIO);
+
+        // La tarea programada leyó el período abierto; otra transacción lo cierra antes de sincronizar
+        new TransactionTemplate(transactionManager).executeWithoutResult(estado ->
+                periodoRepository.findById(periodo.getId()).orElseThrow()
+                        .setEstado(EstadoPeriodoAcademico.CERRADO_FORMULARIO));
+
+        assertThat(periodo.getEstado()).isEqualTo(EstadoPeriodoAcademico.ABIERTO_FORMULARIO);
+        assertThat(sincronizacionService.sincronizarPeriodo(periodo)).isZero();
+        assertThat(sincronizacionService.existenRespuestasSincronizadas(periodo.getId())).isFalse();
+    }
+
+    private PeriodoAcademico periodoConFormularioAbierto() {
+        return new TransactionTemplate(transactionManager).execute(estado -> {
+            DatosSinteticos.Escenario escenario = DatosSinteticos.periodo()
+                    .estudiantes(1)
+                    .estado(EstadoPeriodoAcademico.ABIERTO_FORMULARIO)
+                    .persistir(entityManager);
+            PeriodoAcademico periodo = periodoRepository.findById(escenario.periodoId()).orElseThrow();
+            periodo.setFormId("stub-sincronizacion-" + escenario.semestre());
+            return periodo;
+        });
+    }
+
+    private List<String> nombresSincronizados(PeriodoAcademico periodo) {
+        List<String> nombres = new ArrayList<>();
+        sincronizacionService.recorrerRespuestasSincronizadas(periodo.getId())
+                .forEach(datos -> nombres.add(datos.get("Nombres")));
+        return nombres;
+    }
+
+    private static Map<String, String> respuesta(String nombres) {
+        return Map.of("Nombres", nombres);
+    }
+}
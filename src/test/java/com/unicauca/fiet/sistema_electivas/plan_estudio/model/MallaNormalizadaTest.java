@@ -0,0 +1,59 @@
+package com.unicauca.fiet.sistema_electivas.plan_estudio.model;
+
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MallaNormalizadaTest {
+
+    private final MallaNormalizada malla = MallaNormalizada.desde(1L, List.of(
+            materia("Cálculo I", 1, TipoMateria.OBLIGATORIA, 4),
+            materia("Introducción a la Informática", 1, TipoMateria.OBLIGATORIA, 3),
+            materia("Cálculo II", 2, TipoMateria.OBLIGATORIA, 4),
+            materia("Electiva I", 4, TipoMateria.ELECTIVA, 3),
+            materia("Trabajo de Grado", 4, TipoMateria.TRABAJO_GRADO, 6)
+    ));
+
+    @Test
+    void acumuladosPorSemestre() {
+        assertThat(malla.cantidadHastaSemestre(0)).isZero();
+        assertThat(malla.cantidadHastaSemestre(1)).isEqualTo(2);
+        assertThat(malla.cantidadHastaSemestre(3)).isEqualTo(3);
+        assertThat(malla.cantidadHastaSemestre(10)).isEqualTo(5);
+
+        assertThat(malla.creditosHastaSemestre(2)).isEqualTo(11);
+        assertThat(malla.creditosHastaSemestre(3, TipoMateria.OBLIGATORIA)).isEqualTo(11);
+        assertThat(malla.creditosHastaSemestre(3, TipoMateria.ELECTIVA)).isZero();
+        assertThat(malla.creditosHastaSemestre(4, TipoMateria.ELECTIVA)).isEqualTo(3);
+    }
+
+    @Test
+    void totalesYMateriasDeUnSemestre() {
+        assertThat(malla.getCreditosTotales()).isEqualTo(20);
+        assertThat(malla.getCreditos(TipoMateria.TRABAJO_GRADO)).isEqualTo(6);
+        assertThat(malla.materiasDelSemestre(1)).extracting(MallaNormalizada.MateriaNormalizada::nombreNormalizado)
+                .containsExactly("calculo i", "introduccion a la informatica");
+        assertThat(malla.materiasDelSemestre(3)).isEmpty();
+    }
+
+    @Test
+    void creditosDerivadosDeLaConfiguracion() {
+        ReglasPlanCompiladas.CreditosPlan creditos = ReglasPlanCompiladas.CreditosPlan.desde(170, 4, 6);
+
+        assertThat(creditos.creditosElectivas()).isEqualTo(12);
+        assertThat(creditos.creditosObligatorios()).isEqualTo(152);
+        assertThat(ReglasPlanCompiladas.CreditosPlan.desde(null, 4, 6).tieneCreditosTotales()).isFalse();
+    }
+
+    private static PlanMateria materia(String nombre, int semestre, TipoMateria tipo, int creditos) {
+        PlanMateria materia = new PlanMateria();
+        materia.setNombre(nombre);
+        materia.setSemestre(semestre);
+        materia.setTipo(tipo);
+        materia.setCreditos(creditos);
+        return materia;
+    }
+}
@@ -0,0 +1,105 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
+
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.repository.RespuestasFormularioRepository;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.InconsistenciaSimca;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.InconsistenciaSimcaRepository;
+import com.unicauca.fiet.sistema_electivas.soporte.DatosSinteticos;
+import com.unicauca.fiet.sistema_electivas.soporte.PruebaConteoConsultas;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidacionAcademicaServiceConsultasTest extends PruebaConteoConsultas {
+
+    private static final String[] COLUMNAS_SIMCA = {
+            "CODIGO", "APELLIDOS", "NOMBRES", "USUARIO", "PROGRAMA",
+            "CREDITOS_APROBADOS", "PERIODOS_MATRICULADOS", "PROMEDIO_CARRERA", "APROBADAS"
+    };
+
+    @Autowired
+    private ValidacionAcademicaService validacionAcademicaService;
+    @Autowired
+    private RespuestasFormularioRepository respuestasRepository;
+    @Autowired
+    private InconsistenciaSimcaRepository inconsistenciaSimcaRepository;
+
+    @Test
+    void listadoDeDatosAcademicosEsUnaSolaConsulta() {
+        verificarAcotado("obtenerDatosAcademicosPorPeriodo", 1,
+                e -> validacionAcademicaService.obtenerDatosAcademicosPorPeriodo(e.periodoId(), null));
+    }
+
+    @Test
+    void cargaSimcaConservaLasInconsistenciasQueNoReevalua() throws IOException {
+        DatosSinteticos.Escenario escenario = crear(DatosSinteticos.periodo()
+                .estudiantes(3)
+                .estado(EstadoPeriodoAcademico.PROCESO_CONFIRMACION_SIMCA));
+        // Una respuesta sin datos mantiene el período en carga y se reevalúa en cada carga
+        String sinDatos = escenario.codigos().get(0);
+        RespuestasFormulario pendiente = respuestasRepository.findByPeriodoId(escenario.periodoId()).stream()
+                .filter(r -> r.getCodigoEstudiante().equals(sinDatos))
+                .findFirst()
+                .orElseThrow();
+        pendiente.setEstado(EstadoRespuestaFormulario.DATOS_NO_CARGADOS);
+        respuestasRepository.save(pendiente);
+
+        String noInscritoPrimera = "9" + escenario.semestre().replace("-", "") + "01";
+        String noInscritoSegunda = "9" + escenario.semestre().replace("-", "") + "02";
+        MultipartFile primera = archivoSimca("primera.xlsx", noInscritoPrimera);
+        MultipartFile segunda = archivoSimca("segunda.xlsx", noInscritoSegunda);
+
+        validacionAcademicaService.cargarYValidarDatosSimca(escenario.periodoId(), new MultipartFile[]{primera});
+        validacionAcademicaService.cargarYValidarDatosSimca(escenario.periodoId(), new MultipartFile[]{segunda});
+
+        // La primera carga conserva su no inscrito; la respuesta reevaluada no se duplica
+        assertThat(codigosConInconsistencia(escenario.periodoId()))
+                .containsExactlyInAnyOrder(noInscritoPrimera, sinDatos, noInscritoSegunda);
+
+        // Volver a subir el mismo archivo reemplaza sus inconsistencias
+        validacionAcademicaService.cargarYValidarDatosSimca(escenario.periodoId(), new MultipartFile[]{segunda});
+
+        assertThat(codigosConInconsistencia(escenario.periodoId()))
+                .containsExactlyInAnyOrder(noInscritoPrimera, sinDatos, noInscritoSegunda);
+    }
+
+    private List<String> codigosConInconsistencia(Long periodoId) {
+        return inconsistenciaSimcaRepository.buscarPorPeriodo(periodoId, null, null, null, Pageable.unpaged())
+                .map(InconsistenciaSimca::getCodigoEstudiante)
+                .getContent();
+    }
+
+    /**
+     * Archivo SIMCA con un único estudiante.
+     */
+    private static MultipartFile archivoSimca(String nombre, String codigo) throws IOException {
+        try (XSSFWorkbook libro = new XSSFWorkbook(); ByteArrayOutputStream salida = new ByteArrayOutputStream()) {
+            Sheet hoja = libro.createSheet();
+            Row encabezado = hoja.createRow(0);
+            for (int i = 0; i < COLUMNAS_SIMCA.length; i++) {
+                encabezado.createCell(i).setCellValue(COLUMNAS_SIMCA[i]);
+            }
+            String[] valores = {codigo, "Apellido", "Nombre", "est" + codigo, "Programa externo", "120", "7", "4.100", "2"};
+            Row fila = hoja.createRow(1);
+            for (int i = 0; i < valores.length; i++) {
+                fila.createCell(i).setCellValue(valores[i]);
+            }
+            libro.write(salida);
+            return new MockMultipartFile("archivos", nombre,
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", salida.toByteArray());
+        }
+    }
+}
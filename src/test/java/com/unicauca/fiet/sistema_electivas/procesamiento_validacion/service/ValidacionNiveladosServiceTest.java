@@ -0,0 +1,233 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
+
+import com.unicauca.fiet.sistema_electivas.common.exception.BusinessException;
+import com.unicauca.fiet.sistema_electivas.integracion.python.MotorPythonClient;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.TipoMateria;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanMateria;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.repository.PlanMateriaRepository;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.VerificacionNiveladoLoteItemDTO;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.dto.VerificacionNiveladoLoteResponse;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.ResultadoVerificacionLote;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.repository.DatosAcademicoRepository;
+import com.unicauca.fiet.sistema_electivas.soporte.DatosSinteticos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Verificación de nivelados por lote: un ZIP con un historial por estudiante.
+ *
+ * <p>Cada prueba crea su propio período con cinco estudiantes.</p>
+ */
+@SpringBootTest
+@ActiveProfiles({"google-stub", "h2"})
+class ValidacionNiveladosServiceTest {
+
+    private static final String[] COLUMNAS_HISTORIAL = {
+            "Periodo", "Materia", "Créditos", "Semestre", "Nota", "Habilitación", "Definitiva", "Tipo"
+    };
+
+    @Autowired
+    private ValidacionNiveladosService validacionNiveladosService;
+    @Autowired
+    private DatosAcademicoRepository datosAcademicoRepository;
+    @Autowired
+    private PlanMateriaRepository planMateriaRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+    /** Mismo reemplazo que en las pruebas de consultas, para compartir el contexto de Spring. */
+    @MockitoBean
+    private MotorPythonClient motorPythonClient;
+
+    @Test
+    void loteInformaCodigosDesconocidosDuplicadosYArchivosInvalidos() throws IOException {
+        DatosSinteticos.Escenario escenario = posiblesNivelados();
+        String primero = escenario.codigos().get(0);
+        String segundo = escenario.codigos().get(1);
+
+        Map<String, byte[]> archivos = new LinkedHashMap<>();
+        archivos.put(primero + ".xlsx", historial("4.0", "3.5"));
+        archivos.put(primero + " - copia.xlsx", historial("4.0", "3.5"));
+        archivos.put("99999999.xlsx", historial("4.0", "3.5"));
+        archivos.put(segundo + ".xlsx", "no es un historial".getBytes(StandardCharsets.UTF_8));
+
+        VerificacionNiveladoLoteResponse respuesta =
+                validacionNiveladosService.generarReportesNiveladoLote(escenario.periodoId(), zip(archivos), false);
+
+        assertThat(respuesta.getResultados())
+                .extracting(VerificacionNiveladoLoteItemDTO::getResultado)
+                .containsExactly(ResultadoVerificacionLote.VERIFICADO, ResultadoVerificacionLote.ERROR,
+                        ResultadoVerificacionLote.SIN_CANDIDATO, ResultadoVerificacionLote.ERROR);
+        assertThat(respuesta.getResultados().get(1).getMensaje()).contains("más de un historial");
+        assertThat(respuesta.getArchivosRecibidos()).isEqualTo(4);
+        assertThat(respuesta.getVerificados()).isEqualTo(1);
+        assertThat(respuesta.getCumplenNivelacion()).isEqualTo(1);
+        assertThat(respuesta.getSinCandidato()).isEqualTo(1);
+        assertThat(respuesta.getErrores()).isEqualTo(2);
+        assertThat(respuesta.getDecisionesRegistradas()).isZero();
+        assertThat(respuesta.getCandidatosSinHistorial())
+                .containsExactlyInAnyOrderElementsOf(escenario.codigos().subList(2, escenario.codigos().size()));
+
+        // Sin aplicar decisiones nadie deja de ser posible nivelado
+        assertThat(codigos(escenario, EstadoAptitud.POSIBLE_NIVELADO))
+                .containsExactlyInAnyOrderElementsOf(escenario.codigos());
+    }
+
+    @Test
+    void historialDemasiadoGrandeRechazaElLote() throws IOException {
+        DatosSinteticos.Escenario escenario = posiblesNivelados();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            zip.putNextEntry(new ZipEntry(escenario.codigos().get(0) + ".xlsx"));
+            byte[] bloque = new byte[1024 * 1024];
+            for (int i = 0; i <= 10; i++) {
+                zip.write(bloque);
+            }
+            zip.closeEntry();
+        }
+        MockMultipartFile archivo = new MockMultipartFile("archivo", "historiales.zip", "application/zip", bytes.toByteArray());
+
+        assertThatThrownBy(() -> validacionNiveladosService.generarReportesNiveladoLote(escenario.periodoId(), archivo, true))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("supera el tamaño máximo");
+        assertThat(codigos(escenario, EstadoAptitud.POSIBLE_NIVELADO))
+                .containsExactlyInAnyOrderElementsOf(escenario.codigos());
+    }
+
+    @Test
+    void aplicaSoloLasDecisionesInequivocas() throws IOException {
+        DatosSinteticos.Escenario escenario = posiblesNivelados();
+        String aprobado = escenario.codigos().get(0);
+        String reprobado = escenario.codigos().get(1);
+        String incompleto = escenario.codigos().get(2);
+
+        Map<String, byte[]> archivos = new LinkedHashMap<>();
+        archivos.put(aprobado + ".xlsx", historial("4.0", "3.5"));
+        archivos.put(reprobado + ".xlsx", historial("2.0", "3.5"));
+        // Sin Álgebra Lineal: puede ser una diferencia de nombre y se deja para revisión manual
+        archivos.put(incompleto + ".xlsx", historial("4.0", null));
+
+        VerificacionNiveladoLoteResponse respuesta =
+                validacionNiveladosService.generarReportesNiveladoLote(escenario.periodoId(), zip(archivos), true);
+
+        assertThat(respuesta.getResultados())
+                .extracting(VerificacionNiveladoLoteItemDTO::getResultado)
+                .containsExactly(ResultadoVerificacionLote.DECISION_REGISTRADA,
+                        ResultadoVerificacionLote.DECISION_REGISTRADA, ResultadoVerificacionLote.VERIFICADO);
+        assertThat(respuesta.getVerificados()).isEqualTo(3);
+        assertThat(respuesta.getDecisionesRegistradas()).isEqualTo(2);
+
+        assertThat(codigos(escenario, EstadoAptitud.NIVELADO_CONFIRMADO)).containsExactly(aprobado);
+        assertThat(codigos(escenario, EstadoAptitud.NIVELADO_DESCARTADO)).containsExactly(reprobado);
+        assertThat(codigos(escenario, EstadoAptitud.POSIBLE_NIVELADO)).contains(incompleto).doesNotContain(aprobado, reprobado);
+    }
+
+    /**
+     * Período en revisión de nivelados con todos sus estudiantes como posibles nivelados. El plan,
+     * sin reglas de nivelación, tiene dos materias de primer semestre.
+     */
+    private DatosSinteticos.Escenario posiblesNivelados() {
+        return new TransactionTemplate(transactionManager).execute(estado -> {
+            DatosSinteticos.Escenario escenario = DatosSinteticos.periodo()
+                    .estudiantes(5)
+                    .programas(1)
+                    .estado(EstadoPeriodoAcademico.PROCESO_REVISION_POTENCIALES_NIVELADOS)
+                    .persistir(entityManager);
+            List<DatosAcademico> datos = datosAcademicoRepository
+                    .findAptosConPlanByPeriodo(escenario.periodoId(), EstadoAptitud.ASIGNACION_PROCESADA);
+            datos.forEach(d -> d.setEstadoAptitud(EstadoAptitud.POSIBLE_NIVELADO));
+            PlanEstudio plan = datos.get(0).getPlanEstudios();
+            planMateriaRepository.saveAll(List.of(
+                    materia(plan, "Cálculo I"),
+                    materia(plan, "Álgebra Lineal")));
+            return escenario;
+        });
+    }
+
+    private List<String> codigos(DatosSinteticos.Escenario escenario, EstadoAptitud estado) {
+        return datosAcademicoRepository.findAptosConPlanByPeriodo(escenario.periodoId(), estado).stream()
+                .map(DatosAcademico::getCodigoEstudiante)
+                .toList();
+    }
+
+    private static PlanMateria materia(PlanEstudio plan, String nombre) {
+        PlanMateria materia = new PlanMateria();
+        materia.setPlanEstudios(plan);
+        materia.setNombre(nombre);
+        materia.setSemestre(1);
+        materia.setTipo(TipoMateria.OBLIGATORIA);
+        materia.setCreditos(4);
+        return materia;
+    }
+
+    /**
+     * Historial con las definitivas de Cálculo I y Álgebra Lineal; una definitiva {@code null}
+     * omite la materia.
+     */
+    private static byte[] historial(String calculo, String algebra) throws IOException {
+        try (XSSFWorkbook libro = new XSSFWorkbook(); ByteArrayOutputStream salida = new ByteArrayOutputStream()) {
+            Sheet hoja = libro.createSheet();
+            Row encabezado = hoja.createRow(0);
+            for (int i = 0; i < COLUMNAS_HISTORIAL.length; i++) {
+                encabezado.createCell(i).setCellValue(COLUMNAS_HISTORIAL[i]);
+            }
+            int siguiente = 1;
+            if (calculo != null) {
+                fila(hoja.createRow(siguiente++), "Cálculo I", calculo);
+            }
+            if (algebra != null) {
+                fila(hoja.createRow(siguiente), "Álgebra Lineal", algebra);
+            }
+            libro.write(salida);
+            return salida.toByteArray();
+        }
+    }
+
+    private static void fila(Row fila, String materia, String definitiva) {
+        String[] valores = {"2020-1", materia, "4", "1", definitiva, "", definitiva, "Obligatoria"};
+        for (int i = 0; i < valores.length; i++) {
+            fila.createCell(i).setCellValue(valores[i]);
+        }
+    }
+
+    private static MockMultipartFile zip(Map<String, byte[]> archivos) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+            for (Map.Entry<String, byte[]> archivo : archivos.entrySet()) {
+                zip.putNextEntry(new ZipEntry(archivo.getKey()));
+                zip.write(archivo.getValue());
+                zip.closeEntry();
+            }
+        }
+        return new MockMultipartFile("archivo", "historiales.zip", "application/zip", bytes.toByteArray());
+    }
+}
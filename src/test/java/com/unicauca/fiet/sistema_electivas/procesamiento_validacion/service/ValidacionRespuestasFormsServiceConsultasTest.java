@@ -0,0 +1,25 @@
+package com.unicauca.fiet.sistema_electivas.procesamiento_validacion.service;
+
+import com.unicauca.fiet.sistema_electivas.soporte.ContadorSentencias;
+import com.unicauca.fiet.sistema_electivas.soporte.PruebaConteoConsultas;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ValidacionRespuestasFormsServiceConsultasTest extends PruebaConteoConsultas {
+
+    @Autowired
+    private ValidacionRespuestasFormsService validacionRespuestasFormsService;
+
+    @Test
+    void listadoDeRespuestasUsaProyecciones() {
+        verificarAcotado("obtenerRespuestasPorPeriodo", 2,
+                e -> validacionRespuestasFormsService.obtenerRespuestasPorPeriodo(e.periodoId()));
+
+        ContadorSentencias.Medicion medicion = contador.medir(
+                () -> validacionRespuestasFormsService.obtenerRespuestasPorPeriodo(grande.periodoId()));
+        assertThat(medicion.cargasEntidad()).isZero();
+        assertThat(medicion.cargasColeccion()).isZero();
+    }
+}
@@ -0,0 +1,91 @@
+package com.unicauca.fiet.sistema_electivas.programa.service;
+
+import com.unicauca.fiet.sistema_electivas.programa.dto.ProgramaResuelto;
+import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
+import com.unicauca.fiet.sistema_electivas.programa.repository.ProgramaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DirectorioProgramasTest {
+
+    private static final ProgramaResuelto SISTEMAS =
+            new ProgramaResuelto(1L, "PIS", "Ingeniería de Sistemas", EstadoPrograma.APROBADO);
+    private static final ProgramaResuelto ELECTRONICA =
+            new ProgramaResuelto(2L, "PIET", "Ingeniería en Electrónica y Telecomunicaciones", EstadoPrograma.APROBADO);
+    private static final ProgramaResuelto TELEMATICA =
+            new ProgramaResuelto(3L, "PIT", "Ingeniería Telemática", EstadoPrograma.APROBADO);
+    private static final ProgramaResuelto TELEMATICA_ANTIGUA =
+            new ProgramaResuelto(4L, "TT", "Tecnología en Telemática", EstadoPrograma.DESHABILITADO);
+
+    private final ProgramaRepository programaRepository = mock(ProgramaRepository.class);
+    private DirectorioProgramas directorio;
+
+    @BeforeEach
+    void crearDirectorio() {
+        when(programaRepository.listarResueltos())
+                .thenReturn(List.of(SISTEMAS, ELECTRONICA, TELEMATICA, TELEMATICA_ANTIGUA));
+        directorio = new DirectorioProgramas(programaRepository, List.of("ING SIST=Ingenieria de Sistemas", "IET=PIET"),
+                Duration.ofMinutes(10));
+    }
+
+    @Test
+    void nombreExactoSinTildesNiMayusculas() {
+        assertThat(directorio.resolver("INGENIERIA DE SISTEMAS")).contains(SISTEMAS);
+        assertThat(directorio.resolver("  ingeniería   de sistemas. ")).contains(SISTEMAS);
+    }
+
+    @Test
+    void variantesCodigoConectoresYAlias() {
+        assertThat(directorio.resolver("PIT")).contains(TELEMATICA);
+        assertThat(directorio.resolver("Ingenieria Electronica y Telecomunicaciones")).contains(ELECTRONICA);
+        assertThat(directorio.resolver("ing. sist.")).contains(SISTEMAS);
+        assertThat(directorio.resolver("iet")).contains(ELECTRONICA);
+    }
+
+    @Test
+    void coincidenciaParcialSoloSiEsUnica() {
+        assertThat(directorio.resolver("Sistemas")).contains(SISTEMAS);
+        assertThat(directorio.resolver("Ingeniería de Sistemas - Popayán")).contains(SISTEMAS);
+        assertThat(directorio.resolver("Telemática")).isEmpty();
+        assertThat(directorio.resolver("Telemática", EstadoPrograma.APROBADO)).contains(TELEMATICA);
+    }
+
+    @Test
+    void filtraPorEstado() {
+        assertThat(directorio.resolver("Tecnologia en Telematica", EstadoPrograma.APROBADO)).isEmpty();
+        assertThat(directorio.resolver("Tecnologia en Telematica")).contains(TELEMATICA_ANTIGUA);
+        assertThat(directorio.resolver(null)).isEqualTo(Optional.empty());
+    }
+
+    @Test
+    void cargaLosProgramasUnaVezHastaInvalidar() {
+        for (int i = 0; i < 100; i++) {
+            directorio.resolver("Ingeniería de Sistemas", EstadoPrograma.APROBADO);
+        }
+        verify(programaRepository, times(1)).listarResueltos();
+
+        directorio.invalidar();
+        directorio.resolver("Ingeniería de Sistemas", EstadoPrograma.APROBADO);
+        verify(programaRepository, times(2)).listarResueltos();
+    }
+
+    @Test
+    void reconstruyeAlVencerLaVigencia() {
+        DirectorioProgramas sinVigencia = new DirectorioProgramas(programaRepository, List.of(), Duration.ZERO);
+
+        sinVigencia.resolver("Ingeniería de Sistemas");
+        sinVigencia.resolver("Ingeniería de Sistemas");
+
+        verify(programaRepository, times(2)).listarResueltos();
+    }
+}
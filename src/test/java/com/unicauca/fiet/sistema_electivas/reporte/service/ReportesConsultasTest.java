@@ -0,0 +1,53 @@
+package com.unicauca.fiet.sistema_electivas.reporte.service;
+
+import com.unicauca.fiet.sistema_electivas.reporte.dto.PopularidadElectivasResponse;
+import com.unicauca.fiet.sistema_electivas.soporte.ContadorSentencias;
+import com.unicauca.fiet.sistema_electivas.soporte.DatosSinteticos;
+import com.unicauca.fiet.sistema_electivas.soporte.PruebaConteoConsultas;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+class ReportesConsultasTest extends PruebaConteoConsultas {
+
+    @Autowired
+    private ReportesEstadisticasService reportesEstadisticasService;
+    @Autowired
+    private HistorialEstudiantesService historialEstudiantesService;
+
+    @BeforeEach
+    void simularMotorPython() {
+        when(motorPythonClient.calcularPopularidad(anyList())).thenAnswer(i -> new PopularidadElectivasResponse());
+    }
+
+    @Test
+    void popularidadNoConsultaPorOpcion() {
+        verificarAcotado("obtenerPopularidad", 5,
+                e -> reportesEstadisticasService.obtenerPopularidad(e.periodoId()));
+    }
+
+    @Test
+    void popularidadConDescartadosNoConsultaPorOpcion() {
+        verificarAcotado("obtenerPopularidadIncluyendoDescartados", 5,
+                e -> reportesEstadisticasService.obtenerPopularidadIncluyendoDescartados(e.periodoId()));
+    }
+
+    @Test
+    void historialNoCargaRelacionesPorRegistro() {
+        // Se consulta el historial de todos los estudiantes: el límite crece con ellos, no con sus registros
+        for (DatosSinteticos.Escenario escenario : List.of(pequeno, grande)) {
+            ContadorSentencias.Medicion medicion = contador.medir(() -> escenario.codigos()
+                    .forEach(historialEstudiantesService::obtenerHistorialPorEstudiante));
+
+            assertThat(medicion.sentencias())
+                    .as("obtenerHistorialPorEstudiante con %d estudiantes: %s", escenario.codigos().size(), medicion)
+                    .isLessThanOrEqualTo(5L * escenario.codigos().size());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.unicauca.fiet.sistema_electivas.soporte;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Cuenta las sentencias SQL que emite una invocación, a partir de las estadísticas de Hibernate
+ * ({@code hibernate.generate_statistics=true}).
+ *
+ * <p>Cada invocación se ejecuta en una transacción de solo lectura nueva, con un contexto de
+ * persistencia vacío, igual que una petición HTTP con open-in-view: las cargas perezosas que
+ * hagan los mappers se cuentan en lugar de fallar.</p>
+ *
+ * <p>Las estadísticas son globales; las pruebas que lo usan no deben ejecutarse en paralelo.</p>
+ */
+public class ContadorSentencias {
+
+    private final Statistics estadisticas;
+    private final TransactionTemplate transaccion;
+
+    public ContadorSentencias(EntityManagerFactory entityManagerFactory, PlatformTransactionManager transactionManager) {
+        this.estadisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.transaccion.setReadOnly(true);
+    }
+
+    /**
+     * Ejecuta la invocación y devuelve lo que emitió contra la base de datos.
+     */
+    public Medicion medir(Runnable invocacion) {
+        estadisticas.clear();
+        transaccion.executeWithoutResult(estado -> invocacion.run());
+        return new Medicion(
+                estadisticas.getPrepareStatementCount(),
+                estadisticas.getEntityFetchCount(),
+                estadisticas.getCollectionFetchCount());
+    }
+
+    /**
+     * Resultado de una medición.
+     *
+     * @param sentencias       sentencias JDBC preparadas
+     * @param cargasEntidad    entidades cargadas de forma perezosa (proxies inicializados)
+     * @param cargasColeccion  colecciones cargadas de forma perezosa
+     */
+    public record Medicion(long sentencias, long cargasEntidad, long cargasColeccion) {
+
+        @Override
+        public String toString() {
+            return sentencias + " sentencias (" + cargasEntidad + " cargas perezosas de entidad, "
+                    + cargasColeccion + " de colección)";
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.unicauca.fiet.sistema_electivas.soporte;
+
+import com.unicauca.fiet.sistema_electivas.archivo.enums.EstadoArchivo;
+import com.unicauca.fiet.sistema_electivas.archivo.enums.TipoArchivo;
+import com.unicauca.fiet.sistema_electivas.archivo.model.CargaArchivo;
+import com.unicauca.fiet.sistema_electivas.asignacion.enums.EstadoAsignacion;
+import com.unicauca.fiet.sistema_electivas.asignacion.model.AsignacionElectiva;
+import com.unicauca.fiet.sistema_electivas.departamento.enums.EstadoDepartamento;
+import com.unicauca.fiet.sistema_electivas.departamento.model.Departamento;
+import com.unicauca.fiet.sistema_electivas.electiva.enums.EstadoElectiva;
+import com.unicauca.fiet.sistema_electivas.electiva.model.Electiva;
+import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectiva;
+import com.unicauca.fiet.sistema_electivas.electiva.model.ProgramaElectivaId;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoOferta;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoPeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.enums.EstadoRespuestaFormulario;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.Oferta;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.PeriodoAcademico;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestaOpcion;
+import com.unicauca.fiet.sistema_electivas.periodo_academico.model.RespuestasFormulario;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.enums.EstadoPlanEstudio;
+import com.unicauca.fiet.sistema_electivas.plan_estudio.model.PlanEstudio;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.enums.EstadoAptitud;
+import com.unicauca.fiet.sistema_electivas.procesamiento_validacion.model.DatosAcademico;
+import com.unicauca.fiet.sistema_electivas.programa.enums.EstadoPrograma;
+import com.unicauca.fiet.sistema_electivas.programa.model.Programa;
+import jakarta.persistence.EntityManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Constructor de datos sintéticos para pruebas: un período completo con catálogo, respuestas,
+ * datos académicos y asignaciones.
+ *
+ * <p>Cada escenario usa su propio semestre, prefijo de nombres y rango de códigos, por lo que
+ * varios escenarios conviven en la misma base de datos sin interferir. Con la misma semilla el
+ * contenido generado es el mismo.</p>
+ *
+ * <pre>
+ * Escenario escenario = DatosSinteticos.periodo()
+ *         .estudiantes(1000)
+ *         .estado(EstadoPeriodoAcademico.ASIGNACION_PROCESADA)
+ *         .persistir(entityManager);
+ * </pre>
+ */
+public final class DatosSinteticos {
+
+    private static final AtomicInteger ESCENARIOS = new AtomicInteger();
+    private static final int TAMANO_LOTE = 500;
+
+    private int estudiantes = 10;
+    private int programas = 3;
+    private int departamentos = 2;
+    private int electivas = 12;
+    private int opciones = 3;
+    private int electivasRequeridas = 4;
+    private long semilla = 42L;
+    private EstadoPeriodoAcademico estado = EstadoPeriodoAcademico.ASIGNACION_PROCESADA;
+
+    private DatosSinteticos() {
+    }
+
+    /**
+     * Inicia la descripción de un período sintético con valores por defecto pequeños.
+     */
+    public static DatosSinteticos periodo() {
+        return new DatosSinteticos();
+    }
+
+    public DatosSinteticos estudiantes(int estudiantes) {
+        this.estudiantes = estudiantes;
+        return this;
+    }
+
+    public DatosSinteticos programas(int programas) {
+        this.programas = programas;
+        return this;
+    }
+
+    public DatosSinteticos departamentos(int departamentos) {
+        this.departamentos = departamentos;
+        return this;
+    }
+
+    public DatosSinteticos electivas(int electivas) {
+        this.electivas = electivas;
+        return this;
+    }
+
+    public DatosSinteticos opciones(int opciones) {
+        this.opciones = opciones;
+        return this;
+    }
+
+    public DatosSinteticos semilla(long semilla) {
+        this.semilla = semilla;
+        return this;
+    }
+
+    public DatosSinteticos estado(EstadoPeriodoAcademico estado) {
+        this.estado = estado;
+        return this;
+    }
+
+    /**
+     * Persiste el escenario. Debe llamarse dentro de una transacción.
+     *
+     * @param em entity manager de la transacción en curso
+     * @return identificadores del escenario creado
+     */
+    public Escenario persistir(EntityManager em) {
+        if (opciones > electivas) {
+            throw new IllegalArgumentException("No puede haber más opciones que electivas ofertadas.");
+        }
+        int numero = ESCENARIOS.incrementAndGet();
+        String prefijo = "S" + numero;
+        Random aleatorio = new Random(semilla);
+        Instant ahora = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+
+        // Catálogo
+        List<Departamento> deptos = new ArrayList<>();
+        for (int i = 1; i <= departamentos; i++) {
+            Departamento d = new Departamento();
+            d.setCodigo(prefijo + "-D" + i);
+            d.setNombre("Departamento " + prefijo + " " + i);
+            d.setEstado(EstadoDepartamento.ACTIVO);
+            em.persist(d);
+            deptos.add(d);
+        }
+
+        List<Programa> progs = new ArrayList<>();
+        List<PlanEstudio> planes = new ArrayList<>();
+        for (int i = 1; i <= programas; i++) {
+            Programa p = new Programa();
+            p.setCodigo(prefijo + "-P" + i);
+            p.setNombre("Programa " + prefijo + " " + i);
+            p.setEstado(EstadoPrograma.APROBADO);
+            em.persist(p);
+            progs.add(p);
+
+            PlanEstudio plan = new PlanEstudio();
+            plan.setNombre("Plan " + prefijo + " " + i);
+            plan.setVersion("1");
+            plan.setEstado(EstadoPlanEstudio.ACTIVO);
+            plan.setAnioInicio(2020);
+            plan.setPrograma(p);
+            plan.setElectivasRequeridas(electivasRequeridas);
+            plan.setCreditosTotalesPlan(170);
+            plan.setCreditosTrabajoGrado(6);
+            em.persist(plan);
+            planes.add(plan);
+        }
+
+        List<Electiva> elects = new ArrayList<>();
+        for (int i = 1; i <= electivas; i++) {
+            Electiva e = new Electiva();
+            e.setCodigo(prefijo + "-E" + i);
+            e.setNombre("Electiva " + prefijo + " " + i);
+            e.setEstado(EstadoElectiva.APROBADA);
+            e.setDepartamento(deptos.get(i % deptos.size()));
+            em.persist(e);
+            elects.add(e);
+
+            // Cada electiva se ofrece a uno o dos programas
+            int primero = i % progs.size();
+            vincular(em, progs.get(primero), e);
+            if (progs.size() > 1 && aleatorio.nextBoolean()) {
+                vincular(em, progs.get((primero + 1) % progs.size()), e);
+            }
+        }
+
+        // Período y oferta
+        PeriodoAcademico periodo = new PeriodoAcademico();
+        periodo.setSemestre((2000 + numero) + "-1");
+        periodo.setFechaApertura(ahora.minus(30, ChronoUnit.DAYS));
+        periodo.setFechaCierre(ahora.minus(15, ChronoUnit.DAYS));
+        periodo.setEstado(estado);
+        Map<Long, Integer> opcionesPorPrograma = new HashMap<>();
+        progs.forEach(p -> opcionesPorPrograma.put(p.getId(), opciones));
+        periodo.setOpcionesPorPrograma(opcionesPorPrograma);
+        em.persist(periodo);
+
+        List<Oferta> ofertas = new ArrayList<>();
+        int cupos = Math.max(1, estudiantes / electivas);
+        for (Electiva e : elects) {
+            Oferta o = new Oferta();
+            o.setElectiva(e);
+            o.setPeriodo(periodo);
+            Map<Long, Integer> cuposPorPrograma = new HashMap<>();
+            progs.forEach(p -> cuposPorPrograma.put(p.getId(), cupos));
+            o.setCuposPorPrograma(cuposPorPrograma);
+            o.setEstado(EstadoOferta.OFERTADA);
+            o.setFechaCreacion(ahora);
+            o.setFechaActualizacion(ahora);
+            em.persist(o);
+            ofertas.add(o);
+        }
+
+        CargaArchivo archivoRespuestas = archivo(em, periodo, TipoArchivo.RESPUESTAS_FORMULARIO, ahora);
+        CargaArchivo archivoSimca = archivo(em, periodo, TipoArchivo.DATOS_ACADEMICOS, ahora);
+
+        // Estudiantes: respuesta con opciones, datos académicos y asignaciones
+        List<String> codigos = new ArrayList<>(estudiantes);
+        for (int i = 0; i < estudiantes; i++) {
+            int indicePrograma = i % progs.size();
+            String codigo = String.format("1%02d%03d01%04d", numero % 100, i / 10_000, i % 10_000);
+            codigos.add(codigo);
+
+            RespuestasFormulario r = new RespuestasFormulario();
+            r.setPeriodo(periodo);
+            r.setArchivoCargado(archivoRespuestas);
+            r.setCodigoEstudiante(codigo);
+            r.setTimestampRespuesta(ahora.minus(20, ChronoUnit.DAYS).plusSeconds(i));
+            r.setCorreoEstudiante("est" + codigo + "@unicauca.edu.co");
+            r.setNombreEstudiante("Nombre " + i);
+            r.setApellidosEstudiante("Apellido " + i);
+            r.setEstado(EstadoRespuestaFormulario.DATOS_CARGADOS);
+            r.setPrograma(progs.get(indicePrograma));
+
+            List<Oferta> elegidas = elegir(ofertas, opciones, aleatorio);
+            for (int n = 0; n < elegidas.size(); n++) {
+                RespuestaOpcion op = new RespuestaOpcion();
+                op.setRespuesta(r);
+                op.setOpcionNum(n + 1);
+                op.setOferta(elegidas.get(n));
+                r.getOpciones().add(op);
+            }
+            em.persist(r);
+
+            int aprobadas = aleatorio.nextInt(electivasRequeridas);
+            DatosAcademico d = new DatosAcademico();
+            d.setCodigoEstudiante(codigo);
+            d.setPlanEstudios(planes.get(indicePrograma));
+            d.setNombres(r.getNombreEstudiante());
+            d.setApellidos(r.getApellidosEstudiante());
+            d.setUsuario("est" + codigo);
+            d.setPrograma(progs.get(indicePrograma).getNombre());
+            d.setCreditosAprobados(100 + aleatorio.nextInt(60));
+            d.setPeriodosMatriculados(6 + aleatorio.nextInt(5));
+            d.setPromedioCarrera(BigDecimal.valueOf(3 + aleatorio.nextDouble() * 2).setScale(3, RoundingMode.HALF_UP));
+            d.setAprobadas(aprobadas);
+            d.setEsNivelado(false);
+            d.setPorcentajeAvance(BigDecimal.valueOf(65 + aleatorio.nextDouble() * 35).setScale(4, RoundingMode.HALF_UP));
+            d.setEstadoAptitud(EstadoAptitud.ASIGNACION_PROCESADA);
+            d.setArchivoCargado(archivoSimca);
+            d.setRespuesta(r);
+            em.persist(d);
+
+            for (int n = 0; n < elegidas.size(); n++) {
+                AsignacionElectiva a = new AsignacionElectiva();
+                a.setOferta(elegidas.get(n));
+                a.setEstudianteCodigo(codigo);
+                a.setNumeroOpcion(n + 1);
+                a.setEstadoAsignacion(n == 0 ? EstadoAsignacion.ASIGNADA
+                        : n == 1 ? EstadoAsignacion.LISTA_ESPERA
+                        : EstadoAsignacion.NO_EVALUADA);
+                a.setFechaAsignacion(ahora);
+                em.persist(a);
+            }
+
+            if ((i + 1) % TAMANO_LOTE == 0) {
+                em.flush();
+            }
+        }
+        em.flush();
+
+        return new Escenario(periodo.getId(), periodo.getSemestre(), "Electiva " + prefijo + " ", List.copyOf(codigos));
+    }
+
+    private static void vincular(EntityManager em, Programa programa, Electiva electiva) {
+        ProgramaElectiva pe = new ProgramaElectiva();
+        pe.setId(new ProgramaElectivaId(programa.getId(), electiva.getId()));
+        pe.setPrograma(programa);
+        pe.setElectiva(electiva);
+        em.persist(pe);
+    }
+
+    private static CargaArchivo archivo(EntityManager em, PeriodoAcademico periodo, TipoArchivo tipo, Instant fecha) {
+        CargaArchivo archivo = new CargaArchivo();
+        archivo.setPeriodo(periodo);
+        archivo.setTipoArchivo(tipo);
+        archivo.setNombreArchivo(tipo.name().toLowerCase() + "_" + periodo.getSemestre() + ".xlsx");
+        archivo.setRutaAlmacenamiento("sintetico/" + periodo.getSemestre() + "/" + tipo.name());
+        archivo.setFechaCarga(fecha);
+        archivo.setEstado(EstadoArchivo.PROCESADO);
+        em.persist(archivo);
+        return archivo;
+    }
+
+    /**
+     * Elige {@code cantidad} ofertas distintas al azar, en orden de preferencia.
+     */
+    private static List<Oferta> elegir(List<Oferta> ofertas, int cantidad, Random aleatorio) {
+        List<Oferta> disponibles = new ArrayList<>(ofertas);
+        List<Oferta> elegidas = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            elegidas.add(disponibles.remove(aleatorio.nextInt(disponibles.size())));
+        }
+        return elegidas;
+    }
+
+    /**
+     * Identificadores de un escenario persistido.
+     *
+     * @param periodoId        ID del período creado
+     * @param semestre         semestre del período (único por escenario)
+     * @param prefijoElectivas prefijo común de los nombres de sus electivas, útil como filtro de búsqueda
+     * @param codigos          códigos de estudiante, en orden de creación
+     */
+    public record Escenario(Long periodoId, String semestre, String prefijoElectivas, List<String> codigos) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.unicauca.fiet.sistema_electivas.soporte;
+
+import org.hibernate.dialect.H2Dialect;
+
+import java.sql.Types;
+
+/**
+ * Dialecto H2 para pruebas que trata las columnas de texto sin límite
+ * ({@code length = Integer.MAX_VALUE}) como {@code character varying}, igual que en PostgreSQL.
+ *
+ * <p>Con el dialecto por defecto esas columnas se generan como CLOB, que H2 no permite indexar
+ * ni usar en restricciones {@code unique}.</p>
+ */
+public class H2PruebasDialect extends H2Dialect {
+
+    @Override
+    public int getMaxVarcharLength() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    protected String columnType(int sqlTypeCode) {
+        return sqlTypeCode == Types.VARCHAR ? "character varying" : super.columnType(sqlTypeCode);
+    }
+}
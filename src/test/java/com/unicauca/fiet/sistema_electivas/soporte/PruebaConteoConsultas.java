@@ -0,0 +1,81 @@
+package com.unicauca.fiet.sistema_electivas.soporte;
+
+import com.unicauca.fiet.sistema_electivas.integracion.python.MotorPythonClient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Base de las pruebas de regresión de número de consultas (detección de N+1).
+ *
+ * <p>Antes de las pruebas se crean dos escenarios sintéticos con el mismo catálogo, uno con
+ * {@value #POCOS} y otro con {@value #MUCHOS} estudiantes. {@link #verificarAcotado} mide la
+ * operación sobre ambos y exige el mismo límite de sentencias: una carga por fila haría que el
+ * escenario grande lo supere.</p>
+ *
+ * <p>El motor estadístico en Python se reemplaza por un mock para que todas las pruebas
+ * compartan el mismo contexto de Spring.</p>
+ */
+@SpringBootTest
+@ActiveProfiles({"google-stub", "h2"})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public abstract class PruebaConteoConsultas {
+
+    protected static final int POCOS = 10;
+    protected static final int MUCHOS = 1000;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @PersistenceContext
+    private EntityManager entityManager;
+    @MockitoBean
+    protected MotorPythonClient motorPythonClient;
+
+    protected ContadorSentencias contador;
+    protected DatosSinteticos.Escenario pequeno;
+    protected DatosSinteticos.Escenario grande;
+
+    @BeforeAll
+    void crearEscenarios() {
+        contador = new ContadorSentencias(entityManagerFactory, transactionManager);
+        pequeno = crear(DatosSinteticos.periodo().estudiantes(POCOS));
+        grande = crear(DatosSinteticos.periodo().estudiantes(MUCHOS));
+    }
+
+    protected DatosSinteticos.Escenario crear(DatosSinteticos datos) {
+        return new TransactionTemplate(transactionManager).execute(estado -> datos.persistir(entityManager));
+    }
+
+    /**
+     * Verifica que la operación no supere {@code limite} sentencias con pocos ni con muchos estudiantes.
+     *
+     * @param operacion  nombre de la operación, para el mensaje de error
+     * @param limite     máximo de sentencias permitidas en ambos escenarios
+     * @param invocacion llamada al servicio sobre un escenario
+     */
+    protected void verificarAcotado(String operacion, long limite, Consumer<DatosSinteticos.Escenario> invocacion) {
+        ContadorSentencias.Medicion conPocos = contador.medir(() -> invocacion.accept(pequeno));
+        ContadorSentencias.Medicion conMuchos = contador.medir(() -> invocacion.accept(grande));
+
+        assertThat(conPocos.sentencias())
+                .as("%s con %d estudiantes: %s", operacion, POCOS, conPocos)
+                .isLessThanOrEqualTo(limite);
+        assertThat(conMuchos.sentencias())
+                .as("%s con %d estudiantes: %s", operacion, MUCHOS, conMuchos)
+                .isLessThanOrEqualTo(limite);
+    }
+}